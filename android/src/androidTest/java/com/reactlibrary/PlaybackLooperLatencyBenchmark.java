@@ -0,0 +1,195 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.media3.common.Player;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+import com.facebook.soloader.SoLoader;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command-to-effect latency of a player control (setVolume) while the main thread is
+ * busy rendering: an ExoPlayer driven on the main looper, as the module used to do,
+ * versus ReactNativeAudioModule.setVolume, which runs through postCommand on the
+ * module's playback thread. The module's own commandLatency histogram is logged next to
+ * the measured round trips. Results are logged under the "AudioBenchmark" tag; numbers
+ * depend on the device, so nothing is asserted about them.
+ *
+ * Run with: ./gradlew connectedAndroidTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class PlaybackLooperLatencyBenchmark {
+
+    private static final String TAG = "AudioBenchmark";
+    private static final int COMMANDS = 200;
+    private static final long FRAME_WORK_MS = 12; // simulated UI work per 16ms frame
+    private static final String MISSING_FILE = "file:///data/local/tmp/does-not-exist.mp3";
+
+    /**
+     * A ReactApplicationContext without a JS runtime; emitted events are dropped.
+     */
+    private static final class BenchmarkContext extends ReactApplicationContext {
+        private final DeviceEventManagerModule.RCTDeviceEventEmitter emitter = (name, data) -> { };
+
+        BenchmarkContext(Context base) {
+            super(base);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends JavaScriptModule> T getJSModule(Class<T> jsInterface) {
+            if (jsInterface == DeviceEventManagerModule.RCTDeviceEventEmitter.class) {
+                return (T) emitter;
+            }
+            throw new UnsupportedOperationException("No JS module " + jsInterface.getSimpleName());
+        }
+    }
+
+    @Test
+    public void commandLatencyWithLoadedMainThread() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        SoLoader.init(context, false); // WritableNativeMap backs the module's results
+
+        AtomicBoolean loadMainThread = new AtomicBoolean(true);
+        Handler main = new Handler(Looper.getMainLooper());
+        main.post(new Runnable() {
+            @Override
+            public void run() {
+                long end = SystemClock.uptimeMillis() + FRAME_WORK_MS;
+                while (SystemClock.uptimeMillis() < end) {
+                    // spin
+                }
+                if (loadMainThread.get()) {
+                    main.postDelayed(this, 16 - FRAME_WORK_MS);
+                }
+            }
+        });
+
+        ReactNativeAudioModule module = new ReactNativeAudioModule(new BenchmarkContext(context));
+        try {
+            long[] onMain = measureMainLooper(context);
+            long[] viaModule = measureModule(module);
+            ReadableMap commandLatency = globalCommandLatency(module);
+
+            Log.i(TAG, "main looper p50=" + percentileUs(onMain, 50) + "us p95=" + percentileUs(onMain, 95) + "us");
+            Log.i(TAG, "module      p50=" + percentileUs(viaModule, 50) + "us p95=" + percentileUs(viaModule, 95) + "us");
+            Log.i(TAG, "module commandLatency count=" + (long) commandLatency.getDouble("count")
+                    + " p50=" + commandLatency.getDouble("p50Ms") + "ms p95=" + commandLatency.getDouble("p95Ms") + "ms");
+        } finally {
+            loadMainThread.set(false);
+            module.onCatalystInstanceDestroy();
+        }
+    }
+
+    // The previous dispatch path: a player built on, and commanded through, the main looper
+    private static long[] measureMainLooper(Context context) throws InterruptedException {
+        Looper looper = Looper.getMainLooper();
+        Handler handler = new Handler(looper);
+        ExoPlayer[] holder = new ExoPlayer[1];
+        AtomicLong postedAt = new AtomicLong();
+        long[] latencies = new long[COMMANDS];
+        CountDownLatch[] done = new CountDownLatch[1];
+        int[] index = new int[1];
+
+        CountDownLatch built = new CountDownLatch(1);
+        handler.post(() -> {
+            holder[0] = new ExoPlayer.Builder(context).setLooper(looper).build();
+            holder[0].addListener(new Player.Listener() {
+                @Override
+                public void onVolumeChanged(float volume) {
+                    latencies[index[0]] = System.nanoTime() - postedAt.get();
+                    done[0].countDown();
+                }
+            });
+            built.countDown();
+        });
+        built.await(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < COMMANDS; i++) {
+            index[0] = i;
+            done[0] = new CountDownLatch(1);
+            float volume = (i % 2 == 0) ? 0.5f : 1f;
+            postedAt.set(System.nanoTime());
+            handler.post(() -> holder[0].setVolume(volume));
+            done[0].await(1, TimeUnit.SECONDS);
+            SystemClock.sleep(3);
+        }
+
+        CountDownLatch released = new CountDownLatch(1);
+        handler.post(() -> {
+            holder[0].release();
+            released.countDown();
+        });
+        released.await(5, TimeUnit.SECONDS);
+        return latencies;
+    }
+
+    // From the bridge call to the promise settling on the playback thread
+    private static long[] measureModule(ReactNativeAudioModule module) throws InterruptedException {
+        CountDownLatch prepared = new CountDownLatch(1);
+        module.preparePlayer(1, MISSING_FILE, new JavaOnlyMap(),
+                new PromiseImpl(args -> prepared.countDown(), args -> prepared.countDown()));
+        prepared.await(5, TimeUnit.SECONDS);
+
+        long[] latencies = new long[COMMANDS];
+        int completed = 0;
+        for (int i = 0; i < COMMANDS; i++) {
+            CountDownLatch done = new CountDownLatch(1);
+            long[] settledAt = new long[1];
+            long start = System.nanoTime();
+            module.setVolume(1, (i % 2 == 0) ? 0.5 : 1, new PromiseImpl(args -> {
+                settledAt[0] = System.nanoTime();
+                done.countDown();
+            }, args -> done.countDown()));
+            if (done.await(1, TimeUnit.SECONDS) && settledAt[0] != 0) {
+                latencies[i] = settledAt[0] - start;
+                completed++;
+            }
+            SystemClock.sleep(3);
+        }
+        module.destroyPlayer(1);
+        assertEquals("setVolume calls that resolved", COMMANDS, completed);
+        return latencies;
+    }
+
+    private static ReadableMap globalCommandLatency(ReactNativeAudioModule module) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        ReadableMap[] result = new ReadableMap[1];
+        module.getGlobalPlaybackMetrics(new PromiseImpl(args -> {
+            result[0] = ((ReadableMap) args[0]).getMap("commandLatency");
+            done.countDown();
+        }, args -> done.countDown()));
+        done.await(5, TimeUnit.SECONDS);
+        return result[0];
+    }
+
+    private static long percentileUs(long[] samplesNs, int percentile) {
+        long[] sorted = samplesNs.clone();
+        Arrays.sort(sorted);
+        int i = Math.min(sorted.length - 1, (sorted.length * percentile) / 100);
+        return sorted[i] / 1000;
+    }
+}
@@ -0,0 +1,111 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertTrue;
+
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Events per second and allocations per event for player state events, comparing the
+ * previous path (a name concatenated per event, a map per event, every duplicate sent)
+ * with PlayerEvents (constant multiplexed name, duplicates dropped before building a
+ * map). The sink only counts, so this measures the native side up to the bridge call.
+ * Java-only maps stand in for WritableNativeMap. Results are logged under the
+ * "AudioBenchmark" tag.
+ *
+ * Run with: ./gradlew connectedAndroidTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class PlayerEventsBenchmark {
+
+    private static final String TAG = "AudioBenchmark";
+    private static final int PLAYERS = 16;
+    private static final int EVENTS = 200_000;
+    // A player's typical callback sequence: Player.Listener reports the same mapped state
+    // again on buffering/ready flips, play/pause and focus changes
+    private static final String[] SEQUENCE = {
+            "buffering", "idle", "idle", "playing", "playing", "buffering", "playing", "playing", "idle", "idle",
+    };
+
+    private static final class Result {
+        long nanos;
+        long allocations;
+        long sent;
+    }
+
+    @Test
+    public void stateEventsBeforeAndAfter() {
+        long[] sent = new long[1];
+        PlayerEvents.Sink sink = (name, params) -> sent[0]++;
+
+        // Warm up both paths so JIT compilation is not measured
+        runBefore(sink, sent, EVENTS / 4);
+        runAfter(new PlayerEvents(sink, JavaOnlyMap::new), sent, EVENTS / 4);
+
+        Result before = runBefore(sink, sent, EVENTS);
+        Result after = runAfter(new PlayerEvents(sink, JavaOnlyMap::new), sent, EVENTS);
+
+        log("before", before);
+        log("after", after);
+        assertTrue(after.sent < before.sent);
+        assertTrue(after.allocations <= before.allocations);
+    }
+
+    private static Result runBefore(PlayerEvents.Sink sink, long[] sent, int events) {
+        sent[0] = 0;
+        Result result = new Result();
+        startCounting();
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            int id = i % PLAYERS;
+            WritableMap params = new JavaOnlyMap();
+            params.putString("state", SEQUENCE[(i / PLAYERS) % SEQUENCE.length]);
+            sink.emit("AudioPlayerEvent.State." + id, params);
+        }
+        result.nanos = System.nanoTime() - start;
+        result.allocations = stopCounting();
+        result.sent = sent[0];
+        return result;
+    }
+
+    private static Result runAfter(PlayerEvents events, long[] sent, int count) {
+        sent[0] = 0;
+        Result result = new Result();
+        startCounting();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            events.sendState(i % PLAYERS, SEQUENCE[(i / PLAYERS) % SEQUENCE.length]);
+        }
+        result.nanos = System.nanoTime() - start;
+        result.allocations = stopCounting();
+        result.sent = sent[0];
+        return result;
+    }
+
+    @SuppressWarnings("deprecation") // still backed by the runtime's per-thread allocation stats
+    private static void startCounting() {
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long stopCounting() {
+        Debug.stopAllocCounting();
+        return Debug.getThreadAllocCount();
+    }
+
+    private static void log(String label, Result result) {
+        double seconds = result.nanos / 1e9;
+        Log.i(TAG, "player events " + label + ": " + String.format("%.0f", EVENTS / seconds) + " events/s, "
+                + String.format("%.2f", (double) result.allocations / EVENTS) + " allocations/event, "
+                + result.sent + " of " + EVENTS + " sent");
+    }
+}
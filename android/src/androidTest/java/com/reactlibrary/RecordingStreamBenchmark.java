@@ -0,0 +1,102 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+
+import android.os.SystemClock;
+import android.util.Base64;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+/**
+ * Throughput and hand-off latency of the recorder's chunk streaming path, fed with
+ * synthetic 48 kHz stereo PCM in the recorder's 20 ms chunks. The emitter does the same
+ * Base64 work as the module's AudioRecorderEvent.Chunk. Results are logged under the
+ * "AudioBenchmark" tag.
+ *
+ * Run with: ./gradlew connectedAndroidTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecordingStreamBenchmark {
+
+    private static final String TAG = "AudioBenchmark";
+    private static final int SAMPLE_RATE = 48000;
+    private static final int CHANNELS = 2;
+    private static final int CHUNK_SAMPLES = SAMPLE_RATE / 50 * CHANNELS; // 20 ms
+
+    @Test
+    public void sustainedThroughput() {
+        short[] pcm = syntheticChunk();
+        long[] delivered = new long[1];
+        RecordingStream stream = new RecordingStream(RecordingStream.DEFAULT_CHUNK_BYTES,
+                RecordingStream.DEFAULT_POOL_SIZE, chunk -> {
+                    Base64.encodeToString(chunk.data, 0, chunk.length, Base64.NO_WRAP);
+                    delivered[0] += chunk.length;
+                });
+
+        int chunks = 60 * 50; // one minute of audio, as fast as possible
+        long start = System.nanoTime();
+        for (int i = 0; i < chunks; i++) {
+            stream.writePcm(pcm, pcm.length);
+        }
+        stream.close();
+        long elapsedNs = System.nanoTime() - start;
+
+        long written = (long) chunks * pcm.length * 2;
+        double mbPerSecond = written / 1e6 / (elapsedNs / 1e9);
+        double realtimeFactor = 60.0 / (elapsedNs / 1e9);
+        Log.i(TAG, "stream throughput " + String.format("%.1f", mbPerSecond) + " MB/s ("
+                + String.format("%.0f", realtimeFactor) + "x realtime), dropped=" + stream.getDroppedBytes());
+        assertEquals(written, delivered[0] + stream.getDroppedBytes());
+    }
+
+    @Test
+    public void handOffLatencyAtRealtimePace() {
+        short[] pcm = syntheticChunk();
+        int chunks = 10 * 50; // ten seconds
+        long[] latencies = new long[chunks];
+        int[] count = new int[1];
+        RecordingStream stream = new RecordingStream(RecordingStream.DEFAULT_CHUNK_BYTES,
+                RecordingStream.DEFAULT_POOL_SIZE, chunk -> {
+                    Base64.encodeToString(chunk.data, 0, chunk.length, Base64.NO_WRAP);
+                    if (count[0] < latencies.length) {
+                        latencies[count[0]++] = System.nanoTime() - chunk.readyAtNanos;
+                    }
+                });
+
+        for (int i = 0; i < chunks; i++) {
+            stream.writePcm(pcm, pcm.length);
+            SystemClock.sleep(20);
+        }
+        stream.close();
+
+        long[] sorted = Arrays.copyOf(latencies, count[0]);
+        Arrays.sort(sorted);
+        Log.i(TAG, "stream hand-off p50=" + percentileUs(sorted, 50) + "us p95=" + percentileUs(sorted, 95)
+                + "us chunks=" + sorted.length + " dropped=" + stream.getDroppedBytes());
+        assertEquals(0, stream.getDroppedBytes());
+    }
+
+    private static short[] syntheticChunk() {
+        short[] pcm = new short[CHUNK_SAMPLES];
+        for (int i = 0; i < pcm.length; i += CHANNELS) {
+            short sample = (short) (Math.sin(2 * Math.PI * 440 * (i / CHANNELS) / SAMPLE_RATE) * 16000);
+            pcm[i] = sample;
+            pcm[i + 1] = sample;
+        }
+        return pcm;
+    }
+
+    private static long percentileUs(long[] sortedNs, int percentile) {
+        if (sortedNs.length == 0) {
+            return 0;
+        }
+        int i = Math.min(sortedNs.length - 1, (sortedNs.length * percentile) / 100);
+        return sortedNs[i] / 1000;
+    }
+}
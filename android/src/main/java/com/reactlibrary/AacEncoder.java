@@ -0,0 +1,188 @@
+package com.reactlibrary;
+
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * AAC-LC in an MPEG-4 container via MediaCodec and MediaMuxer.
+ *
+ * Presentation times come from the number of frames encoded, not the wall clock, so a
+ * paused recording resumes without a gap in the file. When streaming, each encoded
+ * frame is also sent with an ADTS header, which makes the stream playable on its own.
+ */
+final class AacEncoder implements RecordingEncoder {
+
+    private static final long TIMEOUT_US = 10_000;
+    private static final int ADTS_HEADER_BYTES = 7;
+    private static final int[] ADTS_SAMPLE_RATES = {
+            96000, 88200, 64000, 48000, 44100, 32000, 24000, 22050, 16000, 12000, 11025, 8000, 7350
+    };
+
+    private final File file;
+    private final int sampleRate;
+    private final int channels;
+    private final int bitrate;
+    private final MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+    private MediaCodec codec;
+    private MediaMuxer muxer;
+    private int track = -1;
+    private boolean muxerStarted;
+    private long framesQueued;
+    private RecordingStream stream;
+    private final byte[] adtsHeader = new byte[ADTS_HEADER_BYTES];
+
+    AacEncoder(File file, int sampleRate, int channels, int bitrate) {
+        this.file = file;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.bitrate = bitrate;
+    }
+
+    @Override
+    public void start() throws IOException {
+        MediaFormat format = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_AAC, sampleRate, channels);
+        format.setInteger(MediaFormat.KEY_AAC_PROFILE, MediaCodecInfo.CodecProfileLevel.AACObjectLC);
+        format.setInteger(MediaFormat.KEY_BIT_RATE, bitrate);
+        format.setInteger(MediaFormat.KEY_MAX_INPUT_SIZE, 16 * 1024);
+        codec = MediaCodec.createEncoderByType(MediaFormat.MIMETYPE_AUDIO_AAC);
+        codec.configure(format, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+        codec.start();
+        muxer = new MediaMuxer(file.getPath(), MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4);
+    }
+
+    @Override
+    public void encode(short[] pcm, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int index = codec.dequeueInputBuffer(TIMEOUT_US);
+            if (index < 0) {
+                drain(false);
+                continue;
+            }
+            ByteBuffer input = codec.getInputBuffer(index);
+            input.clear();
+            input.order(ByteOrder.nativeOrder());
+            int count = Math.min(length - offset, input.remaining() / 2);
+            count -= count % channels; // whole frames only
+            for (int i = 0; i < count; i++) {
+                input.putShort(pcm[offset + i]);
+            }
+            codec.queueInputBuffer(index, 0, count * 2, presentationTimeUs(), 0);
+            framesQueued += count / channels;
+            offset += count;
+        }
+        drain(false);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        int index;
+        while ((index = codec.dequeueInputBuffer(TIMEOUT_US)) < 0) {
+            drain(false);
+        }
+        codec.queueInputBuffer(index, 0, 0, presentationTimeUs(), MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+        drain(true);
+        codec.stop();
+        if (muxerStarted) {
+            muxer.stop();
+            muxerStarted = false;
+        }
+        release();
+    }
+
+    @Override
+    public void release() {
+        if (codec != null) {
+            codec.release();
+            codec = null;
+        }
+        if (muxer != null) {
+            try {
+                muxer.release();
+            } catch (IllegalStateException e) {
+                // never started; nothing was written
+            }
+            muxer = null;
+        }
+    }
+
+    @Override
+    public boolean supportsEncodedStream() {
+        return adtsSampleRateIndex() >= 0;
+    }
+
+    @Override
+    public void setEncodedStream(RecordingStream stream) {
+        this.stream = stream;
+    }
+
+    private int adtsSampleRateIndex() {
+        for (int i = 0; i < ADTS_SAMPLE_RATES.length; i++) {
+            if (ADTS_SAMPLE_RATES[i] == sampleRate) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void writeAdtsFrame(ByteBuffer frame, int size) {
+        int frameLength = size + ADTS_HEADER_BYTES;
+        int profile = 2; // AAC LC
+        int rateIndex = adtsSampleRateIndex();
+        adtsHeader[0] = (byte) 0xFF;
+        adtsHeader[1] = (byte) 0xF1; // MPEG-4, layer 0, no CRC
+        adtsHeader[2] = (byte) (((profile - 1) << 6) | (rateIndex << 2) | (channels >> 2));
+        adtsHeader[3] = (byte) (((channels & 3) << 6) | (frameLength >> 11));
+        adtsHeader[4] = (byte) ((frameLength & 0x7FF) >> 3);
+        adtsHeader[5] = (byte) (((frameLength & 7) << 5) | 0x1F);
+        adtsHeader[6] = (byte) 0xFC;
+        stream.writeFrame(adtsHeader, ADTS_HEADER_BYTES, frame);
+    }
+
+    private long presentationTimeUs() {
+        return framesQueued * 1_000_000L / sampleRate;
+    }
+
+    private void drain(boolean endOfStream) throws IOException {
+        while (true) {
+            int index = codec.dequeueOutputBuffer(info, endOfStream ? TIMEOUT_US : 0);
+            if (index == MediaCodec.INFO_TRY_AGAIN_LATER) {
+                if (!endOfStream) {
+                    return;
+                }
+            } else if (index == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                if (muxerStarted) {
+                    throw new IOException("Encoder output format changed twice");
+                }
+                track = muxer.addTrack(codec.getOutputFormat());
+                muxer.start();
+                muxerStarted = true;
+            } else if (index >= 0) {
+                ByteBuffer output = codec.getOutputBuffer(index);
+                if ((info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) != 0) {
+                    info.size = 0; // already in the track format
+                }
+                if (info.size > 0 && muxerStarted) {
+                    output.position(info.offset);
+                    output.limit(info.offset + info.size);
+                    muxer.writeSampleData(track, output, info);
+                    if (stream != null) {
+                        output.position(info.offset);
+                        writeAdtsFrame(output, info.size);
+                    }
+                }
+                codec.releaseOutputBuffer(index, false);
+                if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.reactlibrary;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.audio.BaseAudioProcessor;
+import androidx.media3.common.util.UnstableApi;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Pass-through AudioProcessor that measures what the player renders.
+ *
+ * Runs on ExoPlayer's internal playback thread inside the audio sink. Each interval it
+ * computes RMS and peak levels plus a log-spaced N-band spectrum from a Hann-windowed
+ * radix-2 FFT of the most recent samples. All working buffers belong to a Config that
+ * is allocated on the control thread, so the audio path never allocates. Results are
+ * published under a short lock and the listener is told that a new snapshot is ready.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class AnalysisAudioProcessor extends BaseAudioProcessor {
+
+    interface Listener {
+        /**
+         * Called on the audio thread; must only hand off, never block.
+         */
+        void onAnalysisAvailable();
+    }
+
+    static final int DEFAULT_FFT_SIZE = 1024;
+    static final int DEFAULT_BANDS = 32;
+    static final int DEFAULT_INTERVAL_MS = 50;
+    static final float MIN_DB = -100f;
+
+    private static final float MIN_BAND_HZ = 20f;
+
+    /**
+     * FFT tables and scratch space for one analysis setup.
+     */
+    static final class Config {
+        final int fftSize;
+        final int bands;
+        final int intervalMs;
+        final float[] window;
+        final float windowSum;
+        final float[] cos;
+        final float[] sin;
+        final int[] bitReverse;
+        final float[] ring;
+        final float[] re;
+        final float[] im;
+        final int[] bandEdges;
+        final float[] spectrum;
+        final float[] published;
+
+        Config(int fftSize, int bands, int intervalMs) {
+            this.fftSize = fftSize;
+            this.bands = bands;
+            this.intervalMs = intervalMs;
+            window = new float[fftSize];
+            float sum = 0;
+            for (int i = 0; i < fftSize; i++) {
+                window[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / (fftSize - 1)));
+                sum += window[i];
+            }
+            windowSum = sum;
+            cos = new float[fftSize / 2];
+            sin = new float[fftSize / 2];
+            for (int i = 0; i < fftSize / 2; i++) {
+                cos[i] = (float) Math.cos(2 * Math.PI * i / fftSize);
+                sin[i] = (float) Math.sin(2 * Math.PI * i / fftSize);
+            }
+            bitReverse = new int[fftSize];
+            int bits = Integer.numberOfTrailingZeros(fftSize);
+            for (int i = 0; i < fftSize; i++) {
+                bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+            }
+            ring = new float[fftSize];
+            re = new float[fftSize];
+            im = new float[fftSize];
+            bandEdges = new int[bands + 1];
+            spectrum = new float[bands];
+            published = new float[bands];
+            Arrays.fill(published, MIN_DB);
+        }
+
+        /**
+         * Rounds the requested values to something the FFT can use.
+         */
+        static Config create(int fftSize, int bands, int intervalMs) {
+            int size = Integer.highestOneBit(Math.max(256, Math.min(8192, fftSize)));
+            return new Config(size, Math.max(1, Math.min(size / 2, bands)), Math.max(16, intervalMs));
+        }
+    }
+
+    private volatile boolean enabled;
+    private volatile Config pendingConfig = Config.create(DEFAULT_FFT_SIZE, DEFAULT_BANDS, DEFAULT_INTERVAL_MS);
+    @Nullable
+    private volatile Listener listener;
+
+    // Audio thread only
+    private Config config;
+    private int bandEdgesSampleRate;
+    private int ringPos;
+    private double sumSquares;
+    private long samplesInWindow;
+    private float peak;
+    private long framesInWindow;
+
+    // Guarded by snapshotLock
+    private final Object snapshotLock = new Object();
+    private float publishedRms = MIN_DB;
+    private float publishedPeak = MIN_DB;
+
+    /**
+     * Starts or stops analysis. Audio keeps flowing through unchanged either way.
+     */
+    void setEnabled(boolean enabled, @Nullable Listener listener) {
+        this.listener = listener;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Swaps in a new setup; the audio thread picks it up on its next buffer.
+     */
+    void setAnalysisConfig(Config config) {
+        this.pendingConfig = config;
+    }
+
+    /**
+     * Copies the latest levels (rms, peak in dBFS) and spectrum (dBFS per band) out.
+     * Returns the number of bands written.
+     */
+    int readLatest(float[] levels, float[] spectrum) {
+        synchronized (snapshotLock) {
+            levels[0] = publishedRms;
+            levels[1] = publishedPeak;
+            Config current = pendingConfig;
+            int count = Math.min(spectrum.length, current.published.length);
+            System.arraycopy(current.published, 0, spectrum, 0, count);
+            return count;
+        }
+    }
+
+    @Override
+    protected AudioFormat onConfigure(AudioFormat inputAudioFormat) throws UnhandledAudioFormatException {
+        if (inputAudioFormat.encoding != C.ENCODING_PCM_16BIT && inputAudioFormat.encoding != C.ENCODING_PCM_FLOAT) {
+            throw new UnhandledAudioFormatException(inputAudioFormat);
+        }
+        // Always active so analysis can be toggled without reconfiguring the sink
+        return inputAudioFormat;
+    }
+
+    @Override
+    public void queueInput(ByteBuffer inputBuffer) {
+        int remaining = inputBuffer.remaining();
+        if (remaining == 0) {
+            return;
+        }
+        if (enabled) {
+            analyze(inputBuffer);
+        }
+        ByteBuffer output = replaceOutputBuffer(remaining);
+        output.put(inputBuffer);
+        output.flip();
+    }
+
+    @Override
+    protected void onFlush() {
+        resetWindow();
+    }
+
+    @Override
+    protected void onReset() {
+        config = null;
+        bandEdgesSampleRate = 0;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        sumSquares = 0;
+        samplesInWindow = 0;
+        peak = 0;
+        framesInWindow = 0;
+    }
+
+    // Reads samples by absolute index so the buffer position is left for the copy
+    private void analyze(ByteBuffer buffer) {
+        Config c = pendingConfig;
+        if (c != config) {
+            config = c;
+            bandEdgesSampleRate = 0;
+            ringPos = 0;
+            Arrays.fill(c.ring, 0f);
+            resetWindow();
+        }
+        int sampleRate = inputAudioFormat.sampleRate;
+        int channels = inputAudioFormat.channelCount;
+        if (bandEdgesSampleRate != sampleRate) {
+            computeBandEdges(c, sampleRate);
+            bandEdgesSampleRate = sampleRate;
+        }
+
+        boolean isFloat = inputAudioFormat.encoding == C.ENCODING_PCM_FLOAT;
+        int bytesPerSample = isFloat ? 4 : 2;
+        int frameBytes = bytesPerSample * channels;
+        long framesPerInterval = Math.max(1, (long) sampleRate * c.intervalMs / 1000);
+        int mask = c.fftSize - 1;
+        int limit = buffer.limit();
+
+        for (int pos = buffer.position(); pos + frameBytes <= limit; pos += frameBytes) {
+            float mono = 0;
+            for (int ch = 0; ch < channels; ch++) {
+                float sample = isFloat
+                        ? buffer.getFloat(pos + ch * 4)
+                        : buffer.getShort(pos + ch * 2) / 32768f;
+                float magnitude = Math.abs(sample);
+                if (magnitude > peak) {
+                    peak = magnitude;
+                }
+                sumSquares += sample * sample;
+                mono += sample;
+            }
+            samplesInWindow += channels;
+            c.ring[ringPos] = mono / channels;
+            ringPos = (ringPos + 1) & mask;
+            if (++framesInWindow >= framesPerInterval) {
+                publish(c);
+            }
+        }
+    }
+
+    private void publish(Config c) {
+        float rms = toDb((float) Math.sqrt(sumSquares / Math.max(1, samplesInWindow)));
+        float peakDb = toDb(peak);
+        resetWindow();
+
+        // Oldest sample first, windowed
+        int n = c.fftSize;
+        for (int i = 0; i < n; i++) {
+            c.re[i] = c.ring[(ringPos + i) & (n - 1)] * c.window[i];
+            c.im[i] = 0f;
+        }
+        fft(c);
+
+        float scale = 2f / c.windowSum;
+        for (int b = 0; b < c.bands; b++) {
+            float max = 0;
+            for (int k = c.bandEdges[b]; k < c.bandEdges[b + 1]; k++) {
+                float magnitude = (float) Math.sqrt(c.re[k] * c.re[k] + c.im[k] * c.im[k]);
+                if (magnitude > max) {
+                    max = magnitude;
+                }
+            }
+            c.spectrum[b] = toDb(max * scale);
+        }
+
+        synchronized (snapshotLock) {
+            publishedRms = rms;
+            publishedPeak = peakDb;
+            System.arraycopy(c.spectrum, 0, c.published, 0, c.bands);
+        }
+        Listener current = listener;
+        if (current != null) {
+            current.onAnalysisAvailable();
+        }
+    }
+
+    // In-place iterative radix-2 FFT over c.re/c.im
+    private static void fft(Config c) {
+        int n = c.fftSize;
+        float[] re = c.re;
+        float[] im = c.im;
+        for (int i = 0; i < n; i++) {
+            int j = c.bitReverse[i];
+            if (j > i) {
+                float t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        for (int size = 2; size <= n; size <<= 1) {
+            int half = size >> 1;
+            int step = n / size;
+            for (int start = 0; start < n; start += size) {
+                for (int k = 0; k < half; k++) {
+                    float wr = c.cos[k * step];
+                    float wi = -c.sin[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    float tr = wr * re[b] - wi * im[b];
+                    float ti = wr * im[b] + wi * re[b];
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+
+    // Log-spaced band edges from 20 Hz to Nyquist, in FFT bin indices; each band gets at least one bin
+    private static void computeBandEdges(Config c, int sampleRate) {
+        int maxBin = c.fftSize / 2;
+        float binHz = (float) sampleRate / c.fftSize;
+        float nyquist = sampleRate / 2f;
+        int previous = 1;
+        c.bandEdges[0] = 1;
+        for (int b = 1; b <= c.bands; b++) {
+            double hz = MIN_BAND_HZ * Math.pow(nyquist / MIN_BAND_HZ, (double) b / c.bands);
+            int edge = (int) Math.round(hz / binHz);
+            c.bandEdges[b] = Math.min(maxBin, Math.max(previous + 1, edge));
+            previous = c.bandEdges[b];
+        }
+    }
+
+    private static float toDb(float amplitude) {
+        if (amplitude <= 0f) {
+            return MIN_DB;
+        }
+        return Math.max(MIN_DB, (float) (20 * Math.log10(amplitude)));
+    }
+}
@@ -0,0 +1,599 @@
+package com.reactlibrary;
+
+import android.content.ContentResolver;
+import android.content.ContentUris;
+import android.content.Context;
+import android.database.Cursor;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.provider.MediaStore;
+import android.util.LruCache;
+import android.util.Size;
+import android.webkit.MimeTypeMap;
+
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads cover art from embedded tags, MediaStore album art and remote URLs.
+ *
+ * Sources are decoded off the calling thread, downsampled while decoding, and scaled to
+ * fit a square of the requested size. Results are kept at two levels: a byte-bounded
+ * in-memory LRU of bitmaps and a directory of pre-scaled JPEG thumbnails. MediaStore
+ * tracks are keyed by album, so a whole album shares one thumbnail, and concurrent
+ * requests for the same key wait on a single decode instead of starting their own.
+ */
+final class ArtworkCache {
+
+    static final int DEFAULT_SIZE_PX = 512;
+    static final int MIN_SIZE_PX = 32;
+    static final int MAX_SIZE_PX = 2048;
+
+    private static final long DISK_BUDGET_BYTES = 32L * 1024 * 1024;
+    private static final int MAX_MEMORY_BYTES = 24 * 1024 * 1024;
+    private static final int MAX_DOWNLOAD_BYTES = 8 * 1024 * 1024;
+    private static final int TIMEOUT_MS = 10_000;
+    private static final int MAX_SOURCE_KEYS = 1024;
+    // Sources found without artwork are tried again after this, e.g. once tags are edited
+    private static final long MISSING_TTL_MS = 30 * 60 * 1000;
+    private static final String ALBUM_PREFIX = "album_";
+    // Pre-Q album art lives behind this provider path, keyed by ALBUM_ID
+    private static final Uri LEGACY_ALBUM_ART = Uri.parse("content://media/external/audio/albumart");
+
+    /**
+     * Runs on a cache thread; post to the right looper before touching UI or promises.
+     * Both arguments are null when the source has no artwork or could not be read.
+     */
+    interface Callback {
+        void onLoaded(@Nullable Bitmap bitmap, @Nullable File file);
+    }
+
+    private final Context context;
+    private final ContentResolver resolver;
+    private final File dir;
+    private final LruCache<String, Bitmap> memory;
+
+    // Requests from JS and notifications; listing warm-ups get their own thread so a
+    // library scan never queues in front of the notification's cover
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> new Thread(() -> {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        runnable.run();
+    }, "ReactNativeAudio:Artwork"));
+    private final ExecutorService warmer = Executors.newSingleThreadExecutor(runnable -> new Thread(() -> {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_LOWEST);
+        runnable.run();
+    }, "ReactNativeAudio:ArtworkWarm"));
+
+    // Cache name (key plus size) -> callbacks waiting on the decode in progress
+    private final Map<String, List<Callback>> inFlight = new HashMap<>();
+    // Source uri -> album or source key, so repeat requests skip the MediaStore lookup
+    private final Map<String, String> sourceKeys = new ConcurrentHashMap<>();
+    // Names with a thumbnail on disk; lets listings answer without touching the filesystem
+    private final Set<String> onDisk = ConcurrentHashMap.newKeySet();
+    // Names whose source has no artwork -> when that was found (elapsedRealtime)
+    private final Map<String, Long> missing = new ConcurrentHashMap<>();
+    private final Set<String> warming = ConcurrentHashMap.newKeySet();
+    private final AtomicLong diskBytes = new AtomicLong();
+    private volatile boolean diskIndexed;
+
+    ArtworkCache(Context context) {
+        this.context = context.getApplicationContext();
+        this.resolver = this.context.getContentResolver();
+        this.dir = new File(context.getCacheDir(), "react-native-audio-kit-artwork");
+        int memoryBytes = (int) Math.min(MAX_MEMORY_BYTES, Runtime.getRuntime().maxMemory() / 16);
+        this.memory = new LruCache<String, Bitmap>(memoryBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+        // Listings only read the index, so build it before the first one
+        warmer.execute(this::ensureDiskIndexed);
+    }
+
+    /**
+     * Loads artwork for {@code source} (a track or image uri, or a local path) scaled to
+     * fit {@code sizePx}. With {@code keepInMemory} the bitmap also goes into the memory
+     * LRU; callers that only need the thumbnail file leave it out.
+     */
+    void load(String source, int sizePx, boolean keepInMemory, Callback callback) {
+        executor.execute(() -> {
+            String key = keyFor(source);
+            fetch(key + "_" + sizePx, source, sizePx, keepInMemory, callback);
+        });
+    }
+
+    /**
+     * The in-memory bitmap for {@code source}, or null. Never blocks; safe on the main thread.
+     */
+    @Nullable
+    Bitmap peek(String source, int sizePx) {
+        String key = sourceKeys.get(source);
+        return key != null ? memory.get(key + "_" + sizePx) : null;
+    }
+
+    /**
+     * The cached thumbnail of a MediaStore album as a file uri, or null when it is not on
+     * disk yet. In that case a low-priority decode is queued from {@code trackUri}, so the
+     * next listing finds it. Never decodes or touches the disk on the calling thread.
+     */
+    @Nullable
+    String albumThumbnail(long albumId, String trackUri) {
+        if (!diskIndexed) {
+            return null; // still listing the directory on the warm-up thread
+        }
+        String key = ALBUM_PREFIX + albumId;
+        String name = key + "_" + DEFAULT_SIZE_PX;
+        if (onDisk.contains(name)) {
+            return Uri.fromFile(fileFor(name)).toString();
+        }
+        if (!isMissing(name) && warming.add(name)) {
+            rememberKey(trackUri, key);
+            try {
+                warmer.execute(() -> {
+                    try {
+                        fetch(name, trackUri, DEFAULT_SIZE_PX, false, null);
+                    } finally {
+                        warming.remove(name);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                warming.remove(name); // shut down mid-listing
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops the in-memory bitmaps; thumbnails on disk are kept.
+     */
+    void trimMemory() {
+        memory.evictAll();
+    }
+
+    /**
+     * Drops every bitmap and thumbnail, and forgets which sources had no artwork.
+     */
+    void clear() {
+        memory.evictAll();
+        missing.clear();
+        synchronized (onDisk) {
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    // Partial files belong to writes in progress and are renamed or deleted by them
+                    if (file.getName().endsWith(".jpg")) {
+                        file.delete();
+                    }
+                }
+            }
+            onDisk.clear();
+            diskBytes.set(0);
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+        warmer.shutdownNow();
+    }
+
+    // MARK: - Loading
+
+    private void fetch(String name, String source, int sizePx, boolean keepInMemory, @Nullable Callback callback) {
+        File file = fileFor(name);
+        Bitmap cached = memory.get(name);
+        if (cached != null) {
+            if (callback != null) {
+                callback.onLoaded(cached, onDisk.contains(name) ? file : null);
+            }
+            return;
+        }
+        synchronized (inFlight) {
+            List<Callback> waiting = inFlight.get(name);
+            if (waiting != null) {
+                // Same album or source already decoding; share its result
+                if (callback != null) {
+                    waiting.add(callback);
+                }
+                return;
+            }
+            waiting = new ArrayList<>(1);
+            if (callback != null) {
+                waiting.add(callback);
+            }
+            inFlight.put(name, waiting);
+        }
+
+        Bitmap bitmap = null;
+        File written = null;
+        try {
+            ensureDiskIndexed();
+            if (onDisk.contains(name) && file.exists()) {
+                bitmap = BitmapFactory.decodeFile(file.getPath());
+                if (bitmap != null) {
+                    file.setLastModified(System.currentTimeMillis()); // keeps it out of the next trim
+                    written = file;
+                }
+            }
+            if (bitmap == null && !isMissing(name)) {
+                bitmap = decode(source, albumIdOf(name), sizePx);
+                if (bitmap == null) {
+                    missing.put(name, SystemClock.elapsedRealtime());
+                } else {
+                    written = write(name, bitmap);
+                }
+            }
+            if (bitmap != null && keepInMemory) {
+                memory.put(name, bitmap);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unreadable file, unsupported tags or a network failure; not remembered as missing
+            bitmap = null;
+            written = null;
+        } finally {
+            // Also after an Error such as OOM, or every later request for this name would wait forever
+            List<Callback> waiting;
+            synchronized (inFlight) {
+                waiting = inFlight.remove(name);
+            }
+            for (Callback waiter : waiting) {
+                waiter.onLoaded(bitmap, written);
+            }
+        }
+    }
+
+    private boolean isMissing(String name) {
+        Long foundAt = missing.get(name);
+        if (foundAt == null) {
+            return false;
+        }
+        if (SystemClock.elapsedRealtime() - foundAt < MISSING_TTL_MS) {
+            return true;
+        }
+        missing.remove(name, foundAt);
+        return false;
+    }
+
+    /**
+     * The artwork, or null when the source definitely has none. Failures that may not
+     * repeat (network, HTTP errors) throw instead, so they are not remembered as missing.
+     */
+    @Nullable
+    private Bitmap decode(String source, long albumId, int sizePx) throws IOException {
+        Uri uri = Uri.parse(source);
+        String scheme = uri.getScheme();
+        if ("http".equals(scheme) || "https".equals(scheme)) {
+            byte[] data = download(uri);
+            return data != null ? decodeBytes(data, sizePx) : null;
+        }
+        if (scheme == null) {
+            uri = Uri.fromFile(new File(source));
+        }
+        if (isImage(uri)) {
+            return decodeStream(uri, sizePx);
+        }
+        if (isMediaStoreAudio(uri)) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                try {
+                    // Album art from the provider, already near the requested size
+                    return fit(resolver.loadThumbnail(uri, new Size(sizePx, sizePx), null), sizePx);
+                } catch (IOException e) {
+                    // No album art; fall back to the file's own tags
+                }
+            } else if (albumId >= 0) {
+                try {
+                    return decodeStream(ContentUris.withAppendedId(LEGACY_ALBUM_ART, albumId), sizePx);
+                } catch (FileNotFoundException e) {
+                    // No album art; fall back to the file's own tags
+                }
+            }
+        }
+        byte[] picture = embeddedPicture(uri);
+        return picture != null ? decodeBytes(picture, sizePx) : null;
+    }
+
+    @Nullable
+    private byte[] embeddedPicture(Uri uri) {
+        MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+        try {
+            if ("file".equals(uri.getScheme())) {
+                retriever.setDataSource(uri.getPath());
+            } else {
+                retriever.setDataSource(context, uri);
+            }
+            return retriever.getEmbeddedPicture();
+        } finally {
+            try {
+                retriever.release();
+            } catch (IOException e) {
+                // Nothing left to clean up
+            }
+        }
+    }
+
+    @Nullable
+    private static byte[] download(Uri uri) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(uri.toString()).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MS);
+        connection.setReadTimeout(TIMEOUT_MS);
+        try {
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + status + " for " + uri);
+            }
+            if (connection.getContentLengthLong() > MAX_DOWNLOAD_BYTES) {
+                return null; // too large to use, however often it is asked for
+            }
+            try (InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+                byte[] buffer = new byte[16 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (out.size() + read > MAX_DOWNLOAD_BYTES) {
+                        return null;
+                    }
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Nullable
+    private static Bitmap decodeBytes(byte[] data, int sizePx) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        prepareDecode(options, sizePx);
+        return fit(BitmapFactory.decodeByteArray(data, 0, data.length, options), sizePx);
+    }
+
+    @Nullable
+    private Bitmap decodeStream(Uri uri, int sizePx) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream in = resolver.openInputStream(uri)) {
+            BitmapFactory.decodeStream(in, null, options);
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        prepareDecode(options, sizePx);
+        try (InputStream in = resolver.openInputStream(uri)) {
+            return fit(BitmapFactory.decodeStream(in, null, options), sizePx);
+        }
+    }
+
+    /**
+     * Turns a bounds pass into a real decode at the largest power-of-two reduction that
+     * still covers {@code sizePx}, so a 3000px cover never exists at full size in memory.
+     */
+    private static void prepareDecode(BitmapFactory.Options options, int sizePx) {
+        int sampleSize = 1;
+        while (options.outWidth / (sampleSize * 2) >= sizePx && options.outHeight / (sampleSize * 2) >= sizePx) {
+            sampleSize *= 2;
+        }
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        // Covers are opaque; half the memory of ARGB_8888
+        options.inPreferredConfig = Bitmap.Config.RGB_565;
+    }
+
+    @Nullable
+    private static Bitmap fit(@Nullable Bitmap bitmap, int sizePx) {
+        if (bitmap == null) {
+            return null;
+        }
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        if (width <= sizePx && height <= sizePx) {
+            return bitmap;
+        }
+        float scale = Math.min((float) sizePx / width, (float) sizePx / height);
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap, Math.max(1, Math.round(width * scale)),
+                Math.max(1, Math.round(height * scale)), true);
+        if (scaled != bitmap) {
+            bitmap.recycle();
+        }
+        return scaled;
+    }
+
+    // MARK: - Keys
+
+    /**
+     * "album_<ALBUM_ID>" for MediaStore tracks, so every track of an album shares one
+     * entry; otherwise a hash of the source.
+     */
+    private String keyFor(String source) {
+        String key = sourceKeys.get(source);
+        if (key != null) {
+            return key;
+        }
+        Uri uri = Uri.parse(source);
+        if (isMediaStoreAudio(uri)) {
+            try (Cursor cursor = resolver.query(uri, new String[] { MediaStore.Audio.Media.ALBUM_ID },
+                    null, null, null)) {
+                if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                    key = ALBUM_PREFIX + cursor.getLong(0);
+                }
+            } catch (RuntimeException e) {
+                // Missing permission or a deleted row; key by the uri instead
+            }
+        }
+        if (key == null) {
+            key = "src_" + sha1(source);
+        }
+        rememberKey(source, key);
+        return key;
+    }
+
+    private void rememberKey(String source, String key) {
+        if (sourceKeys.size() >= MAX_SOURCE_KEYS) {
+            sourceKeys.clear(); // only a lookup shortcut; entries are recomputed on demand
+        }
+        sourceKeys.put(source, key);
+    }
+
+    private static long albumIdOf(String name) {
+        if (!name.startsWith(ALBUM_PREFIX)) {
+            return -1;
+        }
+        int end = name.indexOf('_', ALBUM_PREFIX.length());
+        return Long.parseLong(name.substring(ALBUM_PREFIX.length(), end));
+    }
+
+    private static boolean isMediaStoreAudio(Uri uri) {
+        return "content".equals(uri.getScheme()) && MediaStore.AUTHORITY.equals(uri.getAuthority())
+                && uri.getPath() != null && uri.getPath().contains("/audio/media/");
+    }
+
+    private boolean isImage(Uri uri) {
+        String type;
+        if ("content".equals(uri.getScheme())) {
+            type = resolver.getType(uri);
+        } else {
+            String extension = MimeTypeMap.getFileExtensionFromUrl(uri.toString());
+            type = MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension.toLowerCase());
+        }
+        return type != null && type.startsWith("image/");
+    }
+
+    // MARK: - Disk
+
+    private File fileFor(String name) {
+        return new File(dir, name + ".jpg");
+    }
+
+    private void ensureDiskIndexed() {
+        if (diskIndexed) {
+            return;
+        }
+        synchronized (onDisk) {
+            if (diskIndexed) {
+                return;
+            }
+            File[] files = dir.listFiles();
+            if (files != null) {
+                long bytes = 0;
+                for (File file : files) {
+                    String fileName = file.getName();
+                    if (fileName.endsWith(".jpg")) {
+                        onDisk.add(fileName.substring(0, fileName.length() - 4));
+                        bytes += file.length();
+                    } else if (fileName.endsWith(".tmp")) {
+                        // Left by a process that died mid-write; fetch indexes before it writes
+                        file.delete();
+                    }
+                }
+                diskBytes.set(bytes);
+            }
+            diskIndexed = true;
+        }
+    }
+
+    @Nullable
+    private File write(String name, Bitmap bitmap) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            return null;
+        }
+        File file = fileFor(name);
+        // Written aside and renamed, so a listing never hands out a half-written file
+        File partial = new File(dir, name + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(partial)) {
+            if (!bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out)) {
+                partial.delete();
+                return null;
+            }
+        } catch (IOException e) {
+            partial.delete();
+            return null;
+        }
+        if (!partial.renameTo(file)) {
+            partial.delete();
+            return null;
+        }
+        onDisk.add(name);
+        if (diskBytes.addAndGet(file.length()) > DISK_BUDGET_BYTES) {
+            trimDisk();
+        }
+        return file;
+    }
+
+    /**
+     * Deletes the least recently used thumbnails until the directory is at three quarters
+     * of its budget.
+     */
+    private void trimDisk() {
+        synchronized (onDisk) {
+            File[] files = dir.listFiles();
+            if (files == null) {
+                return;
+            }
+            Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+            long bytes = 0;
+            for (File file : files) {
+                // Partial files belong to writes in progress and are renamed or deleted by them
+                if (file.getName().endsWith(".jpg")) {
+                    bytes += file.length();
+                }
+            }
+            for (File file : files) {
+                if (bytes <= DISK_BUDGET_BYTES * 3 / 4) {
+                    break;
+                }
+                long length = file.length();
+                String fileName = file.getName();
+                if (fileName.endsWith(".jpg") && file.delete()) {
+                    onDisk.remove(fileName.substring(0, fileName.length() - 4));
+                    bytes -= length;
+                }
+            }
+            diskBytes.set(bytes);
+        }
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.reactlibrary;
+
+import android.content.Context;
+import android.net.Uri;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.database.StandaloneDatabaseProvider;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.DefaultDataSource;
+import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.TransferListener;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheEvictor;
+import androidx.media3.datasource.cache.CacheSpan;
+import androidx.media3.datasource.cache.SimpleCache;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide disk cache shared by every player.
+ *
+ * A {@link SimpleCache} may only be opened once per directory, so the cache outlives
+ * individual module instances (e.g. across JS reloads). Remote items are read through a
+ * {@link CacheDataSource}; local files and content URIs bypass it.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class AudioCache {
+
+    static final long DEFAULT_MAX_SIZE_BYTES = 100L * 1024 * 1024; // 100MB, see CacheConfig
+    private static final String CACHE_DIR = "react-native-audio-kit";
+
+    private static AudioCache sharedInstance;
+
+    static synchronized AudioCache get(Context context) {
+        if (sharedInstance == null) {
+            sharedInstance = new AudioCache(context.getApplicationContext());
+        }
+        return sharedInstance;
+    }
+
+    private final Context context;
+    private final ResizableLruEvictor evictor = new ResizableLruEvictor(DEFAULT_MAX_SIZE_BYTES);
+    private final AtomicLong cachedBytesRead = new AtomicLong();
+    private final AtomicLong networkBytesRead = new AtomicLong();
+    private final DataSource.Factory directFactory;
+    private final DataSource.Factory networkFactory;
+    private volatile boolean enabled = true;
+    private SimpleCache cache;
+    private CacheDataSource.Factory cacheFactory;
+
+    private AudioCache(Context context) {
+        this.context = context;
+        DefaultHttpDataSource.Factory httpFactory = new DefaultHttpDataSource.Factory()
+                .setAllowCrossProtocolRedirects(true)
+                .setTransferListener(new TransferListener() {
+                    @Override
+                    public void onTransferInitializing(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+                    }
+
+                    @Override
+                    public void onTransferStart(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+                    }
+
+                    @Override
+                    public void onBytesTransferred(DataSource source, DataSpec dataSpec, boolean isNetwork,
+                            int bytesTransferred) {
+                        if (isNetwork) {
+                            networkBytesRead.addAndGet(bytesTransferred);
+                        }
+                    }
+
+                    @Override
+                    public void onTransferEnd(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+                    }
+                });
+        this.networkFactory = new DefaultDataSource.Factory(context, httpFactory);
+        this.directFactory = new DefaultDataSource.Factory(context);
+    }
+
+    /**
+     * Applies a CacheConfig. A smaller budget evicts least recently used spans right away,
+     * so the cache can be resized while players are reading from it.
+     */
+    void configure(boolean enabled, long maxSizeBytes) {
+        this.enabled = enabled;
+        if (maxSizeBytes > 0) {
+            evictor.setMaxBytes(maxSizeBytes);
+            SimpleCache current;
+            synchronized (this) {
+                current = cache;
+            }
+            if (current != null) {
+                evictor.trim(current);
+            }
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the data source factory a player should use for {@code uri}. Only http(s)
+     * streams go through the disk cache.
+     */
+    DataSource.Factory dataSourceFactoryFor(Uri uri, boolean allowCache) {
+        if (!enabled || !allowCache || !isRemote(uri)) {
+            return directFactory;
+        }
+        return getCacheFactory();
+    }
+
+    /**
+     * A source that reads {@code uri} through the disk cache, for writing ahead of
+     * playback, or null when players would not cache it either.
+     */
+    @Nullable
+    CacheDataSource cacheDataSourceFor(Uri uri) {
+        if (!enabled || !isRemote(uri)) {
+            return null;
+        }
+        return getCacheFactory().createDataSource();
+    }
+
+    /**
+     * Bytes of {@code uri} cached contiguously from its start, up to {@code limit}. Uses
+     * the same key CacheDataSource derives for players.
+     */
+    long getCachedPrefixBytes(Uri uri, long limit) {
+        return getCache().getCachedBytes(uri.toString(), 0, limit);
+    }
+
+    long getSizeBytes() {
+        return getCache().getCacheSpace();
+    }
+
+    int getItemCount() {
+        return getCache().getKeys().size();
+    }
+
+    long getCachedBytesRead() {
+        return cachedBytesRead.get();
+    }
+
+    long getNetworkBytesRead() {
+        return networkBytesRead.get();
+    }
+
+    void clear() {
+        SimpleCache current = getCache();
+        // Copy first: getKeys() is a live view of the index
+        for (String key : new ArrayList<>(current.getKeys())) {
+            current.removeResource(key);
+        }
+        cachedBytesRead.set(0);
+        networkBytesRead.set(0);
+    }
+
+    private synchronized SimpleCache getCache() {
+        if (cache == null) {
+            File dir = new File(context.getCacheDir(), CACHE_DIR);
+            cache = new SimpleCache(dir, evictor, new StandaloneDatabaseProvider(context));
+        }
+        return cache;
+    }
+
+    private synchronized CacheDataSource.Factory getCacheFactory() {
+        if (cacheFactory == null) {
+            cacheFactory = new CacheDataSource.Factory()
+                    .setCache(getCache())
+                    .setUpstreamDataSourceFactory(networkFactory)
+                    .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+                    .setEventListener(new CacheDataSource.EventListener() {
+                        @Override
+                        public void onCachedBytesRead(long cacheSizeBytes, long cachedBytesRead) {
+                            AudioCache.this.cachedBytesRead.addAndGet(cachedBytesRead);
+                        }
+
+                        @Override
+                        public void onCacheIgnored(int reason) {
+                        }
+                    });
+        }
+        return cacheFactory;
+    }
+
+    private static boolean isRemote(Uri uri) {
+        String scheme = uri.getScheme();
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    }
+
+    /**
+     * Same policy as media3's LeastRecentlyUsedCacheEvictor, but the budget can change
+     * after the cache has been opened. All span bookkeeping runs under the SimpleCache
+     * lock, which is also taken by {@link #trim}.
+     */
+    private static final class ResizableLruEvictor implements CacheEvictor {
+        private final TreeSet<CacheSpan> leastRecentlyUsed = new TreeSet<>(ResizableLruEvictor::compare);
+        private volatile long maxBytes;
+        private long currentSize;
+
+        ResizableLruEvictor(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        void trim(Cache cache) {
+            synchronized (cache) {
+                evict(cache, 0);
+            }
+        }
+
+        @Override
+        public boolean requiresCacheSpanTouches() {
+            return true;
+        }
+
+        @Override
+        public void onCacheInitialized() {
+        }
+
+        @Override
+        public void onStartFile(Cache cache, String key, long position, long length) {
+            if (length != C.LENGTH_UNSET) {
+                evict(cache, length);
+            }
+        }
+
+        @Override
+        public void onSpanAdded(Cache cache, CacheSpan span) {
+            leastRecentlyUsed.add(span);
+            currentSize += span.length;
+            evict(cache, 0);
+        }
+
+        @Override
+        public void onSpanRemoved(Cache cache, CacheSpan span) {
+            leastRecentlyUsed.remove(span);
+            currentSize -= span.length;
+        }
+
+        @Override
+        public void onSpanTouched(Cache cache, CacheSpan oldSpan, CacheSpan newSpan) {
+            onSpanRemoved(cache, oldSpan);
+            onSpanAdded(cache, newSpan);
+        }
+
+        private void evict(Cache cache, long requiredSpace) {
+            while (currentSize + requiredSpace > maxBytes && !leastRecentlyUsed.isEmpty()) {
+                cache.removeSpan(leastRecentlyUsed.first());
+            }
+        }
+
+        private static int compare(CacheSpan lhs, CacheSpan rhs) {
+            long diff = lhs.lastTouchTimestamp - rhs.lastTouchTimestamp;
+            if (diff == 0) {
+                return lhs.compareTo(rhs);
+            }
+            return lhs.lastTouchTimestamp < rhs.lastTouchTimestamp ? -1 : 1;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.reactlibrary;
+
+import android.net.Uri;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the first bytes of upcoming tracks into the shared AudioCache, so the next
+ * prepare starts from disk instead of the network.
+ *
+ * Each prefetch call replaces the previous one: items no longer listed are cancelled,
+ * items still listed keep their running download. Downloads run on a small fixed pool
+ * and the call's byte budget is split across items in order. Players report the media
+ * they open; it is a hit only when that item's prefix was fully prefetched beforehand,
+ * so bytes the player cached itself (e.g. while preloading the next queue item) do not
+ * count. Items whose prefix was already cached are counted as cached and left out of
+ * both hits and misses.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class AudioPrefetcher {
+
+    static final int MAX_CONCURRENT = 2;
+    static final long DEFAULT_BYTES_PER_ITEM = 512 * 1024;
+    static final long DEFAULT_BUDGET_BYTES = 4L * 1024 * 1024;
+    // Used to turn PrefetchOptions.seconds into bytes; high enough for 320 kbps MP3
+    static final long ASSUMED_BYTES_PER_SECOND = 40_000;
+    // Items remembered until played; older ones are forgotten first
+    private static final int MAX_PREFETCHED = 256;
+
+    private static final class Job {
+        final Uri uri;
+        final long length;
+        volatile CacheWriter writer;
+        volatile boolean cancelled;
+        Future<?> future;
+
+        Job(Uri uri, long length) {
+            this.uri = uri;
+            this.length = length;
+        }
+
+        void cancel() {
+            cancelled = true;
+            CacheWriter current = writer;
+            if (current != null) {
+                current.cancel();
+            }
+            if (future != null) {
+                future.cancel(false); // still queued
+            }
+        }
+    }
+
+    private final AudioCache cache;
+    private final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT,
+            runnable -> new Thread(runnable, "ReactNativeAudio:Prefetch"));
+
+    // Queued and running downloads by cache key; guarded by this
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    // Prefix length of every item whose prefetch finished, by cache key; guarded by this
+    private final Map<String, Long> prefetched = recentKeys();
+    // Items skipped because their prefix was already cached, by cache key; guarded by this
+    private final Map<String, Long> alreadyCached = recentKeys();
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cached = new AtomicLong();
+    private final AtomicLong bytesPrefetched = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    AudioPrefetcher(AudioCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Makes {@code uris} (in priority order) the set being prefetched. Local files and
+     * URIs whose first {@code bytesPerItem} are already cached are skipped.
+     */
+    synchronized void prefetch(List<Uri> uris, long bytesPerItem, long budgetBytes) {
+        Set<String> wanted = new HashSet<>();
+        for (Uri uri : uris) {
+            wanted.add(uri.toString());
+        }
+        for (Iterator<Map.Entry<String, Job>> it = jobs.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Job> entry = it.next();
+            if (!wanted.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                cancelled.incrementAndGet();
+                it.remove();
+            }
+        }
+
+        long remaining = budgetBytes;
+        for (Uri uri : uris) {
+            if (remaining <= 0) {
+                break;
+            }
+            String key = uri.toString();
+            long length = Math.min(bytesPerItem, remaining);
+            remaining -= length;
+            if (jobs.containsKey(key)) {
+                continue;
+            }
+            CacheDataSource dataSource = cache.cacheDataSourceFor(uri);
+            if (dataSource == null) {
+                continue;
+            }
+            if (cache.getCachedPrefixBytes(uri, length) >= length) {
+                // A prefix this prefetcher wrote stays a potential hit
+                if (!prefetched.containsKey(key) && alreadyCached.put(key, length) == null) {
+                    cached.incrementAndGet();
+                }
+                continue;
+            }
+            Job job = new Job(uri, length);
+            jobs.put(key, job);
+            requested.incrementAndGet();
+            job.future = executor.submit(() -> run(job, dataSource));
+        }
+    }
+
+    synchronized void cancelAll() {
+        for (Job job : jobs.values()) {
+            job.cancel();
+            cancelled.incrementAndGet();
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Called when a player opens {@code uri}; counts a hit when the uri was prefetched and
+     * that prefix is still cached. Only remote URIs that go through the cache are counted,
+     * and not those that were already cached when prefetch was asked for them.
+     */
+    void recordPlayback(Uri uri) {
+        if (cache.cacheDataSourceFor(uri) == null) {
+            return;
+        }
+        Long length;
+        synchronized (this) {
+            if (alreadyCached.remove(uri.toString()) != null) {
+                return;
+            }
+            length = prefetched.remove(uri.toString());
+        }
+        if (length != null && cache.getCachedPrefixBytes(uri, length) >= length) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+    }
+
+    void shutdown() {
+        cancelAll();
+        executor.shutdownNow();
+    }
+
+    long getRequested() {
+        return requested.get();
+    }
+
+    long getCompleted() {
+        return completed.get();
+    }
+
+    long getCancelled() {
+        return cancelled.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    long getCached() {
+        return cached.get();
+    }
+
+    long getBytesPrefetched() {
+        return bytesPrefetched.get();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    private static Map<String, Long> recentKeys() {
+        return new LinkedHashMap<String, Long>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > MAX_PREFETCHED;
+            }
+        };
+    }
+
+    private void run(Job job, CacheDataSource dataSource) {
+        if (job.cancelled) {
+            return;
+        }
+        long[] written = new long[1];
+        DataSpec dataSpec = new DataSpec.Builder().setUri(job.uri).setLength(job.length).build();
+        CacheWriter writer = new CacheWriter(dataSource, dataSpec, null,
+                (requestLength, bytesCached, newBytesCached) -> written[0] += newBytesCached);
+        job.writer = writer;
+        try {
+            if (job.cancelled) {
+                throw new InterruptedIOException();
+            }
+            writer.cache();
+            completed.incrementAndGet();
+            synchronized (this) {
+                prefetched.put(job.uri.toString(), job.length);
+            }
+        } catch (InterruptedIOException e) {
+            // cancelled; counted where cancel() was called
+        } catch (IOException e) {
+            failed.incrementAndGet();
+        } finally {
+            bytesPrefetched.addAndGet(written[0]);
+            synchronized (this) {
+                if (jobs.get(job.uri.toString()) == job) {
+                    jobs.remove(job.uri.toString());
+                }
+            }
+        }
+    }
+}
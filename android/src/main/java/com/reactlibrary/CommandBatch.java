@@ -0,0 +1,106 @@
+package com.reactlibrary;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+/**
+ * Player commands from one executeBatch call, parsed into parallel arrays.
+ *
+ * Every entry, values included, is checked on the bridge thread, so a malformed batch
+ * is rejected before any command runs. The module then applies the whole batch in one
+ * playback-thread message, so no other command lands in between.
+ */
+final class CommandBatch {
+
+    static final int PLAY = 0;
+    static final int PAUSE = 1;
+    static final int STOP = 2;
+    static final int SEEK = 3;
+    static final int VOLUME = 4;
+    static final int RATE = 5;
+
+    final int[] ids;
+    final int[] ops;
+    final double[] values;
+
+    private CommandBatch(int size) {
+        ids = new int[size];
+        ops = new int[size];
+        values = new double[size];
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the first bad entry
+     */
+    static CommandBatch parse(ReadableArray commands) {
+        CommandBatch batch = new CommandBatch(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            ReadableMap command = commands.getType(i) == ReadableType.Map ? commands.getMap(i) : null;
+            if (command == null || !command.hasKey("id") || command.getType("id") != ReadableType.Number
+                    || !command.hasKey("op") || command.getType("op") != ReadableType.String) {
+                throw new IllegalArgumentException("Command " + i + " needs a numeric id and an op");
+            }
+            int op = opFor(command.getString("op"));
+            if (op < 0) {
+                throw new IllegalArgumentException("Command " + i + " has unknown op " + command.getString("op"));
+            }
+            batch.ids[i] = (int) command.getDouble("id");
+            batch.ops[i] = op;
+            if (op >= SEEK) {
+                if (!command.hasKey("value") || command.getType("value") != ReadableType.Number) {
+                    throw new IllegalArgumentException("Command " + i + " (" + command.getString("op")
+                            + ") needs a numeric value");
+                }
+                double value = command.getDouble("value");
+                String problem = checkValue(op, value);
+                if (problem != null) {
+                    throw new IllegalArgumentException("Command " + i + " (" + command.getString("op") + ") "
+                            + problem);
+                }
+                batch.values[i] = value;
+            }
+        }
+        return batch;
+    }
+
+    // Out-of-range values would make ExoPlayer throw on the playback thread, mid-batch
+    private static String checkValue(int op, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "needs a finite value";
+        }
+        switch (op) {
+            case SEEK:
+                return value >= 0 ? null : "needs a position of 0 or more";
+            case VOLUME:
+                return value >= 0 && value <= 1 ? null : "needs a volume between 0 and 1";
+            case RATE:
+                return value > 0 ? null : "needs a rate above 0";
+            default:
+                return null;
+        }
+    }
+
+    private static int opFor(String name) {
+        switch (name) {
+            case "play":
+                return PLAY;
+            case "pause":
+                return PAUSE;
+            case "stop":
+                return STOP;
+            case "seek":
+                return SEEK;
+            case "volume":
+                return VOLUME;
+            case "rate":
+                return RATE;
+            default:
+                return -1;
+        }
+    }
+}
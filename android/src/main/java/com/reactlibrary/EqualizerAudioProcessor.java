@@ -0,0 +1,179 @@
+package com.reactlibrary;
+
+import java.util.Arrays;
+
+/**
+ * N-band peaking equalizer built from RBJ biquads (transposed direct form II).
+ *
+ * Each change publishes immutable Settings together with their Coefficients for the
+ * current sample rate in one reference, so the audio thread never sees gains from one
+ * update paired with filters from another. Filter memories are allocated per stream in
+ * onStart, never per buffer.
+ */
+final class EqualizerAudioProcessor extends PcmAudioProcessor {
+
+    // Same centres as the platform 5-band equalizer, so existing presets keep their meaning
+    static final float[] DEFAULT_FREQUENCIES = { 60f, 230f, 910f, 3600f, 14000f };
+    static final int MAX_BANDS = 31;
+    static final float MAX_GAIN_DB = 15f;
+    private static final float Q = 1.0f;
+
+    static final class Settings {
+        final boolean enabled;
+        final float[] frequencies;
+        final float[] gainsDb;
+
+        Settings(boolean enabled, float[] frequencies, float[] gainsDb) {
+            this.enabled = enabled;
+            this.frequencies = frequencies;
+            this.gainsDb = gainsDb;
+        }
+    }
+
+    /**
+     * Filters for one Settings at one sample rate. Before the first stream (rate 0) every
+     * band is inactive.
+     */
+    static final class Coefficients {
+        final Settings settings;
+        final int sampleRate;
+        final int bands;
+        final float[] b0;
+        final float[] b1;
+        final float[] b2;
+        final float[] a1;
+        final float[] a2;
+        final boolean[] active;
+
+        Coefficients(Settings settings, int sampleRate) {
+            this.settings = settings;
+            this.sampleRate = sampleRate;
+            bands = settings.frequencies.length;
+            b0 = new float[bands];
+            b1 = new float[bands];
+            b2 = new float[bands];
+            a1 = new float[bands];
+            a2 = new float[bands];
+            active = new boolean[bands];
+            for (int i = 0; i < bands; i++) {
+                float frequency = settings.frequencies[i];
+                float gain = settings.gainsDb[i];
+                // Flat bands and bands above Nyquist cost nothing
+                active[i] = gain != 0f && frequency < sampleRate / 2f;
+                if (!active[i]) {
+                    continue;
+                }
+                double a = Math.pow(10, gain / 40.0);
+                double w0 = 2 * Math.PI * frequency / sampleRate;
+                double alpha = Math.sin(w0) / (2 * Q);
+                double cos = Math.cos(w0);
+                double norm = 1 + alpha / a;
+                b0[i] = (float) ((1 + alpha * a) / norm);
+                b1[i] = (float) (-2 * cos / norm);
+                b2[i] = (float) ((1 - alpha * a) / norm);
+                a1[i] = (float) (-2 * cos / norm);
+                a2[i] = (float) ((1 - alpha / a) / norm);
+            }
+        }
+    }
+
+    private volatile Coefficients published = new Coefficients(flat(DEFAULT_FREQUENCIES, false), 0);
+    private volatile int sampleRate;
+
+    // Audio thread only: z1/z2 per band per channel, sized for MAX_BANDS
+    private float[] z1 = new float[0];
+    private float[] z2 = new float[0];
+    private Coefficients rebuilt;
+
+    Settings getSettings() {
+        return published.settings;
+    }
+
+    // Setters are called from one control thread (the module's playback thread)
+
+    void setEnabled(boolean enabled) {
+        Settings current = published.settings;
+        publish(new Settings(enabled, current.frequencies, current.gainsDb));
+    }
+
+    void setBandGain(int band, float gainDb) {
+        Settings current = published.settings;
+        float[] gains = current.gainsDb.clone();
+        gains[band] = Math.max(-MAX_GAIN_DB, Math.min(MAX_GAIN_DB, gainDb));
+        publish(new Settings(current.enabled, current.frequencies, gains));
+    }
+
+    /**
+     * Replaces the bands (at most MAX_BANDS); all gains start flat.
+     */
+    void setFrequencies(float[] frequencies) {
+        publish(flat(frequencies, published.settings.enabled));
+    }
+
+    void resetParameters() {
+        publish(flat(DEFAULT_FREQUENCIES, false));
+    }
+
+    private void publish(Settings next) {
+        published = new Coefficients(next, sampleRate);
+    }
+
+    private static Settings flat(float[] frequencies, boolean enabled) {
+        return new Settings(enabled, frequencies.clone(), new float[frequencies.length]);
+    }
+
+    @Override
+    protected void onStart(int sampleRate, int channels) {
+        this.sampleRate = sampleRate;
+        int size = MAX_BANDS * channels;
+        if (z1.length < size) {
+            z1 = new float[size];
+            z2 = new float[size];
+        } else {
+            Arrays.fill(z1, 0f);
+            Arrays.fill(z2, 0f);
+        }
+    }
+
+    @Override
+    protected boolean isBypassed() {
+        return !published.settings.enabled;
+    }
+
+    @Override
+    protected void process(float[] samples, int frames, int channels) {
+        Coefficients c = published;
+        if (c.sampleRate != sampleRate) {
+            // Published before this stream's rate was known; kept here so a newer setter always wins
+            if (rebuilt == null || rebuilt.settings != c.settings || rebuilt.sampleRate != sampleRate) {
+                rebuilt = new Coefficients(c.settings, sampleRate);
+            }
+            c = rebuilt;
+        }
+
+        for (int band = 0; band < c.bands; band++) {
+            if (!c.active[band]) {
+                continue;
+            }
+            float b0 = c.b0[band];
+            float b1 = c.b1[band];
+            float b2 = c.b2[band];
+            float a1 = c.a1[band];
+            float a2 = c.a2[band];
+            for (int ch = 0; ch < channels; ch++) {
+                int state = band * channels + ch;
+                float s1 = z1[state];
+                float s2 = z2[state];
+                for (int i = ch; i < frames * channels; i += channels) {
+                    float x = samples[i];
+                    float y = b0 * x + s1;
+                    s1 = b1 * x - a1 * y + s2;
+                    s2 = b2 * x - a2 * y;
+                    samples[i] = y;
+                }
+                z1[state] = s1;
+                z2[state] = s2;
+            }
+        }
+    }
+}
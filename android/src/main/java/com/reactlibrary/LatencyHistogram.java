@@ -0,0 +1,89 @@
+package com.reactlibrary;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ *
+ * Bucket 0 holds everything under 1 us and bucket i holds [2^(i-1), 2^i) us; anything
+ * from about 18 minutes up lands in the last bucket. Recording is two atomic adds and
+ * a CAS for the maximum, with no allocation, so it can stay on in production.
+ * Percentiles are reported as the upper edge of the bucket they fall in, which is at
+ * most 2x off.
+ */
+final class LatencyHistogram {
+
+    static final int BUCKETS = 32;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalUs = new AtomicLong();
+    private final AtomicLong maxUs = new AtomicLong();
+
+    void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    void recordMicros(long us) {
+        if (us < 0) {
+            return;
+        }
+        counts.incrementAndGet(bucketFor(us));
+        totalUs.addAndGet(us);
+        long max;
+        while (us > (max = maxUs.get())) {
+            if (maxUs.compareAndSet(max, us)) {
+                break;
+            }
+        }
+    }
+
+    long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    long getMeanUs() {
+        long count = getCount();
+        return count == 0 ? 0 : totalUs.get() / count;
+    }
+
+    long getMaxUs() {
+        return maxUs.get();
+    }
+
+    /**
+     * Upper bucket edge below which {@code percentile}% of the samples fall, or 0 when empty.
+     * Concurrent recording may make this lag by the samples added during the scan.
+     */
+    long getPercentileUs(int percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (count * percentile + 99) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperEdgeUs(i), maxUs.get());
+            }
+        }
+        return maxUs.get();
+    }
+
+    long getBucketCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    static long upperEdgeUs(int bucket) {
+        return 1L << bucket;
+    }
+
+    private static int bucketFor(long us) {
+        return us == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(us));
+    }
+}
@@ -0,0 +1,447 @@
+package com.reactlibrary;
+
+import android.content.ContentResolver;
+import android.content.ContentUris;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.net.Uri;
+import android.os.Build;
+import android.os.SystemClock;
+import android.provider.MediaStore;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * On-disk index of the audio library.
+ *
+ * The first sync copies every music row out of MediaStore. Later syncs only re-read rows
+ * whose GENERATION_MODIFIED (API 30+, per volume) or DATE_MODIFIED (older releases) moved
+ * past the stored watermark, plus a cheap _ID-only pass to drop deleted rows. A change of
+ * MediaStore.getVersion() invalidates the watermarks and triggers a full rebuild.
+ */
+final class LibraryIndex extends SQLiteOpenHelper {
+
+    private static final String DB_NAME = "react_native_audio_library.db";
+    private static final int DB_VERSION = 3; // 2: album_id, for artwork; 3: loudness
+
+    private static final String TRACKS = "tracks";
+    private static final String META = "meta";
+    private static final String LOUDNESS = "loudness";
+    private static final String META_STORE_VERSION = "store_version";
+    private static final String META_DATE_MODIFIED = "date_modified";
+    private static final String META_GENERATION_PREFIX = "generation:";
+
+    private static final String MUSIC_SELECTION = MediaStore.Audio.Media.IS_MUSIC + " != 0";
+    // Aliased so groups() can look columns up by their plain names
+    private static final String TRACK_COLUMNS = "t.id AS id, t.uri AS uri, t.title AS title, t.artist AS artist, "
+            + "t.album AS album, t.duration_ms AS duration_ms, t.album_id AS album_id, "
+            + "l.integrated_lufs AS integrated_lufs, l.true_peak_db AS true_peak_db";
+    // Loudness only counts while it was measured on the file as it is now
+    private static final String TRACK_SOURCE = TRACKS + " t LEFT JOIN " + LOUDNESS
+            + " l ON l.id = t.id AND l.date_modified = t.date_modified";
+
+    /**
+     * A track without a loudness measurement for its current modification time.
+     */
+    static final class LoudnessTask {
+        final long id;
+        final Uri uri;
+        final long dateModified;
+
+        LoudnessTask(long id, Uri uri, long dateModified) {
+            this.id = id;
+            this.uri = uri;
+            this.dateModified = dateModified;
+        }
+    }
+
+    static final class SyncResult {
+        boolean fullRebuild;
+        int upserted;
+        int removed;
+        long total;
+        long durationMs;
+        long maxDateModified = -1;
+    }
+
+    private final Context context;
+    private final ArtworkCache artwork;
+
+    LibraryIndex(Context context, ArtworkCache artwork) {
+        super(context.getApplicationContext(), DB_NAME, null, DB_VERSION);
+        this.context = context.getApplicationContext();
+        this.artwork = artwork;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TRACKS + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "uri TEXT NOT NULL, "
+                + "title TEXT, "
+                + "artist TEXT, "
+                + "album TEXT, "
+                + "duration_ms INTEGER, "
+                + "album_id INTEGER, "
+                + "date_modified INTEGER)");
+        db.execSQL("CREATE INDEX tracks_title ON " + TRACKS + " (title COLLATE NOCASE)");
+        db.execSQL("CREATE INDEX tracks_artist ON " + TRACKS + " (artist COLLATE NOCASE)");
+        db.execSQL("CREATE INDEX tracks_album ON " + TRACKS + " (album COLLATE NOCASE)");
+        db.execSQL("CREATE TABLE " + META + " (key TEXT PRIMARY KEY, value TEXT)");
+        // Null loudness marks a track that could not be decoded or is silent
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + LOUDNESS + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "date_modified INTEGER NOT NULL, "
+                + "integrated_lufs REAL, "
+                + "true_peak_db REAL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The index is a cache of MediaStore; rebuilding it is always safe. Loudness
+        // results take a full decode each, so they are kept.
+        db.execSQL("DROP TABLE IF EXISTS " + TRACKS);
+        db.execSQL("DROP TABLE IF EXISTS " + META);
+        onCreate(db);
+    }
+
+    /**
+     * Brings the index up to date with MediaStore. Serialised; runs on the caller's thread.
+     */
+    synchronized SyncResult sync() {
+        long start = SystemClock.elapsedRealtime();
+        SyncResult result = new SyncResult();
+        ContentResolver resolver = context.getContentResolver();
+        SQLiteDatabase db = getWritableDatabase();
+
+        String storeVersion = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                ? MediaStore.getVersion(context)
+                : "legacy";
+        result.fullRebuild = !storeVersion.equals(getMeta(db, META_STORE_VERSION));
+
+        db.beginTransaction();
+        try {
+            if (result.fullRebuild) {
+                db.delete(TRACKS, null, null);
+                db.delete(META, null, null);
+                putMeta(db, META_STORE_VERSION, storeVersion);
+            }
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+                for (String volume : MediaStore.getExternalVolumeNames(context)) {
+                    String key = META_GENERATION_PREFIX + volume;
+                    long watermark = parseLong(getMeta(db, key));
+                    // Read the generation first so changes made during the scan are picked up next time
+                    long generation = MediaStore.getGeneration(context, volume);
+                    upsertChanged(db, resolver, MediaStore.Audio.Media.getContentUri(volume),
+                            MediaStore.Audio.Media.GENERATION_MODIFIED + " > ?", watermark, result);
+                    putMeta(db, key, String.valueOf(generation));
+                }
+            } else {
+                // DATE_MODIFIED has one-second resolution, so re-read the boundary second
+                long watermark = parseLong(getMeta(db, META_DATE_MODIFIED));
+                upsertChanged(db, resolver, MediaLibrary.AUDIO_URI,
+                        MediaStore.Audio.Media.DATE_MODIFIED + " >= ?", watermark, result);
+                if (result.maxDateModified > watermark) {
+                    putMeta(db, META_DATE_MODIFIED, String.valueOf(result.maxDateModified));
+                }
+            }
+
+            if (!result.fullRebuild) {
+                result.removed = removeDeleted(db, resolver);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        result.total = DatabaseUtils.queryNumEntries(db, TRACKS);
+        result.durationMs = SystemClock.elapsedRealtime() - start;
+        return result;
+    }
+
+    /**
+     * Every indexed track in _ID order, which matches MediaStore's default order.
+     */
+    WritableArray all() {
+        WritableArray result = Arguments.createArray();
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT " + TRACK_COLUMNS + " FROM " + TRACK_SOURCE + " ORDER BY t.id", null)) {
+            while (cursor.moveToNext()) {
+                result.pushMap(readTrack(cursor, thumbnailFor(cursor)));
+            }
+        }
+        return result;
+    }
+
+    WritableArray search(String query, int limit) {
+        // Wildcards in the query match themselves
+        String like = "%" + query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        WritableArray result = Arguments.createArray();
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT " + TRACK_COLUMNS + " FROM " + TRACK_SOURCE
+                        + " WHERE title LIKE ? ESCAPE '\\' OR artist LIKE ? ESCAPE '\\' OR album LIKE ? ESCAPE '\\'"
+                        + " ORDER BY title COLLATE NOCASE LIMIT ?",
+                new String[] { like, like, like, String.valueOf(limit) })) {
+            while (cursor.moveToNext()) {
+                result.pushMap(readTrack(cursor, thumbnailFor(cursor)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Groups tracks by album or artist into objects shaped like the TS Album type.
+     */
+    WritableArray groups(boolean byArtist) {
+        String column = byArtist ? "artist" : "album";
+        WritableArray result = Arguments.createArray();
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT " + TRACK_COLUMNS + " FROM " + TRACK_SOURCE
+                        + " ORDER BY " + column + " COLLATE NOCASE, title COLLATE NOCASE",
+                null)) {
+            String currentName = null;
+            String currentArtist = null;
+            String currentArtwork = null;
+            WritableArray songs = null;
+            int nameColumn = cursor.getColumnIndexOrThrow(column);
+            int artistColumn = cursor.getColumnIndexOrThrow("artist");
+            while (cursor.moveToNext()) {
+                String name = orUnknown(cursor.getString(nameColumn));
+                if (songs == null || !name.equalsIgnoreCase(currentName)) {
+                    if (songs != null) {
+                        result.pushMap(group(currentName, currentArtist, currentArtwork, songs));
+                    }
+                    currentName = name;
+                    currentArtist = orUnknown(cursor.getString(artistColumn));
+                    currentArtwork = null;
+                    songs = Arguments.createArray();
+                }
+                String thumbnail = thumbnailFor(cursor);
+                if (currentArtwork == null) {
+                    currentArtwork = thumbnail;
+                }
+                songs.pushMap(readTrack(cursor, thumbnail));
+            }
+            if (songs != null) {
+                result.pushMap(group(currentName, currentArtist, currentArtwork, songs));
+            }
+        }
+        return result;
+    }
+
+    private static WritableMap group(String name, String artist, @Nullable String artwork, WritableArray songs) {
+        WritableMap map = Arguments.createMap();
+        map.putString("name", name);
+        map.putString("artist", artist);
+        if (artwork != null) {
+            map.putString("artwork", artwork); // the first cached cover in the group
+        }
+        map.putArray("songs", songs); // consumes the array, so it must be complete
+        return map;
+    }
+
+    private static void upsertChanged(SQLiteDatabase db, ContentResolver resolver, Uri uri, String changedSince,
+            long watermark, SyncResult result) {
+        String[] projection = {
+                MediaStore.Audio.Media._ID,
+                MediaStore.Audio.Media.TITLE,
+                MediaStore.Audio.Media.ARTIST,
+                MediaStore.Audio.Media.ALBUM,
+                MediaStore.Audio.Media.DURATION,
+                MediaStore.Audio.Media.DATE_MODIFIED,
+                MediaStore.Audio.Media.ALBUM_ID,
+        };
+        SQLiteStatement upsert = db.compileStatement("INSERT OR REPLACE INTO " + TRACKS
+                + " (id, uri, title, artist, album, duration_ms, date_modified, album_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        try (Cursor cursor = resolver.query(uri, projection, MUSIC_SELECTION + " AND " + changedSince,
+                new String[] { String.valueOf(watermark) }, null)) {
+            if (cursor == null) {
+                return;
+            }
+            while (cursor.moveToNext()) {
+                long id = cursor.getLong(0);
+                long dateModified = cursor.getLong(5);
+                upsert.clearBindings();
+                upsert.bindLong(1, id);
+                upsert.bindString(2, ContentUris.withAppendedId(MediaLibrary.AUDIO_URI, id).toString());
+                bindNullable(upsert, 3, cursor.getString(1));
+                bindNullable(upsert, 4, cursor.getString(2));
+                bindNullable(upsert, 5, cursor.getString(3));
+                upsert.bindLong(6, cursor.getLong(4));
+                upsert.bindLong(7, dateModified);
+                if (cursor.isNull(6)) {
+                    upsert.bindNull(8);
+                } else {
+                    upsert.bindLong(8, cursor.getLong(6));
+                }
+                upsert.executeInsert();
+                result.upserted++;
+                result.maxDateModified = Math.max(result.maxDateModified, dateModified);
+            }
+        } finally {
+            upsert.close();
+        }
+    }
+
+    private static int removeDeleted(SQLiteDatabase db, ContentResolver resolver) {
+        Set<Long> live = new HashSet<>();
+        try (Cursor cursor = resolver.query(MediaLibrary.AUDIO_URI, new String[] { MediaStore.Audio.Media._ID },
+                MUSIC_SELECTION, null, null)) {
+            if (cursor == null) {
+                return 0; // provider unavailable; keep what we have
+            }
+            while (cursor.moveToNext()) {
+                live.add(cursor.getLong(0));
+            }
+        }
+
+        List<Long> stale = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery("SELECT id FROM " + TRACKS, null)) {
+            while (cursor.moveToNext()) {
+                long id = cursor.getLong(0);
+                if (!live.contains(id)) {
+                    stale.add(id);
+                }
+            }
+        }
+
+        SQLiteStatement delete = db.compileStatement("DELETE FROM " + TRACKS + " WHERE id = ?");
+        try {
+            for (long id : stale) {
+                delete.bindLong(1, id);
+                delete.executeUpdateDelete();
+            }
+        } finally {
+            delete.close();
+        }
+        return stale.size();
+    }
+
+    private static WritableMap readTrack(Cursor cursor, @Nullable String artwork) {
+        WritableMap map = Arguments.createMap();
+        map.putString("id", String.valueOf(cursor.getLong(0)));
+        map.putString("uri", cursor.getString(1));
+        map.putString("title", orUnknown(cursor.getString(2)));
+        map.putString("artist", orUnknown(cursor.getString(3)));
+        map.putString("album", orUnknown(cursor.getString(4)));
+        map.putDouble("duration", cursor.getLong(5) / 1000.0);
+        if (artwork != null) {
+            map.putString("artwork", artwork);
+        }
+        if (!cursor.isNull(7)) {
+            map.putDouble("loudness", cursor.getDouble(7));
+            map.putDouble("truePeak", cursor.getDouble(8));
+        }
+        return map;
+    }
+
+    // MARK: - Loudness
+
+    /**
+     * Tracks still to be measured, in _ID order. Also drops results of deleted tracks.
+     */
+    List<LoudnessTask> pendingLoudness() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.execSQL("DELETE FROM " + LOUDNESS + " WHERE id NOT IN (SELECT id FROM " + TRACKS + ")");
+        List<LoudnessTask> tasks = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery("SELECT t.id, t.date_modified FROM " + TRACKS + " t"
+                + " LEFT JOIN " + LOUDNESS + " l ON l.id = t.id AND l.date_modified = t.date_modified"
+                + " WHERE l.id IS NULL ORDER BY t.id", null)) {
+            while (cursor.moveToNext()) {
+                long id = cursor.getLong(0);
+                tasks.add(new LoudnessTask(id, ContentUris.withAppendedId(MediaLibrary.AUDIO_URI, id),
+                        cursor.getLong(1)));
+            }
+        }
+        return tasks;
+    }
+
+    long loudnessCount() {
+        return DatabaseUtils.queryNumEntries(getReadableDatabase(), LOUDNESS, "integrated_lufs IS NOT NULL");
+    }
+
+    /**
+     * Stores one measurement; NaN loudness records a track that has none. Any thread.
+     */
+    void putLoudness(LoudnessTask task, double integratedLufs, double truePeakDb) {
+        SQLiteStatement upsert = getWritableDatabase().compileStatement("INSERT OR REPLACE INTO " + LOUDNESS
+                + " (id, date_modified, integrated_lufs, true_peak_db) VALUES (?, ?, ?, ?)");
+        try {
+            upsert.bindLong(1, task.id);
+            upsert.bindLong(2, task.dateModified);
+            if (Double.isNaN(integratedLufs)) {
+                upsert.bindNull(3);
+                upsert.bindNull(4);
+            } else {
+                upsert.bindDouble(3, integratedLufs);
+                upsert.bindDouble(4, truePeakDb);
+            }
+            upsert.executeInsert();
+        } finally {
+            upsert.close();
+        }
+    }
+
+    /**
+     * {integrated LUFS, true peak dBTP} for a MediaStore track, or null when it has not
+     * been measured since its file last changed.
+     */
+    @Nullable
+    double[] loudnessFor(long id) {
+        try (Cursor cursor = getReadableDatabase().rawQuery("SELECT l.integrated_lufs, l.true_peak_db FROM "
+                + TRACK_SOURCE + " WHERE t.id = ? AND l.integrated_lufs IS NOT NULL",
+                new String[] { String.valueOf(id) })) {
+            return cursor.moveToFirst() ? new double[] { cursor.getDouble(0), cursor.getDouble(1) } : null;
+        }
+    }
+
+    /**
+     * The album's cached thumbnail for a TRACK_COLUMNS row; queues a background decode
+     * when there is none yet.
+     */
+    @Nullable
+    private String thumbnailFor(Cursor cursor) {
+        return cursor.isNull(6) ? null : artwork.albumThumbnail(cursor.getLong(6), cursor.getString(1));
+    }
+
+    private static String orUnknown(String value) {
+        return value != null ? value : "Unknown";
+    }
+
+    private static void bindNullable(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    private static String getMeta(SQLiteDatabase db, String key) {
+        try (Cursor cursor = db.rawQuery("SELECT value FROM " + META + " WHERE key = ?", new String[] { key })) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    private static void putMeta(SQLiteDatabase db, String key, String value) {
+        db.execSQL("INSERT OR REPLACE INTO " + META + " (key, value) VALUES (?, ?)", new Object[] { key, value });
+    }
+
+    private static long parseLong(String value) {
+        return value != null ? Long.parseLong(value) : -1;
+    }
+}
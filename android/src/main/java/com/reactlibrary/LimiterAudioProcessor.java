@@ -0,0 +1,84 @@
+package com.reactlibrary;
+
+/**
+ * Peak limiter that keeps the output under a threshold, typically after EQ boosts or
+ * loudness gain.
+ *
+ * The envelope follows each frame's loudest channel with instant attack and exponential
+ * release, and one gain is applied to all channels so the stereo image does not shift.
+ * Parameters are published as one immutable snapshot.
+ */
+final class LimiterAudioProcessor extends PcmAudioProcessor {
+
+    static final float DEFAULT_THRESHOLD_DB = -1f;
+    static final float DEFAULT_RELEASE_MS = 100f;
+
+    private static final class Settings {
+        final boolean enabled;
+        final float threshold;
+        final float releaseMs;
+
+        Settings(boolean enabled, float thresholdDb, float releaseMs) {
+            this.enabled = enabled;
+            this.threshold = (float) Math.pow(10, Math.min(0f, thresholdDb) / 20.0);
+            this.releaseMs = Math.max(1f, releaseMs);
+        }
+    }
+
+    private volatile Settings settings = new Settings(false, DEFAULT_THRESHOLD_DB, DEFAULT_RELEASE_MS);
+
+    // Audio thread only
+    private int sampleRate;
+    private Settings releaseFor;
+    private float releaseCoefficient;
+    private float envelope;
+
+    void setLimiter(boolean enabled, float thresholdDb, float releaseMs) {
+        settings = new Settings(enabled, thresholdDb, releaseMs);
+    }
+
+    void resetParameters() {
+        settings = new Settings(false, DEFAULT_THRESHOLD_DB, DEFAULT_RELEASE_MS);
+    }
+
+    @Override
+    protected void onStart(int sampleRate, int channels) {
+        this.sampleRate = sampleRate;
+        releaseFor = null;
+        envelope = 0f;
+    }
+
+    @Override
+    protected boolean isBypassed() {
+        return !settings.enabled;
+    }
+
+    @Override
+    protected void process(float[] samples, int frames, int channels) {
+        Settings s = settings;
+        if (s != releaseFor) {
+            releaseCoefficient = (float) Math.exp(-1.0 / (s.releaseMs / 1000.0 * sampleRate));
+            releaseFor = s;
+        }
+        float threshold = s.threshold;
+        float release = releaseCoefficient;
+        float env = envelope;
+        for (int frame = 0, i = 0; frame < frames; frame++, i += channels) {
+            float peak = 0f;
+            for (int ch = 0; ch < channels; ch++) {
+                float magnitude = Math.abs(samples[i + ch]);
+                if (magnitude > peak) {
+                    peak = magnitude;
+                }
+            }
+            env = peak > env ? peak : env * release + peak * (1f - release);
+            if (env > threshold) {
+                float gain = threshold / env;
+                for (int ch = 0; ch < channels; ch++) {
+                    samples[i + ch] *= gain;
+                }
+            }
+        }
+        envelope = env;
+    }
+}
@@ -0,0 +1,68 @@
+package com.reactlibrary;
+
+/**
+ * Static gain that brings a track's measured loudness to a target level.
+ *
+ * The gain is computed on the control thread; the audio thread ramps linearly from the
+ * previous value across one buffer whenever it changes, so adjustments never click.
+ */
+final class LoudnessAudioProcessor extends PcmAudioProcessor {
+
+    static final float DEFAULT_TARGET_LUFS = -14f;
+    static final float MAX_GAIN_DB = 12f;
+
+    private volatile boolean enabled;
+    private volatile float targetGain = 1f;
+
+    // Audio thread only
+    private float currentGain = 1f;
+
+    /**
+     * Applies {@code targetLufs - trackLufs}, clamped to ±MAX_GAIN_DB.
+     */
+    void setNormalization(boolean enabled, float targetLufs, float trackLufs) {
+        float gainDb = Math.max(-MAX_GAIN_DB, Math.min(MAX_GAIN_DB, targetLufs - trackLufs));
+        targetGain = (float) Math.pow(10, gainDb / 20.0);
+        this.enabled = enabled;
+    }
+
+    void resetParameters() {
+        enabled = false;
+        targetGain = 1f;
+    }
+
+    @Override
+    protected void onStart(int sampleRate, int channels) {
+        currentGain = targetGain;
+    }
+
+    @Override
+    protected boolean isBypassed() {
+        if (!enabled) {
+            currentGain = 1f; // ramp in from unity when re-enabled
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void process(float[] samples, int frames, int channels) {
+        float target = targetGain;
+        float gain = currentGain;
+        int count = frames * channels;
+        if (gain == target) {
+            for (int i = 0; i < count; i++) {
+                samples[i] *= gain;
+            }
+            return;
+        }
+        float step = (target - gain) / Math.max(1, frames);
+        for (int frame = 0, i = 0; frame < frames; frame++) {
+            gain += step;
+            for (int ch = 0; ch < channels; ch++, i++) {
+                samples[i] *= gain;
+            }
+        }
+        currentGain = target;
+    }
+}
@@ -0,0 +1,222 @@
+package com.reactlibrary;
+
+import java.util.Arrays;
+
+/**
+ * Integrated loudness (ITU-R BS.1770-4 / EBU R128) and true peak of one stream, in
+ * constant memory.
+ *
+ * Samples go through the K-weighting filter and are summed into 100 ms sub-blocks; every
+ * sub-block completes a 400 ms block with 75% overlap. Instead of keeping every block for
+ * the two-pass gating, block energies are added to a histogram with 0.1 LU bins, which
+ * holds the exact energy sum of each bin. Gating then works per bin, so the relative gate
+ * is placed to within 0.1 LU and memory stays the same for a song or a ten-hour mix.
+ * True peak is measured on a 4x oversampled signal (2x at 96 kHz and up).
+ */
+final class LoudnessMeter {
+
+    static final double ABSOLUTE_GATE_LUFS = -70;
+    private static final double RELATIVE_GATE_LU = -10;
+    private static final double MAX_BLOCK_LUFS = 10;
+    private static final double BIN_LU = 0.1;
+    private static final int BINS = (int) Math.round((MAX_BLOCK_LUFS - ABSOLUTE_GATE_LUFS) / BIN_LU);
+    private static final int TAPS_PER_PHASE = 12;
+
+    private final int channels;
+    private final double[] weights;
+    private final int subBlockFrames;
+
+    // K-weighting: a high shelf then a high pass, six history values per channel
+    private final double[] shelfB = new double[3];
+    private final double[] shelfA = new double[3];
+    private final double[] passB = { 1, -2, 1 };
+    private final double[] passA = new double[3];
+    private final double[][] state;
+
+    private final double[] subBlocks = new double[4]; // ring of weighted mean squares
+    private int subBlockCount;
+    private double subBlockSum;
+    private int subBlockFill;
+
+    private final long[] binCounts = new long[BINS];
+    private final double[] binEnergy = new double[BINS];
+
+    // True peak: polyphase windowed-sinc interpolator over each channel's recent samples
+    private final int oversample;
+    private final double[][] phases;
+    private final float[][] history;
+    private int historyPos;
+    private double truePeak;
+
+    LoudnessMeter(int sampleRate, int channels) {
+        this.channels = channels;
+        this.weights = channelWeights(channels);
+        this.subBlockFrames = Math.max(1, sampleRate / 10);
+        this.state = new double[channels][6];
+        designKWeighting(sampleRate);
+        this.oversample = sampleRate < 96000 ? 4 : 2;
+        this.phases = designInterpolator(oversample);
+        this.history = new float[channels][TAPS_PER_PHASE];
+    }
+
+    /**
+     * Adds {@code frames} interleaved frames of samples in [-1, 1].
+     */
+    void addFrames(float[] samples, int frames) {
+        for (int frame = 0, i = 0; frame < frames; frame++) {
+            double weighted = 0;
+            for (int ch = 0; ch < channels; ch++, i++) {
+                float sample = samples[i];
+                double filtered = kWeight(state[ch], sample);
+                weighted += weights[ch] * filtered * filtered;
+                history[ch][historyPos] = sample;
+            }
+            historyPos = (historyPos + 1) % TAPS_PER_PHASE;
+            for (int ch = 0; ch < channels; ch++) {
+                measurePeak(history[ch]);
+            }
+            subBlockSum += weighted;
+            if (++subBlockFill == subBlockFrames) {
+                finishSubBlock();
+            }
+        }
+    }
+
+    /**
+     * Gated integrated loudness in LUFS, or -Infinity when nothing was above the absolute
+     * gate (silence or shorter than 400 ms).
+     */
+    double integratedLufs() {
+        double energy = 0;
+        long count = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            energy += binEnergy[bin];
+            count += binCounts[bin];
+        }
+        if (count == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double relativeGate = loudness(energy / count) + RELATIVE_GATE_LU;
+        int firstBin = Math.max(0, binFor(relativeGate));
+        energy = 0;
+        count = 0;
+        for (int bin = firstBin; bin < BINS; bin++) {
+            energy += binEnergy[bin];
+            count += binCounts[bin];
+        }
+        return count > 0 ? loudness(energy / count) : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Oversampled peak in dBTP (dB relative to full scale).
+     */
+    double truePeakDb() {
+        return truePeak > 0 ? 20 * Math.log10(truePeak) : Double.NEGATIVE_INFINITY;
+    }
+
+    private void finishSubBlock() {
+        subBlocks[subBlockCount % 4] = subBlockSum / subBlockFrames;
+        subBlockCount++;
+        subBlockSum = 0;
+        subBlockFill = 0;
+        if (subBlockCount < 4) {
+            return; // the first block needs 400 ms
+        }
+        double energy = (subBlocks[0] + subBlocks[1] + subBlocks[2] + subBlocks[3]) / 4;
+        double lufs = loudness(energy);
+        if (lufs <= ABSOLUTE_GATE_LUFS) {
+            return;
+        }
+        int bin = Math.min(BINS - 1, binFor(lufs));
+        binCounts[bin]++;
+        binEnergy[bin] += energy;
+    }
+
+    private static int binFor(double lufs) {
+        return (int) Math.floor((lufs - ABSOLUTE_GATE_LUFS) / BIN_LU);
+    }
+
+    private static double loudness(double energy) {
+        return -0.691 + 10 * Math.log10(energy);
+    }
+
+    // Direct form I; s holds the input history and the shelf and high-pass output
+    // histories. The high pass reads the shelf's output history as its input history.
+    private double kWeight(double[] s, double x) {
+        double shelf = shelfB[0] * x + shelfB[1] * s[0] + shelfB[2] * s[1] - shelfA[1] * s[2] - shelfA[2] * s[3];
+        double pass = passB[0] * shelf + passB[1] * s[2] + passB[2] * s[3] - passA[1] * s[4] - passA[2] * s[5];
+        s[1] = s[0];
+        s[0] = x;
+        s[3] = s[2];
+        s[2] = shelf;
+        s[5] = s[4];
+        s[4] = pass;
+        return pass;
+    }
+
+    private void measurePeak(float[] samples) {
+        for (double[] taps : phases) {
+            double sum = 0;
+            int index = historyPos;
+            for (int t = 0; t < TAPS_PER_PHASE; t++) {
+                index = index == 0 ? TAPS_PER_PHASE - 1 : index - 1;
+                sum += taps[t] * samples[index];
+            }
+            double magnitude = Math.abs(sum);
+            if (magnitude > truePeak) {
+                truePeak = magnitude;
+            }
+        }
+    }
+
+    // BS.1770 pre-filter and RLB filter, re-derived for any sample rate (as libebur128 does)
+    private void designKWeighting(int sampleRate) {
+        double f0 = 1681.974450955533;
+        double gainDb = 3.999843853973347;
+        double q = 0.7071752369554196;
+        double k = Math.tan(Math.PI * f0 / sampleRate);
+        double vh = Math.pow(10, gainDb / 20);
+        double vb = Math.pow(vh, 0.4996667741545416);
+        double a0 = 1 + k / q + k * k;
+        shelfB[0] = (vh + vb * k / q + k * k) / a0;
+        shelfB[1] = 2 * (k * k - vh) / a0;
+        shelfB[2] = (vh - vb * k / q + k * k) / a0;
+        shelfA[0] = 1;
+        shelfA[1] = 2 * (k * k - 1) / a0;
+        shelfA[2] = (1 - k / q + k * k) / a0;
+
+        f0 = 38.13547087602444;
+        q = 0.5003270373238773;
+        k = Math.tan(Math.PI * f0 / sampleRate);
+        a0 = 1 + k / q + k * k;
+        passA[0] = 1;
+        passA[1] = 2 * (k * k - 1) / a0;
+        passA[2] = (1 - k / q + k * k) / a0;
+    }
+
+    // One windowed-sinc low pass at the original Nyquist, split into polyphase branches
+    private static double[][] designInterpolator(int factor) {
+        int length = factor * TAPS_PER_PHASE;
+        double center = (length - 1) / 2.0;
+        double[][] phases = new double[factor][TAPS_PER_PHASE];
+        for (int n = 0; n < length; n++) {
+            double x = (n - center) / factor;
+            double sinc = x == 0 ? 1 : Math.sin(Math.PI * x) / (Math.PI * x);
+            double window = 0.5 - 0.5 * Math.cos(2 * Math.PI * (n + 0.5) / length);
+            phases[n % factor][n / factor] = sinc * window;
+        }
+        return phases;
+    }
+
+    // BS.1770 weights: 1.0 for front channels, 1.41 for surrounds, LFE excluded
+    private static double[] channelWeights(int channels) {
+        double[] weights = new double[channels];
+        Arrays.fill(weights, 1.0);
+        if (channels == 6) { // L, R, C, LFE, Ls, Rs
+            weights[3] = 0;
+            weights[4] = 1.41;
+            weights[5] = 1.41;
+        }
+        return weights;
+    }
+}
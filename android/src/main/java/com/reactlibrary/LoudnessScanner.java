@@ -0,0 +1,277 @@
+package com.reactlibrary;
+
+import android.content.Context;
+import android.media.AudioFormat;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the loudness of every library track that has no stored result.
+ *
+ * Tracks are decoded in parallel, one MediaExtractor/MediaCodec pair per worker, and
+ * streamed through a LoudnessMeter, so memory does not grow with track length. Each
+ * result is written to the LibraryIndex as soon as it is known, keyed by MediaStore id
+ * and modification time. A cancelled or interrupted scan therefore loses at most the
+ * tracks in flight, and the next scan picks up the rest; edited files are measured again.
+ */
+final class LoudnessScanner {
+
+    // Gain from normalization never pushes the true peak above this
+    static final double MAX_TRUE_PEAK_DB = -1;
+
+    private static final long CODEC_TIMEOUT_US = 10_000;
+    private static final long PROGRESS_INTERVAL_MS = 250;
+
+    interface ProgressListener {
+        void onProgress(int done, int total);
+    }
+
+    static final class Result {
+        int measured;
+        int failed;
+        int remaining;
+        boolean cancelled;
+        long durationMs;
+    }
+
+    private final Context context;
+    private final LibraryIndex index;
+    private volatile boolean cancelled;
+
+    LoudnessScanner(Context context, LibraryIndex index) {
+        this.context = context.getApplicationContext();
+        this.index = index;
+    }
+
+    /**
+     * One worker per core, leaving one free for playback and the UI.
+     */
+    static int defaultConcurrency() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * The trackLufs to give LoudnessAudioProcessor so a track measured at {@code lufs}
+     * reaches {@code targetLufs} without its true peak going over MAX_TRUE_PEAK_DB.
+     */
+    static float trackLufsFor(double targetLufs, double lufs, double truePeakDb) {
+        double gainDb = Math.min(targetLufs - lufs, MAX_TRUE_PEAK_DB - truePeakDb);
+        return (float) (targetLufs - gainDb);
+    }
+
+    /**
+     * Clears the cancel of an earlier scan. Call when a scan is accepted, before it is
+     * queued, so a cancel that arrives before scan() starts still stops it.
+     */
+    void reset() {
+        cancelled = false;
+    }
+
+    /**
+     * Syncs the index, then measures every pending track. Blocking; one scan at a time.
+     */
+    Result scan(int concurrency, ProgressListener progress) throws InterruptedException {
+        long start = SystemClock.elapsedRealtime();
+        index.sync();
+        List<LibraryIndex.LoudnessTask> tasks = index.pendingLoudness();
+        int total = tasks.size();
+
+        Result result = new Result();
+        if (cancelled) {
+            // Cancelled while queued or syncing; nothing measured
+            result.remaining = total;
+            result.cancelled = true;
+            result.durationMs = SystemClock.elapsedRealtime() - start;
+            return result;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long[] lastProgressMs = { 0 };
+        int workers = Math.max(1, Math.min(concurrency, total));
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "ReactNativeAudio:Loudness"));
+        for (int w = 0; w < workers; w++) {
+            pool.execute(() -> {
+                float[][] scratch = { new float[0] }; // reused across this worker's tracks
+                int i;
+                while (!cancelled && (i = next.getAndIncrement()) < total) {
+                    LibraryIndex.LoudnessTask task = tasks.get(i);
+                    try {
+                        double[] measured = measure(task, scratch);
+                        index.putLoudness(task, measured[0], measured[1]);
+                    } catch (CancellationException e) {
+                        return;
+                    } catch (IOException | IllegalStateException e) {
+                        // Not decodable as it is: recorded so it is skipped until the file changes
+                        failed.incrementAndGet();
+                        index.putLoudness(task, Double.NaN, Double.NaN);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet(); // e.g. access revoked; tried again next scan
+                    }
+                    int count = done.incrementAndGet();
+                    synchronized (lastProgressMs) {
+                        long now = SystemClock.elapsedRealtime();
+                        if (count == total || now - lastProgressMs[0] >= PROGRESS_INTERVAL_MS) {
+                            lastProgressMs[0] = now;
+                            progress.onProgress(count, total);
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            cancelled = true;
+            pool.shutdownNow();
+            throw e;
+        }
+
+        result.failed = failed.get();
+        result.measured = done.get() - result.failed;
+        result.remaining = total - done.get();
+        result.cancelled = cancelled;
+        result.durationMs = SystemClock.elapsedRealtime() - start;
+        return result;
+    }
+
+    /**
+     * Stops the running scan after the tracks being decoded reach their next buffer.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * {integrated LUFS, true peak dBTP}; NaN loudness for silent tracks.
+     */
+    private double[] measure(LibraryIndex.LoudnessTask task, float[][] scratch) throws IOException {
+        MediaExtractor extractor = new MediaExtractor();
+        MediaCodec codec = null;
+        try {
+            extractor.setDataSource(context, task.uri, null);
+            MediaFormat format = null;
+            for (int i = 0; i < extractor.getTrackCount(); i++) {
+                MediaFormat candidate = extractor.getTrackFormat(i);
+                String mime = candidate.getString(MediaFormat.KEY_MIME);
+                if (mime != null && mime.startsWith("audio/")) {
+                    extractor.selectTrack(i);
+                    format = candidate;
+                    break;
+                }
+            }
+            if (format == null) {
+                throw new IOException("No audio track in " + task.uri);
+            }
+            int sampleRate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+            int channels = format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+            boolean isFloat = false;
+            LoudnessMeter meter = null;
+
+            codec = MediaCodec.createDecoderByType(format.getString(MediaFormat.KEY_MIME));
+            codec.configure(format, null, null, 0);
+            codec.start();
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            boolean inputDone = false;
+            boolean outputDone = false;
+            while (!outputDone) {
+                if (cancelled) {
+                    throw new CancellationException();
+                }
+                if (!inputDone) {
+                    int inIndex = codec.dequeueInputBuffer(CODEC_TIMEOUT_US);
+                    if (inIndex >= 0) {
+                        ByteBuffer input = codec.getInputBuffer(inIndex);
+                        int size = extractor.readSampleData(input, 0);
+                        if (size < 0) {
+                            codec.queueInputBuffer(inIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            codec.queueInputBuffer(inIndex, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+
+                int outIndex = codec.dequeueOutputBuffer(info, CODEC_TIMEOUT_US);
+                if (outIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    if (meter != null) {
+                        throw new IOException("Output format changed mid-stream in " + task.uri);
+                    }
+                    // Decoders may change rate or channels (e.g. HE-AAC) once they see the stream
+                    MediaFormat output = codec.getOutputFormat();
+                    sampleRate = output.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                    channels = output.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    isFloat = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                            && output.containsKey(MediaFormat.KEY_PCM_ENCODING)
+                            && output.getInteger(MediaFormat.KEY_PCM_ENCODING) == AudioFormat.ENCODING_PCM_FLOAT;
+                } else if (outIndex >= 0) {
+                    if (info.size > 0) {
+                        if (meter == null) {
+                            meter = new LoudnessMeter(sampleRate, channels);
+                        }
+                        ByteBuffer output = codec.getOutputBuffer(outIndex);
+                        output.position(info.offset);
+                        output.limit(info.offset + info.size);
+                        addPcm(meter, output.order(ByteOrder.nativeOrder()), channels, isFloat, scratch);
+                    }
+                    codec.releaseOutputBuffer(outIndex, false);
+                    if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                        outputDone = true;
+                    }
+                }
+            }
+            if (meter == null) {
+                throw new IOException("No audio decoded from " + task.uri);
+            }
+            double lufs = meter.integratedLufs();
+            return new double[] { Double.isInfinite(lufs) ? Double.NaN : lufs, meter.truePeakDb() };
+        } finally {
+            if (codec != null) {
+                try {
+                    codec.stop();
+                } catch (IllegalStateException e) {
+                    // not started
+                }
+                codec.release();
+            }
+            extractor.release();
+        }
+    }
+
+    private static void addPcm(LoudnessMeter meter, ByteBuffer pcm, int channels, boolean isFloat,
+            float[][] scratch) {
+        int bytesPerSample = isFloat ? 4 : 2;
+        int samples = pcm.remaining() / bytesPerSample;
+        if (scratch[0].length < samples) {
+            scratch[0] = new float[samples];
+        }
+        float[] buffer = scratch[0];
+        int base = pcm.position();
+        for (int i = 0; i < samples; i++) {
+            buffer[i] = isFloat
+                    ? pcm.getFloat(base + i * 4)
+                    : pcm.getShort(base + i * 2) / 32768f;
+        }
+        meter.addFrames(buffer, samples / channels);
+    }
+}
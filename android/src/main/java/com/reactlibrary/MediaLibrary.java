@@ -0,0 +1,319 @@
+package com.reactlibrary;
+
+import android.content.ContentResolver;
+import android.content.ContentUris;
+import android.database.Cursor;
+import android.database.CursorWrapper;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Bundle;
+import android.provider.MediaStore;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MediaStore access for the media library API.
+ *
+ * Queries only read the columns that end up in an AudioAsset. On Android 11+ paging is
+ * pushed down to the provider (LIMIT/OFFSET) so large libraries are never materialised
+ * in one go; where the provider does not report honouring those arguments, pages are cut
+ * from the full result by a cursor window instead.
+ * Not thread-confined; callers run it on the module's library executor.
+ */
+final class MediaLibrary {
+
+    static final Uri AUDIO_URI = MediaStore.Audio.Media.EXTERNAL_CONTENT_URI;
+    static final int DEFAULT_PAGE_SIZE = 200;
+
+    private static final String[] PROJECTION = {
+            MediaStore.Audio.Media._ID,
+            MediaStore.Audio.Media.TITLE,
+            MediaStore.Audio.Media.ARTIST,
+            MediaStore.Audio.Media.ALBUM,
+            MediaStore.Audio.Media.ALBUM_ID,
+            MediaStore.Audio.Media.DURATION,
+    };
+
+    /**
+     * Selection and sort order built from AudioQueryOptions.
+     */
+    static final class Query {
+        final String selection;
+        final String[] selectionArgs;
+        final String sortOrder;
+
+        Query(String selection, String[] selectionArgs, String sortOrder) {
+            this.selection = selection;
+            this.selectionArgs = selectionArgs;
+            this.sortOrder = sortOrder;
+        }
+
+        /**
+         * Every music row in provider order, as getAudios has always returned them.
+         */
+        static Query all() {
+            return new Query(MediaStore.Audio.Media.IS_MUSIC + " != 0", null, null);
+        }
+
+        static Query fromOptions(ReadableMap options) {
+            StringBuilder selection = new StringBuilder(MediaStore.Audio.Media.IS_MUSIC + " != 0");
+            List<String> args = new ArrayList<>();
+
+            if (options.hasKey("search")) {
+                // Wildcards in the search match themselves
+                String like = "%" + options.getString("search").replace("\\", "\\\\").replace("%", "\\%")
+                        .replace("_", "\\_") + "%";
+                selection.append(" AND (").append(MediaStore.Audio.Media.TITLE).append(" LIKE ? ESCAPE '\\' OR ")
+                        .append(MediaStore.Audio.Media.ARTIST).append(" LIKE ? ESCAPE '\\' OR ")
+                        .append(MediaStore.Audio.Media.ALBUM).append(" LIKE ? ESCAPE '\\')");
+                args.add(like);
+                args.add(like);
+                args.add(like);
+            }
+            if (options.hasKey("artist")) {
+                selection.append(" AND ").append(MediaStore.Audio.Media.ARTIST).append(" = ?");
+                args.add(options.getString("artist"));
+            }
+            if (options.hasKey("album")) {
+                selection.append(" AND ").append(MediaStore.Audio.Media.ALBUM).append(" = ?");
+                args.add(options.getString("album"));
+            }
+            if (options.hasKey("minDuration")) {
+                selection.append(" AND ").append(MediaStore.Audio.Media.DURATION).append(" >= ?");
+                args.add(String.valueOf((long) (options.getDouble("minDuration") * 1000)));
+            }
+
+            String column = sortColumn(options.hasKey("sortBy") ? options.getString("sortBy") : "title");
+            boolean descending = options.hasKey("sortOrder") && "desc".equals(options.getString("sortOrder"));
+            // _ID breaks ties so pages stay stable between calls
+            String sortOrder = column + (descending ? " DESC" : " ASC") + ", " + MediaStore.Audio.Media._ID + " ASC";
+
+            return new Query(selection.toString(), args.toArray(new String[0]), sortOrder);
+        }
+
+        private static String sortColumn(String sortBy) {
+            switch (sortBy) {
+                case "artist":
+                    return MediaStore.Audio.Media.ARTIST;
+                case "album":
+                    return MediaStore.Audio.Media.ALBUM;
+                case "duration":
+                    return MediaStore.Audio.Media.DURATION;
+                case "dateAdded":
+                    return MediaStore.Audio.Media.DATE_ADDED;
+                default:
+                    return MediaStore.Audio.Media.TITLE;
+            }
+        }
+    }
+
+    private final ContentResolver resolver;
+    private final ArtworkCache artwork;
+
+    MediaLibrary(ContentResolver resolver, ArtworkCache artwork) {
+        this.resolver = resolver;
+        this.artwork = artwork;
+    }
+
+    /**
+     * Opens a cursor over one page. {@code limit <= 0} means no limit.
+     */
+    Cursor query(Query query, int offset, int limit) {
+        offset = Math.max(0, offset);
+        if (offset == 0 && limit <= 0) {
+            return resolver.query(AUDIO_URI, PROJECTION, query.selection, query.selectionArgs, query.sortOrder);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            Bundle args = new Bundle();
+            args.putString(ContentResolver.QUERY_ARG_SQL_SELECTION, query.selection);
+            args.putStringArray(ContentResolver.QUERY_ARG_SQL_SELECTION_ARGS, query.selectionArgs);
+            args.putString(ContentResolver.QUERY_ARG_SQL_SORT_ORDER, query.sortOrder);
+            if (limit > 0) {
+                args.putInt(ContentResolver.QUERY_ARG_LIMIT, limit);
+            }
+            args.putInt(ContentResolver.QUERY_ARG_OFFSET, offset);
+            Cursor cursor = resolver.query(AUDIO_URI, PROJECTION, args, null);
+            if (cursor == null || honoredPaging(cursor, limit > 0)) {
+                return cursor;
+            }
+            cursor.close();
+        }
+        // Older MediaProviders drop the paging arguments, so skip and cap the rows here
+        Cursor cursor = resolver.query(AUDIO_URI, PROJECTION, query.selection, query.selectionArgs, query.sortOrder);
+        return cursor != null ? new WindowCursor(cursor, offset, limit) : null;
+    }
+
+    // Providers list the arguments they applied; anything unlisted was silently ignored
+    private static boolean honoredPaging(Cursor cursor, boolean limited) {
+        Bundle extras = cursor.getExtras();
+        String[] honored = extras != null ? extras.getStringArray(ContentResolver.EXTRA_HONORED_ARGS) : null;
+        if (honored == null) {
+            return false;
+        }
+        List<String> keys = Arrays.asList(honored);
+        return keys.contains(ContentResolver.QUERY_ARG_OFFSET)
+                && (!limited || keys.contains(ContentResolver.QUERY_ARG_LIMIT));
+    }
+
+    /**
+     * Rows {@code [offset, offset + limit)} of a cursor over the whole result, for providers
+     * that ignored the paging arguments. Positions are relative to the window.
+     */
+    static final class WindowCursor extends CursorWrapper {
+        private final int offset;
+        private final int count;
+        private int position = -1;
+
+        WindowCursor(Cursor cursor, int offset, int limit) {
+            super(cursor);
+            this.offset = offset;
+            int available = Math.max(0, cursor.getCount() - offset);
+            this.count = limit > 0 ? Math.min(limit, available) : available;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public int getPosition() {
+            return position;
+        }
+
+        @Override
+        public boolean moveToPosition(int position) {
+            if (position < 0) {
+                this.position = -1;
+                super.moveToPosition(-1);
+                return false;
+            }
+            if (position >= count) {
+                this.position = count;
+                super.moveToPosition(super.getCount());
+                return false;
+            }
+            this.position = position;
+            return super.moveToPosition(offset + position);
+        }
+
+        @Override
+        public boolean move(int delta) {
+            return moveToPosition(position + delta);
+        }
+
+        @Override
+        public boolean moveToFirst() {
+            return moveToPosition(0);
+        }
+
+        @Override
+        public boolean moveToLast() {
+            return moveToPosition(count - 1);
+        }
+
+        @Override
+        public boolean moveToNext() {
+            return moveToPosition(position + 1);
+        }
+
+        @Override
+        public boolean moveToPrevious() {
+            return moveToPosition(position - 1);
+        }
+
+        @Override
+        public boolean isFirst() {
+            return count > 0 && position == 0;
+        }
+
+        @Override
+        public boolean isLast() {
+            return count > 0 && position == count - 1;
+        }
+
+        @Override
+        public boolean isBeforeFirst() {
+            return count == 0 || position == -1;
+        }
+
+        @Override
+        public boolean isAfterLast() {
+            return count == 0 || position == count;
+        }
+    }
+
+    int count(Query query) {
+        try (Cursor cursor = resolver.query(AUDIO_URI, new String[] { MediaStore.Audio.Media._ID },
+                query.selection, query.selectionArgs, null)) {
+            return cursor != null ? cursor.getCount() : 0;
+        }
+    }
+
+    /**
+     * Column indexes resolved once per cursor.
+     */
+    static final class Columns {
+        final int id;
+        final int title;
+        final int artist;
+        final int album;
+        final int albumId;
+        final int duration;
+
+        Columns(Cursor cursor) {
+            id = cursor.getColumnIndexOrThrow(MediaStore.Audio.Media._ID);
+            title = cursor.getColumnIndexOrThrow(MediaStore.Audio.Media.TITLE);
+            artist = cursor.getColumnIndexOrThrow(MediaStore.Audio.Media.ARTIST);
+            album = cursor.getColumnIndexOrThrow(MediaStore.Audio.Media.ALBUM);
+            albumId = cursor.getColumnIndexOrThrow(MediaStore.Audio.Media.ALBUM_ID);
+            duration = cursor.getColumnIndexOrThrow(MediaStore.Audio.Media.DURATION);
+        }
+    }
+
+    /**
+     * One AudioAsset. {@code artwork} is only set when the album's thumbnail is already
+     * cached; otherwise it is decoded in the background for a later listing.
+     */
+    WritableMap readRow(Cursor cursor, Columns columns) {
+        long id = cursor.getLong(columns.id);
+        String title = cursor.getString(columns.title);
+        String artist = cursor.getString(columns.artist);
+        String album = cursor.getString(columns.album);
+        long durationMs = cursor.getLong(columns.duration);
+        String uri = ContentUris.withAppendedId(AUDIO_URI, id).toString();
+
+        WritableMap map = Arguments.createMap();
+        map.putString("id", String.valueOf(id));
+        map.putString("uri", uri);
+        map.putString("title", title != null ? title : "Unknown");
+        map.putString("artist", artist != null ? artist : "Unknown");
+        map.putString("album", album != null ? album : "Unknown");
+        map.putDouble("duration", durationMs / 1000.0);
+        if (!cursor.isNull(columns.albumId)) {
+            String thumbnail = artwork.albumThumbnail(cursor.getLong(columns.albumId), uri);
+            if (thumbnail != null) {
+                map.putString("artwork", thumbnail);
+            }
+        }
+        return map;
+    }
+
+    // Cursor tokens are opaque to JS; today they just carry the next offset
+    static String encodeCursor(int offset) {
+        return "o:" + offset;
+    }
+
+    static int decodeCursor(String cursor) {
+        if (cursor == null || !cursor.startsWith("o:")) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return Integer.parseInt(cursor.substring(2));
+    }
+}
@@ -0,0 +1,547 @@
+package com.reactlibrary;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioManager;
+import android.media.AudioTrack;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Process;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays several files in lockstep through one AudioTrack.
+ *
+ * A single thread owns every decoder, the per-track rings and the output. Decoders are
+ * polled without blocking and resampled into stereo float rings at the output rate. A
+ * block is only mixed once every unfinished track can supply all of it, so tracks
+ * advance by exactly the same number of frames and cannot drift; if one decoder falls
+ * behind, the whole mix waits. Gain, pan and mute are read once per block and ramped
+ * across it. Seeks flush every decoder and drop decoded frames before the target, so
+ * all tracks restart on the same frame.
+ */
+final class MultitrackMixer {
+
+    interface Listener {
+        void onEnded();
+
+        void onError(String message);
+    }
+
+    private static final int BLOCK_FRAMES = 1024;
+    private static final int RING_MS = 500;
+    private static final int MAX_PUMPS_PER_TRACK = 8;
+    private static final long PAUSED_POLL_MS = 50;
+
+    private final class Track {
+        final MediaExtractor extractor;
+        final MediaCodec codec;
+        final long durationUs;
+        final MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+
+        // Set from any thread, read once per block
+        volatile float gain = 1f;
+        volatile float pan = 0f;
+        volatile boolean muted = false;
+
+        // Mixer thread only
+        int sourceRate;
+        int sourceChannels;
+        boolean isFloat;
+        boolean inputDone;
+        boolean outputDone;
+        boolean endAfterPending;
+        int pendingIndex = -1;
+        ByteBuffer pendingBuffer;
+        int pendingPos;
+        int pendingEnd;
+        long discardUntilUs;
+        final float[] ring;
+        final int ringFrames;
+        long written;
+        long read;
+        double phase;
+        float previousLeft;
+        float previousRight;
+        boolean hasPrevious;
+        float targetLeft;
+        float targetRight;
+        float appliedLeft;
+        float appliedRight;
+
+        Track(Context context, Uri uri) throws IOException {
+            extractor = new MediaExtractor();
+            MediaCodec created = null;
+            try {
+                extractor.setDataSource(context, uri, null);
+                MediaFormat format = null;
+                for (int i = 0; i < extractor.getTrackCount(); i++) {
+                    MediaFormat candidate = extractor.getTrackFormat(i);
+                    String mime = candidate.getString(MediaFormat.KEY_MIME);
+                    if (mime != null && mime.startsWith("audio/")) {
+                        extractor.selectTrack(i);
+                        format = candidate;
+                        break;
+                    }
+                }
+                if (format == null) {
+                    throw new IOException("No audio track in " + uri);
+                }
+                durationUs = format.containsKey(MediaFormat.KEY_DURATION) ? format.getLong(MediaFormat.KEY_DURATION) : 0;
+                sourceRate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                sourceChannels = format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                created = MediaCodec.createDecoderByType(format.getString(MediaFormat.KEY_MIME));
+                created.configure(format, null, null, 0);
+                created.start();
+            } catch (IOException | RuntimeException e) {
+                if (created != null) {
+                    created.release();
+                }
+                extractor.release();
+                throw e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+            }
+            codec = created;
+            ringFrames = sampleRate * RING_MS / 1000;
+            ring = new float[ringFrames * 2];
+            updateGains();
+            appliedLeft = targetLeft;
+            appliedRight = targetRight;
+        }
+
+        void updateGains() {
+            float level = muted ? 0f : Math.max(0f, gain);
+            float angle = (float) ((Math.max(-1f, Math.min(1f, pan)) + 1f) * Math.PI / 4);
+            targetLeft = level * (float) Math.cos(angle);
+            targetRight = level * (float) Math.sin(angle);
+        }
+
+        int available() {
+            return (int) (written - read);
+        }
+
+        boolean isFinished() {
+            return outputDone && available() == 0;
+        }
+
+        // One step of decoder work; returns false when nothing could be done right now
+        boolean pump() {
+            boolean progress = false;
+            if (!inputDone) {
+                int inIndex = codec.dequeueInputBuffer(0);
+                if (inIndex >= 0) {
+                    int size = extractor.readSampleData(codec.getInputBuffer(inIndex), 0);
+                    if (size < 0) {
+                        codec.queueInputBuffer(inIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                        inputDone = true;
+                    } else {
+                        codec.queueInputBuffer(inIndex, 0, size, extractor.getSampleTime(), 0);
+                        extractor.advance();
+                    }
+                    progress = true;
+                }
+            }
+            if (pendingIndex < 0 && !outputDone) {
+                int outIndex = codec.dequeueOutputBuffer(info, 0);
+                if (outIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    MediaFormat output = codec.getOutputFormat();
+                    sourceRate = output.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                    sourceChannels = output.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    isFloat = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                            && output.containsKey(MediaFormat.KEY_PCM_ENCODING)
+                            && output.getInteger(MediaFormat.KEY_PCM_ENCODING)
+                                    == AudioFormat.ENCODING_PCM_FLOAT;
+                    progress = true;
+                } else if (outIndex >= 0) {
+                    accept(outIndex);
+                    progress = true;
+                }
+            }
+            if (pendingIndex >= 0) {
+                progress |= drainPending();
+            }
+            return progress;
+        }
+
+        private void accept(int outIndex) {
+            boolean end = (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+            int frameBytes = (isFloat ? 4 : 2) * sourceChannels;
+            int offset = info.offset;
+            int limit = info.offset + info.size;
+            if (discardUntilUs > 0 && info.size > 0) {
+                // Drop the frames a seek landed before, to the exact frame
+                long skip = (discardUntilUs - info.presentationTimeUs) * sourceRate / 1_000_000;
+                if (skip > 0) {
+                    offset = (int) Math.min(limit, offset + skip * frameBytes);
+                }
+                if (offset < limit) {
+                    discardUntilUs = 0;
+                }
+            }
+            if (offset >= limit) {
+                codec.releaseOutputBuffer(outIndex, false);
+                outputDone = end;
+                return;
+            }
+            pendingIndex = outIndex;
+            pendingBuffer = codec.getOutputBuffer(outIndex).order(ByteOrder.nativeOrder());
+            pendingPos = offset;
+            pendingEnd = limit;
+            endAfterPending = end;
+        }
+
+        // Linear resampling into the ring; stops when the ring cannot take another input frame
+        private boolean drainPending() {
+            int bytesPerSample = isFloat ? 4 : 2;
+            int frameBytes = bytesPerSample * sourceChannels;
+            double step = (double) sourceRate / sampleRate;
+            int maxOutputsPerInput = (int) Math.ceil(1 / step) + 1;
+            boolean progress = false;
+            while (pendingPos + frameBytes <= pendingEnd && ringFrames - available() >= maxOutputsPerInput) {
+                float left = sampleAt(pendingPos);
+                float right = sourceChannels > 1 ? sampleAt(pendingPos + bytesPerSample) : left;
+                pendingPos += frameBytes;
+                if (!hasPrevious) {
+                    previousLeft = left;
+                    previousRight = right;
+                    hasPrevious = true;
+                }
+                while (phase < 1.0) {
+                    float t = (float) phase;
+                    int slot = (int) (written % ringFrames) * 2;
+                    ring[slot] = previousLeft + (left - previousLeft) * t;
+                    ring[slot + 1] = previousRight + (right - previousRight) * t;
+                    written++;
+                    phase += step;
+                }
+                phase -= 1.0;
+                previousLeft = left;
+                previousRight = right;
+                progress = true;
+            }
+            if (pendingPos + frameBytes > pendingEnd) {
+                codec.releaseOutputBuffer(pendingIndex, false);
+                pendingIndex = -1;
+                pendingBuffer = null;
+                outputDone = endAfterPending;
+                progress = true;
+            }
+            return progress;
+        }
+
+        private float sampleAt(int pos) {
+            return isFloat ? pendingBuffer.getFloat(pos) : pendingBuffer.getShort(pos) / 32768f;
+        }
+
+        void seekTo(long positionUs) {
+            if (pendingIndex >= 0) {
+                codec.releaseOutputBuffer(pendingIndex, false);
+                pendingIndex = -1;
+                pendingBuffer = null;
+            }
+            codec.flush();
+            extractor.seekTo(positionUs, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+            inputDone = false;
+            outputDone = false;
+            endAfterPending = false;
+            discardUntilUs = positionUs;
+            read = written;
+            phase = 0;
+            hasPrevious = false;
+        }
+
+        void release() {
+            try {
+                codec.stop();
+            } catch (IllegalStateException e) {
+                // already stopped
+            }
+            codec.release();
+            extractor.release();
+        }
+    }
+
+    private final int sampleRate;
+    private final Track[] tracks;
+    private final long durationUs;
+    private final AudioTrack output;
+    private final float[] mix = new float[BLOCK_FRAMES * 2];
+    private final Listener listener;
+    private final Object lock = new Object();
+    private final AtomicLong pendingSeekUs = new AtomicLong(-1);
+    private final Thread thread;
+
+    private volatile boolean playing;
+    private volatile boolean released;
+    private volatile boolean stopped; // the mix thread has exited and released the tracks
+    private volatile long framesMixed;
+
+    /**
+     * Opens a decoder per uri. Blocking; the mixer starts paused at 0.
+     */
+    MultitrackMixer(Context context, Uri[] uris, Listener listener) throws IOException {
+        this.listener = listener;
+        AudioManager audioManager = (AudioManager) context.getSystemService(Context.AUDIO_SERVICE);
+        sampleRate = SoundEngine.parseProperty(audioManager.getProperty(AudioManager.PROPERTY_OUTPUT_SAMPLE_RATE), 48000);
+
+        tracks = new Track[uris.length];
+        long longest = 0;
+        try {
+            for (int i = 0; i < uris.length; i++) {
+                tracks[i] = new Track(context, uris[i]);
+                longest = Math.max(longest, tracks[i].durationUs);
+            }
+        } catch (IOException e) {
+            for (Track track : tracks) {
+                if (track != null) {
+                    track.release();
+                }
+            }
+            throw e;
+        }
+        durationUs = longest;
+
+        int minBuffer = AudioTrack.getMinBufferSize(sampleRate, AudioFormat.CHANNEL_OUT_STEREO,
+                AudioFormat.ENCODING_PCM_FLOAT);
+        output = new AudioTrack.Builder()
+                .setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_MEDIA)
+                        .setContentType(AudioAttributes.CONTENT_TYPE_MUSIC)
+                        .build())
+                .setAudioFormat(new AudioFormat.Builder()
+                        .setSampleRate(sampleRate)
+                        .setChannelMask(AudioFormat.CHANNEL_OUT_STEREO)
+                        .setEncoding(AudioFormat.ENCODING_PCM_FLOAT)
+                        .build())
+                .setTransferMode(AudioTrack.MODE_STREAM)
+                .setBufferSizeInBytes(Math.max(minBuffer, BLOCK_FRAMES * 2 * 4 * 2))
+                .build();
+
+        thread = new Thread(this::run, "ReactNativeAudio:Mixer");
+        thread.start();
+    }
+
+    long getDurationMs() {
+        return durationUs / 1000;
+    }
+
+    /**
+     * True once the mixer can no longer play: after release(), or after the mix thread
+     * failed and reported onError.
+     */
+    boolean isStopped() {
+        return stopped;
+    }
+
+    long getPositionMs() {
+        return framesMixed * 1000 / sampleRate;
+    }
+
+    int getTrackCount() {
+        return tracks.length;
+    }
+
+    boolean isPlaying() {
+        return playing;
+    }
+
+    void play() {
+        synchronized (lock) {
+            playing = true;
+            lock.notifyAll();
+        }
+    }
+
+    void pause() {
+        synchronized (lock) {
+            playing = false;
+            lock.notifyAll();
+        }
+    }
+
+    void seekTo(long positionMs) {
+        long targetUs = Math.max(0, positionMs * 1000);
+        if (durationUs > 0) {
+            targetUs = Math.min(targetUs, durationUs); // 0 when no track reports a duration
+        }
+        synchronized (lock) {
+            pendingSeekUs.set(targetUs);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Current gain, pan and mute of one track.
+     */
+    static final class TrackState {
+        final float gain;
+        final float pan;
+        final boolean muted;
+
+        TrackState(float gain, float pan, boolean muted) {
+            this.gain = gain;
+            this.pan = pan;
+            this.muted = muted;
+        }
+    }
+
+    TrackState getTrack(int index) {
+        Track track = tracks[index];
+        return new TrackState(track.gain, track.pan, track.muted);
+    }
+
+    void setTrack(int index, float gain, float pan, boolean muted) {
+        Track track = tracks[index];
+        track.gain = gain;
+        track.pan = pan;
+        track.muted = muted;
+    }
+
+    void release() {
+        synchronized (lock) {
+            released = true;
+            lock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_AUDIO);
+        boolean outputRunning = false;
+        try {
+            while (!released) {
+                long seekUs = pendingSeekUs.getAndSet(-1);
+                if (seekUs >= 0) {
+                    for (Track track : tracks) {
+                        track.seekTo(seekUs);
+                    }
+                    if (outputRunning) {
+                        output.pause();
+                        output.flush(); // drop audio from before the seek
+                        outputRunning = false;
+                    }
+                    framesMixed = seekUs * sampleRate / 1_000_000;
+                }
+
+                boolean progress = pumpAll();
+                if (!playing) {
+                    if (outputRunning) {
+                        output.pause();
+                        outputRunning = false;
+                    }
+                    // Rings keep filling while paused, so play() starts without waiting for decoders
+                    if (!progress) {
+                        synchronized (lock) {
+                            if (!playing && !released && pendingSeekUs.get() < 0) {
+                                lock.wait(PAUSED_POLL_MS);
+                            }
+                        }
+                    }
+                    continue;
+                }
+
+                if (!readyForBlock()) {
+                    if (!progress) {
+                        Thread.sleep(2); // a decoder is behind; hold every track
+                    }
+                    continue;
+                }
+                if (!outputRunning) {
+                    output.play();
+                    outputRunning = true;
+                }
+                int frames = mixBlock();
+                output.write(mix, 0, frames * 2, AudioTrack.WRITE_BLOCKING);
+                framesMixed += frames;
+
+                if (allFinished()) {
+                    playing = false;
+                    listener.onEnded();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // MediaCodec and AudioTrack report failures as IllegalStateException
+            playing = false;
+            listener.onError(e.getMessage() != null ? e.getMessage() : e.toString());
+        } finally {
+            stopped = true;
+            for (Track track : tracks) {
+                track.release();
+            }
+            output.release();
+        }
+    }
+
+    private boolean pumpAll() {
+        boolean progress = false;
+        for (Track track : tracks) {
+            for (int i = 0; i < MAX_PUMPS_PER_TRACK && track.pump(); i++) {
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    private boolean readyForBlock() {
+        for (Track track : tracks) {
+            if (!track.outputDone && track.available() < BLOCK_FRAMES) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean allFinished() {
+        for (Track track : tracks) {
+            if (!track.isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Every track contributes the same frame range; finished tracks contribute silence
+    private int mixBlock() {
+        int frames = 0;
+        for (Track track : tracks) {
+            frames = Math.max(frames, Math.min(BLOCK_FRAMES, track.available()));
+        }
+        Arrays.fill(mix, 0, frames * 2, 0f);
+        for (Track track : tracks) {
+            track.updateGains();
+            int count = Math.min(frames, track.available());
+            float left = track.appliedLeft;
+            float right = track.appliedRight;
+            float stepLeft = (track.targetLeft - left) / Math.max(1, frames);
+            float stepRight = (track.targetRight - right) / Math.max(1, frames);
+            for (int i = 0; i < count; i++) {
+                int slot = (int) ((track.read + i) % track.ringFrames) * 2;
+                left += stepLeft;
+                right += stepRight;
+                mix[2 * i] += track.ring[slot] * left;
+                mix[2 * i + 1] += track.ring[slot + 1] * right;
+            }
+            track.read += count;
+            track.appliedLeft = track.targetLeft;
+            track.appliedRight = track.targetRight;
+        }
+        for (int i = 0; i < frames * 2; i++) {
+            mix[i] = Math.max(-1f, Math.min(1f, mix[i]));
+        }
+        return frames;
+    }
+}
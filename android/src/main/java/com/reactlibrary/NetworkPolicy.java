@@ -0,0 +1,92 @@
+package com.reactlibrary;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.LoadControl;
+import androidx.media3.exoplayer.upstream.DefaultLoadErrorHandlingPolicy;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy;
+
+/**
+ * PlayerOptions.network applied to one player: how failed loads are retried and how
+ * much media is buffered ahead.
+ *
+ * Retries back off exponentially from retryDelayMs and give up after retryCount
+ * attempts; errors ExoPlayer already treats as permanent (e.g. HTTP 404, malformed
+ * media) are not retried at all. The buffer target comes from bufferDuration, and the
+ * amount needed to resume after a stall is raised on slow connections so one stall is
+ * less likely to be followed by another.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class NetworkPolicy {
+
+    static final int DEFAULT_RETRY_COUNT = 3;
+    static final long DEFAULT_RETRY_DELAY_MS = 1000;
+    static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    // Below this the resume threshold is doubled
+    private static final long SLOW_NETWORK_BPS = 500_000;
+
+    final int retryCount;
+    final long retryDelayMs;
+    final int bufferMs; // 0 = ExoPlayer's default buffering
+    final LoadErrorHandlingPolicy loadErrorHandlingPolicy;
+
+    NetworkPolicy(int retryCount, long retryDelayMs, int bufferMs) {
+        this.retryCount = Math.max(0, retryCount);
+        this.retryDelayMs = Math.max(0, retryDelayMs);
+        this.bufferMs = Math.max(0, bufferMs);
+        this.loadErrorHandlingPolicy = new BackoffPolicy(this.retryCount, this.retryDelayMs);
+    }
+
+    /**
+     * A load control for this player's buffer target, or null to use the pooled default.
+     *
+     * @param bitrateEstimate current bandwidth estimate in bits/s, or 0 when unknown
+     */
+    LoadControl buildLoadControl(long bitrateEstimate) {
+        if (bufferMs == 0) {
+            return null;
+        }
+        int playbackMs = Math.min(bufferMs, DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS);
+        int rebufferMs = DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS;
+        if (bitrateEstimate > 0 && bitrateEstimate < SLOW_NETWORK_BPS) {
+            rebufferMs *= 2;
+        }
+        rebufferMs = Math.min(bufferMs, rebufferMs);
+        return new DefaultLoadControl.Builder()
+                .setBufferDurationsMs(bufferMs, bufferMs, playbackMs, rebufferMs)
+                .build();
+    }
+
+    /**
+     * Delay before retry n is retryDelayMs * 2^(n-1), capped at MAX_RETRY_DELAY_MS.
+     */
+    static final class BackoffPolicy extends DefaultLoadErrorHandlingPolicy {
+
+        private final int retryCount;
+        private final long retryDelayMs;
+
+        BackoffPolicy(int retryCount, long retryDelayMs) {
+            super(retryCount);
+            this.retryCount = retryCount;
+            this.retryDelayMs = retryDelayMs;
+        }
+
+        @Override
+        public long getRetryDelayMsFor(LoadErrorInfo loadErrorInfo) {
+            if (super.getRetryDelayMsFor(loadErrorInfo) == C.TIME_UNSET
+                    || loadErrorInfo.errorCount > retryCount) {
+                return C.TIME_UNSET; // fail now
+            }
+            int shift = Math.min(20, loadErrorInfo.errorCount - 1);
+            return Math.min(MAX_RETRY_DELAY_MS, retryDelayMs << shift);
+        }
+
+        @Override
+        public int getMinimumLoadableRetryCount(int dataType) {
+            return retryCount;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.reactlibrary;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.MediaMetadata;
+import androidx.media3.common.Player;
+import androidx.media3.common.SimpleBasePlayer;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.exoplayer.ExoPlayer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Main-looper view of a player that lives on the playback thread.
+ *
+ * PlayerNotificationManager only accepts players whose application looper is the main
+ * looper. This mirrors the ExoPlayer's state into an immutable snapshot and forwards
+ * notification actions back to the playback thread. Next/previous are not executed
+ * natively; they are reported to JS like the old ForwardingPlayer did.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class NotificationPlayer extends SimpleBasePlayer {
+
+    interface RemoteCommandListener {
+        void onRemoteCommand(String eventName);
+    }
+
+    private static final class Snapshot {
+        final int playbackState;
+        final boolean playWhenReady;
+        final boolean isPlaying;
+        final MediaMetadata metadata;
+        @Nullable
+        final String mediaUri;
+        final long positionMs;
+        final long durationMs;
+        final float speed;
+        final long capturedAtMs;
+
+        Snapshot(ExoPlayer player) {
+            playbackState = player.getPlaybackState();
+            playWhenReady = player.getPlayWhenReady();
+            isPlaying = player.isPlaying();
+            metadata = player.getMediaMetadata();
+            MediaItem item = player.getCurrentMediaItem();
+            mediaUri = item != null && item.localConfiguration != null
+                    ? item.localConfiguration.uri.toString()
+                    : null;
+            positionMs = player.getContentPosition();
+            durationMs = player.getDuration();
+            speed = player.getPlaybackParameters().speed;
+            capturedAtMs = SystemClock.elapsedRealtime();
+        }
+    }
+
+    private final ExoPlayer player;
+    private final Handler playbackHandler;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final RemoteCommandListener remoteCommands;
+    private final Player.Listener mirror = new Player.Listener() {
+        @Override
+        public void onEvents(Player player, Player.Events events) {
+            capture();
+        }
+    };
+    private volatile Snapshot snapshot;
+    private boolean hasNext;
+    private boolean hasPrevious;
+
+    /**
+     * Must be called on the main looper.
+     */
+    NotificationPlayer(ExoPlayer player, Handler playbackHandler, RemoteCommandListener remoteCommands) {
+        super(Looper.getMainLooper());
+        this.player = player;
+        this.playbackHandler = playbackHandler;
+        this.remoteCommands = remoteCommands;
+        playbackHandler.post(() -> {
+            player.addListener(mirror);
+            capture();
+        });
+    }
+
+    /**
+     * Updates the Next/Prev buttons. Must be called on the main looper.
+     */
+    void setQueueNavigation(boolean hasNext, boolean hasPrevious) {
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+        invalidateState();
+    }
+
+    /**
+     * Stops mirroring the ExoPlayer. Safe to call from any thread.
+     */
+    void detach() {
+        playbackHandler.post(() -> player.removeListener(mirror));
+    }
+
+    /**
+     * Uri of the item the player is on, for artwork embedded in the file.
+     */
+    @Nullable
+    String getCurrentMediaUri() {
+        Snapshot current = snapshot;
+        return current != null ? current.mediaUri : null;
+    }
+
+    // Runs on the playback thread
+    private void capture() {
+        snapshot = new Snapshot(player);
+        mainHandler.post(this::invalidateState);
+    }
+
+    @Override
+    protected State getState() {
+        Commands.Builder commands = new Commands.Builder().addAll(
+                COMMAND_PLAY_PAUSE,
+                COMMAND_GET_CURRENT_MEDIA_ITEM,
+                COMMAND_GET_METADATA,
+                COMMAND_GET_TIMELINE,
+                COMMAND_SEEK_IN_CURRENT_MEDIA_ITEM);
+        if (hasNext) {
+            commands.addAll(COMMAND_SEEK_TO_NEXT, COMMAND_SEEK_TO_NEXT_MEDIA_ITEM);
+        }
+        if (hasPrevious) {
+            commands.addAll(COMMAND_SEEK_TO_PREVIOUS, COMMAND_SEEK_TO_PREVIOUS_MEDIA_ITEM);
+        }
+
+        State.Builder state = new State.Builder().setAvailableCommands(commands.build());
+        Snapshot current = snapshot;
+        if (current == null) {
+            return state.build();
+        }
+
+        // Placeholder neighbours make BasePlayer route seekToNext/seekToPrevious to handleSeek
+        ImmutableList.Builder<MediaItemData> playlist = ImmutableList.builder();
+        int currentIndex = 0;
+        if (hasPrevious) {
+            playlist.add(new MediaItemData.Builder("previous").build());
+            currentIndex = 1;
+        }
+        playlist.add(new MediaItemData.Builder("current")
+                .setMediaMetadata(current.metadata)
+                .setDurationUs(current.durationMs == C.TIME_UNSET ? C.TIME_UNSET : Util.msToUs(current.durationMs))
+                .setIsSeekable(true)
+                .build());
+        if (hasNext) {
+            playlist.add(new MediaItemData.Builder("next").build());
+        }
+
+        long positionMs = current.positionMs;
+        if (current.isPlaying) {
+            positionMs += (long) ((SystemClock.elapsedRealtime() - current.capturedAtMs) * current.speed);
+        }
+
+        return state
+                .setPlaylist(playlist.build())
+                .setCurrentMediaItemIndex(currentIndex)
+                .setContentPositionMs(positionMs)
+                .setPlaybackState(current.playbackState)
+                .setPlayWhenReady(current.playWhenReady, PLAY_WHEN_READY_CHANGE_REASON_USER_REQUEST)
+                .build();
+    }
+
+    @Override
+    protected ListenableFuture<?> handleSetPlayWhenReady(boolean playWhenReady) {
+        playbackHandler.post(() -> player.setPlayWhenReady(playWhenReady));
+        remoteCommands.onRemoteCommand(playWhenReady ? "AudioPlayerEvent.RemotePlay" : "AudioPlayerEvent.RemotePause");
+        return Futures.immediateVoidFuture();
+    }
+
+    @Override
+    protected ListenableFuture<?> handleSeek(int mediaItemIndex, long positionMs, int seekCommand) {
+        if (seekCommand == COMMAND_SEEK_TO_NEXT || seekCommand == COMMAND_SEEK_TO_NEXT_MEDIA_ITEM) {
+            remoteCommands.onRemoteCommand("AudioPlayerEvent.RemoteNext");
+        } else if (seekCommand == COMMAND_SEEK_TO_PREVIOUS || seekCommand == COMMAND_SEEK_TO_PREVIOUS_MEDIA_ITEM) {
+            remoteCommands.onRemoteCommand("AudioPlayerEvent.RemotePrevious");
+        } else {
+            playbackHandler.post(() -> player.seekTo(positionMs));
+        }
+        return Futures.immediateVoidFuture();
+    }
+}
@@ -0,0 +1,88 @@
+package com.reactlibrary;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.audio.BaseAudioProcessor;
+import androidx.media3.common.util.UnstableApi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base for the DSP stages: converts 16-bit or float PCM to a reused float buffer, lets
+ * the subclass process it in place, and converts back.
+ *
+ * Stages are always active, so they can be switched on and off without reconfiguring
+ * the audio sink; a bypassed stage is a plain copy. Subclasses read their parameters
+ * from volatile immutable snapshots, so the control thread never blocks the audio thread.
+ */
+@OptIn(markerClass = UnstableApi.class)
+abstract class PcmAudioProcessor extends BaseAudioProcessor {
+
+    private float[] scratch = new float[0];
+
+    @Override
+    protected AudioFormat onConfigure(AudioFormat inputAudioFormat) throws UnhandledAudioFormatException {
+        if (inputAudioFormat.encoding != C.ENCODING_PCM_16BIT && inputAudioFormat.encoding != C.ENCODING_PCM_FLOAT) {
+            throw new UnhandledAudioFormatException(inputAudioFormat);
+        }
+        return inputAudioFormat;
+    }
+
+    @Override
+    protected void onFlush() {
+        // Runs when a new format takes effect and on every seek
+        onStart(inputAudioFormat.sampleRate, inputAudioFormat.channelCount);
+    }
+
+    /**
+     * Resets per-stream state (filter memories, envelopes) for the current format.
+     */
+    protected abstract void onStart(int sampleRate, int channels);
+
+    protected abstract boolean isBypassed();
+
+    /**
+     * Processes {@code frames} interleaved frames in place.
+     */
+    protected abstract void process(float[] samples, int frames, int channels);
+
+    @Override
+    public final void queueInput(ByteBuffer inputBuffer) {
+        int remaining = inputBuffer.remaining();
+        if (remaining == 0) {
+            return;
+        }
+        ByteBuffer output = replaceOutputBuffer(remaining);
+        if (isBypassed()) {
+            output.put(inputBuffer);
+            output.flip();
+            return;
+        }
+
+        boolean isFloat = inputAudioFormat.encoding == C.ENCODING_PCM_FLOAT;
+        int channels = inputAudioFormat.channelCount;
+        int count = remaining / (isFloat ? 4 : 2);
+        if (scratch.length < count) {
+            scratch = new float[count]; // grows to the sink's buffer size once
+        }
+        int position = inputBuffer.position();
+        for (int i = 0; i < count; i++) {
+            scratch[i] = isFloat
+                    ? inputBuffer.getFloat(position + 4 * i)
+                    : inputBuffer.getShort(position + 2 * i) / 32768f;
+        }
+        inputBuffer.position(inputBuffer.limit());
+
+        process(scratch, count / channels, channels);
+
+        for (int i = 0; i < count; i++) {
+            if (isFloat) {
+                output.putFloat(scratch[i]);
+            } else {
+                int sample = Math.round(scratch[i] * 32768f);
+                output.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample)));
+            }
+        }
+        output.flip();
+    }
+}
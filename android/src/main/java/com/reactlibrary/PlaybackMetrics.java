@@ -0,0 +1,209 @@
+package com.reactlibrary;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.PlaybackException;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.analytics.AnalyticsListener;
+import androidx.media3.exoplayer.source.LoadEventInfo;
+import androidx.media3.exoplayer.source.MediaLoadData;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player playback metrics, collected from the player's AnalyticsListener callbacks.
+ *
+ * Analytics callbacks arrive on the player's application looper (the module's playback
+ * thread), which is also where the metrics are read, so the per-player fields are plain
+ * longs. Every update is also added to the shared Totals with atomics, so the global
+ * snapshot can be read from any thread without locking. Nothing is allocated per event.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class PlaybackMetrics implements AnalyticsListener {
+
+    /**
+     * Aggregates over every player since the module started.
+     */
+    static final class Totals {
+        final AtomicLong players = new AtomicLong();
+        final AtomicLong rebuffers = new AtomicLong();
+        final AtomicLong rebufferMs = new AtomicLong();
+        final AtomicLong audioUnderruns = new AtomicLong();
+        final AtomicLong bytesLoaded = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final LatencyHistogram timeToFirstAudio = new LatencyHistogram();
+        final LatencyHistogram decoderInit = new LatencyHistogram();
+        // Time from a bridge call reaching the module to its work finishing on the playback thread
+        final LatencyHistogram commandLatency = new LatencyHistogram();
+    }
+
+    private final Totals totals;
+
+    // Playback thread only
+    private long prepareStartMs = -1;
+    private long firstAudioReferenceMs = -1;
+    private long timeToReadyMs = -1;
+    private long timeToFirstAudioMs = -1;
+    private long decoderInitMs = -1;
+    @Nullable
+    private String decoderName;
+    private long rebufferCount;
+    private long rebufferMs;
+    private long stallStartMs = -1;
+    private long audioUnderruns;
+    private long bytesLoaded;
+    private long loadCount;
+    private long errors;
+    private int lastState = Player.STATE_IDLE;
+    private boolean playWhenReady;
+    private boolean seeking; // from a seek until the player stops buffering
+
+    PlaybackMetrics(Totals totals) {
+        this.totals = totals;
+        totals.players.incrementAndGet();
+    }
+
+    /**
+     * Marks the start of preparePlayer/setQueue; call right before prepare().
+     */
+    void onPrepare() {
+        prepareStartMs = SystemClock.elapsedRealtime();
+        firstAudioReferenceMs = prepareStartMs;
+    }
+
+    @Override
+    public void onPlayWhenReadyChanged(EventTime eventTime, boolean playWhenReady, int reason) {
+        this.playWhenReady = playWhenReady;
+        // Time to first audio counts from prepare, or from play() when that came later
+        if (playWhenReady && timeToFirstAudioMs < 0 && firstAudioReferenceMs >= 0) {
+            firstAudioReferenceMs = Math.max(firstAudioReferenceMs, eventTime.realtimeMs);
+        }
+    }
+
+    @Override
+    public void onPlaybackStateChanged(EventTime eventTime, int state) {
+        long now = eventTime.realtimeMs;
+        if (state == Player.STATE_READY && timeToReadyMs < 0 && prepareStartMs >= 0) {
+            timeToReadyMs = now - prepareStartMs;
+        }
+        if (state == Player.STATE_BUFFERING && lastState == Player.STATE_READY && playWhenReady && !seeking) {
+            // A stall while playing, as opposed to the initial load or a seek
+            rebufferCount++;
+            totals.rebuffers.incrementAndGet();
+            stallStartMs = now;
+        } else if (state != Player.STATE_BUFFERING && stallStartMs >= 0) {
+            endStall(now);
+        }
+        if (state != Player.STATE_BUFFERING) {
+            seeking = false;
+        }
+        lastState = state;
+    }
+
+    @Override
+    public void onPositionDiscontinuity(EventTime eventTime, Player.PositionInfo oldPosition,
+            Player.PositionInfo newPosition, int reason) {
+        // Reported before the state change the seek causes
+        if (reason == Player.DISCONTINUITY_REASON_SEEK) {
+            seeking = true;
+        }
+    }
+
+    @Override
+    public void onAudioPositionAdvancing(EventTime eventTime, long playoutStartSystemTimeMs) {
+        if (timeToFirstAudioMs < 0 && firstAudioReferenceMs >= 0) {
+            timeToFirstAudioMs = eventTime.realtimeMs - firstAudioReferenceMs;
+            totals.timeToFirstAudio.recordMicros(timeToFirstAudioMs * 1000);
+        }
+    }
+
+    @Override
+    public void onAudioUnderrun(EventTime eventTime, int bufferSize, long bufferSizeMs, long elapsedSinceLastFeedMs) {
+        audioUnderruns++;
+        totals.audioUnderruns.incrementAndGet();
+    }
+
+    @Override
+    public void onAudioDecoderInitialized(EventTime eventTime, String decoderName, long initializedTimestampMs,
+            long initializationDurationMs) {
+        this.decoderName = decoderName;
+        decoderInitMs = initializationDurationMs;
+        totals.decoderInit.recordMicros(initializationDurationMs * 1000);
+    }
+
+    @Override
+    public void onLoadCompleted(EventTime eventTime, LoadEventInfo loadEventInfo, MediaLoadData mediaLoadData) {
+        bytesLoaded += loadEventInfo.bytesLoaded;
+        loadCount++;
+        totals.bytesLoaded.addAndGet(loadEventInfo.bytesLoaded);
+    }
+
+    @Override
+    public void onPlayerError(EventTime eventTime, PlaybackException error) {
+        errors++;
+        totals.errors.incrementAndGet();
+    }
+
+    /**
+     * Closes an open stall so its time is counted; call when the player is detached.
+     */
+    void finish() {
+        if (stallStartMs >= 0) {
+            endStall(SystemClock.elapsedRealtime());
+        }
+    }
+
+    private void endStall(long now) {
+        long stalled = now - stallStartMs;
+        rebufferMs += stalled;
+        totals.rebufferMs.addAndGet(stalled);
+        stallStartMs = -1;
+    }
+
+    long getTimeToReadyMs() {
+        return timeToReadyMs;
+    }
+
+    long getTimeToFirstAudioMs() {
+        return timeToFirstAudioMs;
+    }
+
+    long getDecoderInitMs() {
+        return decoderInitMs;
+    }
+
+    @Nullable
+    String getDecoderName() {
+        return decoderName;
+    }
+
+    long getRebufferCount() {
+        return rebufferCount;
+    }
+
+    /**
+     * Total stall time, including a stall that is still ongoing.
+     */
+    long getRebufferMs() {
+        return stallStartMs >= 0 ? rebufferMs + SystemClock.elapsedRealtime() - stallStartMs : rebufferMs;
+    }
+
+    long getAudioUnderruns() {
+        return audioUnderruns;
+    }
+
+    long getBytesLoaded() {
+        return bytesLoaded;
+    }
+
+    long getLoadCount() {
+        return loadCount;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,213 @@
+package com.reactlibrary;
+
+import android.util.SparseIntArray;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latest playback state of every player, readable from any thread without a lock or an
+ * event.
+ *
+ * The playback thread is the only writer. Each player has a slot guarded by a sequence
+ * number (a seqlock): it is odd while the slot is being written and goes up by two per
+ * write. A reader copies the slot and retries if the sequence was odd or changed during
+ * the copy, so it never pairs the position of one update with the duration of another.
+ * Cells are AtomicLongArray elements, whose volatile reads and writes give the ordering
+ * the seqlock relies on. Positions are stored with the time they were sampled and the
+ * rate they advance at, so readers extrapolate between updates and the writer does not
+ * have to run at frame rate.
+ */
+final class PlaybackStateTable {
+
+    // Codes for the state cell; JS maps them back to PlaybackState
+    static final int STATE_IDLE = 0;
+    static final int STATE_LOADING = 1;
+    static final int STATE_PLAYING = 2;
+    static final int STATE_PAUSED = 3;
+    static final int STATE_BUFFERING = 4;
+    static final int STATE_ENDED = 5;
+    static final int STATE_ERROR = 6;
+
+    private static final int SEQ = 0;
+    private static final int ID = 1;
+    private static final int STATE = 2;
+    private static final int POSITION_MS = 3;
+    private static final int SAMPLED_AT_MS = 4;
+    private static final int RATE = 5; // double bits; 0 unless the position is advancing
+    private static final int DURATION_MS = 6; // -1 while unknown
+    private static final int BUFFERED_MS = 7;
+    private static final int LEVEL = 8; // double bits; RMS in dBFS, NaN without analysis
+    private static final int SLOT_SIZE = 9;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    /**
+     * One consistent copy of a slot. Reused by callers so reads do not allocate.
+     */
+    static final class Snapshot {
+        int state;
+        long positionMs;
+        long sampledAtMs;
+        double rate;
+        long durationMs;
+        long bufferedMs;
+        double level;
+        long version;
+
+        /**
+         * The position at {@code nowMs} (SystemClock.elapsedRealtime()), extrapolated from
+         * the last sample and capped at the duration.
+         */
+        long positionAt(long nowMs) {
+            long position = positionMs + (long) ((nowMs - sampledAtMs) * rate);
+            return durationMs >= 0 ? Math.min(position, durationMs) : position;
+        }
+    }
+
+    // Replaced only by the writer when it grows; readers may finish on the old array
+    private volatile AtomicLongArray cells = emptyCells(8);
+    private final SparseIntArray slots = new SparseIntArray(); // writer only
+
+    /**
+     * Playback thread only. The level cell is kept.
+     *
+     * @param rate how fast the position advances; 0 while paused, buffering or ended
+     * @param durationMs -1 while unknown
+     */
+    void write(int id, int state, long positionMs, long durationMs, long bufferedMs, double rate, long nowMs) {
+        AtomicLongArray cells = this.cells;
+        int base = slotFor(id) * SLOT_SIZE;
+        long seq = cells.get(base + SEQ);
+        cells.set(base + SEQ, seq + 1);
+        cells.set(base + STATE, state);
+        cells.set(base + POSITION_MS, positionMs);
+        cells.set(base + SAMPLED_AT_MS, nowMs);
+        cells.set(base + RATE, Double.doubleToRawLongBits(rate));
+        cells.set(base + DURATION_MS, durationMs);
+        cells.set(base + BUFFERED_MS, bufferedMs);
+        cells.set(base + SEQ, seq + 2);
+    }
+
+    /**
+     * Playback thread only.
+     */
+    void writeLevel(int id, double level) {
+        AtomicLongArray cells = this.cells;
+        int base = slotFor(id) * SLOT_SIZE;
+        long seq = cells.get(base + SEQ);
+        cells.set(base + SEQ, seq + 1);
+        cells.set(base + LEVEL, Double.doubleToRawLongBits(level));
+        cells.set(base + SEQ, seq + 2);
+    }
+
+    /**
+     * Playback thread only. Frees the slot for another player.
+     */
+    void remove(int id) {
+        int index = slots.indexOfKey(id);
+        if (index < 0) {
+            return;
+        }
+        int base = slots.valueAt(index) * SLOT_SIZE;
+        slots.removeAt(index);
+        AtomicLongArray cells = this.cells;
+        long seq = cells.get(base + SEQ);
+        cells.set(base + SEQ, seq + 1);
+        cells.set(base + ID, EMPTY);
+        cells.set(base + SEQ, seq + 2);
+    }
+
+    /**
+     * Playback thread only.
+     */
+    void clear() {
+        for (int i = slots.size() - 1; i >= 0; i--) {
+            remove(slots.keyAt(i));
+        }
+    }
+
+    /**
+     * Copies the state of player {@code id} into {@code out}. Any thread; never blocks on
+     * the writer. Returns false if the player has no state yet.
+     */
+    boolean read(int id, Snapshot out) {
+        AtomicLongArray cells = this.cells;
+        int length = cells.length();
+        for (int base = 0; base < length; base += SLOT_SIZE) {
+            if (cells.get(base + ID) != id) {
+                continue;
+            }
+            for (int attempt = 0; ; attempt++) {
+                long seq = cells.get(base + SEQ);
+                if ((seq & 1) == 0) {
+                    long slotId = cells.get(base + ID);
+                    out.state = (int) cells.get(base + STATE);
+                    out.positionMs = cells.get(base + POSITION_MS);
+                    out.sampledAtMs = cells.get(base + SAMPLED_AT_MS);
+                    out.rate = Double.longBitsToDouble(cells.get(base + RATE));
+                    out.durationMs = cells.get(base + DURATION_MS);
+                    out.bufferedMs = cells.get(base + BUFFERED_MS);
+                    out.level = Double.longBitsToDouble(cells.get(base + LEVEL));
+                    out.version = seq;
+                    if (cells.get(base + SEQ) == seq) {
+                        if (slotId != id) {
+                            break; // the slot was handed to another player; keep looking
+                        }
+                        return true;
+                    }
+                }
+                if (attempt >= SPINS_BEFORE_YIELD) {
+                    Thread.yield();
+                }
+            }
+        }
+        return false;
+    }
+
+    private int slotFor(int id) {
+        int slot = slots.get(id, -1);
+        if (slot >= 0) {
+            return slot;
+        }
+        AtomicLongArray cells = this.cells;
+        int capacity = cells.length() / SLOT_SIZE;
+        slot = 0;
+        while (slot < capacity && cells.get(slot * SLOT_SIZE + ID) != EMPTY) {
+            slot++;
+        }
+        if (slot == capacity) {
+            cells = grow(cells, capacity * 2);
+        }
+        int base = slot * SLOT_SIZE;
+        long seq = cells.get(base + SEQ);
+        cells.set(base + SEQ, seq + 1);
+        cells.set(base + ID, id);
+        cells.set(base + STATE, STATE_LOADING);
+        cells.set(base + POSITION_MS, 0);
+        cells.set(base + RATE, Double.doubleToRawLongBits(0));
+        cells.set(base + DURATION_MS, -1);
+        cells.set(base + BUFFERED_MS, 0);
+        cells.set(base + LEVEL, Double.doubleToRawLongBits(Double.NaN));
+        cells.set(base + SEQ, seq + 2);
+        slots.put(id, slot);
+        return slot;
+    }
+
+    private AtomicLongArray grow(AtomicLongArray old, int capacity) {
+        AtomicLongArray grown = emptyCells(capacity);
+        for (int i = 0; i < old.length(); i++) {
+            grown.set(i, old.get(i)); // only the writer touches cells, so no slot is mid-write
+        }
+        cells = grown;
+        return grown;
+    }
+
+    private static AtomicLongArray emptyCells(int capacity) {
+        AtomicLongArray cells = new AtomicLongArray(capacity * SLOT_SIZE);
+        for (int base = 0; base < cells.length(); base += SLOT_SIZE) {
+            cells.set(base + ID, EMPTY);
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,30 @@
+package com.reactlibrary;
+
+import androidx.media3.common.audio.AudioProcessor;
+
+/**
+ * The per-player DSP chain installed in each pooled player's audio sink:
+ * equalizer, loudness normalization, limiter, then analysis, so the analyzer sees
+ * exactly what is played.
+ */
+final class PlayerAudioChain {
+
+    final EqualizerAudioProcessor equalizer = new EqualizerAudioProcessor();
+    final LoudnessAudioProcessor loudness = new LoudnessAudioProcessor();
+    final LimiterAudioProcessor limiter = new LimiterAudioProcessor();
+    final AnalysisAudioProcessor analyzer = new AnalysisAudioProcessor();
+
+    AudioProcessor[] processors() {
+        return new AudioProcessor[] { equalizer, loudness, limiter, analyzer };
+    }
+
+    /**
+     * Puts every stage back to its pass-through default before a player is reused.
+     */
+    void resetParameters() {
+        equalizer.resetParameters();
+        loudness.resetParameters();
+        limiter.resetParameters();
+        analyzer.setEnabled(false, null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.reactlibrary;
+
+import android.util.SparseArray;
+
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Builds and sends per-player events as one multiplexed "AudioPlayerEvent".
+ *
+ * Every event carries the player id and a type, so JS needs a single native
+ * subscription and the name is a constant instead of a string built per event. State
+ * events that repeat the last state sent for a player are dropped here, before any map
+ * is built. Only used on the playback thread, which is where all player events start.
+ */
+final class PlayerEvents {
+
+    static final String NAME = "AudioPlayerEvent";
+
+    static final String STATE = "state";
+    static final String ERROR = "error";
+    static final String QUEUE_TRANSITION = "queueTransition";
+    static final String INTERRUPTION = "interruption";
+    static final String BUFFER_HEALTH = "bufferHealth";
+    static final String ANALYSIS = "analysis";
+
+    interface Sink {
+        void emit(String name, WritableMap params);
+    }
+
+    /**
+     * Arguments::createMap in the module; tests can use a Java-only map.
+     */
+    interface MapFactory {
+        WritableMap create();
+    }
+
+    private final Sink sink;
+    private final MapFactory maps;
+    private final SparseArray<String> lastStates = new SparseArray<>();
+    private long coalesced;
+
+    PlayerEvents(Sink sink, MapFactory maps) {
+        this.sink = sink;
+        this.maps = maps;
+    }
+
+    /**
+     * A map already holding the id and type; fill in the payload and pass it to send().
+     */
+    WritableMap create(int id, String type) {
+        WritableMap params = maps.create();
+        params.putInt("id", id);
+        params.putString("type", type);
+        return params;
+    }
+
+    void send(WritableMap params) {
+        sink.emit(NAME, params);
+    }
+
+    /**
+     * Sends {@code state} unless it is the last state sent for this player.
+     */
+    void sendState(int id, String state) {
+        if (state.equals(lastStates.get(id))) {
+            coalesced++;
+            return;
+        }
+        lastStates.put(id, state);
+        WritableMap params = create(id, STATE);
+        params.putString("state", state);
+        send(params);
+    }
+
+    /**
+     * Forgets the last state of a player that was destroyed or prepared again, so its
+     * next state is always sent.
+     */
+    void reset(int id) {
+        lastStates.remove(id);
+    }
+
+    void clear() {
+        lastStates.clear();
+    }
+
+    long getCoalescedCount() {
+        return coalesced;
+    }
+}
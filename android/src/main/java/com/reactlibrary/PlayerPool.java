@@ -0,0 +1,194 @@
+package com.reactlibrary;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.AudioAttributes;
+import androidx.media3.common.C;
+import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.DefaultRenderersFactory;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.LoadControl;
+import androidx.media3.exoplayer.audio.AudioSink;
+import androidx.media3.exoplayer.audio.DefaultAudioSink;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of idle ExoPlayer instances.
+ *
+ * Building an ExoPlayer sets up renderers, a load control and an internal playback
+ * thread, so released players are reset and kept here instead of being thrown away.
+ * Every pooled player uses the module's playback looper as its application looper, and
+ * acquire/recycle/configure/clear must be called on that thread.
+ *
+ * Each player is built with its own PlayerAudioChain in the audio sink, since
+ * processors can only be installed when the renderers are created. The same goes for
+ * the LoadControl, so players that need their own buffering are built fresh and
+ * released rather than pooled.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class PlayerPool {
+
+    static final int DEFAULT_MAX_SIZE = 2;
+
+    private final Context context;
+    private final Looper looper;
+    private final ArrayDeque<ExoPlayer> idle = new ArrayDeque<>();
+    private final Map<ExoPlayer, PlayerAudioChain> chains = new HashMap<>();
+    private final Map<ExoPlayer, LoadControl> loadControls = new HashMap<>();
+    private final Set<ExoPlayer> unpooled = new HashSet<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    PlayerPool(Context context, Looper looper) {
+        this.context = context;
+        this.looper = looper;
+    }
+
+    /**
+     * Returns a reset player, building a new one when the pool is empty. A non-null
+     * {@code loadControl} always builds a new player that is not recycled later.
+     */
+    ExoPlayer acquire(@Nullable LoadControl loadControl) {
+        if (loadControl != null) {
+            misses.incrementAndGet();
+            ExoPlayer player = build(loadControl);
+            unpooled.add(player);
+            return player;
+        }
+        ExoPlayer player = idle.pollFirst();
+        if (player != null) {
+            hits.incrementAndGet();
+            return player;
+        }
+        misses.incrementAndGet();
+        return build(null);
+    }
+
+    /**
+     * Resets {@code player} and keeps it for reuse, or releases it when the pool is full.
+     * Callers must have removed their own listeners first.
+     */
+    void recycle(ExoPlayer player) {
+        PlayerAudioChain chain = chains.get(player);
+        if (chain != null) {
+            chain.resetParameters();
+        }
+        if (idle.size() >= maxSize || unpooled.contains(player)) {
+            release(player);
+            return;
+        }
+        player.stop();
+        player.clearMediaItems();
+        player.setPlayWhenReady(false);
+        player.setRepeatMode(Player.REPEAT_MODE_OFF);
+        player.setVolume(1f);
+        player.setPlaybackParameters(PlaybackParameters.DEFAULT);
+        idle.addLast(player);
+    }
+
+    /**
+     * Resizes the pool and builds players up front so the next {@code prewarm}
+     * preparePlayer calls are hits.
+     */
+    void configure(int maxSize, int prewarm) {
+        this.maxSize = Math.max(0, maxSize);
+        while (idle.size() > this.maxSize) {
+            release(idle.pollLast());
+        }
+        int target = Math.min(prewarm, this.maxSize);
+        while (idle.size() < target) {
+            idle.addLast(build(null));
+        }
+    }
+
+    void clear() {
+        ExoPlayer player;
+        while ((player = idle.pollFirst()) != null) {
+            release(player);
+        }
+    }
+
+    /**
+     * Releases a player that will not come back to the pool.
+     */
+    void release(ExoPlayer player) {
+        chains.remove(player);
+        loadControls.remove(player);
+        unpooled.remove(player);
+        player.release();
+    }
+
+    /**
+     * The DSP chain installed in {@code player}'s audio sink.
+     */
+    PlayerAudioChain chainFor(ExoPlayer player) {
+        return chains.get(player);
+    }
+
+    /**
+     * Bytes of media currently buffered by {@code player}, from its load control's allocator.
+     */
+    long bufferedBytes(ExoPlayer player) {
+        LoadControl loadControl = loadControls.get(player);
+        return loadControl != null ? loadControl.getAllocator().getTotalBytesAllocated() : 0;
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    int getIdleCount() {
+        return idle.size();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    private ExoPlayer build(@Nullable LoadControl loadControl) {
+        // Audio Attributes for Focus (Phase 7)
+        AudioAttributes audioAttributes = new AudioAttributes.Builder()
+                .setUsage(C.USAGE_MEDIA)
+                .setContentType(C.AUDIO_CONTENT_TYPE_MUSIC)
+                .build();
+        PlayerAudioChain chain = new PlayerAudioChain();
+        DefaultRenderersFactory renderersFactory = new DefaultRenderersFactory(context) {
+            @Override
+            protected AudioSink buildAudioSink(Context context, boolean enableFloatOutput,
+                    boolean enableAudioTrackPlaybackParams) {
+                return new DefaultAudioSink.Builder(context)
+                        .setEnableFloatOutput(enableFloatOutput)
+                        .setEnableAudioTrackPlaybackParams(enableAudioTrackPlaybackParams)
+                        .setAudioProcessors(chain.processors())
+                        .build();
+            }
+        };
+        // Built here rather than left to ExoPlayer so its allocator can be measured
+        LoadControl playerLoadControl = loadControl != null ? loadControl : new DefaultLoadControl();
+        ExoPlayer player = new ExoPlayer.Builder(context, renderersFactory)
+                .setLooper(looper)
+                .setAudioAttributes(audioAttributes, true) // true = handle audio focus
+                .setLoadControl(playerLoadControl)
+                .build();
+        chains.put(player, chain);
+        loadControls.put(player, playerLoadControl);
+        return player;
+    }
+}
@@ -0,0 +1,189 @@
+package com.reactlibrary;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Int-keyed, copy-on-write map of live players with a maintained count of active ones.
+ *
+ * Lookups and iteration read one volatile snapshot (sorted keys plus entries) and never
+ * lock or allocate, so any thread can use them. Writes take a lock and publish a new
+ * snapshot, which is cheap for the tens of players an app holds and rare compared to
+ * reads (prepare and destroy only). Each entry carries an active flag, so callers can
+ * ask whether anything is playing without scanning every player.
+ */
+final class PlayerRegistry<T> {
+
+    private static final int IDLE = 0;
+    private static final int ACTIVE = 1;
+    private static final int REMOVED = 2;
+
+    private static final class Entry<T> {
+        final T value;
+        final AtomicInteger state = new AtomicInteger(IDLE);
+
+        Entry(T value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * An immutable view of the registry at one point in time.
+     */
+    static final class Snapshot<T> {
+        private final int[] keys;
+        private final Entry<T>[] entries;
+
+        Snapshot(int[] keys, Entry<T>[] entries) {
+            this.keys = keys;
+            this.entries = entries;
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        int keyAt(int index) {
+            return keys[index];
+        }
+
+        T valueAt(int index) {
+            return entries[index].value;
+        }
+
+        @Nullable
+        private Entry<T> entry(int key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? entries[index] : null;
+        }
+    }
+
+    private final Object writeLock = new Object();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private volatile Snapshot<T> snapshot = emptySnapshot();
+
+    @Nullable
+    T get(int key) {
+        Entry<T> entry = snapshot.entry(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * The current contents; iterate this rather than calling get() in a loop.
+     */
+    Snapshot<T> snapshot() {
+        return snapshot;
+    }
+
+    int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Adds or replaces {@code value}; a new entry starts inactive.
+     */
+    void put(int key, T value) {
+        synchronized (writeLock) {
+            Snapshot<T> current = snapshot;
+            int index = Arrays.binarySearch(current.keys, key);
+            if (index >= 0) {
+                retire(current.entries[index]);
+                Entry<T>[] entries = current.entries.clone();
+                entries[index] = new Entry<>(value);
+                snapshot = new Snapshot<>(current.keys, entries);
+                return;
+            }
+            int insert = -index - 1;
+            int size = current.keys.length;
+            int[] keys = new int[size + 1];
+            Entry<T>[] entries = newEntries(size + 1);
+            System.arraycopy(current.keys, 0, keys, 0, insert);
+            System.arraycopy(current.entries, 0, entries, 0, insert);
+            keys[insert] = key;
+            entries[insert] = new Entry<>(value);
+            System.arraycopy(current.keys, insert, keys, insert + 1, size - insert);
+            System.arraycopy(current.entries, insert, entries, insert + 1, size - insert);
+            snapshot = new Snapshot<>(keys, entries);
+        }
+    }
+
+    @Nullable
+    T remove(int key) {
+        synchronized (writeLock) {
+            Snapshot<T> current = snapshot;
+            int index = Arrays.binarySearch(current.keys, key);
+            if (index < 0) {
+                return null;
+            }
+            Entry<T> removed = current.entries[index];
+            retire(removed);
+            int size = current.keys.length;
+            int[] keys = new int[size - 1];
+            Entry<T>[] entries = newEntries(size - 1);
+            System.arraycopy(current.keys, 0, keys, 0, index);
+            System.arraycopy(current.entries, 0, entries, 0, index);
+            System.arraycopy(current.keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(current.entries, index + 1, entries, index, size - index - 1);
+            snapshot = new Snapshot<>(keys, entries);
+            return removed.value;
+        }
+    }
+
+    void clear() {
+        synchronized (writeLock) {
+            for (Entry<T> entry : snapshot.entries) {
+                retire(entry);
+            }
+            snapshot = emptySnapshot();
+        }
+    }
+
+    /**
+     * Marks the player under {@code key} as active or not. Returns false when nothing
+     * changed, including when the key is not registered.
+     */
+    boolean setActive(int key, boolean active) {
+        Entry<T> entry = snapshot.entry(key);
+        if (entry == null) {
+            return false;
+        }
+        int from = active ? IDLE : ACTIVE;
+        int to = active ? ACTIVE : IDLE;
+        // Fails when already in the target state, or when the entry was removed meanwhile
+        if (!entry.state.compareAndSet(from, to)) {
+            return false;
+        }
+        if (active) {
+            activeCount.incrementAndGet();
+        } else {
+            activeCount.decrementAndGet();
+        }
+        return true;
+    }
+
+    boolean isActive(int key) {
+        Entry<T> entry = snapshot.entry(key);
+        return entry != null && entry.state.get() == ACTIVE;
+    }
+
+    int getActiveCount() {
+        return activeCount.get();
+    }
+
+    private void retire(Entry<T> entry) {
+        if (entry.state.getAndSet(REMOVED) == ACTIVE) {
+            activeCount.decrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] newEntries(int size) {
+        return (Entry<T>[]) new Entry[size];
+    }
+
+    private static <T> Snapshot<T> emptySnapshot() {
+        return new Snapshot<>(new int[0], newEntries(0));
+    }
+}
@@ -0,0 +1,305 @@
+package com.reactlibrary;
+
+import android.os.Handler;
+import android.os.SystemClock;
+import android.util.SparseArray;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+
+/**
+ * Bounds how many players hold decoders and media buffers at once.
+ *
+ * From prepare() on, an ExoPlayer holds codecs, an AudioTrack and up to its buffer target
+ * of media. Reclaiming a player calls stop(), which frees all of that but keeps the
+ * playlist, the current item and the position, so prepare() later resumes where it left
+ * off. Players are reclaimed when they have been paused longer than the idle timeout,
+ * when the system asks the app to trim memory, and when a prepare would go over the
+ * decoding cap. Players showing a notification are pinned: only the cap reclaims them,
+ * since their notification disappears with the decoder. Playback thread only.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class PlayerResources {
+
+    static final int DEFAULT_MAX_DECODING = 8;
+    static final long DEFAULT_IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+    // Codec buffers plus an AudioTrack buffer: what a prepared player holds besides media
+    static final long DECODER_BYTES_ESTIMATE = 512 * 1024;
+
+    interface Listener {
+        /**
+         * A player that wanted to play was paused and reclaimed to stay under the cap.
+         */
+        void onReclaimed(int id);
+    }
+
+    interface BufferMeter {
+        long bufferedBytes(ExoPlayer player);
+    }
+
+    private static final class Record {
+        final ExoPlayer player;
+        long lastUsedMs;
+        boolean reclaimed;
+        boolean pinned;
+
+        Record(ExoPlayer player) {
+            this.player = player;
+            this.lastUsedMs = SystemClock.elapsedRealtime();
+        }
+
+        boolean isDecoding() {
+            return player.getPlaybackState() != Player.STATE_IDLE;
+        }
+    }
+
+    private final Handler handler;
+    private final BufferMeter meter;
+    private final Listener listener;
+    private final SparseArray<Record> records = new SparseArray<>();
+    private final Runnable sweep = this::sweepIdle;
+    private boolean sweepScheduled;
+    private int maxDecoding = DEFAULT_MAX_DECODING;
+    private long idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+    private long reclaimedCount;
+
+    PlayerResources(Handler handler, BufferMeter meter, Listener listener) {
+        this.handler = handler;
+        this.meter = meter;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts tracking a player right after its prepare(), reclaiming others if that puts
+     * the number of decoding players over the cap.
+     */
+    void onPrepared(int id, ExoPlayer player) {
+        records.put(id, new Record(player));
+        enforceCap(id);
+        scheduleSweep();
+    }
+
+    void remove(int id) {
+        records.remove(id);
+    }
+
+    void clear() {
+        handler.removeCallbacks(sweep);
+        sweepScheduled = false;
+        records.clear();
+    }
+
+    void setPinned(int id, boolean pinned) {
+        Record record = records.get(id);
+        if (record != null) {
+            record.pinned = pinned;
+        }
+    }
+
+    void onPlayWhenReadyChanged(int id, boolean playWhenReady) {
+        Record record = records.get(id);
+        if (record == null) {
+            return;
+        }
+        record.lastUsedMs = SystemClock.elapsedRealtime();
+        if (playWhenReady) {
+            resume(id);
+        } else {
+            scheduleSweep(); // the idle timeout counts from here
+        }
+    }
+
+    /**
+     * Prepares the player again if it was reclaimed, or left idle by stop() or an error.
+     * Called before play(); a no-op for a player that is already decoding.
+     */
+    void resume(int id) {
+        Record record = records.get(id);
+        if (record == null) {
+            return;
+        }
+        record.lastUsedMs = SystemClock.elapsedRealtime();
+        if (record.isDecoding() || record.player.getMediaItemCount() == 0) {
+            return;
+        }
+        record.reclaimed = false;
+        record.player.prepare(); // same items, same position
+        enforceCap(id);
+    }
+
+    /**
+     * Reclaims every paused player. Pinned players are kept unless {@code critical}.
+     * Returns how many were reclaimed.
+     */
+    int trim(boolean critical) {
+        int count = 0;
+        for (int i = 0; i < records.size(); i++) {
+            Record record = records.valueAt(i);
+            if (record.isDecoding() && !record.player.getPlayWhenReady() && (critical || !record.pinned)) {
+                reclaim(records.keyAt(i), record);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param idleTimeoutMs 0 disables idle reclamation
+     */
+    void setPolicy(int maxDecoding, long idleTimeoutMs) {
+        this.maxDecoding = Math.max(1, maxDecoding);
+        this.idleTimeoutMs = Math.max(0, idleTimeoutMs);
+        enforceCap(-1);
+        handler.removeCallbacks(sweep);
+        sweepScheduled = false;
+        scheduleSweep();
+    }
+
+    int getMaxDecoding() {
+        return maxDecoding;
+    }
+
+    long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    long getReclaimedCount() {
+        return reclaimedCount;
+    }
+
+    int getDecodingCount() {
+        int count = 0;
+        for (int i = 0; i < records.size(); i++) {
+            if (records.valueAt(i).isDecoding()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    boolean isTracked(int id) {
+        return records.get(id) != null;
+    }
+
+    boolean isReclaimed(int id) {
+        Record record = records.get(id);
+        return record != null && record.reclaimed;
+    }
+
+    boolean isDecoding(int id) {
+        Record record = records.get(id);
+        return record != null && record.isDecoding();
+    }
+
+    long getIdleMs(int id) {
+        Record record = records.get(id);
+        if (record == null || record.player.getPlayWhenReady()) {
+            return 0;
+        }
+        return SystemClock.elapsedRealtime() - record.lastUsedMs;
+    }
+
+    long getBufferedBytes(int id) {
+        Record record = records.get(id);
+        return record != null ? meter.bufferedBytes(record.player) : 0;
+    }
+
+    /**
+     * Media buffers plus an estimate of codec and AudioTrack memory while decoding.
+     */
+    long getEstimatedBytes(int id) {
+        Record record = records.get(id);
+        if (record == null) {
+            return 0;
+        }
+        return meter.bufferedBytes(record.player) + (record.isDecoding() ? DECODER_BYTES_ESTIMATE : 0);
+    }
+
+    private void enforceCap(int keepId) {
+        int decoding = getDecodingCount();
+        while (decoding > maxDecoding) {
+            int victim = pickVictim(keepId);
+            if (victim < 0) {
+                return;
+            }
+            reclaim(records.keyAt(victim), records.valueAt(victim));
+            decoding--;
+        }
+    }
+
+    /**
+     * Index of the decoding player to give up first: paused before playing, unpinned
+     * before pinned, then least recently used. -1 when only {@code keepId} is left.
+     */
+    private int pickVictim(int keepId) {
+        int best = -1;
+        for (int i = 0; i < records.size(); i++) {
+            Record record = records.valueAt(i);
+            if (records.keyAt(i) == keepId || !record.isDecoding()) {
+                continue;
+            }
+            if (best < 0 || isBetterVictim(record, records.valueAt(best))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isBetterVictim(Record candidate, Record current) {
+        boolean candidatePlaying = candidate.player.getPlayWhenReady();
+        boolean currentPlaying = current.player.getPlayWhenReady();
+        if (candidatePlaying != currentPlaying) {
+            return !candidatePlaying;
+        }
+        if (candidate.pinned != current.pinned) {
+            return !candidate.pinned;
+        }
+        return candidate.lastUsedMs < current.lastUsedMs;
+    }
+
+    private void reclaim(int id, Record record) {
+        boolean wasPlaying = record.player.getPlayWhenReady();
+        if (wasPlaying) {
+            record.player.pause();
+        }
+        // Frees codecs, the AudioTrack and buffered media; keeps items and position
+        record.player.stop();
+        record.reclaimed = true;
+        reclaimedCount++;
+        if (wasPlaying) {
+            listener.onReclaimed(id);
+        }
+    }
+
+    private void scheduleSweep() {
+        if (idleTimeoutMs > 0 && !sweepScheduled) {
+            sweepScheduled = true;
+            handler.postDelayed(sweep, idleTimeoutMs);
+        }
+    }
+
+    private void sweepIdle() {
+        sweepScheduled = false;
+        long now = SystemClock.elapsedRealtime();
+        long nextDueMs = -1;
+        for (int i = 0; i < records.size(); i++) {
+            Record record = records.valueAt(i);
+            if (!record.isDecoding() || record.player.getPlayWhenReady() || record.pinned) {
+                continue;
+            }
+            long idleMs = now - record.lastUsedMs;
+            if (idleMs >= idleTimeoutMs) {
+                reclaim(records.keyAt(i), record);
+            } else {
+                long dueMs = idleTimeoutMs - idleMs;
+                nextDueMs = nextDueMs < 0 ? dueMs : Math.min(nextDueMs, dueMs);
+            }
+        }
+        if (nextDueMs >= 0) {
+            sweepScheduled = true;
+            handler.postDelayed(sweep, nextDueMs);
+        }
+    }
+}
@@ -1,42 +1,112 @@
 package com.reactlibrary;
 
-import android.media.MediaRecorder;
 import android.net.Uri;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
 
 import androidx.annotation.Nullable;
-import androidx.media3.common.AudioAttributes;
+import androidx.annotation.OptIn;
 import androidx.media3.common.C;
 import androidx.media3.common.MediaItem;
+import androidx.media3.common.MediaMetadata;
 import androidx.media3.common.PlaybackException;
 import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
 import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import android.content.BroadcastReceiver;
+import android.content.ContentUris;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
+import android.content.res.Configuration;
+import android.database.sqlite.SQLiteException;
 import android.media.AudioManager;
-import android.util.SparseArray;
+import android.provider.MediaStore;
+import android.util.Base64;
 
+@OptIn(markerClass = UnstableApi.class)
 public class ReactNativeAudioModule extends ReactNativeAudioSpec {
 
     private final ReactApplicationContext reactContext;
-    private final SparseArray<PlayerInstance> players = new SparseArray<>();
+    // Written on the playback thread; lookups and iteration are lock-free from any thread
+    private final PlayerRegistry<PlayerInstance> players = new PlayerRegistry<>();
+    private final AudioCache audioCache;
+    private final AudioPrefetcher prefetcher;
+    private final PlayerPool playerPool;
+    // Caps decoding players and reclaims idle ones; playback thread only
+    private final PlayerResources resources;
+    private final PlaybackMetrics.Totals metricsTotals = new PlaybackMetrics.Totals();
+    // Playback thread only, like every player event
+    private final PlayerEvents playerEvents = new PlayerEvents(this::sendEvent, Arguments::createMap);
+    // Written on the playback thread; read synchronously from JS by getPlaybackSnapshot
+    private final PlaybackStateTable playbackStates = new PlaybackStateTable();
+    // getPlaybackSnapshot only runs on the JS thread, so one copy target serves every call
+    private final PlaybackStateTable.Snapshot jsSnapshot = new PlaybackStateTable.Snapshot();
+
+    // All players use this thread as their application looper, so control commands never
+    // queue behind UI work on the main thread. Only the notification bridge touches main.
+    private final HandlerThread playbackThread;
+    private final Handler playbackHandler;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Bounded pool for MediaStore work; replaces a raw Thread per getAudios call
+    private final ExecutorService libraryExecutor = Executors.newFixedThreadPool(2,
+            runnable -> new Thread(runnable, "ReactNativeAudio:Library"));
+    private final MediaLibrary mediaLibrary;
+    private final LibraryIndex libraryIndex;
+    // Shared by listings, notifications and getArtwork; decodes on its own threads
+    private final ArtworkCache artworkCache;
+
+    // Waveform decoding is long-running, so it gets its own thread instead of the library pool
+    private final ExecutorService waveformExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "ReactNativeAudio:Waveform"));
+    private final WaveformExtractor waveformExtractor;
+    private final Map<Integer, WaveformExtractor.Token> waveformTokens = new ConcurrentHashMap<>();
+
+    // Runs a loudness scan end to end; the scanner starts its own per-core decode workers
+    private final ExecutorService loudnessExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "ReactNativeAudio:LoudnessScan"));
+    private final LoudnessScanner loudnessScanner;
+    private final AtomicBoolean loudnessScanActive = new AtomicBoolean();
+
+    // Each mixer owns its decoders, output and thread; the map is only for lookup
+    private final Map<Integer, MultitrackMixer> mixers = new ConcurrentHashMap<>();
+
+    // Started by the first loadSound; owns its own mixer thread and output stream
+    @Nullable
+    private volatile SoundEngine soundEngine;
+    // Set on destroy, under the same lock as soundEngine(), so a late loadSound cannot start a new engine
+    private boolean soundsDestroyed;
 
     // Phase 2: Interruption Handling
     private final BroadcastReceiver noisyReceiver = new BroadcastReceiver() {
@@ -44,14 +114,15 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
         public void onReceive(Context context, Intent intent) {
             if (AudioManager.ACTION_AUDIO_BECOMING_NOISY.equals(intent.getAction())) {
                 // Pause all active players
-                for (int i = 0; i < players.size(); i++) {
-                    int key = players.keyAt(i);
-                    PlayerInstance instance = players.get(key);
-                    if (instance != null && instance.player.isPlaying()) {
+                PlayerRegistry.Snapshot<PlayerInstance> snapshot = players.snapshot();
+                for (int i = 0; i < snapshot.size(); i++) {
+                    int key = snapshot.keyAt(i);
+                    PlayerInstance instance = snapshot.valueAt(i);
+                    if (instance.player.isPlaying()) {
                         instance.player.pause();
-                        WritableMap params = Arguments.createMap();
+                        WritableMap params = playerEvents.create(key, PlayerEvents.INTERRUPTION);
                         params.putString("reason", "noisy");
-                        sendEvent("AudioPlayerEvent.Interruption." + key, params);
+                        playerEvents.send(params);
                         // We also send state update via listener, but this is specific
                     }
                 }
@@ -59,25 +130,90 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
         }
     };
     private boolean receiverRegistered = false;
-    private MediaRecorder recorder;
+    private RecorderPipeline recorder;
     private String currentRecordingPath;
 
     public ReactNativeAudioModule(ReactApplicationContext reactContext) {
         super(reactContext);
         this.reactContext = reactContext;
+        this.audioCache = AudioCache.get(reactContext);
+        this.prefetcher = new AudioPrefetcher(audioCache);
+        this.playbackThread = new HandlerThread("ReactNativeAudio:Playback", Process.THREAD_PRIORITY_AUDIO);
+        this.playbackThread.start();
+        this.playbackHandler = new Handler(playbackThread.getLooper());
+        this.playerPool = new PlayerPool(reactContext, playbackThread.getLooper());
+        this.resources = new PlayerResources(playbackHandler, playerPool::bufferedBytes, this::sendReclaimedEvent);
+        this.artworkCache = new ArtworkCache(reactContext);
+        this.mediaLibrary = new MediaLibrary(reactContext.getContentResolver(), artworkCache);
+        this.libraryIndex = new LibraryIndex(reactContext, artworkCache);
+        this.waveformExtractor = new WaveformExtractor(reactContext);
+        this.loudnessScanner = new LoudnessScanner(reactContext, libraryIndex);
+        reactContext.registerComponentCallbacks(memoryCallbacks);
     }
 
-    private void updateNoisyReceiver() {
-        boolean anyPlaying = false;
-        for (int i = 0; i < players.size(); i++) {
-            if (players.valueAt(i).player.getPlayWhenReady()) {
-                anyPlaying = true;
-                break;
+    // MARK: - Memory Pressure
+
+    private final ComponentCallbacks2 memoryCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= TRIM_MEMORY_MODERATE) {
+                // MODERATE, COMPLETE: deep in the background LRU list and next to be killed
+                trimMemory(true, true);
+                return;
             }
+            switch (level) {
+                case TRIM_MEMORY_RUNNING_CRITICAL:
+                    trimMemory(false, true); // the foreground is about to be starved
+                    break;
+                case TRIM_MEMORY_BACKGROUND:
+                    // Sent on ordinary backgrounding from API 34; a paused player's
+                    // notification must survive it
+                case TRIM_MEMORY_RUNNING_LOW:
+                    trimMemory(false, false);
+                    break;
+                default:
+                    // RUNNING_MODERATE, or UI_HIDDEN, which only means the UI went away;
+                    // background playback carries on and its players are not spare
+                    break;
+            }
+        }
+
+        @Override
+        public void onLowMemory() {
+            trimMemory(true, true);
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+    };
+
+    /**
+     * Reclaims paused players that no notification pins. {@code reclaimPinned} also
+     * reclaims players showing a notification; {@code dropCaches} drops the artwork
+     * bitmaps and empties the player pool, which are cheap to rebuild but keep later
+     * loads warm.
+     */
+    private void trimMemory(boolean reclaimPinned, boolean dropCaches) {
+        if (dropCaches) {
+            artworkCache.trimMemory();
         }
+        playbackHandler.post(() -> {
+            resources.trim(reclaimPinned);
+            if (dropCaches) {
+                playerPool.clear();
+            }
+        });
+    }
+
+    private void updateNoisyReceiver() {
+        // Kept in step with playWhenReady by each player's listener, so no scan is needed
+        boolean anyPlaying = players.getActiveCount() > 0;
 
         if (anyPlaying && !receiverRegistered) {
-            reactContext.registerReceiver(noisyReceiver, new IntentFilter(AudioManager.ACTION_AUDIO_BECOMING_NOISY));
+            // Deliver on the playback thread, which owns the players
+            reactContext.registerReceiver(noisyReceiver,
+                    new IntentFilter(AudioManager.ACTION_AUDIO_BECOMING_NOISY), null, playbackHandler);
             receiverRegistered = true;
         } else if (!anyPlaying && receiverRegistered) {
             try {
@@ -97,20 +233,51 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     @Override
     public void onCatalystInstanceDestroy() {
         super.onCatalystInstanceDestroy();
+        reactContext.unregisterComponentCallbacks(memoryCallbacks);
+        libraryExecutor.shutdownNow();
+        for (WaveformExtractor.Token token : waveformTokens.values()) {
+            token.cancelled = true;
+        }
+        waveformExecutor.shutdownNow();
+        loudnessScanner.cancel();
+        loudnessExecutor.shutdownNow();
+        artworkCache.shutdown();
+        prefetcher.shutdown();
+        for (MultitrackMixer mixer : mixers.values()) {
+            mixer.release();
+        }
+        mixers.clear();
+        synchronized (this) {
+            soundsDestroyed = true;
+            if (soundEngine != null) {
+                soundEngine.release();
+                soundEngine = null;
+            }
+        }
         // Cleanup all players
-        new Handler(Looper.getMainLooper()).post(() -> {
-            for (int i = 0; i < players.size(); i++) {
-                PlayerInstance instance = players.valueAt(i);
-                if (instance != null && instance.player != null) {
-                    instance.progressHandler.removeCallbacks(instance.progressRunnable);
-                    instance.player.release();
-                }
+        playbackHandler.post(() -> {
+            PlayerRegistry.Snapshot<PlayerInstance> snapshot = players.snapshot();
+            for (int i = 0; i < snapshot.size(); i++) {
+                PlayerInstance instance = snapshot.valueAt(i);
+                dismissNotification(instance);
+                playerPool.release(instance.player);
             }
             players.clear();
+            playerEvents.clear();
+            playbackStates.clear();
+            resources.clear();
+            playerPool.clear();
+            if (receiverRegistered) {
+                reactContext.unregisterReceiver(noisyReceiver);
+                receiverRegistered = false;
+            }
+            playbackHandler.removeCallbacks(progressTick);
+            progressTickScheduled = false;
             if (recorder != null) {
                 recorder.release();
                 recorder = null;
             }
+            playbackThread.quitSafely();
         });
     }
 
@@ -118,122 +285,295 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
 
     private static class PlayerInstance {
         final ExoPlayer player;
-        final Handler progressHandler;
-        final Runnable progressRunnable;
-        androidx.media3.ui.PlayerNotificationManager notificationManager; // Notification Support
+        final Player.Listener listener;
+        // Notification Support; all only touched on the main looper
+        androidx.media3.ui.PlayerNotificationManager notificationManager;
+        NotificationPlayer notificationPlayer;
+        String notificationTitle = "Unknown";
+        String notificationArtist = "Unknown";
+        @Nullable
+        String notificationArtwork; // falls back to the current item's embedded art
+        volatile boolean released = false;
         boolean isLooping = false;
-
-        PlayerInstance(ExoPlayer player, Handler handler, Runnable runnable) {
+        boolean allowCache = true;
+        boolean queueMode = false; // true once setQueue put a playlist on this player
+        long lastPositionMs = C.TIME_UNSET; // last values sent in a progress batch
+        long lastDurationMs = C.TIME_UNSET;
+        // Analysis snapshots are copied here on the playback thread before being sent
+        final AtomicBoolean analysisPending = new AtomicBoolean();
+        boolean analysisEnabled; // playback thread only; drops emissions queued before a disable
+        final float[] analysisLevels = new float[2];
+        float[] analysisSpectrum = new float[0];
+        // PlayerOptions.network; null means ExoPlayer defaults and no buffer health events
+        @Nullable
+        NetworkPolicy network;
+        long reportedRebuffers; // metrics.getRebufferCount() at the last buffer health check
+        final PlaybackMetrics metrics;
+
+        PlayerInstance(ExoPlayer player, Player.Listener listener, PlaybackMetrics metrics) {
             this.player = player;
-            this.progressHandler = handler;
-            this.progressRunnable = runnable;
+            this.listener = listener;
+            this.metrics = metrics;
         }
     }
 
+    /**
+     * Detaches everything this module hooked onto the player and hands it back to the pool.
+     */
+    private void recycleInstance(PlayerInstance instance) {
+        dismissNotification(instance);
+        instance.player.removeListener(instance.listener);
+        instance.metrics.finish();
+        instance.player.removeAnalyticsListener(instance.metrics);
+        playerPool.recycle(instance.player);
+    }
+
+    private void dismissNotification(PlayerInstance instance) {
+        instance.released = true;
+        mainHandler.post(() -> {
+            if (instance.notificationManager != null) {
+                instance.notificationManager.setPlayer(null); // Dismiss Notification
+                instance.notificationManager = null;
+            }
+            if (instance.notificationPlayer != null) {
+                instance.notificationPlayer.detach();
+                instance.notificationPlayer = null;
+            }
+        });
+    }
+
     @Override
     public void preparePlayer(double idVal, String url, ReadableMap options, Promise promise) {
         int id = (int) idVal;
+        long normalizedTrackId = normalizedTrackId(url, options);
 
-        // Ensure UI thread for ExoPlayer creation
-        new Handler(Looper.getMainLooper()).post(() -> {
+        // Players are created and driven on the playback thread
+        postCommand(() -> {
             try {
-                // Phase 1.2: Prevent Double Prepare Leak
-                PlayerInstance existing = players.get(id);
-                if (existing != null) {
-                    if (existing.player != null)
-                        existing.player.release();
-                    if (existing.notificationManager != null)
-                        existing.notificationManager.setPlayer(null);
-                    players.remove(id);
+                PlayerInstance instance = createInstance(id, options);
+                if (normalizedTrackId < 0) {
+                    startPlayer(id, instance, url, null, promise);
+                    return;
                 }
+                // The stored loudness is read from SQLite on the library pool, and the media is
+                // set once the gain is in place, before the first sample plays. The player is
+                // registered already, so commands sent meanwhile (e.g. play) still find it.
+                libraryExecutor.execute(() -> {
+                    float[] normalization = storedNormalization(normalizedTrackId, options);
+                    playbackHandler.post(() -> {
+                        if (players.get(id) != instance) {
+                            promise.reject("cancelled", "Player was replaced before it was prepared");
+                            return;
+                        }
+                        try {
+                            startPlayer(id, instance, url, normalization, promise);
+                        } catch (Exception e) {
+                            promise.reject("error", e.getMessage());
+                        }
+                    });
+                });
+            } catch (Exception e) {
+                promise.reject("error", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Sets the media and prepares. Playback thread only.
+     *
+     * @param normalization {targetLufs, trackLufs}, or null to play at the track's own level
+     */
+    private void startPlayer(int id, PlayerInstance instance, String url, @Nullable float[] normalization,
+            Promise promise) {
+        if (normalization != null) {
+            playerPool.chainFor(instance.player).loudness.setNormalization(true, normalization[0],
+                    normalization[1]);
+        }
+        MediaItem mediaItem = MediaItem.fromUri(Uri.parse(url));
+        instance.player.setMediaSource(buildMediaSource(mediaItem, instance));
+        instance.metrics.onPrepare();
+        instance.player.prepare();
+        resources.onPrepared(id, instance.player);
+        promise.resolve(null);
+    }
 
-                ExoPlayer player = new ExoPlayer.Builder(reactContext).build();
+    /**
+     * Takes a player from the pool, applies PlayerOptions and wires up listeners. The
+     * caller sets the media and calls prepare(). Must run on the playback thread.
+     */
+    private PlayerInstance createInstance(int id, ReadableMap options) {
+        // Phase 1.2: Prevent Double Prepare Leak
+        PlayerInstance existing = players.get(id);
+        if (existing != null) {
+            players.remove(id);
+            resources.remove(id);
+            playbackStates.remove(id);
+            recycleInstance(existing); // the acquire below picks it straight back up
+        }
+
+        NetworkPolicy network = networkPolicyFrom(options);
+        ExoPlayer player = playerPool.acquire(network != null
+                ? network.buildLoadControl(bandwidthMeter().getBitrateEstimate())
+                : null);
 
-                // Audio Attributes for Focus (Phase 7)
-                AudioAttributes audioAttributes = new AudioAttributes.Builder()
-                        .setUsage(C.USAGE_MEDIA)
-                        .setContentType(C.AUDIO_CONTENT_TYPE_MUSIC)
-                        .build();
-                player.setAudioAttributes(audioAttributes, true); // true = handle audio focus
+        if (options.hasKey("loop") && options.getBoolean("loop")) {
+            player.setRepeatMode(Player.REPEAT_MODE_ONE);
+        }
 
-                MediaItem mediaItem = MediaItem.fromUri(Uri.parse(url));
-                player.setMediaItem(mediaItem);
+        if (options.hasKey("volume")) {
+            player.setVolume((float) options.getDouble("volume"));
+        }
 
-                if (options.hasKey("loop") && options.getBoolean("loop")) {
-                    player.setRepeatMode(Player.REPEAT_MODE_ONE);
+        // Setup Listeners
+        Player.Listener listener = new Player.Listener() {
+            @Override
+            public void onPlaybackStateChanged(int playbackState) {
+                String stateName = "idle";
+                switch (playbackState) {
+                    case Player.STATE_BUFFERING:
+                        stateName = "buffering";
+                        break;
+                    case Player.STATE_READY:
+                        stateName = player.getPlayWhenReady() ? "playing" : "paused";
+                        break;
+                    case Player.STATE_ENDED:
+                        stateName = "ended";
+                        break;
+                    case Player.STATE_IDLE:
+                        stateName = "idle";
+                        break;
                 }
 
-                if (options.hasKey("volume")) {
-                    player.setVolume((float) options.getDouble("volume"));
+                // Phase 2.2: State Consistency
+                // Avoid redundant updates is good, but simple mapping is safer.
+                // The instruction wants to replace the sendStateEvent and add
+                // updateNoisyReceiver
+                if (playbackState == Player.STATE_READY) {
+                    sendStateEvent(id, player.getPlayWhenReady() ? "playing" : "idle");
+                } else {
+                    sendStateEvent(id, stateName);
                 }
 
-                player.prepare();
+                // PlaybackMetrics decides what is a stall; its listener has already run
+                PlayerInstance self = players.get(id);
+                if (self != null && self.metrics.getRebufferCount() != self.reportedRebuffers) {
+                    self.reportedRebuffers = self.metrics.getRebufferCount();
+                    if (self.network != null) {
+                        sendBufferHealthEvent(id, self);
+                        scheduleProgressTick();
+                    }
+                }
 
-                // Setup Listeners
-                player.addListener(new Player.Listener() {
-                    @Override
-                    public void onPlaybackStateChanged(int playbackState) {
-                        String stateName = "idle";
-                        switch (playbackState) {
-                            case Player.STATE_BUFFERING:
-                                stateName = "buffering";
-                                break;
-                            case Player.STATE_READY:
-                                stateName = player.getPlayWhenReady() ? "playing" : "paused";
-                                break;
-                            case Player.STATE_ENDED:
-                                stateName = "ended";
-                                break;
-                            case Player.STATE_IDLE:
-                                stateName = "idle";
-                                break;
-                        }
+                // Phase 2: Manage Receiver based on state
+                updateNoisyReceiver();
+            }
 
-                        // Phase 2.2: State Consistency
-                        // Avoid redundant updates is good, but simple mapping is safer.
-                        // The instruction wants to replace the sendStateEvent and add
-                        // updateNoisyReceiver
-                        if (playbackState == Player.STATE_READY) {
-                            sendStateEvent(id, player.getPlayWhenReady() ? "playing" : "idle");
-                        } else {
-                            sendStateEvent(id, stateName);
-                        }
+            @Override
+            public void onPlayWhenReadyChanged(boolean playWhenReady, int reason) {
+                players.setActive(id, playWhenReady);
+                // Also re-prepares a reclaimed player resumed from its notification
+                resources.onPlayWhenReadyChanged(id, playWhenReady);
+                updateNoisyReceiver();
+            }
 
-                        // Phase 2: Manage Receiver based on state
-                        new Handler(Looper.getMainLooper()).post(() -> updateNoisyReceiver());
-                    }
+            @Override
+            public void onIsPlayingChanged(boolean isPlaying) {
+                // Handled by onPlaybackStateChanged usually, but good for robust updates
+                // We can stick to onPlaybackStateChanged to avoid duplicate events
+                if (isPlaying) {
+                    scheduleProgressTick();
+                }
+                updateNoisyReceiver();
+            }
 
-                    @Override
-                    public void onIsPlayingChanged(boolean isPlaying) {
-                        // Handled by onPlaybackStateChanged usually, but good for robust updates
-                        // We can stick to onPlaybackStateChanged to avoid duplicate events
-                        new Handler(Looper.getMainLooper()).post(() -> updateNoisyReceiver());
-                    }
+            @Override
+            public void onMediaItemTransition(@Nullable MediaItem mediaItem, int reason) {
+                // Single-item players get a transition on every prepare; only queues report them
+                PlayerInstance self = players.get(id);
+                if (self != null && self.allowCache && mediaItem != null && mediaItem.localConfiguration != null
+                        && reason != Player.MEDIA_ITEM_TRANSITION_REASON_REPEAT) {
+                    prefetcher.recordPlayback(mediaItem.localConfiguration.uri);
+                }
+                if (self != null && self.queueMode && mediaItem != null) {
+                    sendQueueTransitionEvent(id, player.getCurrentMediaItemIndex(), mediaItem.mediaId, reason);
+                }
+            }
 
-                    @Override
-                    public void onPlayerError(PlaybackException error) {
-                        sendErrorEvent(id, "decode", error.getMessage());
-                    }
-                });
+            @Override
+            public void onPlayerError(PlaybackException error) {
+                sendErrorEvent(id, "decode", error.getMessage());
+            }
 
-                // Phase 3: Progress Loop
-                Handler handler = new Handler(Looper.getMainLooper());
-                Runnable runnable = new Runnable() {
-                    @Override
-                    public void run() {
-                        if (player != null && player.isPlaying()) {
-                            sendProgressEvent(id, player.getCurrentPosition() / 1000.0, player.getDuration() / 1000.0);
-                            handler.postDelayed(this, 500);
-                        }
-                    }
-                };
+            @Override
+            public void onEvents(Player eventPlayer, Player.Events events) {
+                // Once per batch of changes: state, play/pause, seeks, speed, timeline
+                publishPlaybackState(id, player);
+            }
+        };
+        player.addListener(listener);
+        PlaybackMetrics metrics = new PlaybackMetrics(metricsTotals);
+        player.addAnalyticsListener(metrics);
+
+        PlayerInstance instance = new PlayerInstance(player, listener, metrics);
+        instance.allowCache = allowsCache(options);
+        instance.network = network;
+        players.put(id, instance);
+        playerEvents.reset(id);
+        return instance;
+    }
 
-                players.put(id, new PlayerInstance(player, handler, runnable));
-                promise.resolve(null);
-            } catch (Exception e) {
-                promise.reject("error", e.getMessage());
+    private MediaSource buildMediaSource(MediaItem mediaItem, PlayerInstance instance) {
+        Uri uri = mediaItem.localConfiguration.uri;
+        DefaultMediaSourceFactory factory =
+                new DefaultMediaSourceFactory(audioCache.dataSourceFactoryFor(uri, instance.allowCache));
+        if (instance.network != null) {
+            factory.setLoadErrorHandlingPolicy(instance.network.loadErrorHandlingPolicy);
+        }
+        return factory.createMediaSource(mediaItem);
+    }
+
+    @Nullable
+    private static NetworkPolicy networkPolicyFrom(ReadableMap options) {
+        if (!options.hasKey("network")) {
+            return null;
+        }
+        ReadableMap network = options.getMap("network");
+        if (network == null) {
+            return null;
+        }
+        int retryCount = network.hasKey("retryCount")
+                ? network.getInt("retryCount")
+                : NetworkPolicy.DEFAULT_RETRY_COUNT;
+        long retryDelayMs = network.hasKey("retryDelay")
+                ? (long) network.getDouble("retryDelay")
+                : NetworkPolicy.DEFAULT_RETRY_DELAY_MS;
+        // bufferDuration is in seconds
+        int bufferMs = network.hasKey("bufferDuration") ? (int) (network.getDouble("bufferDuration") * 1000) : 0;
+        return new NetworkPolicy(retryCount, retryDelayMs, bufferMs);
+    }
+
+    private DefaultBandwidthMeter bandwidthMeter() {
+        // The same singleton every ExoPlayer uses unless given its own meter
+        return DefaultBandwidthMeter.getSingletonInstance(reactContext);
+    }
+
+    private void sendBufferHealthEvent(int id, PlayerInstance instance) {
+        WritableMap params = playerEvents.create(id, PlayerEvents.BUFFER_HEALTH);
+        params.putDouble("bufferedMs", instance.player.getTotalBufferedDuration());
+        params.putDouble("bandwidthEstimate", bandwidthMeter().getBitrateEstimate());
+        params.putDouble("rebufferCount", instance.metrics.getRebufferCount());
+        playerEvents.send(params);
+    }
+
+    private static boolean allowsCache(ReadableMap options) {
+        // PlayerOptions.cache.enabled = false opts a single player out of the shared cache
+        if (options.hasKey("cache")) {
+            ReadableMap cacheOptions = options.getMap("cache");
+            if (cacheOptions != null && cacheOptions.hasKey("enabled")) {
+                return cacheOptions.getBoolean("enabled");
             }
-        });
+        }
+        return true;
     }
 
     // ... (play, pause, stop methods remain same: Phase 1.1 is handled by null
@@ -242,11 +582,13 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     @Override
     public void play(double idVal, Promise promise) {
         int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
+        postCommand(() -> {
             PlayerInstance instance = players.get(id);
             if (instance != null) {
+                // Prepares again after a reclaim, stop() or an error; position is kept
+                resources.resume(id);
                 instance.player.play();
-                instance.progressHandler.post(instance.progressRunnable);
+                scheduleProgressTick();
                 updateNoisyReceiver();
                 promise.resolve(null);
             } else {
@@ -258,11 +600,10 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     @Override
     public void pause(double idVal, Promise promise) {
         int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
+        postCommand(() -> {
             PlayerInstance instance = players.get(id);
             if (instance != null) {
                 instance.player.pause();
-                instance.progressHandler.removeCallbacks(instance.progressRunnable);
                 updateNoisyReceiver();
                 promise.resolve(null);
             } else {
@@ -277,12 +618,11 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     @Override
     public void stop(double idVal, Promise promise) {
         int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
+        postCommand(() -> {
             PlayerInstance instance = players.get(id);
             if (instance != null) {
                 instance.player.stop();
                 instance.player.seekTo(0);
-                instance.progressHandler.removeCallbacks(instance.progressRunnable); // Phase 3.1
                 updateNoisyReceiver();
                 promise.resolve(null);
             } else {
@@ -294,7 +634,7 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     @Override
     public void seek(double idVal, double position, Promise promise) {
         int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
+        postCommand(() -> {
             PlayerInstance instance = players.get(id);
             if (instance != null) {
                 // Phase 3.2: Seek Bounds handled by ExoPlayer intrinsically
@@ -312,7 +652,7 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     @Override
     public void setVolume(double idVal, double volume, Promise promise) {
         int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
+        postCommand(() -> {
             PlayerInstance instance = players.get(id);
             if (instance != null) {
                 instance.player.setVolume((float) volume);
@@ -326,7 +666,7 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     @Override
     public void setRate(double idVal, double rate, Promise promise) {
         int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
+        postCommand(() -> {
             PlayerInstance instance = players.get(id);
             if (instance != null) {
                 instance.player.setPlaybackSpeed((float) rate);
@@ -338,358 +678,1672 @@ public class ReactNativeAudioModule extends ReactNativeAudioSpec {
     }
 
     @Override
-    public void setMetadata(double id, ReadableMap metadata, Promise promise) {
-        // No-op or TODO: Metadata update for Notif
-        promise.resolve(null);
+    public void setMetadata(double idVal, ReadableMap metadata, Promise promise) {
+        int id = (int) idVal;
+        String title = metadata.hasKey("title") ? metadata.getString("title") : null;
+        String artist = metadata.hasKey("artist") ? metadata.getString("artist") : null;
+        String artwork = metadata.hasKey("artwork") ? metadata.getString("artwork") : null;
+        PlayerInstance instance = players.get(id);
+        if (instance == null) {
+            promise.resolve(null); // nothing is showing yet; setupNotification carries the metadata
+            return;
+        }
+        mainHandler.post(() -> {
+            if (title != null) {
+                instance.notificationTitle = title;
+            }
+            if (artist != null) {
+                instance.notificationArtist = artist;
+            }
+            if (artwork != null) {
+                instance.notificationArtwork = artwork;
+            }
+            if (instance.notificationManager != null && !instance.released) {
+                instance.notificationManager.invalidate();
+            }
+            promise.resolve(null);
+        });
     }
 
     @Override
     public void destroyPlayer(double idVal) {
         int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
+        postCommand(() -> {
             PlayerInstance instance = players.remove(id);
+            playerEvents.reset(id);
+            resources.remove(id);
+            playbackStates.remove(id);
             if (instance != null) {
                 // Phase 1.3: Destroy Enforcement
-                if (instance.notificationManager != null) {
-                    instance.notificationManager.setPlayer(null); // Dismiss Notification
-                    instance.notificationManager = null;
-                }
-                instance.progressHandler.removeCallbacks(instance.progressRunnable);
-                instance.player.release();
+                recycleInstance(instance);
                 updateNoisyReceiver();
             }
         });
     }
 
-    @Override
-    public void setupNotification(double idVal, ReadableMap config, Promise promise) {
-        int id = (int) idVal;
-        new Handler(Looper.getMainLooper()).post(() -> {
-            PlayerInstance instance = players.get(id);
-            if (instance != null) {
-                // Initialize Notification Manager if not exists
-                if (instance.notificationManager == null) {
-                    instance.notificationManager = new androidx.media3.ui.PlayerNotificationManager.Builder(
-                            reactContext,
-                            100 + id, // Notification ID
-                            "CHANNEL_AUDIO" // Channel ID
-                    )
-                            .setMediaDescriptionAdapter(
-                                    new androidx.media3.ui.PlayerNotificationManager.MediaDescriptionAdapter() {
-                                        @Override
-                                        public CharSequence getCurrentContentTitle(Player player) {
-                                            return config.hasKey("title") ? config.getString("title") : "Unknown";
-                                        }
-
-                                        @Nullable
-                                        @Override
-                                        public android.app.PendingIntent createCurrentContentIntent(Player player) {
-                                            return null;
-                                        }
-
-                                        @Nullable
-                                        @Override
-                                        public CharSequence getCurrentContentText(Player player) {
-                                            return config.hasKey("artist") ? config.getString("artist") : "Unknown";
-                                        }
-
-                                        @Nullable
-                                        @Override
-                                        public android.graphics.Bitmap getCurrentLargeIcon(Player player,
-                                                androidx.media3.ui.PlayerNotificationManager.BitmapCallback callback) {
-                                            return null;
-                                        }
-                                    })
-                            // Intercept actions to send events to JS
-                            .setNotificationListener(
-                                    new androidx.media3.ui.PlayerNotificationManager.NotificationListener() {
-                                        @Override
-                                        public void onNotificationPosted(int notificationId,
-                                                android.app.Notification notification, boolean ongoing) {
-                                            // Optional: start foreground service here if needed
-                                        }
-                                    })
-                            .build();
-
-                    instance.notificationManager
-                            .setUseNextAction(config.hasKey("hasNext") && config.getBoolean("hasNext"));
-                    instance.notificationManager
-                            .setUsePreviousAction(config.hasKey("hasPrevious") && config.getBoolean("hasPrevious"));
-
-                    ExoPlayer originalPlayer = instance.player;
-                    Player forwardingPlayer = new androidx.media3.common.ForwardingPlayer(originalPlayer) {
-                        @Override
-                        public void seekToNext() {
-                            WritableMap params = Arguments.createMap();
-                            params.putInt("id", id);
-                            sendEvent("AudioPlayerEvent.RemoteNext", params);
-                        }
-
-                        @Override
-                        public void seekToPrevious() {
-                            WritableMap params = Arguments.createMap();
-                            params.putInt("id", id);
-                            sendEvent("AudioPlayerEvent.RemotePrevious", params);
-                        }
-
-                        @Override
-                        public void play() {
-                            super.play();
-                            WritableMap params = Arguments.createMap();
-                            params.putInt("id", id);
-                            sendEvent("AudioPlayerEvent.RemotePlay", params);
-                        }
+    // MARK: - Batched Commands
 
-                        @Override
-                        public void pause() {
-                            super.pause();
-                            WritableMap params = Arguments.createMap();
-                            params.putInt("id", id);
-                            sendEvent("AudioPlayerEvent.RemotePause", params);
-                        }
-                    };
-                    instance.notificationManager.setPlayer(forwardingPlayer);
-                } else {
-                    // Update flags if manager exists
-                    instance.notificationManager
-                            .setUseNextAction(config.hasKey("hasNext") && config.getBoolean("hasNext"));
-                    instance.notificationManager
-                            .setUsePreviousAction(config.hasKey("hasPrevious") && config.getBoolean("hasPrevious"));
+    @Override
+    public void executeBatch(ReadableArray commands, Promise promise) {
+        CommandBatch batch;
+        try {
+            batch = CommandBatch.parse(commands);
+        } catch (IllegalArgumentException e) {
+            promise.reject("invalid_argument", e.getMessage()); // nothing was applied
+            return;
+        }
+        // One message on the playback thread: no other command can run between these
+        postCommand(() -> {
+            WritableArray results = Arguments.createArray();
+            boolean started = false;
+            for (int i = 0; i < batch.size(); i++) {
+                int id = batch.ids[i];
+                PlayerInstance instance = players.get(id);
+                WritableMap result = Arguments.createMap();
+                if (instance == null) {
+                    result.putBoolean("ok", false);
+                    result.putString("error", "not_found");
+                    result.putString("message", "Player " + id + " not found");
+                    results.pushMap(result);
+                    continue;
                 }
-
-                promise.resolve(null);
-            } else {
-                promise.resolve(null); // Fail silently or reject
+                double value = batch.values[i];
+                switch (batch.ops[i]) {
+                    case CommandBatch.PLAY:
+                        resources.resume(id);
+                        instance.player.play();
+                        started = true;
+                        break;
+                    case CommandBatch.PAUSE:
+                        instance.player.pause();
+                        break;
+                    case CommandBatch.STOP:
+                        instance.player.stop();
+                        instance.player.seekTo(0);
+                        break;
+                    case CommandBatch.SEEK:
+                        instance.player.seekTo((long) (value * 1000));
+                        break;
+                    case CommandBatch.VOLUME:
+                        instance.player.setVolume((float) value);
+                        break;
+                    case CommandBatch.RATE:
+                        instance.player.setPlaybackSpeed((float) value);
+                        break;
+                }
+                result.putBoolean("ok", true);
+                results.pushMap(result);
             }
+            // Once per batch rather than once per command
+            if (started) {
+                scheduleProgressTick();
+            }
+            updateNoisyReceiver();
+            promise.resolve(results);
         });
     }
 
-    // MARK: - Recorder
+    // MARK: - Progress
 
-    @Override
-    public void prepareRecorder(String path, ReadableMap options, Promise promise) {
-        try {
-            if (recorder != null) {
-                recorder.release();
-            }
-            recorder = new MediaRecorder();
-            recorder.setAudioSource(MediaRecorder.AudioSource.MIC);
-            recorder.setOutputFormat(MediaRecorder.OutputFormat.MPEG_4); // Default AAC
-            recorder.setAudioEncoder(MediaRecorder.AudioEncoder.AAC);
+    // Phase 3: Progress Loop
+    // One ticker samples every playing player and emits a single batched event per tick,
+    // so bridge traffic does not grow with the number of players. Players whose position
+    // and duration did not move since the last tick are left out. Players with
+    // PlayerOptions.network also get a BufferHealth event per tick while they want to
+    // play, including while stalled.
 
-            if (options.hasKey("sampleRate")) {
-                recorder.setAudioSamplingRate(options.getInt("sampleRate"));
+    private volatile long progressIntervalMs = 500;
+    private boolean progressTickScheduled = false;
+
+    private final Runnable progressTick = new Runnable() {
+        @Override
+        public void run() {
+            progressTickScheduled = false;
+            WritableArray batch = null;
+            boolean anyPlaying = false;
+            PlayerRegistry.Snapshot<PlayerInstance> snapshot = players.snapshot();
+            for (int i = 0; i < snapshot.size(); i++) {
+                PlayerInstance instance = snapshot.valueAt(i);
+                if (instance.network != null && instance.player.getPlayWhenReady()
+                        && instance.player.getPlaybackState() != Player.STATE_ENDED) {
+                    anyPlaying = true;
+                    sendBufferHealthEvent(snapshot.keyAt(i), instance);
+                }
+                // Corrects extrapolation drift and refreshes the buffered position
+                publishPlaybackState(snapshot.keyAt(i), instance.player);
+                if (!instance.player.isPlaying()) {
+                    continue;
+                }
+                anyPlaying = true;
+                long positionMs = instance.player.getCurrentPosition();
+                long durationMs = instance.player.getDuration();
+                if (positionMs == instance.lastPositionMs && durationMs == instance.lastDurationMs) {
+                    continue;
+                }
+                instance.lastPositionMs = positionMs;
+                instance.lastDurationMs = durationMs;
+
+                if (batch == null) {
+                    batch = Arguments.createArray();
+                }
+                WritableMap entry = Arguments.createMap();
+                entry.putInt("id", snapshot.keyAt(i));
+                entry.putDouble("position", positionMs / 1000.0);
+                entry.putDouble("duration", durationMs / 1000.0);
+                batch.pushMap(entry);
             }
-            if (options.hasKey("bitrate")) {
-                recorder.setAudioEncodingBitRate(options.getInt("bitrate"));
+            if (batch != null) {
+                WritableMap params = Arguments.createMap();
+                params.putArray("progress", batch);
+                sendEvent("AudioPlayerEvent.ProgressBatch", params);
             }
-            if (options.hasKey("channels")) {
-                recorder.setAudioChannels(options.getInt("channels"));
+            if (anyPlaying) {
+                scheduleProgressTick();
             }
-
-            // Adjust path if file:// scheme
-            String filePath = path.replace("file://", "");
-            currentRecordingPath = filePath;
-            recorder.setOutputFile(filePath);
-
-            recorder.prepare();
-            promise.resolve(filePath);
-        } catch (IOException e) {
-            promise.reject("recorder_error", e.getMessage());
         }
-    }
+    };
 
-    @Override
-    public void startRecording(Promise promise) {
-        if (recorder != null) {
-            try {
-                recorder.start();
-                promise.resolve(null);
-            } catch (Exception e) {
-                promise.reject("error", "Failed to start recording: " + e.getMessage());
-            }
-        } else {
-            promise.reject("no_recorder", "Recorder not prepared");
+    private void scheduleProgressTick() {
+        if (!progressTickScheduled) {
+            progressTickScheduled = true;
+            playbackHandler.postDelayed(progressTick, progressIntervalMs);
         }
     }
 
     @Override
-    public void stopRecording(Promise promise) {
-        if (recorder != null) {
-            try {
-                recorder.stop();
-                recorder.release();
-                recorder = null;
-                promise.resolve(currentRecordingPath);
-            } catch (Exception e) {
-                promise.reject("error", "Failed to stop recording: " + e.getMessage());
-            }
-        } else {
-            promise.reject("no_recorder", "Recorder not prepared");
-        }
+    public void setProgressInterval(double intervalMs, Promise promise) {
+        progressIntervalMs = Math.max(16, (long) intervalMs);
+        promise.resolve(null);
     }
 
-    @Override
-    public void pauseRecording(Promise promise) {
-        // TODO: Implement
-        promise.resolve(null);
+    // MARK: - Playback State Snapshots
+
+    // Indexed by PlaybackStateTable state codes
+    private static final String[] STATE_NAMES = {
+            "idle", "loading", "playing", "paused", "buffering", "ended", "error",
+    };
+
+    /**
+     * Copies a player's state into the table. Playback thread only; called on every
+     * batch of player events and on each progress tick.
+     */
+    private void publishPlaybackState(int id, ExoPlayer player) {
+        int state;
+        switch (player.getPlaybackState()) {
+            case Player.STATE_BUFFERING:
+                state = PlaybackStateTable.STATE_BUFFERING;
+                break;
+            case Player.STATE_READY:
+                state = player.getPlayWhenReady() ? PlaybackStateTable.STATE_PLAYING : PlaybackStateTable.STATE_PAUSED;
+                break;
+            case Player.STATE_ENDED:
+                state = PlaybackStateTable.STATE_ENDED;
+                break;
+            default:
+                state = player.getPlayerError() != null ? PlaybackStateTable.STATE_ERROR : PlaybackStateTable.STATE_IDLE;
+                break;
+        }
+        long durationMs = player.getDuration();
+        // Only a position that is actually moving is extrapolated by readers
+        double rate = player.isPlaying() ? player.getPlaybackParameters().speed : 0;
+        playbackStates.write(id, state, player.getCurrentPosition(), durationMs == C.TIME_UNSET ? -1 : durationMs,
+                player.getBufferedPosition(), rate, SystemClock.elapsedRealtime());
     }
 
+    /**
+     * Runs on the JS thread and returns straight away: no playback-thread hop and no
+     * event. The position is extrapolated to now from the last sample. Each call still
+     * builds a small map for the bridge; only the table copy is reused.
+     */
     @Override
-    public void resumeRecording(Promise promise) {
-        // TODO: Implement
-        promise.resolve(null);
+    @Nullable
+    public WritableMap getPlaybackSnapshot(double idVal) {
+        if (!playbackStates.read((int) idVal, jsSnapshot)) {
+            return null;
+        }
+        WritableMap result = Arguments.createMap();
+        result.putString("state", STATE_NAMES[jsSnapshot.state]);
+        result.putDouble("position", jsSnapshot.positionAt(SystemClock.elapsedRealtime()) / 1000.0);
+        result.putDouble("duration", jsSnapshot.durationMs >= 0 ? jsSnapshot.durationMs / 1000.0 : 0);
+        result.putDouble("bufferedPosition", jsSnapshot.bufferedMs / 1000.0);
+        result.putDouble("rate", jsSnapshot.rate);
+        if (!Double.isNaN(jsSnapshot.level)) {
+            result.putDouble("level", jsSnapshot.level);
+        }
+        result.putDouble("version", jsSnapshot.version);
+        return result;
     }
 
-    // MARK: - Helpers
-
-    private void sendEvent(String eventName, @Nullable WritableMap params) {
-        reactContext
-                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                .emit(eventName, params);
-    }
+    // MARK: - Gapless Queue
 
-    // MARK: - Media Library
+    // The whole queue lives in one ExoPlayer timeline. ExoPlayer starts loading the next
+    // item as soon as the current one is fully buffered, and trims encoder delay/padding,
+    // so boundaries play without a gap or a fresh prepare.
 
     @Override
-    public void getAudios(Promise promise) {
-        new Thread(() -> {
+    public void setQueue(double idVal, ReadableArray items, double startIndex, ReadableMap options,
+            Promise promise) {
+        int id = (int) idVal;
+        postCommand(() -> {
+            if (items.size() == 0) {
+                promise.reject("empty_queue", "Queue must contain at least one item");
+                return;
+            }
             try {
-                WritableArray result = Arguments.createArray();
-                android.content.ContentResolver resolver = reactContext.getContentResolver();
-                Uri uri = android.provider.MediaStore.Audio.Media.EXTERNAL_CONTENT_URI;
-                String selection = android.provider.MediaStore.Audio.Media.IS_MUSIC + " != 0";
-
-                android.database.Cursor cursor = resolver.query(uri, null, selection, null, null);
-
-                if (cursor != null) {
-                    int idCol = cursor.getColumnIndex(android.provider.MediaStore.Audio.Media._ID);
-                    int titleCol = cursor.getColumnIndex(android.provider.MediaStore.Audio.Media.TITLE);
-                    int artistCol = cursor.getColumnIndex(android.provider.MediaStore.Audio.Media.ARTIST);
-                    int albumCol = cursor.getColumnIndex(android.provider.MediaStore.Audio.Media.ALBUM);
-                    int durationCol = cursor.getColumnIndex(android.provider.MediaStore.Audio.Media.DURATION);
-                    // int dataCol =
-                    // cursor.getColumnIndex(android.provider.MediaStore.Audio.Media.DATA); //
-                    // Deprecated but useful for URI
-
-                    while (cursor.moveToNext()) {
-                        long id = cursor.getLong(idCol);
-                        String title = cursor.getString(titleCol);
-                        String artist = cursor.getString(artistCol);
-                        String album = cursor.getString(albumCol);
-                        long durationMs = cursor.getLong(durationCol);
-
-                        Uri contentUri = android.content.ContentUris.withAppendedId(
-                                android.provider.MediaStore.Audio.Media.EXTERNAL_CONTENT_URI, id);
-
-                        WritableMap map = Arguments.createMap();
-                        map.putString("id", String.valueOf(id));
-                        map.putString("uri", contentUri.toString());
-                        map.putString("title", title != null ? title : "Unknown");
-                        map.putString("artist", artist != null ? artist : "Unknown");
-                        map.putString("album", album != null ? album : "Unknown");
-                        map.putDouble("duration", durationMs / 1000.0);
-
-                        // Artwork retrieval is complex (requires loadThumbnail), skipping for speed or
-                        // use a placeholder/separate call
-
-                        result.pushMap(map);
-                    }
-                    cursor.close();
-                }
-                promise.resolve(result);
+                PlayerInstance instance = createInstance(id, options);
+                instance.queueMode = true;
+                List<MediaSource> sources = buildQueueSources(items, instance);
+                int index = Math.max(0, Math.min((int) startIndex, sources.size() - 1));
+                instance.player.setMediaSources(sources, index, 0);
+                instance.metrics.onPrepare();
+                instance.player.prepare();
+                resources.onPrepared(id, instance.player);
+                promise.resolve(null);
             } catch (Exception e) {
                 promise.reject("error", e.getMessage());
             }
-        }).start();
+        });
     }
 
-    private void sendStateEvent(int id, String state) {
-        WritableMap params = Arguments.createMap();
-        params.putString("state", state);
-        sendEvent("AudioPlayerEvent.State." + id, params);
+    @Override
+    public void appendToQueue(double idVal, ReadableArray items, Promise promise) {
+        int id = (int) idVal;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance != null && instance.queueMode) {
+                try {
+                    instance.player.addMediaSources(buildQueueSources(items, instance));
+                    promise.resolve(null);
+                } catch (Exception e) {
+                    promise.reject("error", e.getMessage());
+                }
+            } else {
+                promise.reject("not_found", "Queue not set for player");
+            }
+        });
+    }
+
+    @Override
+    public void removeFromQueue(double idVal, double indexVal, Promise promise) {
+        int id = (int) idVal;
+        int index = (int) indexVal;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null || !instance.queueMode) {
+                promise.reject("not_found", "Queue not set for player");
+            } else if (index < 0 || index >= instance.player.getMediaItemCount()) {
+                promise.reject("out_of_range", "Queue index " + index + " out of range");
+            } else {
+                instance.player.removeMediaItem(index);
+                promise.resolve(null);
+            }
+        });
+    }
+
+    @Override
+    public void moveQueueItem(double idVal, double fromVal, double toVal, Promise promise) {
+        int id = (int) idVal;
+        int from = (int) fromVal;
+        int to = (int) toVal;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null || !instance.queueMode) {
+                promise.reject("not_found", "Queue not set for player");
+                return;
+            }
+            int count = instance.player.getMediaItemCount();
+            if (from < 0 || from >= count || to < 0 || to >= count) {
+                promise.reject("out_of_range", "Queue index out of range");
+            } else {
+                instance.player.moveMediaItem(from, to);
+                promise.resolve(null);
+            }
+        });
+    }
+
+    @Override
+    public void skipToQueueIndex(double idVal, double indexVal, Promise promise) {
+        int id = (int) idVal;
+        int index = (int) indexVal;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null || !instance.queueMode) {
+                promise.reject("not_found", "Queue not set for player");
+            } else if (index < 0 || index >= instance.player.getMediaItemCount()) {
+                promise.reject("out_of_range", "Queue index " + index + " out of range");
+            } else {
+                instance.player.seekToDefaultPosition(index);
+                promise.resolve(null);
+            }
+        });
+    }
+
+    private List<MediaSource> buildQueueSources(ReadableArray items, PlayerInstance instance) {
+        List<MediaSource> sources = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ReadableMap item = items.getMap(i);
+            MediaMetadata.Builder metadata = new MediaMetadata.Builder();
+            if (item.hasKey("title")) {
+                metadata.setTitle(item.getString("title"));
+            }
+            if (item.hasKey("artist")) {
+                metadata.setArtist(item.getString("artist"));
+            }
+            if (item.hasKey("album")) {
+                metadata.setAlbumTitle(item.getString("album"));
+            }
+            if (item.hasKey("artwork")) {
+                metadata.setArtworkUri(Uri.parse(item.getString("artwork")));
+            }
+            MediaItem.Builder mediaItem = new MediaItem.Builder()
+                    .setUri(Uri.parse(item.getString("uri")))
+                    .setMediaMetadata(metadata.build());
+            if (item.hasKey("id")) {
+                mediaItem.setMediaId(item.getString("id"));
+            }
+            sources.add(buildMediaSource(mediaItem.build(), instance));
+        }
+        return sources;
+    }
+
+    // MARK: - Player Pool
+
+    @Override
+    public void setPlayerPoolConfig(ReadableMap config, Promise promise) {
+        int maxSize = config.hasKey("maxSize") ? config.getInt("maxSize") : PlayerPool.DEFAULT_MAX_SIZE;
+        int prewarm = config.hasKey("prewarm") ? config.getInt("prewarm") : 0;
+        postCommand(() -> {
+            playerPool.configure(maxSize, prewarm);
+            promise.resolve(null);
+        });
+    }
+
+    @Override
+    public void getPlayerPoolStats(Promise promise) {
+        postCommand(() -> {
+            WritableMap stats = Arguments.createMap();
+            stats.putDouble("hits", playerPool.getHits());
+            stats.putDouble("misses", playerPool.getMisses());
+            stats.putInt("idle", playerPool.getIdleCount());
+            stats.putInt("maxSize", playerPool.getMaxSize());
+            promise.resolve(stats);
+        });
+    }
+
+    @Override
+    public void setPlayerResourcePolicy(ReadableMap config, Promise promise) {
+        int maxDecoding = config.hasKey("maxDecodingPlayers")
+                ? config.getInt("maxDecodingPlayers")
+                : PlayerResources.DEFAULT_MAX_DECODING;
+        // idleTimeout is in seconds
+        long idleTimeoutMs = config.hasKey("idleTimeout")
+                ? (long) (config.getDouble("idleTimeout") * 1000)
+                : PlayerResources.DEFAULT_IDLE_TIMEOUT_MS;
+        postCommand(() -> {
+            resources.setPolicy(maxDecoding, idleTimeoutMs);
+            promise.resolve(null);
+        });
+    }
+
+    @Override
+    public void getPlayerResourceStats(Promise promise) {
+        postCommand(() -> {
+            WritableArray list = Arguments.createArray();
+            long totalBytes = 0;
+            PlayerRegistry.Snapshot<PlayerInstance> snapshot = players.snapshot();
+            for (int i = 0; i < snapshot.size(); i++) {
+                int id = snapshot.keyAt(i);
+                if (!resources.isTracked(id)) {
+                    continue;
+                }
+                long estimated = resources.getEstimatedBytes(id);
+                totalBytes += estimated;
+                WritableMap entry = Arguments.createMap();
+                entry.putInt("id", id);
+                entry.putString("state", resources.isDecoding(id)
+                        ? "decoding"
+                        : resources.isReclaimed(id) ? "reclaimed" : "idle");
+                entry.putBoolean("active", players.isActive(id));
+                entry.putDouble("idleMs", resources.getIdleMs(id));
+                entry.putDouble("bufferedBytes", resources.getBufferedBytes(id));
+                entry.putDouble("estimatedBytes", estimated);
+                list.pushMap(entry);
+            }
+            WritableMap stats = Arguments.createMap();
+            stats.putArray("players", list);
+            stats.putInt("decoding", resources.getDecodingCount());
+            stats.putInt("maxDecodingPlayers", resources.getMaxDecoding());
+            stats.putDouble("idleTimeout", resources.getIdleTimeoutMs() / 1000.0);
+            stats.putDouble("reclaimed", resources.getReclaimedCount());
+            stats.putDouble("estimatedBytes", totalBytes);
+            promise.resolve(stats);
+        });
+    }
+
+    private void sendReclaimedEvent(int id) {
+        WritableMap params = playerEvents.create(id, PlayerEvents.INTERRUPTION);
+        params.putString("reason", "reclaimed");
+        playerEvents.send(params);
+    }
+
+    // MARK: - Metrics
+
+    /**
+     * Runs a bridge command on the playback thread and records the time from the call
+     * reaching the module to the command finishing in the command latency histogram.
+     */
+    private void postCommand(Runnable command) {
+        long receivedNanos = System.nanoTime();
+        playbackHandler.post(() -> {
+            command.run();
+            metricsTotals.commandLatency.recordNanos(System.nanoTime() - receivedNanos);
+        });
+    }
+
+    @Override
+    public void getPlaybackMetrics(double idVal, Promise promise) {
+        int id = (int) idVal;
+        playbackHandler.post(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            PlaybackMetrics metrics = instance.metrics;
+            WritableMap result = Arguments.createMap();
+            putMillis(result, "timeToReadyMs", metrics.getTimeToReadyMs());
+            putMillis(result, "timeToFirstAudioMs", metrics.getTimeToFirstAudioMs());
+            putMillis(result, "decoderInitMs", metrics.getDecoderInitMs());
+            result.putString("decoderName", metrics.getDecoderName());
+            result.putDouble("rebufferCount", metrics.getRebufferCount());
+            result.putDouble("rebufferMs", metrics.getRebufferMs());
+            result.putDouble("audioUnderruns", metrics.getAudioUnderruns());
+            result.putDouble("bytesLoaded", metrics.getBytesLoaded());
+            result.putDouble("errors", metrics.getErrors());
+            promise.resolve(result);
+        });
+    }
+
+    @Override
+    public void getGlobalPlaybackMetrics(Promise promise) {
+        // Totals are atomics, so this does not need to wait for the playback thread
+        WritableMap result = Arguments.createMap();
+        result.putDouble("players", metricsTotals.players.get());
+        result.putDouble("rebufferCount", metricsTotals.rebuffers.get());
+        result.putDouble("rebufferMs", metricsTotals.rebufferMs.get());
+        result.putDouble("audioUnderruns", metricsTotals.audioUnderruns.get());
+        result.putDouble("bytesLoaded", metricsTotals.bytesLoaded.get());
+        result.putDouble("errors", metricsTotals.errors.get());
+        result.putMap("timeToFirstAudio", histogramToMap(metricsTotals.timeToFirstAudio));
+        result.putMap("decoderInit", histogramToMap(metricsTotals.decoderInit));
+        result.putMap("commandLatency", histogramToMap(metricsTotals.commandLatency));
+        promise.resolve(result);
+    }
+
+    private static void putMillis(WritableMap map, String key, long ms) {
+        if (ms >= 0) {
+            map.putDouble(key, ms);
+        } else {
+            map.putNull(key); // not reached yet
+        }
+    }
+
+    private static WritableMap histogramToMap(LatencyHistogram histogram) {
+        WritableMap map = Arguments.createMap();
+        map.putDouble("count", histogram.getCount());
+        map.putDouble("meanMs", histogram.getMeanUs() / 1000.0);
+        map.putDouble("p50Ms", histogram.getPercentileUs(50) / 1000.0);
+        map.putDouble("p95Ms", histogram.getPercentileUs(95) / 1000.0);
+        map.putDouble("p99Ms", histogram.getPercentileUs(99) / 1000.0);
+        map.putDouble("maxMs", histogram.getMaxUs() / 1000.0);
+        // Raw counts; bucket i ends at 2^i microseconds. Trailing empty buckets are left out.
+        int last = LatencyHistogram.BUCKETS - 1;
+        while (last >= 0 && histogram.getBucketCount(last) == 0) {
+            last--;
+        }
+        WritableArray buckets = Arguments.createArray();
+        for (int i = 0; i <= last; i++) {
+            buckets.pushDouble(histogram.getBucketCount(i));
+        }
+        map.putArray("buckets", buckets);
+        return map;
+    }
+
+    // MARK: - Analysis
+
+    @Override
+    public void setAnalysisEnabled(double idVal, boolean enabled, ReadableMap options, Promise promise) {
+        int id = (int) idVal;
+        int fftSize = options.hasKey("fftSize") ? options.getInt("fftSize") : AnalysisAudioProcessor.DEFAULT_FFT_SIZE;
+        int bands = options.hasKey("bands") ? options.getInt("bands") : AnalysisAudioProcessor.DEFAULT_BANDS;
+        int intervalMs = options.hasKey("intervalMs")
+                ? options.getInt("intervalMs")
+                : AnalysisAudioProcessor.DEFAULT_INTERVAL_MS;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            AnalysisAudioProcessor analyzer = playerPool.chainFor(instance.player).analyzer;
+            if (!enabled) {
+                analyzer.setEnabled(false, null);
+                instance.analysisEnabled = false;
+                playbackStates.writeLevel(id, Double.NaN); // snapshots stop reporting a stale level
+                promise.resolve(null);
+                return;
+            }
+
+            // Tables are built here so the audio thread never allocates
+            AnalysisAudioProcessor.Config config = AnalysisAudioProcessor.Config.create(fftSize, bands, intervalMs);
+            instance.analysisSpectrum = new float[config.bands];
+            Runnable emit = () -> {
+                instance.analysisPending.set(false);
+                if (!instance.released && instance.analysisEnabled) {
+                    sendAnalysisEvent(id, analyzer, instance);
+                }
+            };
+            analyzer.setAnalysisConfig(config);
+            instance.analysisEnabled = true;
+            analyzer.setEnabled(true, () -> {
+                // Coalesce: at most one emission queued per player
+                if (instance.analysisPending.compareAndSet(false, true)) {
+                    playbackHandler.post(emit);
+                }
+            });
+            promise.resolve(null);
+        });
+    }
+
+    private void sendAnalysisEvent(int id, AnalysisAudioProcessor analyzer, PlayerInstance instance) {
+        int count = analyzer.readLatest(instance.analysisLevels, instance.analysisSpectrum);
+        playbackStates.writeLevel(id, instance.analysisLevels[0]);
+        WritableArray spectrum = Arguments.createArray();
+        for (int i = 0; i < count; i++) {
+            spectrum.pushDouble(instance.analysisSpectrum[i]);
+        }
+        WritableMap params = playerEvents.create(id, PlayerEvents.ANALYSIS);
+        params.putDouble("rms", instance.analysisLevels[0]);
+        params.putDouble("peak", instance.analysisLevels[1]);
+        params.putArray("spectrum", spectrum);
+        playerEvents.send(params);
+    }
+
+    @Override
+    public void setupNotification(double idVal, ReadableMap config, Promise promise) {
+        int id = (int) idVal;
+        boolean hasNext = config.hasKey("hasNext") && config.getBoolean("hasNext");
+        boolean hasPrevious = config.hasKey("hasPrevious") && config.getBoolean("hasPrevious");
+        String title = config.hasKey("title") ? config.getString("title") : "Unknown";
+        String artist = config.hasKey("artist") ? config.getString("artist") : "Unknown";
+        String artwork = config.hasKey("artwork") ? config.getString("artwork") : null;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.resolve(null); // Fail silently or reject
+                return;
+            }
+            // Reclaiming would take the notification down with the decoder
+            resources.setPinned(id, true);
+            // PlayerNotificationManager is main-looper only
+            mainHandler.post(() -> {
+                if (instance.released) {
+                    promise.resolve(null);
+                    return;
+                }
+                instance.notificationTitle = title;
+                instance.notificationArtist = artist;
+                instance.notificationArtwork = artwork;
+                // Initialize Notification Manager if not exists
+                if (instance.notificationManager == null) {
+                    instance.notificationManager = new androidx.media3.ui.PlayerNotificationManager.Builder(
+                            reactContext,
+                            100 + id, // Notification ID
+                            "CHANNEL_AUDIO" // Channel ID
+                    )
+                            .setMediaDescriptionAdapter(
+                                    new androidx.media3.ui.PlayerNotificationManager.MediaDescriptionAdapter() {
+                                        @Override
+                                        public CharSequence getCurrentContentTitle(Player player) {
+                                            // Queue items carry their own metadata
+                                            CharSequence current = player.getMediaMetadata().title;
+                                            return current != null ? current : instance.notificationTitle;
+                                        }
+
+                                        @Nullable
+                                        @Override
+                                        public android.app.PendingIntent createCurrentContentIntent(Player player) {
+                                            return null;
+                                        }
+
+                                        @Nullable
+                                        @Override
+                                        public CharSequence getCurrentContentText(Player player) {
+                                            CharSequence current = player.getMediaMetadata().artist;
+                                            return current != null ? current : instance.notificationArtist;
+                                        }
+
+                                        @Nullable
+                                        @Override
+                                        public android.graphics.Bitmap getCurrentLargeIcon(Player player,
+                                                androidx.media3.ui.PlayerNotificationManager.BitmapCallback callback) {
+                                            return largeIcon(instance, player, callback);
+                                        }
+                                    })
+                            // Intercept actions to send events to JS
+                            .setNotificationListener(
+                                    new androidx.media3.ui.PlayerNotificationManager.NotificationListener() {
+                                        @Override
+                                        public void onNotificationPosted(int notificationId,
+                                                android.app.Notification notification, boolean ongoing) {
+                                            // Optional: start foreground service here if needed
+                                        }
+                                    })
+                            .build();
+
+                    // Mirrors the playback-thread player; Remote* actions are reported to JS
+                    instance.notificationPlayer = new NotificationPlayer(instance.player, playbackHandler,
+                            eventName -> {
+                                WritableMap params = Arguments.createMap();
+                                params.putInt("id", id);
+                                sendEvent(eventName, params);
+                            });
+                    instance.notificationManager.setPlayer(instance.notificationPlayer);
+                }
+
+                // Update flags (also on first setup)
+                instance.notificationPlayer.setQueueNavigation(hasNext, hasPrevious);
+                instance.notificationManager.setUseNextAction(hasNext);
+                instance.notificationManager.setUsePreviousAction(hasPrevious);
+                // Title, artist and artwork may have changed for the same track
+                instance.notificationManager.invalidate();
+                promise.resolve(null);
+            });
+        });
+    }
+
+    /**
+     * Cover for the notification, on the main looper. Returns the bitmap when it is in
+     * memory; otherwise loads it off-thread and hands it to the manager's callback, which
+     * ignores results for a notification that has since changed.
+     */
+    @Nullable
+    private android.graphics.Bitmap largeIcon(PlayerInstance instance, Player player,
+            androidx.media3.ui.PlayerNotificationManager.BitmapCallback callback) {
+        // Queue items carry their own artwork; otherwise the configured one, then the file's tags
+        Uri artworkUri = player.getMediaMetadata().artworkUri;
+        String source = artworkUri != null ? artworkUri.toString() : instance.notificationArtwork;
+        if (source == null && instance.notificationPlayer != null) {
+            source = instance.notificationPlayer.getCurrentMediaUri();
+        }
+        if (source == null) {
+            return null;
+        }
+        android.graphics.Bitmap cached = artworkCache.peek(source, ArtworkCache.DEFAULT_SIZE_PX);
+        if (cached != null) {
+            return cached;
+        }
+        artworkCache.load(source, ArtworkCache.DEFAULT_SIZE_PX, true, (bitmap, file) -> {
+            if (bitmap != null) {
+                mainHandler.post(() -> callback.onBitmap(bitmap));
+            }
+        });
+        return null;
+    }
+
+    // MARK: - Recorder
+
+    @Override
+    public void prepareRecorder(String path, ReadableMap options, Promise promise) {
+        try {
+            if (recorder != null) {
+                recorder.release();
+                recorder = null;
+            }
+
+            // Quality presets fill in whatever the options leave out
+            String quality = options.hasKey("quality") ? options.getString("quality") : "medium";
+            int sampleRate = "low".equals(quality) ? 22050 : "high".equals(quality) ? 48000 : 44100;
+            int bitrate = "low".equals(quality) ? 64000 : "high".equals(quality) ? 256000 : 128000;
+            if (options.hasKey("sampleRate")) {
+                sampleRate = options.getInt("sampleRate");
+            }
+            if (options.hasKey("bitrate")) {
+                bitrate = options.getInt("bitrate");
+            }
+            int channels = options.hasKey("channels") ? options.getInt("channels") : 1;
+            String format = options.hasKey("format") ? options.getString("format") : "aac";
+
+            // Adjust path if file:// scheme
+            String filePath = path.replace("file://", "");
+            currentRecordingPath = filePath;
+
+            RecordingEncoder encoder = RecorderPipeline.encoderFor(format, new File(filePath), sampleRate, channels,
+                    bitrate);
+            recorder = new RecorderPipeline(encoder, sampleRate, channels, new RecorderPipeline.Listener() {
+                @Override
+                public void onOverrun(long droppedFrames, long totalDroppedFrames) {
+                    WritableMap params = Arguments.createMap();
+                    params.putDouble("droppedFrames", droppedFrames);
+                    params.putDouble("totalDroppedFrames", totalDroppedFrames);
+                    sendEvent("AudioRecorderEvent.Overrun", params);
+                }
+
+                @Override
+                public void onLevels(float rmsDb, float peakDb) {
+                    WritableMap params = Arguments.createMap();
+                    params.putDouble("db", rmsDb);
+                    params.putDouble("rms", rmsDb);
+                    params.putDouble("peak", peakDb);
+                    sendEvent("AudioRecorderEvent.Metering", params);
+                }
+
+                @Override
+                public void onError(String message) {
+                    WritableMap params = Arguments.createMap();
+                    params.putString("message", message);
+                    sendEvent("AudioRecorderEvent.Error", params);
+                }
+            });
+
+            if (options.hasKey("meteringEnabled") && options.getBoolean("meteringEnabled")) {
+                recorder.setMetering(options.hasKey("meteringIntervalMs") ? options.getInt("meteringIntervalMs") : 100);
+            }
+            if (options.hasKey("stream")) {
+                int chunkBytes = options.hasKey("streamChunkBytes")
+                        ? Math.max(1024, options.getInt("streamChunkBytes"))
+                        : RecordingStream.DEFAULT_CHUNK_BYTES;
+                // WAV (and AAC at non-ADTS rates) has no standalone bitstream, so it streams PCM
+                boolean encoded = "encoded".equals(options.getString("stream")) && encoder.supportsEncodedStream();
+                String streamFormat = encoded ? "aac" : "pcm";
+                RecordingStream stream = new RecordingStream(chunkBytes, RecordingStream.DEFAULT_POOL_SIZE,
+                        chunk -> sendRecordingChunkEvent(chunk, streamFormat));
+                recorder.setStream(stream, encoded);
+            }
+            promise.resolve(filePath);
+        } catch (IOException e) {
+            promise.reject("recorder_error", e.getMessage());
+        }
+    }
+
+    @Override
+    public void startRecording(Promise promise) {
+        if (recorder != null) {
+            try {
+                recorder.start();
+                promise.resolve(null);
+            } catch (Exception e) {
+                promise.reject("error", "Failed to start recording: " + e.getMessage());
+            }
+        } else {
+            promise.reject("no_recorder", "Recorder not prepared");
+        }
+    }
+
+    @Override
+    public void stopRecording(Promise promise) {
+        if (recorder != null) {
+            try {
+                recorder.stop();
+                recorder = null;
+                promise.resolve(currentRecordingPath);
+            } catch (Exception e) {
+                recorder = null;
+                promise.reject("error", "Failed to stop recording: " + e.getMessage());
+            }
+        } else {
+            promise.reject("no_recorder", "Recorder not prepared");
+        }
+    }
+
+    @Override
+    public void pauseRecording(Promise promise) {
+        if (recorder == null) {
+            promise.reject("no_recorder", "Recorder not prepared");
+        } else if (!recorder.isRecording()) {
+            promise.reject("invalid_state", "Recorder is not recording");
+        } else {
+            if (!recorder.isPaused()) {
+                recorder.pause();
+            }
+            promise.resolve(null);
+        }
+    }
+
+    @Override
+    public void resumeRecording(Promise promise) {
+        if (recorder == null) {
+            promise.reject("no_recorder", "Recorder not prepared");
+        } else if (!recorder.isRecording()) {
+            promise.reject("invalid_state", "Recorder is not recording");
+        } else {
+            if (recorder.isPaused()) {
+                recorder.resume();
+            }
+            promise.resolve(null);
+        }
+    }
+
+    private void sendRecordingChunkEvent(RecordingStream.Chunk chunk, String format) {
+        WritableMap params = Arguments.createMap();
+        params.putString("data", Base64.encodeToString(chunk.data, 0, chunk.length, Base64.NO_WRAP));
+        params.putDouble("sequence", chunk.sequence);
+        params.putString("format", format);
+        sendEvent("AudioRecorderEvent.Chunk", params);
+    }
+
+    // MARK: - Helpers
+
+    private void sendEvent(String eventName, @Nullable WritableMap params) {
+        reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, params);
+    }
+
+    // MARK: - Media Library
+
+    @Override
+    public void getAudios(Promise promise) {
+        libraryExecutor.execute(() -> {
+            try {
+                WritableArray result;
+                try {
+                    // Incremental sync only re-reads changed rows, then the list comes from SQLite
+                    libraryIndex.sync();
+                    result = libraryIndex.all();
+                } catch (SQLiteException e) {
+                    result = scanAudios();
+                }
+                promise.resolve(result);
+            } catch (Exception e) {
+                promise.reject("error", e.getMessage());
+            }
+        });
+    }
+
+    // Full MediaStore scan, used when the on-disk index is unavailable
+    private WritableArray scanAudios() {
+        WritableArray result = Arguments.createArray();
+        MediaLibrary.Query query = MediaLibrary.Query.all();
+        try (android.database.Cursor cursor = mediaLibrary.query(query, 0, 0)) {
+            if (cursor != null) {
+                MediaLibrary.Columns columns = new MediaLibrary.Columns(cursor);
+                while (cursor.moveToNext()) {
+                    result.pushMap(mediaLibrary.readRow(cursor, columns));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void syncLibraryIndex(Promise promise) {
+        libraryExecutor.execute(() -> {
+            try {
+                LibraryIndex.SyncResult sync = libraryIndex.sync();
+                WritableMap result = Arguments.createMap();
+                result.putBoolean("fullRebuild", sync.fullRebuild);
+                result.putInt("updated", sync.upserted);
+                result.putInt("removed", sync.removed);
+                result.putDouble("total", sync.total);
+                result.putDouble("durationMs", sync.durationMs);
+                promise.resolve(result);
+            } catch (Exception e) {
+                promise.reject("index_error", e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void searchLibrary(String query, double limit, Promise promise) {
+        libraryExecutor.execute(() -> {
+            try {
+                promise.resolve(libraryIndex.search(query, limit > 0 ? (int) limit : MediaLibrary.DEFAULT_PAGE_SIZE));
+            } catch (Exception e) {
+                promise.reject("index_error", e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void getLibraryGroups(String groupBy, Promise promise) {
+        libraryExecutor.execute(() -> {
+            try {
+                promise.resolve(libraryIndex.groups("artist".equals(groupBy)));
+            } catch (Exception e) {
+                promise.reject("index_error", e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void getAudiosPage(ReadableMap options, Promise promise) {
+        libraryExecutor.execute(() -> {
+            try {
+                MediaLibrary.Query query = MediaLibrary.Query.fromOptions(options);
+                int offset = options.hasKey("cursor") && !options.isNull("cursor")
+                        ? MediaLibrary.decodeCursor(options.getString("cursor"))
+                        : options.hasKey("offset") ? options.getInt("offset") : 0;
+                int limit = options.hasKey("limit") ? options.getInt("limit") : MediaLibrary.DEFAULT_PAGE_SIZE;
+                if (limit <= 0) {
+                    // A page of nothing would hand back a cursor that never advances
+                    promise.reject("invalid_argument", "limit must be at least 1");
+                    return;
+                }
+
+                WritableArray items = Arguments.createArray();
+                int read = 0;
+                try (android.database.Cursor cursor = mediaLibrary.query(query, offset, limit)) {
+                    if (cursor != null) {
+                        MediaLibrary.Columns columns = new MediaLibrary.Columns(cursor);
+                        while (cursor.moveToNext()) {
+                            items.pushMap(mediaLibrary.readRow(cursor, columns));
+                            read++;
+                        }
+                    }
+                }
+
+                WritableMap page = Arguments.createMap();
+                page.putArray("items", items);
+                if (read == limit) {
+                    page.putString("nextCursor", MediaLibrary.encodeCursor(offset + read));
+                } else {
+                    page.putNull("nextCursor");
+                }
+                // Counting is a second query; only pay for it when asked
+                if (options.hasKey("includeTotal") && options.getBoolean("includeTotal")) {
+                    page.putInt("total", mediaLibrary.count(query));
+                }
+                promise.resolve(page);
+            } catch (Exception e) {
+                promise.reject("error", e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void streamAudios(double requestIdVal, ReadableMap options, Promise promise) {
+        int requestId = (int) requestIdVal;
+        int chunkSize = options.hasKey("chunkSize") ? Math.max(1, options.getInt("chunkSize")) : 100;
+        libraryExecutor.execute(() -> {
+            try {
+                MediaLibrary.Query query = MediaLibrary.Query.fromOptions(options);
+                int offset = options.hasKey("offset") ? options.getInt("offset") : 0;
+                int limit = options.hasKey("limit") ? options.getInt("limit") : 0;
+                int total = 0;
+                try (android.database.Cursor cursor = mediaLibrary.query(query, offset, limit)) {
+                    if (cursor != null) {
+                        MediaLibrary.Columns columns = new MediaLibrary.Columns(cursor);
+                        WritableArray chunk = Arguments.createArray();
+                        int inChunk = 0;
+                        while (cursor.moveToNext()) {
+                            chunk.pushMap(mediaLibrary.readRow(cursor, columns));
+                            total++;
+                            if (++inChunk == chunkSize) {
+                                sendLibraryChunkEvent(requestId, chunk, offset + total - inChunk);
+                                chunk = Arguments.createArray();
+                                inChunk = 0;
+                            }
+                        }
+                        if (inChunk > 0) {
+                            sendLibraryChunkEvent(requestId, chunk, offset + total - inChunk);
+                        }
+                    }
+                }
+                promise.resolve(total);
+            } catch (Exception e) {
+                promise.reject("error", e.getMessage());
+            }
+        });
+    }
+
+    // MARK: - Waveform
+
+    @Override
+    public void extractWaveform(double requestIdVal, String uri, ReadableMap options, Promise promise) {
+        int requestId = (int) requestIdVal;
+        int buckets = options.hasKey("buckets")
+                ? Math.max(1, Math.min(WaveformExtractor.MAX_BUCKETS, options.getInt("buckets")))
+                : WaveformExtractor.DEFAULT_BUCKETS;
+        WaveformExtractor.Token token = new WaveformExtractor.Token();
+        waveformTokens.put(requestId, token);
+        waveformExecutor.execute(() -> {
+            try {
+                WaveformExtractor.Result result = waveformExtractor.extract(Uri.parse(uri), buckets, token,
+                        progress -> sendWaveformProgressEvent(requestId, progress));
+                WritableArray min = Arguments.createArray();
+                WritableArray max = Arguments.createArray();
+                for (int i = 0; i < result.min.length; i++) {
+                    min.pushDouble(result.min[i]);
+                    max.pushDouble(result.max[i]);
+                }
+                WritableMap map = Arguments.createMap();
+                map.putArray("min", min);
+                map.putArray("max", max);
+                map.putDouble("duration", result.durationMs / 1000.0);
+                map.putBoolean("fromCache", result.fromCache);
+                promise.resolve(map);
+            } catch (CancellationException e) {
+                promise.reject("cancelled", "Waveform extraction was cancelled");
+            } catch (Exception e) {
+                promise.reject("decode_error", e.getMessage());
+            } finally {
+                waveformTokens.remove(requestId);
+            }
+        });
+    }
+
+    @Override
+    public void cancelWaveform(double requestIdVal, Promise promise) {
+        WaveformExtractor.Token token = waveformTokens.get((int) requestIdVal);
+        if (token != null) {
+            token.cancelled = true;
+        }
+        promise.resolve(null);
+    }
+
+    // MARK: - Loudness Scan
+
+    @Override
+    public void scanLibraryLoudness(ReadableMap options, Promise promise) {
+        if (!loudnessScanActive.compareAndSet(false, true)) {
+            promise.reject("busy", "A loudness scan is already running");
+            return;
+        }
+        loudnessScanner.reset();
+        int concurrency = options.hasKey("concurrency")
+                ? Math.max(1, options.getInt("concurrency"))
+                : LoudnessScanner.defaultConcurrency();
+        loudnessExecutor.execute(() -> {
+            try {
+                LoudnessScanner.Result scan = loudnessScanner.scan(concurrency,
+                        (done, total) -> sendLoudnessProgressEvent(done, total));
+                WritableMap result = Arguments.createMap();
+                result.putInt("measured", scan.measured);
+                result.putInt("failed", scan.failed);
+                result.putInt("remaining", scan.remaining);
+                result.putDouble("total", libraryIndex.loudnessCount());
+                result.putBoolean("cancelled", scan.cancelled);
+                result.putDouble("durationMs", scan.durationMs);
+                promise.resolve(result);
+            } catch (InterruptedException e) {
+                promise.reject("cancelled", "Loudness scan was interrupted");
+            } catch (Exception e) {
+                promise.reject("index_error", e.getMessage());
+            } finally {
+                loudnessScanActive.set(false);
+            }
+        });
+    }
+
+    @Override
+    public void cancelLoudnessScan(Promise promise) {
+        loudnessScanner.cancel();
+        promise.resolve(null);
+    }
+
+    @Override
+    public void getTrackLoudness(String trackId, Promise promise) {
+        libraryExecutor.execute(() -> {
+            try {
+                double[] loudness = libraryIndex.loudnessFor(Long.parseLong(trackId));
+                if (loudness == null) {
+                    promise.resolve(null);
+                    return;
+                }
+                WritableMap result = Arguments.createMap();
+                result.putDouble("loudness", loudness[0]);
+                result.putDouble("truePeak", loudness[1]);
+                promise.resolve(result);
+            } catch (NumberFormatException e) {
+                promise.reject("invalid_argument", "Not a library track id: " + trackId);
+            } catch (Exception e) {
+                promise.reject("index_error", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * The MediaStore id of {@code url} when PlayerOptions.normalization asks for stored
+     * loudness, otherwise -1. Parses only; never touches the index.
+     */
+    private static long normalizedTrackId(String url, ReadableMap options) {
+        Uri uri = Uri.parse(url);
+        if (!options.hasKey("normalization") || options.isNull("normalization")
+                || !"content".equals(uri.getScheme()) || !MediaStore.AUTHORITY.equals(uri.getAuthority())) {
+            return -1;
+        }
+        try {
+            return ContentUris.parseId(uri);
+        } catch (NumberFormatException | UnsupportedOperationException e) {
+            return -1; // not a track uri
+        }
     }
 
-    private void sendProgressEvent(int id, double position, double duration) {
+    /**
+     * {targetLufs, trackLufs} for PlayerOptions.normalization when the track has a stored
+     * measurement, otherwise null. Reads the index; not for the bridge or playback thread.
+     */
+    @Nullable
+    private float[] storedNormalization(long trackId, ReadableMap options) {
+        ReadableMap normalization = options.getMap("normalization");
+        float targetLufs = normalization.hasKey("targetLufs")
+                ? (float) normalization.getDouble("targetLufs")
+                : LoudnessAudioProcessor.DEFAULT_TARGET_LUFS;
+        try {
+            double[] loudness = libraryIndex.loudnessFor(trackId);
+            return loudness != null
+                    ? new float[] { targetLufs, LoudnessScanner.trackLufsFor(targetLufs, loudness[0], loudness[1]) }
+                    : null;
+        } catch (RuntimeException e) {
+            return null; // no index (SQLiteException) or unreadable; plays at its own level
+        }
+    }
+
+    private void sendLoudnessProgressEvent(int done, int total) {
         WritableMap params = Arguments.createMap();
-        params.putDouble("position", position);
-        params.putDouble("duration", duration);
-        sendEvent("AudioPlayerEvent.Progress." + id, params);
+        params.putInt("done", done);
+        params.putInt("total", total);
+        sendEvent("AudioLibraryEvent.LoudnessProgress", params);
     }
 
-    private void sendErrorEvent(int id, String code, String message) {
+    // MARK: - Artwork
+
+    @Override
+    public void getArtwork(String uri, ReadableMap options, Promise promise) {
+        int size = options.hasKey("size")
+                ? Math.max(ArtworkCache.MIN_SIZE_PX, Math.min(ArtworkCache.MAX_SIZE_PX, options.getInt("size")))
+                : ArtworkCache.DEFAULT_SIZE_PX;
+        // Only the thumbnail file crosses the bridge, so the bitmap stays out of the memory LRU
+        artworkCache.load(uri, size, false, (bitmap, file) -> {
+            if (file != null) {
+                promise.resolve(Uri.fromFile(file).toString());
+            } else if (bitmap != null) {
+                promise.reject("cache_error", "Could not write the artwork thumbnail");
+            } else {
+                promise.resolve(null);
+            }
+        });
+    }
+
+    private void sendWaveformProgressEvent(int requestId, float progress) {
+        WritableMap params = Arguments.createMap();
+        params.putInt("requestId", requestId);
+        params.putDouble("progress", progress);
+        sendEvent("AudioWaveformEvent.Progress", params);
+    }
+
+    private void sendLibraryChunkEvent(int requestId, WritableArray items, int offset) {
         WritableMap params = Arguments.createMap();
+        params.putInt("requestId", requestId);
+        params.putInt("offset", offset);
+        params.putArray("items", items);
+        sendEvent("AudioLibraryEvent.Chunk", params);
+    }
+
+    private void sendStateEvent(int id, String state) {
+        playerEvents.sendState(id, state); // dropped when it repeats the last state
+    }
+
+
+    private void sendQueueTransitionEvent(int id, int index, String mediaId, int reason) {
+        String reasonName;
+        switch (reason) {
+            case Player.MEDIA_ITEM_TRANSITION_REASON_AUTO:
+                reasonName = "auto";
+                break;
+            case Player.MEDIA_ITEM_TRANSITION_REASON_SEEK:
+                reasonName = "seek";
+                break;
+            case Player.MEDIA_ITEM_TRANSITION_REASON_REPEAT:
+                reasonName = "repeat";
+                break;
+            default:
+                reasonName = "playlist";
+                break;
+        }
+        WritableMap params = playerEvents.create(id, PlayerEvents.QUEUE_TRANSITION);
+        params.putInt("index", index);
+        params.putString("mediaId", mediaId);
+        params.putString("reason", reasonName);
+        playerEvents.send(params);
+    }
+
+    private void sendErrorEvent(int id, String code, String message) {
+        WritableMap params = playerEvents.create(id, PlayerEvents.ERROR);
         params.putString("error", code);
         params.putString("message", message);
-        sendEvent("AudioPlayerEvent.Error." + id, params);
+        playerEvents.send(params);
     }
 
     // MARK: - Cache Management
 
     @Override
     public void setCacheConfig(ReadableMap config, Promise promise) {
-        // ExoPlayer cache configuration would go here
-        // For now, acknowledge the call
-        promise.resolve(null);
+        boolean enabled = !config.hasKey("enabled") || config.getBoolean("enabled");
+        long maxSizeBytes = config.hasKey("maxSizeBytes")
+                ? (long) config.getDouble("maxSizeBytes")
+                : AudioCache.DEFAULT_MAX_SIZE_BYTES;
+        try {
+            audioCache.configure(enabled, maxSizeBytes);
+            promise.resolve(null);
+        } catch (Exception e) {
+            promise.reject("cache_error", e.getMessage());
+        }
     }
 
     @Override
     public void getCacheStatus(Promise promise) {
+        try {
+            WritableMap status = Arguments.createMap();
+            status.putDouble("sizeBytes", audioCache.getSizeBytes());
+            status.putInt("itemCount", audioCache.getItemCount());
+            status.putDouble("cachedBytesRead", audioCache.getCachedBytesRead());
+            status.putDouble("networkBytesRead", audioCache.getNetworkBytesRead());
+            status.putBoolean("enabled", audioCache.isEnabled());
+            promise.resolve(status);
+        } catch (Exception e) {
+            promise.reject("cache_error", e.getMessage());
+        }
+    }
+
+    @Override
+    public void clearCache(Promise promise) {
+        try {
+            audioCache.clear();
+            waveformExtractor.clearCache();
+            artworkCache.clear();
+            promise.resolve(null);
+        } catch (Exception e) {
+            promise.reject("cache_error", e.getMessage());
+        }
+    }
+
+    // MARK: - Multitrack Mixer
+
+    @Override
+    public void createMixer(double idVal, ReadableArray tracks, Promise promise) {
+        int id = (int) idVal;
+        if (tracks.size() == 0) {
+            promise.reject("invalid_argument", "A mixer needs at least one track");
+            return;
+        }
+        libraryExecutor.execute(() -> {
+            Uri[] uris = new Uri[tracks.size()];
+            for (int i = 0; i < uris.length; i++) {
+                uris[i] = Uri.parse(tracks.getMap(i).getString("uri"));
+            }
+            MultitrackMixer mixer;
+            try {
+                mixer = new MultitrackMixer(reactContext, uris, new MultitrackMixer.Listener() {
+                    @Override
+                    public void onEnded() {
+                        sendEvent("AudioMixerEvent.Ended." + id, Arguments.createMap());
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        WritableMap params = Arguments.createMap();
+                        params.putString("message", message);
+                        sendEvent("AudioMixerEvent.Error." + id, params);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                promise.reject("decode_error", e.getMessage());
+                return;
+            }
+            for (int i = 0; i < uris.length; i++) {
+                applyMixerTrack(mixer, i, tracks.getMap(i), 1f, 0f, false);
+            }
+            MultitrackMixer previous = mixers.put(id, mixer);
+            if (previous != null) {
+                previous.release();
+            }
+            WritableMap result = Arguments.createMap();
+            result.putDouble("duration", mixer.getDurationMs() / 1000.0);
+            promise.resolve(result);
+        });
+    }
+
+    @Override
+    public void mixerPlay(double idVal, Promise promise) {
+        MultitrackMixer mixer = liveMixer(idVal, promise);
+        if (mixer == null) {
+            return;
+        }
+        mixer.play();
+        promise.resolve(null);
+    }
+
+    @Override
+    public void mixerPause(double idVal, Promise promise) {
+        MultitrackMixer mixer = liveMixer(idVal, promise);
+        if (mixer == null) {
+            return;
+        }
+        mixer.pause();
+        promise.resolve(null);
+    }
+
+    @Override
+    public void mixerSeek(double idVal, double position, Promise promise) {
+        MultitrackMixer mixer = liveMixer(idVal, promise);
+        if (mixer == null) {
+            return;
+        }
+        mixer.seekTo((long) (position * 1000));
+        promise.resolve(null);
+    }
+
+    @Override
+    public void setMixerTrack(double idVal, double indexVal, ReadableMap options, Promise promise) {
+        MultitrackMixer mixer = liveMixer(idVal, promise);
+        if (mixer == null) {
+            return;
+        }
+        int index = (int) indexVal;
+        if (index < 0 || index >= mixer.getTrackCount()) {
+            promise.reject("out_of_range", "Track index " + index + " out of range");
+        } else {
+            MultitrackMixer.TrackState current = mixer.getTrack(index);
+            applyMixerTrack(mixer, index, options, current.gain, current.pan, current.muted);
+            promise.resolve(null);
+        }
+    }
+
+    /**
+     * The mixer for {@code idVal}, or null after rejecting {@code promise}: unknown id, or
+     * a mixer whose thread stopped on an error (it is then forgotten).
+     */
+    @Nullable
+    private MultitrackMixer liveMixer(double idVal, Promise promise) {
+        int id = (int) idVal;
+        MultitrackMixer mixer = mixers.get(id);
+        if (mixer == null) {
+            promise.reject("not_found", "Mixer not found");
+            return null;
+        }
+        if (mixer.isStopped()) {
+            mixers.remove(id, mixer);
+            promise.reject("released", "Mixer was released after a playback error");
+            return null;
+        }
+        return mixer;
+    }
+
+    // Keys missing from options keep their current values
+    private static void applyMixerTrack(MultitrackMixer mixer, int index, ReadableMap options,
+            float gain, float pan, boolean muted) {
+        mixer.setTrack(index,
+                options.hasKey("gain") ? (float) options.getDouble("gain") : gain,
+                options.hasKey("pan") ? (float) options.getDouble("pan") : pan,
+                options.hasKey("muted") ? options.getBoolean("muted") : muted);
+    }
+
+    @Override
+    public void getMixerStatus(double idVal, Promise promise) {
+        MultitrackMixer mixer = liveMixer(idVal, promise);
+        if (mixer == null) {
+            return;
+        }
         WritableMap status = Arguments.createMap();
-        status.putDouble("sizeBytes", 0);
-        status.putInt("itemCount", 0);
+        status.putDouble("position", mixer.getPositionMs() / 1000.0);
+        status.putDouble("duration", mixer.getDurationMs() / 1000.0);
+        status.putBoolean("playing", mixer.isPlaying());
         promise.resolve(status);
     }
 
     @Override
-    public void clearCache(Promise promise) {
-        // Cache clearing logic would go here
+    public void destroyMixer(double idVal) {
+        MultitrackMixer mixer = mixers.remove((int) idVal);
+        if (mixer != null) {
+            mixer.release();
+        }
+    }
+
+    // MARK: - Sound Effects
+
+    /**
+     * The engine, started on first use, or null once the module has been destroyed.
+     */
+    @Nullable
+    private synchronized SoundEngine soundEngine() {
+        if (soundsDestroyed) {
+            return null;
+        }
+        if (soundEngine == null) {
+            soundEngine = new SoundEngine(reactContext);
+        }
+        return soundEngine;
+    }
+
+    @Override
+    public void loadSound(String uri, ReadableMap options, Promise promise) {
+        int maxVoices = options.hasKey("maxVoices") ? options.getInt("maxVoices") : 1;
+        libraryExecutor.execute(() -> {
+            try {
+                SoundEngine engine = soundEngine();
+                if (engine == null) {
+                    promise.reject("released", "The audio module was destroyed");
+                    return;
+                }
+                SoundClip clip = SoundClip.decode(reactContext, Uri.parse(uri), engine.getSampleRate(), maxVoices);
+                int handle = engine.add(clip);
+                if (handle < 0) {
+                    promise.reject("too_many_sounds", "At most " + SoundEngine.MAX_CLIPS + " sounds can be loaded");
+                } else {
+                    promise.resolve(handle);
+                }
+            } catch (IOException | RuntimeException e) {
+                promise.reject("decode_error", e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void unloadSound(double handle, Promise promise) {
+        SoundEngine engine;
+        synchronized (this) {
+            engine = soundEngine;
+        }
+        if (engine == null || !engine.remove((int) handle)) {
+            promise.reject("not_found", "Sound not loaded");
+            return;
+        }
+        promise.resolve(null);
+    }
+
+    // Fire-and-forget and allocation-free: no promise, no map lookups
+    @Override
+    public void playSound(double handle, double volume, double pan) {
+        SoundEngine engine = soundEngine;
+        if (engine != null) {
+            engine.play((int) handle, (float) volume, (float) pan);
+        }
+    }
+
+    @Override
+    public void stopSound(double handle) {
+        SoundEngine engine = soundEngine;
+        if (engine != null) {
+            engine.stop((int) handle);
+        }
+    }
+
+    // MARK: - Prefetch
+
+    @Override
+    public void prefetch(ReadableArray uris, ReadableMap options, Promise promise) {
+        long bytesPerItem = AudioPrefetcher.DEFAULT_BYTES_PER_ITEM;
+        if (options.hasKey("bytes")) {
+            bytesPerItem = (long) options.getDouble("bytes");
+        } else if (options.hasKey("seconds")) {
+            bytesPerItem = (long) (options.getDouble("seconds") * AudioPrefetcher.ASSUMED_BYTES_PER_SECOND);
+        }
+        long budgetBytes = options.hasKey("budgetBytes")
+                ? (long) options.getDouble("budgetBytes")
+                : AudioPrefetcher.DEFAULT_BUDGET_BYTES;
+        List<Uri> list = new ArrayList<>(uris.size());
+        for (int i = 0; i < uris.size(); i++) {
+            list.add(Uri.parse(uris.getString(i)));
+        }
+        try {
+            prefetcher.prefetch(list, Math.max(1, bytesPerItem), budgetBytes);
+            promise.resolve(null);
+        } catch (Exception e) {
+            promise.reject("cache_error", e.getMessage());
+        }
+    }
+
+    @Override
+    public void cancelPrefetch(Promise promise) {
+        prefetcher.cancelAll();
         promise.resolve(null);
     }
 
-    // MARK: - Equalizer
+    @Override
+    public void getPrefetchStats(Promise promise) {
+        WritableMap stats = Arguments.createMap();
+        stats.putDouble("requested", prefetcher.getRequested());
+        stats.putDouble("completed", prefetcher.getCompleted());
+        stats.putDouble("cancelled", prefetcher.getCancelled());
+        stats.putDouble("failed", prefetcher.getFailed());
+        stats.putDouble("cached", prefetcher.getCached());
+        stats.putDouble("bytesPrefetched", prefetcher.getBytesPrefetched());
+        stats.putDouble("hits", prefetcher.getHits());
+        stats.putDouble("misses", prefetcher.getMisses());
+        promise.resolve(stats);
+    }
+
+    // MARK: - Equalizer & Effects
+
+    // The DSP chain lives in the player's audio sink; setters only publish new parameters
+    // and never wait for the audio thread.
 
     @Override
     public void enableEqualizer(double idVal, boolean enabled, Promise promise) {
         int id = (int) idVal;
-        PlayerInstance instance = players.get(id);
-        if (instance != null) {
-            // Equalizer enable/disable logic
-            // Would use android.media.audiofx.Equalizer
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            playerPool.chainFor(instance.player).equalizer.setEnabled(enabled);
             promise.resolve(null);
-        } else {
-            promise.reject("not_found", "Player not found");
-        }
+        });
     }
 
     @Override
     public void setEqualizerBand(double idVal, double bandIndex, double gain, Promise promise) {
         int id = (int) idVal;
-        PlayerInstance instance = players.get(id);
-        if (instance != null) {
-            // Set equalizer band gain
+        int band = (int) bandIndex;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            EqualizerAudioProcessor equalizer = playerPool.chainFor(instance.player).equalizer;
+            int bands = equalizer.getSettings().frequencies.length;
+            if (band < 0 || band >= bands) {
+                promise.reject("out_of_range", "Band index must be between 0 and " + (bands - 1));
+                return;
+            }
+            equalizer.setBandGain(band, (float) gain);
             promise.resolve(null);
-        } else {
-            promise.reject("not_found", "Player not found");
-        }
+        });
     }
 
     @Override
     public void getEqualizerBands(double idVal, Promise promise) {
         int id = (int) idVal;
-        PlayerInstance instance = players.get(id);
-        if (instance != null) {
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            EqualizerAudioProcessor.Settings settings = playerPool.chainFor(instance.player).equalizer.getSettings();
             WritableArray bands = Arguments.createArray();
-            // Return equalizer bands (typically 5-10 bands)
-            for (int i = 0; i < 5; i++) {
+            for (int i = 0; i < settings.frequencies.length; i++) {
                 WritableMap band = Arguments.createMap();
-                band.putInt("frequency", 60 * (int) Math.pow(2, i)); // Example frequencies
-                band.putDouble("gain", 0.0);
+                band.putDouble("frequency", settings.frequencies[i]);
+                band.putDouble("gain", settings.gainsDb[i]);
                 bands.pushMap(band);
             }
             promise.resolve(bands);
-        } else {
-            promise.reject("not_found", "Player not found");
+        });
+    }
+
+    @Override
+    public void setEqualizerFrequencies(double idVal, ReadableArray frequencies, Promise promise) {
+        int id = (int) idVal;
+        int count = frequencies.size();
+        if (count == 0 || count > EqualizerAudioProcessor.MAX_BANDS) {
+            promise.reject("out_of_range", "Between 1 and " + EqualizerAudioProcessor.MAX_BANDS + " bands are supported");
+            return;
+        }
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (float) frequencies.getDouble(i);
+            if (values[i] <= 0f) {
+                promise.reject("out_of_range", "Band frequencies must be positive");
+                return;
+            }
+        }
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            playerPool.chainFor(instance.player).equalizer.setFrequencies(values);
+            promise.resolve(null);
+        });
+    }
+
+    @Override
+    public void setLimiter(double idVal, ReadableMap options, Promise promise) {
+        int id = (int) idVal;
+        boolean enabled = !options.hasKey("enabled") || options.getBoolean("enabled");
+        float thresholdDb = options.hasKey("thresholdDb")
+                ? (float) options.getDouble("thresholdDb")
+                : LimiterAudioProcessor.DEFAULT_THRESHOLD_DB;
+        float releaseMs = options.hasKey("releaseMs")
+                ? (float) options.getDouble("releaseMs")
+                : LimiterAudioProcessor.DEFAULT_RELEASE_MS;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            playerPool.chainFor(instance.player).limiter.setLimiter(enabled, thresholdDb, releaseMs);
+            promise.resolve(null);
+        });
+    }
+
+    @Override
+    public void setLoudnessNormalization(double idVal, ReadableMap options, Promise promise) {
+        int id = (int) idVal;
+        boolean enabled = !options.hasKey("enabled") || options.getBoolean("enabled");
+        float targetLufs = options.hasKey("targetLufs")
+                ? (float) options.getDouble("targetLufs")
+                : LoudnessAudioProcessor.DEFAULT_TARGET_LUFS;
+        if (enabled && !options.hasKey("trackLufs")) {
+            promise.reject("invalid_argument", "trackLufs is required to normalize");
+            return;
         }
+        float trackLufs = options.hasKey("trackLufs") ? (float) options.getDouble("trackLufs") : targetLufs;
+        postCommand(() -> {
+            PlayerInstance instance = players.get(id);
+            if (instance == null) {
+                promise.reject("not_found", "Player not found");
+                return;
+            }
+            playerPool.chainFor(instance.player).loudness.setNormalization(enabled, targetLufs, trackLufs);
+            promise.resolve(null);
+        });
     }
 }
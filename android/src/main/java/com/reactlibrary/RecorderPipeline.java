@@ -0,0 +1,340 @@
+package com.reactlibrary;
+
+import android.annotation.SuppressLint;
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.Process;
+import android.os.SystemClock;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * AudioRecord capture feeding a pluggable encoder through a ring of PCM chunks.
+ *
+ * The capture thread only reads from the microphone into preallocated slots; encoding
+ * and disk I/O happen on a second thread, so a slow write cannot stall capture. When
+ * the ring is full the chunk is read into a scratch buffer and dropped, and the
+ * listener is told how many frames were lost. Pausing stops the AudioRecord but keeps
+ * the encoder open, so resume continues the same file.
+ *
+ * Metering and chunk streaming are optional taps on the encoder thread, so neither can
+ * slow down capture.
+ */
+final class RecorderPipeline {
+
+    interface Listener {
+        /**
+         * Called on the capture thread at most every OVERRUN_REPORT_MS while dropping.
+         */
+        void onOverrun(long droppedFrames, long totalDroppedFrames);
+
+        /**
+         * Called on the encoder thread once per metering interval, in dBFS.
+         */
+        void onLevels(float rmsDb, float peakDb);
+
+        void onError(String message);
+    }
+
+    private static final int RING_SLOTS = 32;
+    private static final int CHUNK_MS = 20;
+    private static final long OVERRUN_REPORT_MS = 500;
+    private static final float MIN_DB = -160f;
+
+    private final AudioRecord audioRecord;
+    private final RecordingEncoder encoder;
+    private final Listener listener;
+    private final int sampleRate;
+    private final int channels;
+    private final int chunkSamples;
+    private final short[][] slots;
+    private final int[] slotLengths = new int[RING_SLOTS];
+    private final short[] overflow;
+
+    // Single producer (capture) / single consumer (encoder); slot contents are published by head
+    private volatile long head;
+    private volatile long tail;
+
+    private final Object signal = new Object();
+    private final Object pauseLock = new Object();
+    private volatile boolean paused;
+    private volatile boolean stopped;
+    private volatile boolean captureDone;
+    private volatile IOException encoderError;
+    private Thread captureThread;
+    private Thread encoderThread;
+
+    // Encoder thread only
+    private int meteringIntervalMs;
+    private RecordingStream stream;
+    private boolean streamPcm;
+    private double levelSumSquares;
+    private int levelPeak;
+    private long levelSamples;
+
+    private long droppedSinceReport;
+    private long totalDropped;
+    private long lastReportMs;
+
+    @SuppressLint("MissingPermission") // RECORD_AUDIO is declared; a denied grant fails the state check below
+    RecorderPipeline(RecordingEncoder encoder, int sampleRate, int channels, Listener listener) throws IOException {
+        this.encoder = encoder;
+        this.listener = listener;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.chunkSamples = sampleRate * CHUNK_MS / 1000 * channels;
+
+        int channelMask = channels == 2 ? AudioFormat.CHANNEL_IN_STEREO : AudioFormat.CHANNEL_IN_MONO;
+        int minBuffer = AudioRecord.getMinBufferSize(sampleRate, channelMask, AudioFormat.ENCODING_PCM_16BIT);
+        if (minBuffer <= 0) {
+            throw new IOException("Unsupported recording format: " + sampleRate + " Hz, " + channels + " ch");
+        }
+        audioRecord = new AudioRecord(MediaRecorder.AudioSource.MIC, sampleRate, channelMask,
+                AudioFormat.ENCODING_PCM_16BIT, Math.max(minBuffer * 2, chunkSamples * 2 * 4));
+        if (audioRecord.getState() != AudioRecord.STATE_INITIALIZED) {
+            audioRecord.release();
+            throw new IOException("Microphone unavailable (is RECORD_AUDIO granted?)");
+        }
+
+        slots = new short[RING_SLOTS][chunkSamples];
+        overflow = new short[chunkSamples];
+    }
+
+    /**
+     * Picks the encoder for RecordingOptions.format. There is no platform MP3 encoder,
+     * so "mp3" records AAC like the previous MediaRecorder path did.
+     */
+    static RecordingEncoder encoderFor(String format, File file, int sampleRate, int channels, int bitrate) {
+        if ("wav".equals(format)) {
+            return new WavEncoder(file, sampleRate, channels);
+        }
+        return new AacEncoder(file, sampleRate, channels, bitrate);
+    }
+
+    /**
+     * Enables level callbacks every {@code intervalMs}. Call before start().
+     */
+    void setMetering(int intervalMs) {
+        this.meteringIntervalMs = intervalMs;
+    }
+
+    /**
+     * Streams chunks of the recording while it is written: the encoder's bitstream when
+     * {@code encoded} (see RecordingEncoder.supportsEncodedStream), otherwise raw PCM.
+     * Call before start().
+     */
+    void setStream(RecordingStream stream, boolean encoded) {
+        this.stream = stream;
+        this.streamPcm = !encoded;
+        if (encoded) {
+            encoder.setEncodedStream(stream);
+        }
+    }
+
+    void start() throws IOException {
+        encoder.start();
+        audioRecord.startRecording();
+        captureThread = new Thread(this::captureLoop, "ReactNativeAudio:Capture");
+        encoderThread = new Thread(this::encodeLoop, "ReactNativeAudio:Encoder");
+        captureThread.start();
+        encoderThread.start();
+    }
+
+    boolean isRecording() {
+        return captureThread != null && !stopped;
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    void pause() {
+        paused = true;
+        audioRecord.stop(); // releases the mic; a blocked read returns early
+    }
+
+    void resume() {
+        synchronized (pauseLock) {
+            audioRecord.startRecording();
+            paused = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops capture, encodes everything still in the ring and finalizes the file.
+     */
+    void stop() throws IOException {
+        stopped = true;
+        synchronized (pauseLock) {
+            pauseLock.notifyAll();
+        }
+        audioRecord.stop();
+        joinQuietly(captureThread);
+        joinQuietly(encoderThread);
+        audioRecord.release();
+        try {
+            if (encoderError != null) {
+                encoder.release();
+                throw encoderError;
+            }
+            encoder.finish();
+        } finally {
+            if (stream != null) {
+                stream.close(); // delivers the tail, including what finish() flushed
+            }
+        }
+    }
+
+    /**
+     * Tears everything down without finalizing the file.
+     */
+    void release() {
+        stopped = true;
+        synchronized (pauseLock) {
+            pauseLock.notifyAll();
+        }
+        try {
+            audioRecord.stop();
+        } catch (IllegalStateException e) {
+            // never started
+        }
+        joinQuietly(captureThread);
+        joinQuietly(encoderThread);
+        audioRecord.release();
+        encoder.release();
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void captureLoop() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_AUDIO);
+        try {
+            while (!stopped) {
+                if (paused) {
+                    synchronized (pauseLock) {
+                        while (paused && !stopped) {
+                            pauseLock.wait();
+                        }
+                    }
+                    continue;
+                }
+
+                long h = head;
+                if (h - tail >= RING_SLOTS) {
+                    // Encoder is behind; keep the mic drained so timing stays correct, and drop
+                    int read = audioRecord.read(overflow, 0, chunkSamples);
+                    if (read > 0) {
+                        reportOverrun(read / channels);
+                    }
+                    continue;
+                }
+
+                int index = (int) (h % RING_SLOTS);
+                int read = audioRecord.read(slots[index], 0, chunkSamples);
+                if (read > 0) {
+                    slotLengths[index] = read;
+                    head = h + 1;
+                    synchronized (signal) {
+                        signal.notify();
+                    }
+                } else if (read < 0 && read != AudioRecord.ERROR_INVALID_OPERATION) {
+                    // INVALID_OPERATION is expected while pause()/stop() race with a read
+                    listener.onError("AudioRecord read failed: " + read);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            captureDone = true;
+            synchronized (signal) {
+                signal.notify();
+            }
+        }
+    }
+
+    private void encodeLoop() {
+        try {
+            while (true) {
+                long t = tail;
+                if (t == head) {
+                    if (captureDone) {
+                        return;
+                    }
+                    synchronized (signal) {
+                        if (tail == head && !captureDone) {
+                            signal.wait(CHUNK_MS);
+                        }
+                    }
+                    continue;
+                }
+                int index = (int) (t % RING_SLOTS);
+                short[] pcm = slots[index];
+                int length = slotLengths[index];
+                if (meteringIntervalMs > 0) {
+                    meter(pcm, length);
+                }
+                if (stream != null && streamPcm) {
+                    stream.writePcm(pcm, length);
+                }
+                encoder.encode(pcm, length);
+                tail = t + 1;
+            }
+        } catch (IOException e) {
+            encoderError = e;
+            stopped = true;
+            listener.onError("Encoder failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void meter(short[] pcm, int length) {
+        for (int i = 0; i < length; i++) {
+            int sample = pcm[i];
+            levelSumSquares += (double) sample * sample;
+            int magnitude = Math.abs(sample);
+            if (magnitude > levelPeak) {
+                levelPeak = magnitude;
+            }
+        }
+        levelSamples += length;
+        if (levelSamples >= (long) sampleRate * channels * meteringIntervalMs / 1000) {
+            float rms = (float) Math.sqrt(levelSumSquares / levelSamples) / 32768f;
+            listener.onLevels(toDb(rms), toDb(levelPeak / 32768f));
+            levelSumSquares = 0;
+            levelPeak = 0;
+            levelSamples = 0;
+        }
+    }
+
+    private static float toDb(float amplitude) {
+        return amplitude > 0f ? Math.max(MIN_DB, (float) (20 * Math.log10(amplitude))) : MIN_DB;
+    }
+
+    private void reportOverrun(long frames) {
+        droppedSinceReport += frames;
+        totalDropped += frames;
+        long now = SystemClock.elapsedRealtime();
+        if (now - lastReportMs >= OVERRUN_REPORT_MS) {
+            listener.onOverrun(droppedSinceReport, totalDropped);
+            droppedSinceReport = 0;
+            lastReportMs = now;
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
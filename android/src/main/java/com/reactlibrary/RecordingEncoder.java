@@ -0,0 +1,40 @@
+package com.reactlibrary;
+
+import java.io.IOException;
+
+/**
+ * Encoder stage of the recorder pipeline.
+ *
+ * Calls never overlap and come in order: start, any number of encode calls, then finish.
+ * encode runs on the pipeline's own encoder thread; start runs on the thread that starts
+ * the pipeline, and finish or release on the thread that stops it, after the encoder
+ * thread has been joined. release may come instead of finish and must not finalize.
+ */
+interface RecordingEncoder {
+
+    void start() throws IOException;
+
+    /**
+     * Encodes {@code length} interleaved 16-bit samples from {@code pcm}.
+     */
+    void encode(short[] pcm, int length) throws IOException;
+
+    /**
+     * Flushes pending audio and finalizes the output file.
+     */
+    void finish() throws IOException;
+
+    void release();
+
+    /**
+     * Whether the encoded bitstream can be streamed on its own while recording.
+     */
+    boolean supportsEncodedStream();
+
+    /**
+     * Also sends the encoded bitstream to {@code stream} as it is produced. Only called
+     * when supportsEncodedStream() is true, and before start(); encoders without a
+     * streamable bitstream implement it as a no-op.
+     */
+    void setEncodedStream(RecordingStream stream);
+}
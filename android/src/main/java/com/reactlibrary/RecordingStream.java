@@ -0,0 +1,193 @@
+package com.reactlibrary;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands recorded bytes to JS in fixed-size chunks while recording continues.
+ *
+ * Writers (the recorder's encoder thread) copy into pooled byte arrays; full chunks go
+ * to a delivery thread that calls the Emitter and then returns the chunk to the pool.
+ * Nothing is allocated per chunk. If every pooled chunk is still waiting for delivery
+ * the new bytes are dropped and counted rather than blocking the recorder; each run of
+ * dropped bytes uses up a sequence number, so the reader sees the gap.
+ */
+final class RecordingStream {
+
+    static final int DEFAULT_CHUNK_BYTES = 16 * 1024;
+    static final int DEFAULT_POOL_SIZE = 8;
+
+    static final class Chunk {
+        final byte[] data;
+        int length;
+        long sequence;
+        long readyAtNanos; // when the chunk was handed to the delivery thread
+
+        Chunk(int size) {
+            data = new byte[size];
+        }
+    }
+
+    interface Emitter {
+        /**
+         * Called on the delivery thread. The chunk is reused once this returns.
+         */
+        void onChunk(Chunk chunk);
+    }
+
+    private final Emitter emitter;
+    private final int chunkBytes;
+    private final ArrayBlockingQueue<Chunk> free;
+    private final ArrayBlockingQueue<Chunk> ready;
+    private final Chunk endOfStream = new Chunk(0);
+    private final AtomicLong droppedBytes = new AtomicLong();
+    private final Thread delivery;
+
+    // Writer thread only
+    private Chunk current;
+    private long nextSequence;
+    private boolean dropping;
+    private byte[] pcmScratch = new byte[0];
+
+    RecordingStream(int chunkBytes, int poolSize, Emitter emitter) {
+        this.emitter = emitter;
+        this.chunkBytes = chunkBytes;
+        this.free = new ArrayBlockingQueue<>(poolSize);
+        this.ready = new ArrayBlockingQueue<>(poolSize + 1);
+        for (int i = 0; i < poolSize; i++) {
+            free.add(new Chunk(chunkBytes));
+        }
+        delivery = new Thread(this::deliveryLoop, "ReactNativeAudio:RecorderStream");
+        delivery.start();
+    }
+
+    void write(byte[] source, int offset, int length) {
+        while (length > 0) {
+            if (current == null) {
+                current = free.poll();
+                if (current == null) {
+                    drop(length);
+                    return;
+                }
+                current.length = 0;
+            }
+            int count = Math.min(length, current.data.length - current.length);
+            System.arraycopy(source, offset, current.data, current.length, count);
+            current.length += count;
+            offset += count;
+            length -= count;
+            if (current.length == current.data.length) {
+                handOff();
+            }
+        }
+    }
+
+    void write(ByteBuffer source) {
+        while (source.hasRemaining()) {
+            if (current == null) {
+                current = free.poll();
+                if (current == null) {
+                    drop(source.remaining());
+                    source.position(source.limit());
+                    return;
+                }
+                current.length = 0;
+            }
+            int count = Math.min(source.remaining(), current.data.length - current.length);
+            source.get(current.data, current.length, count);
+            current.length += count;
+            if (current.length == current.data.length) {
+                handOff();
+            }
+        }
+    }
+
+    /**
+     * Writes a frame header and its payload as one unit. If the pool cannot take all of
+     * it the whole frame is dropped, so a reader never gets part of a frame.
+     */
+    void writeFrame(byte[] header, int headerLength, ByteBuffer payload) {
+        int length = headerLength + payload.remaining();
+        long room = (current != null ? current.data.length - current.length : 0) + (long) free.size() * chunkBytes;
+        if (room < length) {
+            if (current != null && current.length > 0) {
+                handOff(); // the gap then falls after the last whole frame
+            }
+            drop(length);
+            payload.position(payload.limit());
+            return;
+        }
+        write(header, 0, headerLength);
+        write(payload);
+    }
+
+    /**
+     * Writes interleaved 16-bit samples as little-endian PCM.
+     */
+    void writePcm(short[] pcm, int length) {
+        int bytes = length * 2;
+        if (pcmScratch.length < bytes) {
+            pcmScratch = new byte[bytes]; // grows once to the recorder's chunk size
+        }
+        for (int i = 0; i < length; i++) {
+            pcmScratch[2 * i] = (byte) pcm[i];
+            pcmScratch[2 * i + 1] = (byte) (pcm[i] >> 8);
+        }
+        write(pcmScratch, 0, bytes);
+    }
+
+    /**
+     * Sends any partial chunk, delivers everything queued and stops the delivery thread.
+     */
+    void close() {
+        if (current != null && current.length > 0) {
+            handOff();
+        }
+        ready.offer(endOfStream);
+        try {
+            delivery.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getDroppedBytes() {
+        return droppedBytes.get();
+    }
+
+    // A run of drops between two handed-off chunks uses up one sequence number
+    private void drop(long length) {
+        droppedBytes.addAndGet(length);
+        if (!dropping) {
+            dropping = true;
+            nextSequence++;
+        }
+    }
+
+    private void handOff() {
+        current.sequence = nextSequence++;
+        current.readyAtNanos = System.nanoTime();
+        dropping = false;
+        ready.offer(current); // capacity covers every pooled chunk, so this never fails
+        current = null;
+    }
+
+    private void deliveryLoop() {
+        try {
+            while (true) {
+                Chunk chunk = ready.take();
+                if (chunk == endOfStream) {
+                    return;
+                }
+                try {
+                    emitter.onChunk(chunk);
+                } finally {
+                    free.offer(chunk);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.reactlibrary;
+
+import android.content.Context;
+import android.media.AudioFormat;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.net.Uri;
+import android.os.Build;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A short sound fully decoded to 16-bit stereo PCM at the SoundEngine's output rate,
+ * so triggering it needs no decoding, conversion or allocation.
+ */
+final class SoundClip {
+
+    static final int MAX_DURATION_MS = 10_000;
+    private static final long CODEC_TIMEOUT_US = 10_000;
+
+    final short[] pcm; // interleaved L/R
+    final int frames;
+    final int maxVoices;
+
+    private SoundClip(short[] pcm, int maxVoices) {
+        this.pcm = pcm;
+        this.frames = pcm.length / 2;
+        this.maxVoices = maxVoices;
+    }
+
+    /**
+     * Decodes {@code uri}, downmixes or upmixes to stereo and resamples to
+     * {@code outputRate}. Blocking.
+     */
+    static SoundClip decode(Context context, Uri uri, int outputRate, int maxVoices) throws IOException {
+        MediaExtractor extractor = new MediaExtractor();
+        MediaCodec codec = null;
+        try {
+            extractor.setDataSource(context, uri, null);
+            MediaFormat format = null;
+            for (int i = 0; i < extractor.getTrackCount(); i++) {
+                MediaFormat candidate = extractor.getTrackFormat(i);
+                String mime = candidate.getString(MediaFormat.KEY_MIME);
+                if (mime != null && mime.startsWith("audio/")) {
+                    extractor.selectTrack(i);
+                    format = candidate;
+                    break;
+                }
+            }
+            if (format == null) {
+                throw new IOException("No audio track in " + uri);
+            }
+            if (format.containsKey(MediaFormat.KEY_DURATION)
+                    && format.getLong(MediaFormat.KEY_DURATION) > MAX_DURATION_MS * 1000L) {
+                throw new IOException("Sound is longer than " + (MAX_DURATION_MS / 1000) + " s; use AudioPlayer");
+            }
+            int sampleRate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+            int channels = format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+            boolean isFloat = false;
+            long maxFrames = (long) sampleRate * MAX_DURATION_MS / 1000;
+
+            codec = MediaCodec.createDecoderByType(format.getString(MediaFormat.KEY_MIME));
+            codec.configure(format, null, null, 0);
+            codec.start();
+
+            // Stereo at the source rate, grown as needed; only happens at load time
+            short[] stereo = new short[sampleRate * 2];
+            int frames = 0;
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            boolean inputDone = false;
+            boolean outputDone = false;
+            while (!outputDone) {
+                if (!inputDone) {
+                    int inIndex = codec.dequeueInputBuffer(CODEC_TIMEOUT_US);
+                    if (inIndex >= 0) {
+                        ByteBuffer input = codec.getInputBuffer(inIndex);
+                        int size = extractor.readSampleData(input, 0);
+                        if (size < 0) {
+                            codec.queueInputBuffer(inIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            codec.queueInputBuffer(inIndex, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+
+                int outIndex = codec.dequeueOutputBuffer(info, CODEC_TIMEOUT_US);
+                if (outIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    MediaFormat output = codec.getOutputFormat();
+                    sampleRate = output.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                    channels = output.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    isFloat = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                            && output.containsKey(MediaFormat.KEY_PCM_ENCODING)
+                            && output.getInteger(MediaFormat.KEY_PCM_ENCODING) == AudioFormat.ENCODING_PCM_FLOAT;
+                    maxFrames = (long) sampleRate * MAX_DURATION_MS / 1000;
+                } else if (outIndex >= 0) {
+                    if (info.size > 0) {
+                        ByteBuffer output = codec.getOutputBuffer(outIndex).order(ByteOrder.nativeOrder());
+                        int bytesPerSample = isFloat ? 4 : 2;
+                        int frameBytes = bytesPerSample * channels;
+                        int count = info.size / frameBytes;
+                        if (frames + count > maxFrames) {
+                            throw new IOException("Sound is longer than " + (MAX_DURATION_MS / 1000) + " s; use AudioPlayer");
+                        }
+                        if ((frames + count) * 2 > stereo.length) {
+                            short[] grown = new short[Math.max(stereo.length * 2, (frames + count) * 2)];
+                            System.arraycopy(stereo, 0, grown, 0, frames * 2);
+                            stereo = grown;
+                        }
+                        for (int f = 0; f < count; f++) {
+                            int pos = info.offset + f * frameBytes;
+                            short left = sampleAt(output, pos, isFloat);
+                            short right = channels > 1 ? sampleAt(output, pos + bytesPerSample, isFloat) : left;
+                            stereo[2 * (frames + f)] = left;
+                            stereo[2 * (frames + f) + 1] = right;
+                        }
+                        frames += count;
+                    }
+                    codec.releaseOutputBuffer(outIndex, false);
+                    if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                        outputDone = true;
+                    }
+                }
+            }
+            return new SoundClip(resample(stereo, frames, sampleRate, outputRate), Math.max(1, maxVoices));
+        } finally {
+            if (codec != null) {
+                try {
+                    codec.stop();
+                } catch (IllegalStateException e) {
+                    // not started
+                }
+                codec.release();
+            }
+            extractor.release();
+        }
+    }
+
+    private static short sampleAt(ByteBuffer buffer, int pos, boolean isFloat) {
+        if (!isFloat) {
+            return buffer.getShort(pos);
+        }
+        float sample = Math.max(-1f, Math.min(1f, buffer.getFloat(pos)));
+        return (short) Math.round(sample * 32767f);
+    }
+
+    // Linear interpolation is plenty for short effects and keeps loading fast
+    private static short[] resample(short[] stereo, int frames, int fromRate, int toRate) {
+        if (fromRate == toRate) {
+            short[] exact = new short[frames * 2];
+            System.arraycopy(stereo, 0, exact, 0, exact.length);
+            return exact;
+        }
+        int outFrames = (int) ((long) frames * toRate / fromRate);
+        short[] out = new short[outFrames * 2];
+        double step = (double) fromRate / toRate;
+        for (int i = 0; i < outFrames; i++) {
+            double source = i * step;
+            int index = (int) source;
+            int next = Math.min(frames - 1, index + 1);
+            float t = (float) (source - index);
+            for (int ch = 0; ch < 2; ch++) {
+                float a = stereo[2 * index + ch];
+                float b = stereo[2 * next + ch];
+                out[2 * i + ch] = (short) Math.round(a + (b - a) * t);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,342 @@
+package com.reactlibrary;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioManager;
+import android.media.AudioTrack;
+import android.os.Build;
+import android.os.Process;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Mixes preloaded SoundClips into one low-latency AudioTrack.
+ *
+ * Triggers are written into a preallocated command ring and picked up by the mixer
+ * thread at the start of its next block, which is one platform buffer (typically
+ * 2-5 ms) long. Voices are a fixed array: when a clip is already playing on its
+ * maxVoices voices, or all voices are busy, the oldest matching voice is stolen. Nothing
+ * on the trigger or mixing path allocates. After a few idle seconds the track is paused
+ * to save power and restarted by the next trigger.
+ */
+final class SoundEngine {
+
+    static final int MAX_VOICES = 16;
+    static final int MAX_CLIPS = 256;
+
+    private static final int COMMAND_SLOTS = 64;
+    private static final int COMMAND_PLAY = 0;
+    private static final int COMMAND_STOP = 1;
+    private static final long IDLE_PAUSE_MS = 3000;
+
+    private static final class Voice {
+        @Nullable
+        SoundClip clip;
+        int position;
+        float gainLeft;
+        float gainRight;
+        long startedAt; // trigger order, for stealing
+    }
+
+    private static final class Command {
+        int type;
+        @Nullable
+        SoundClip clip; // null with COMMAND_STOP means every voice
+        float gainLeft;
+        float gainRight;
+    }
+
+    private final int sampleRate;
+    private final int blockFrames;
+    private final AudioTrack track;
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private final float[] mix;
+
+    // Handles index into this array; replaced (copy on write) by load and unload
+    private volatile SoundClip[] clips = new SoundClip[MAX_CLIPS];
+
+    // Multi-producer (guarded by commandLock) / single consumer (mixer) ring
+    private final Command[] commands = new Command[COMMAND_SLOTS];
+    private final Object commandLock = new Object();
+    private volatile long commandHead;
+    private volatile long commandTail;
+    private volatile boolean sleeping;
+
+    private volatile boolean running = true;
+    private final Thread mixer;
+    private long triggerCount;
+
+    SoundEngine(Context context) {
+        AudioManager audioManager = (AudioManager) context.getSystemService(Context.AUDIO_SERVICE);
+        sampleRate = parseProperty(audioManager.getProperty(AudioManager.PROPERTY_OUTPUT_SAMPLE_RATE), 48000);
+        // The device's native burst size keeps the track on the fast mixer path
+        blockFrames = Math.max(64, Math.min(1024,
+                parseProperty(audioManager.getProperty(AudioManager.PROPERTY_OUTPUT_FRAMES_PER_BUFFER), 256)));
+        mix = new float[blockFrames * 2];
+        for (int i = 0; i < MAX_VOICES; i++) {
+            voices[i] = new Voice();
+        }
+        for (int i = 0; i < COMMAND_SLOTS; i++) {
+            commands[i] = new Command();
+        }
+
+        int minBuffer = AudioTrack.getMinBufferSize(sampleRate, AudioFormat.CHANNEL_OUT_STEREO,
+                AudioFormat.ENCODING_PCM_FLOAT);
+        AudioTrack.Builder builder = new AudioTrack.Builder()
+                .setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_GAME)
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                        .build())
+                .setAudioFormat(new AudioFormat.Builder()
+                        .setSampleRate(sampleRate)
+                        .setChannelMask(AudioFormat.CHANNEL_OUT_STEREO)
+                        .setEncoding(AudioFormat.ENCODING_PCM_FLOAT)
+                        .build())
+                .setTransferMode(AudioTrack.MODE_STREAM)
+                .setBufferSizeInBytes(Math.max(minBuffer, blockFrames * 2 * 4 * 2));
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            builder.setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY);
+        }
+        track = builder.build();
+        track.play();
+
+        mixer = new Thread(this::mixLoop, "ReactNativeAudio:SoundMixer");
+        mixer.start();
+    }
+
+    int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Registers a decoded clip and returns its handle, or -1 when all handles are used.
+     */
+    synchronized int add(SoundClip clip) {
+        SoundClip[] current = clips;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == null) {
+                SoundClip[] next = current.clone();
+                next[i] = clip;
+                clips = next;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stops the clip's voices and frees its handle.
+     */
+    synchronized boolean remove(int handle) {
+        SoundClip[] current = clips;
+        if (handle < 0 || handle >= current.length || current[handle] == null) {
+            return false;
+        }
+        stop(handle);
+        SoundClip[] next = current.clone();
+        next[handle] = null;
+        clips = next;
+        return true;
+    }
+
+    /**
+     * Queues a trigger. Safe from any thread; does not allocate. {@code pan} is -1..1.
+     */
+    void play(int handle, float volume, float pan) {
+        float angle = (float) ((Math.max(-1f, Math.min(1f, pan)) + 1f) * Math.PI / 4);
+        float gain = Math.max(0f, volume);
+        SoundClip clip = clipAt(clips, handle);
+        if (clip != null) {
+            enqueue(COMMAND_PLAY, clip, gain * (float) Math.cos(angle), gain * (float) Math.sin(angle));
+        }
+    }
+
+    /**
+     * Stops every voice playing {@code handle}, or all voices for a negative handle.
+     */
+    void stop(int handle) {
+        if (handle < 0) {
+            enqueue(COMMAND_STOP, null, 0f, 0f);
+            return;
+        }
+        SoundClip clip = clipAt(clips, handle);
+        if (clip != null) {
+            enqueue(COMMAND_STOP, clip, 0f, 0f);
+        }
+    }
+
+    void release() {
+        running = false;
+        synchronized (commandLock) {
+            commandLock.notifyAll();
+        }
+        try {
+            mixer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        track.release();
+    }
+
+    private void enqueue(int type, @Nullable SoundClip clip, float gainLeft, float gainRight) {
+        synchronized (commandLock) {
+            long head = commandHead;
+            if (head - commandTail >= COMMAND_SLOTS) {
+                return; // the mixer is far behind; dropping a trigger beats blocking the caller
+            }
+            Command command = commands[(int) (head % COMMAND_SLOTS)];
+            command.type = type;
+            command.clip = clip;
+            command.gainLeft = gainLeft;
+            command.gainRight = gainRight;
+            commandHead = head + 1;
+            if (sleeping) {
+                commandLock.notifyAll();
+            }
+        }
+    }
+
+    private void mixLoop() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_AUDIO);
+        long idleSinceMs = System.currentTimeMillis();
+        while (running) {
+            boolean active = drainCommands();
+            for (Voice voice : voices) {
+                active |= voice.clip != null;
+            }
+            if (!active) {
+                long now = System.currentTimeMillis();
+                if (now - idleSinceMs >= IDLE_PAUSE_MS) {
+                    sleepUntilCommand();
+                    idleSinceMs = System.currentTimeMillis();
+                    continue;
+                }
+            } else {
+                idleSinceMs = System.currentTimeMillis();
+            }
+            render();
+            track.write(mix, 0, mix.length, AudioTrack.WRITE_BLOCKING);
+        }
+        track.stop();
+    }
+
+    private void sleepUntilCommand() {
+        track.pause();
+        track.flush();
+        synchronized (commandLock) {
+            sleeping = true;
+            while (running && commandHead == commandTail) {
+                try {
+                    commandLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            sleeping = false;
+        }
+        if (running) {
+            track.play();
+        }
+    }
+
+    // Returns true if anything was started
+    private boolean drainCommands() {
+        boolean started = false;
+        long head = commandHead;
+        for (long t = commandTail; t < head; t++) {
+            Command command = commands[(int) (t % COMMAND_SLOTS)];
+            SoundClip clip = command.clip;
+            command.clip = null; // an unloaded clip must not stay reachable from the ring
+            if (command.type == COMMAND_STOP) {
+                for (Voice voice : voices) {
+                    if (clip == null || voice.clip == clip) {
+                        voice.clip = null;
+                    }
+                }
+            } else {
+                Voice voice = allocateVoice(clip);
+                voice.clip = clip;
+                voice.position = 0;
+                voice.gainLeft = command.gainLeft;
+                voice.gainRight = command.gainRight;
+                voice.startedAt = triggerCount++;
+                started = true;
+            }
+            commandTail = t + 1;
+        }
+        return started;
+    }
+
+    @Nullable
+    private static SoundClip clipAt(SoundClip[] current, int handle) {
+        return handle >= 0 && handle < current.length ? current[handle] : null;
+    }
+
+    // A free voice unless the clip is at its polyphony limit; otherwise the oldest candidate
+    private Voice allocateVoice(SoundClip clip) {
+        int playing = 0;
+        Voice oldestOfClip = null;
+        Voice oldest = null;
+        Voice free = null;
+        for (Voice voice : voices) {
+            if (voice.clip == null) {
+                if (free == null) {
+                    free = voice;
+                }
+                continue;
+            }
+            if (voice.clip == clip) {
+                playing++;
+                if (oldestOfClip == null || voice.startedAt < oldestOfClip.startedAt) {
+                    oldestOfClip = voice;
+                }
+            }
+            if (oldest == null || voice.startedAt < oldest.startedAt) {
+                oldest = voice;
+            }
+        }
+        if (playing >= clip.maxVoices) {
+            return oldestOfClip;
+        }
+        return free != null ? free : oldest;
+    }
+
+    private void render() {
+        Arrays.fill(mix, 0f);
+        float scale = 1f / 32768f;
+        for (Voice voice : voices) {
+            SoundClip clip = voice.clip;
+            if (clip == null) {
+                continue;
+            }
+            int frames = Math.min(blockFrames, clip.frames - voice.position);
+            short[] pcm = clip.pcm;
+            float left = voice.gainLeft * scale;
+            float right = voice.gainRight * scale;
+            int source = voice.position * 2;
+            for (int i = 0; i < frames * 2; i += 2) {
+                mix[i] += pcm[source + i] * left;
+                mix[i + 1] += pcm[source + i + 1] * right;
+            }
+            voice.position += frames;
+            if (voice.position >= clip.frames) {
+                voice.clip = null;
+            }
+        }
+        for (int i = 0; i < mix.length; i++) {
+            mix[i] = Math.max(-1f, Math.min(1f, mix[i]));
+        }
+    }
+
+    static int parseProperty(@Nullable String value, int fallback) {
+        try {
+            return value != null ? Integer.parseInt(value) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
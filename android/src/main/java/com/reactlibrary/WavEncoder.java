@@ -0,0 +1,112 @@
+package com.reactlibrary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Writes 16-bit PCM into a RIFF/WAVE file. The header is written with zero sizes up
+ * front and patched in finish(), so the data can stream straight to disk.
+ */
+final class WavEncoder implements RecordingEncoder {
+
+    private static final int HEADER_BYTES = 44;
+
+    private final File file;
+    private final int sampleRate;
+    private final int channels;
+    private RandomAccessFile out;
+    private byte[] scratch = new byte[0];
+    private long dataBytes;
+
+    WavEncoder(File file, int sampleRate, int channels) {
+        this.file = file;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+    }
+
+    @Override
+    public void start() throws IOException {
+        out = new RandomAccessFile(file, "rw");
+        out.setLength(0);
+        out.write(new byte[HEADER_BYTES]);
+    }
+
+    @Override
+    public void encode(short[] pcm, int length) throws IOException {
+        int bytes = length * 2;
+        if (scratch.length < bytes) {
+            scratch = new byte[bytes]; // grows once to the chunk size
+        }
+        for (int i = 0; i < length; i++) {
+            short sample = pcm[i];
+            scratch[2 * i] = (byte) sample;
+            scratch[2 * i + 1] = (byte) (sample >> 8);
+        }
+        out.write(scratch, 0, bytes);
+        dataBytes += bytes;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        int byteRate = sampleRate * channels * 2;
+        byte[] header = new byte[HEADER_BYTES];
+        writeAscii(header, 0, "RIFF");
+        writeInt(header, 4, (int) (36 + dataBytes));
+        writeAscii(header, 8, "WAVE");
+        writeAscii(header, 12, "fmt ");
+        writeInt(header, 16, 16); // PCM fmt chunk size
+        writeShort(header, 20, 1); // PCM
+        writeShort(header, 22, channels);
+        writeInt(header, 24, sampleRate);
+        writeInt(header, 28, byteRate);
+        writeShort(header, 32, channels * 2);
+        writeShort(header, 34, 16);
+        writeAscii(header, 36, "data");
+        writeInt(header, 40, (int) dataBytes);
+        out.seek(0);
+        out.write(header);
+        out.close();
+        out = null;
+    }
+
+    @Override
+    public void release() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // nothing left to flush
+            }
+            out = null;
+        }
+    }
+
+    @Override
+    public boolean supportsEncodedStream() {
+        return false; // the header is only known at the end; PCM is the streamable form
+    }
+
+    @Override
+    public void setEncodedStream(RecordingStream stream) {
+        // Never streamed (see supportsEncodedStream); callers send PCM instead
+    }
+
+    private static void writeAscii(byte[] target, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            target[offset + i] = (byte) value.charAt(i);
+        }
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) value;
+        target[offset + 1] = (byte) (value >> 8);
+        target[offset + 2] = (byte) (value >> 16);
+        target[offset + 3] = (byte) (value >> 24);
+    }
+
+    private static void writeShort(byte[] target, int offset, int value) {
+        target[offset] = (byte) value;
+        target[offset + 1] = (byte) (value >> 8);
+    }
+}
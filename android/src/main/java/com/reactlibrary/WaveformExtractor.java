@@ -0,0 +1,334 @@
+package com.reactlibrary;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.media.AudioFormat;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.net.Uri;
+import android.os.Build;
+import android.provider.MediaStore;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Decodes a file once and reduces it to min/max peak buckets.
+ *
+ * Decoding streams through MediaExtractor/MediaCodec, so memory use is bounded by the
+ * codec buffers and the bucket arrays, not by the file length. Results for local files
+ * are written to a small binary sidecar keyed by uri and modification time, and later
+ * requests are answered by mapping that file instead of decoding again.
+ */
+final class WaveformExtractor {
+
+    static final int DEFAULT_BUCKETS = 512;
+    static final int MAX_BUCKETS = 16384;
+
+    private static final int MAGIC = 0x524E5746; // "RNWF"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8;
+    private static final long CODEC_TIMEOUT_US = 10_000;
+
+    interface ProgressListener {
+        void onProgress(float progress);
+    }
+
+    /**
+     * Set from any thread to stop an extraction at its next buffer.
+     */
+    static final class Token {
+        volatile boolean cancelled;
+    }
+
+    static final class Result {
+        final float[] min;
+        final float[] max;
+        final long durationMs;
+        final boolean fromCache;
+
+        Result(float[] min, float[] max, long durationMs, boolean fromCache) {
+            this.min = min;
+            this.max = max;
+            this.durationMs = durationMs;
+            this.fromCache = fromCache;
+        }
+    }
+
+    private final Context context;
+    private final File cacheDir;
+
+    WaveformExtractor(Context context) {
+        this.context = context.getApplicationContext();
+        this.cacheDir = new File(context.getCacheDir(), "react-native-audio-kit-waveforms");
+    }
+
+    /**
+     * Returns peaks for {@code uri}, from the sidecar cache when it is still valid.
+     * Blocking; throws CancellationException when {@code token} is cancelled.
+     */
+    Result extract(Uri uri, int buckets, Token token, ProgressListener progress) throws IOException {
+        long modified = lastModified(uri);
+        File sidecar = modified >= 0 ? sidecarFor(uri, modified, buckets) : null;
+        if (sidecar != null && sidecar.exists()) {
+            Result cached = readSidecar(sidecar, buckets);
+            if (cached != null) {
+                progress.onProgress(1f);
+                return cached;
+            }
+        }
+
+        Result result = decode(uri, buckets, token, progress);
+        if (sidecar != null) {
+            writeSidecar(sidecar, result);
+        }
+        return result;
+    }
+
+    private Result decode(Uri uri, int buckets, Token token, ProgressListener progress) throws IOException {
+        MediaExtractor extractor = new MediaExtractor();
+        MediaCodec codec = null;
+        try {
+            extractor.setDataSource(context, uri, null);
+            MediaFormat format = null;
+            for (int i = 0; i < extractor.getTrackCount(); i++) {
+                MediaFormat candidate = extractor.getTrackFormat(i);
+                String mime = candidate.getString(MediaFormat.KEY_MIME);
+                if (mime != null && mime.startsWith("audio/")) {
+                    extractor.selectTrack(i);
+                    format = candidate;
+                    break;
+                }
+            }
+            if (format == null) {
+                throw new IOException("No audio track in " + uri);
+            }
+            if (!format.containsKey(MediaFormat.KEY_DURATION)) {
+                throw new IOException("Unknown duration for " + uri);
+            }
+            long durationUs = format.getLong(MediaFormat.KEY_DURATION);
+
+            float[] min = new float[buckets];
+            float[] max = new float[buckets];
+            int sampleRate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+            int channels = format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+            boolean isFloat = false;
+
+            codec = MediaCodec.createDecoderByType(format.getString(MediaFormat.KEY_MIME));
+            codec.configure(format, null, null, 0);
+            codec.start();
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            boolean inputDone = false;
+            boolean outputDone = false;
+            int lastPercent = -1;
+            while (!outputDone) {
+                if (token.cancelled) {
+                    throw new CancellationException();
+                }
+                if (!inputDone) {
+                    int inIndex = codec.dequeueInputBuffer(CODEC_TIMEOUT_US);
+                    if (inIndex >= 0) {
+                        ByteBuffer input = codec.getInputBuffer(inIndex);
+                        int size = extractor.readSampleData(input, 0);
+                        if (size < 0) {
+                            codec.queueInputBuffer(inIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            codec.queueInputBuffer(inIndex, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+
+                int outIndex = codec.dequeueOutputBuffer(info, CODEC_TIMEOUT_US);
+                if (outIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    // Decoders may change rate or channels (e.g. HE-AAC) once they see the stream
+                    MediaFormat output = codec.getOutputFormat();
+                    sampleRate = output.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                    channels = output.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    isFloat = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                            && output.containsKey(MediaFormat.KEY_PCM_ENCODING)
+                            && output.getInteger(MediaFormat.KEY_PCM_ENCODING) == AudioFormat.ENCODING_PCM_FLOAT;
+                } else if (outIndex >= 0) {
+                    if (info.size > 0) {
+                        ByteBuffer output = codec.getOutputBuffer(outIndex);
+                        output.position(info.offset);
+                        output.limit(info.offset + info.size);
+                        reduce(output.order(ByteOrder.nativeOrder()), info.presentationTimeUs, durationUs,
+                                sampleRate, channels, isFloat, min, max);
+                    }
+                    codec.releaseOutputBuffer(outIndex, false);
+                    if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                        outputDone = true;
+                    }
+                    int percent = (int) Math.min(100, info.presentationTimeUs * 100 / Math.max(1, durationUs));
+                    if (percent >= lastPercent + 5) {
+                        lastPercent = percent;
+                        progress.onProgress(percent / 100f);
+                    }
+                }
+            }
+            progress.onProgress(1f);
+            return new Result(min, max, durationUs / 1000, false);
+        } finally {
+            if (codec != null) {
+                try {
+                    codec.stop();
+                } catch (IllegalStateException e) {
+                    // not started
+                }
+                codec.release();
+            }
+            extractor.release();
+        }
+    }
+
+    // Folds one decoded buffer into the buckets its frames fall in, by presentation time
+    private static void reduce(ByteBuffer pcm, long startUs, long durationUs, int sampleRate, int channels,
+            boolean isFloat, float[] min, float[] max) {
+        int buckets = min.length;
+        double framesPerBucket = Math.max(1.0, (double) durationUs * sampleRate / 1_000_000 / buckets);
+        long frame = startUs * sampleRate / 1_000_000;
+        int bytesPerSample = isFloat ? 4 : 2;
+        int frameBytes = bytesPerSample * channels;
+        int limit = pcm.limit();
+        for (int pos = pcm.position(); pos + frameBytes <= limit; pos += frameBytes, frame++) {
+            int bucket = (int) Math.min(buckets - 1, (long) (frame / framesPerBucket));
+            for (int ch = 0; ch < channels; ch++) {
+                float sample = isFloat
+                        ? pcm.getFloat(pos + ch * 4)
+                        : pcm.getShort(pos + ch * 2) / 32768f;
+                if (sample < min[bucket]) {
+                    min[bucket] = sample;
+                }
+                if (sample > max[bucket]) {
+                    max[bucket] = sample;
+                }
+            }
+        }
+    }
+
+    // MARK: - Sidecar Cache
+
+    // Layout: magic, version, bucket count, duration ms, then one (min, max) pair of shorts per bucket
+    private static void writeSidecar(File sidecar, Result result) {
+        File parent = sidecar.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            return;
+        }
+        int buckets = result.min.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + buckets * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(buckets).putLong(result.durationMs);
+        for (int i = 0; i < buckets; i++) {
+            buffer.putShort(toShort(result.min[i]));
+            buffer.putShort(toShort(result.max[i]));
+        }
+        // Write then rename, so a reader never maps a half-written file
+        File temp = new File(sidecar.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(buffer.array());
+        } catch (IOException e) {
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(sidecar)) {
+            temp.delete();
+        }
+    }
+
+    @Nullable
+    private static Result readSidecar(File sidecar, int buckets) {
+        try (RandomAccessFile file = new RandomAccessFile(sidecar, "r");
+                FileChannel channel = file.getChannel()) {
+            if (channel.size() != HEADER_BYTES + (long) buckets * 4) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt() != MAGIC || mapped.getInt() != FORMAT_VERSION || mapped.getInt() != buckets) {
+                return null;
+            }
+            long durationMs = mapped.getLong();
+            float[] min = new float[buckets];
+            float[] max = new float[buckets];
+            for (int i = 0; i < buckets; i++) {
+                min[i] = mapped.getShort() / 32767f;
+                max[i] = mapped.getShort() / 32767f;
+            }
+            return new Result(min, max, durationMs, true);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Deletes every sidecar; waveforms are decoded again on their next request.
+     */
+    void clearCache() {
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private File sidecarFor(Uri uri, long modified, int buckets) {
+        String key = uri.toString() + "|" + modified + "|" + buckets;
+        return new File(cacheDir, sha1(key) + ".peaks");
+    }
+
+    /**
+     * Modification time for local files and MediaStore items, or -1 when it cannot be
+     * known (remote streams), in which case nothing is cached.
+     */
+    private long lastModified(Uri uri) {
+        String scheme = uri.getScheme();
+        if (scheme == null || "file".equals(scheme)) {
+            File file = new File(uri.getPath());
+            return file.exists() ? file.lastModified() : -1;
+        }
+        if ("content".equals(scheme)) {
+            try (Cursor cursor = context.getContentResolver().query(uri,
+                    new String[] { MediaStore.MediaColumns.DATE_MODIFIED }, null, null, null)) {
+                if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                    return cursor.getLong(0);
+                }
+            } catch (RuntimeException e) {
+                // Providers without DATE_MODIFIED
+            }
+        }
+        return -1;
+    }
+
+    private static short toShort(float value) {
+        return (short) Math.round(Math.max(-1f, Math.min(1f, value)) * 32767f);
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reactlibrary;
+
+import java.util.Arrays;
+
+/**
+ * Minimal JVM stand-in for androidx.benchmark's BenchmarkState. Bodies use the same
+ * {@code while (state.keepRunning())} loop and pauseTiming/resumeTiming calls, so a
+ * benchmark can move to a device benchmark module unchanged. Each iteration is timed
+ * separately; warm-up iterations are discarded and the result is printed as one line.
+ */
+final class BenchmarkState {
+
+    private final String name;
+    private final int warmupIterations;
+    private final long[] samples;
+    private int index = -1;
+    private long iterationStartNs;
+    private long pausedNs;
+    private long pauseStartNs;
+
+    BenchmarkState(String name, int warmupIterations, int iterations) {
+        this.name = name;
+        this.warmupIterations = warmupIterations;
+        this.samples = new long[iterations];
+    }
+
+    boolean keepRunning() {
+        long now = System.nanoTime();
+        if (index >= warmupIterations) {
+            samples[index - warmupIterations] = now - iterationStartNs - pausedNs;
+        }
+        index++;
+        if (index >= warmupIterations + samples.length) {
+            report();
+            return false;
+        }
+        pausedNs = 0;
+        iterationStartNs = System.nanoTime();
+        return true;
+    }
+
+    void pauseTiming() {
+        pauseStartNs = System.nanoTime();
+    }
+
+    void resumeTiming() {
+        pausedNs += System.nanoTime() - pauseStartNs;
+    }
+
+    long medianNs() {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private void report() {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        long median = sorted[sorted.length / 2];
+        long p95 = sorted[Math.min(sorted.length - 1, sorted.length * 95 / 100)];
+        System.out.println("AudioBenchmark " + name + ": median " + median + " ns, p95 " + p95 + " ns, mean "
+                + (total / sorted.length) + " ns, " + String.format("%.0f", 1e9 / Math.max(1, median))
+                + " ops/s (" + sorted.length + " iterations)");
+    }
+}
@@ -0,0 +1,108 @@
+package com.reactlibrary;
+
+import android.content.ContentProvider;
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.net.Uri;
+import android.os.Bundle;
+import android.os.CancellationSignal;
+import android.provider.MediaStore;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Stands in for the "media" authority with a fixed number of generated music rows.
+ * Honours the LIMIT/OFFSET query arguments MediaLibrary sends on API 30+ and reports
+ * them in EXTRA_HONORED_ARGS, like MediaProvider; with {@link #ignorePaging} set it acts
+ * like an older provider and returns every row. Selection and sort order are ignored.
+ */
+public class FakeMediaStoreProvider extends ContentProvider {
+
+    static volatile int rowCount = 0;
+    static volatile boolean ignorePaging = false;
+
+    @Override
+    public boolean onCreate() {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Cursor query(Uri uri, @Nullable String[] projection, @Nullable Bundle queryArgs,
+            @Nullable CancellationSignal cancellationSignal) {
+        if (queryArgs == null || ignorePaging) {
+            return rows(projection, 0, -1);
+        }
+        int offset = queryArgs.getInt(ContentResolver.QUERY_ARG_OFFSET, 0);
+        int limit = queryArgs.getInt(ContentResolver.QUERY_ARG_LIMIT, -1);
+        MatrixCursor cursor = rows(projection, offset, limit);
+        Bundle extras = new Bundle();
+        extras.putStringArray(ContentResolver.EXTRA_HONORED_ARGS, new String[] {
+                ContentResolver.QUERY_ARG_OFFSET, ContentResolver.QUERY_ARG_LIMIT });
+        cursor.setExtras(extras);
+        return cursor;
+    }
+
+    @Nullable
+    @Override
+    public Cursor query(Uri uri, @Nullable String[] projection, @Nullable String selection,
+            @Nullable String[] selectionArgs, @Nullable String sortOrder) {
+        return rows(projection, 0, -1);
+    }
+
+    private static MatrixCursor rows(@Nullable String[] projection, int offset, int limit) {
+        String[] columns = projection != null ? projection : new String[] { MediaStore.Audio.Media._ID };
+        MatrixCursor cursor = new MatrixCursor(columns);
+        int end = limit < 0 ? rowCount : Math.min(rowCount, offset + limit);
+        for (int row = offset; row < end; row++) {
+            Object[] values = new Object[columns.length];
+            for (int c = 0; c < columns.length; c++) {
+                values[c] = valueFor(columns[c], row);
+            }
+            cursor.addRow(values);
+        }
+        return cursor;
+    }
+
+    private static Object valueFor(String column, int row) {
+        switch (column) {
+            case MediaStore.Audio.Media._ID:
+                return (long) row + 1;
+            case MediaStore.Audio.Media.TITLE:
+                return "Track " + row;
+            case MediaStore.Audio.Media.ARTIST:
+                return "Artist " + (row % 40);
+            case MediaStore.Audio.Media.ALBUM:
+                return "Album " + (row % 120);
+            case MediaStore.Audio.Media.DURATION:
+                return 180_000L + row;
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public String getType(Uri uri) {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public Uri insert(Uri uri, @Nullable ContentValues values) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int delete(Uri uri, @Nullable String selection, @Nullable String[] selectionArgs) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int update(Uri uri, @Nullable ContentValues values, @Nullable String selection,
+            @Nullable String[] selectionArgs) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,103 @@
+package com.reactlibrary;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.time.Duration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A ReactApplicationContext without a JS runtime. Events the module emits are recorded
+ * (or only counted, for benchmarks) instead of crossing a bridge.
+ */
+final class FakeReactContext extends ReactApplicationContext {
+
+    static final class Event {
+        final String name;
+        @Nullable
+        final Object data;
+
+        Event(String name, @Nullable Object data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    interface EventMatcher {
+        boolean matches(Event event);
+    }
+
+    private final List<Event> events = new CopyOnWriteArrayList<>();
+    private final AtomicLong emitted = new AtomicLong();
+    private volatile boolean recording = true;
+
+    private final DeviceEventManagerModule.RCTDeviceEventEmitter emitter = (name, data) -> {
+        emitted.incrementAndGet();
+        if (recording) {
+            events.add(new Event(name, data));
+        }
+    };
+
+    FakeReactContext(Context base) {
+        super(base);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends JavaScriptModule> T getJSModule(Class<T> jsInterface) {
+        if (jsInterface == DeviceEventManagerModule.RCTDeviceEventEmitter.class) {
+            return (T) emitter;
+        }
+        throw new UnsupportedOperationException("No JS module " + jsInterface.getSimpleName() + " in tests");
+    }
+
+    DeviceEventManagerModule.RCTDeviceEventEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Benchmarks turn recording off so the event list does not grow; events are still counted.
+     */
+    void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    long getEmittedCount() {
+        return emitted.get();
+    }
+
+    List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Waits for an event the module emits from one of its own threads. Robolectric's
+     * SystemClock only moves when told to, so it is advanced alongside wall-clock time to
+     * release delayed work on the player threads.
+     */
+    @Nullable
+    Event awaitEvent(EventMatcher matcher, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        do {
+            for (Event event : events) {
+                if (matcher.matches(event)) {
+                    return event;
+                }
+            }
+            Thread.sleep(10);
+            ShadowSystemClock.advanceBy(Duration.ofMillis(10));
+        } while (System.nanoTime() < deadline);
+        return null;
+    }
+}
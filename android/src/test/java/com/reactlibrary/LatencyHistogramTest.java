@@ -0,0 +1,40 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Plain JUnit; LatencyHistogram has no Android dependencies.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentilesAreBucketUpperEdges() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.recordMicros(100); // bucket [64, 128)
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.recordMicros(5000); // bucket [4096, 8192)
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(128, histogram.getPercentileUs(50));
+        assertEquals(128, histogram.getPercentileUs(90));
+        assertEquals(5000, histogram.getPercentileUs(95)); // capped at the largest sample
+        assertEquals(5000, histogram.getMaxUs());
+        assertEquals(590, histogram.getMeanUs());
+    }
+
+    @Test
+    public void emptyAndOutOfRangeSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileUs(99));
+        histogram.recordMicros(-5); // ignored
+        histogram.recordMicros(0);
+        histogram.recordMicros(Long.MAX_VALUE / 2);
+        assertEquals(2, histogram.getCount());
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(LatencyHistogram.BUCKETS - 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Plain JUnit; LoudnessMeter has no Android dependencies.
+ */
+public class LoudnessMeterTest {
+
+    @Test
+    public void sineAtMinus23DbfsReadsMinus23Lufs() {
+        // EBU Tech 3341 case 1: a stereo 1 kHz sine at -23 dBFS measures -23 LUFS
+        for (int sampleRate : new int[] { 44100, 48000 }) {
+            LoudnessMeter meter = new LoudnessMeter(sampleRate, 2);
+            feedSine(meter, sampleRate, 997, Math.pow(10, -23 / 20.0), 20);
+            assertEquals(-23, meter.integratedLufs(), 0.1);
+            assertEquals(-23, meter.truePeakDb(), 0.1);
+        }
+    }
+
+    @Test
+    public void quietPassagesBelowTheRelativeGateAreIgnored() {
+        LoudnessMeter meter = new LoudnessMeter(48000, 2);
+        feedSine(meter, 48000, 997, Math.pow(10, -20 / 20.0), 10);
+        feedSine(meter, 48000, 997, Math.pow(10, -50 / 20.0), 30); // 20 LU down: gated out
+        assertEquals(-20, meter.integratedLufs(), 0.1);
+    }
+
+    @Test
+    public void truePeakFindsPeaksBetweenSamples() {
+        // fs/4 at 45 degrees: every sample is at 0.707 but the waveform peaks at 1.0
+        LoudnessMeter meter = new LoudnessMeter(48000, 1);
+        float[] samples = new float[48000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (float) Math.sin(Math.PI / 2 * i + Math.PI / 4);
+        }
+        meter.addFrames(samples, samples.length);
+        assertEquals(0, meter.truePeakDb(), 0.2);
+    }
+
+    @Test
+    public void silenceHasNoLoudness() {
+        LoudnessMeter meter = new LoudnessMeter(48000, 2);
+        meter.addFrames(new float[48000 * 2], 48000);
+        assertTrue(Double.isInfinite(meter.integratedLufs()));
+        assertTrue(Double.isInfinite(meter.truePeakDb()));
+    }
+
+    private static void feedSine(LoudnessMeter meter, int sampleRate, double frequency, double amplitude,
+            int seconds) {
+        float[] buffer = new float[2 * 1024];
+        int frames = sampleRate * seconds;
+        for (int done = 0; done < frames; ) {
+            int count = Math.min(1024, frames - done);
+            for (int i = 0; i < count; i++) {
+                float sample = (float) (amplitude * Math.sin(2 * Math.PI * frequency * (done + i) / sampleRate));
+                buffer[2 * i] = sample;
+                buffer[2 * i + 1] = sample;
+            }
+            meter.addFrames(buffer, count);
+            done += count;
+        }
+    }
+}
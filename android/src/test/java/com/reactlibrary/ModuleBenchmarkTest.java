@@ -0,0 +1,96 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import android.provider.MediaStore;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * JVM benchmarks for the module's hot paths: player create/destroy, a command round
+ * trip through the playback thread, player event emission and a MediaStore page scan.
+ * Numbers are relative (Robolectric, no real codecs or bridge) and meant for spotting
+ * regressions between commits on the same machine.
+ *
+ * Skipped unless run with: ./gradlew testDebugUnitTest -PaudioBenchmarks
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ModuleBenchmarkTest {
+
+    private static final String MISSING_FILE = "file:///data/local/tmp/does-not-exist.mp3";
+
+    private FakeReactContext context;
+    private ReactNativeAudioModule module;
+
+    @Before
+    public void setUp() {
+        assumeTrue("pass -PaudioBenchmarks to run", Boolean.getBoolean("audio.benchmarks"));
+        FakeMediaStoreProvider.rowCount = 5000;
+        Robolectric.setupContentProvider(FakeMediaStoreProvider.class, MediaStore.AUTHORITY);
+        context = new FakeReactContext(ApplicationProvider.getApplicationContext());
+        context.setRecording(false);
+        module = new ReactNativeAudioModule(context);
+    }
+
+    @After
+    public void tearDown() {
+        if (module != null) {
+            module.onCatalystInstanceDestroy();
+        }
+    }
+
+    @Test
+    public void playerCreateDestroy() throws Exception {
+        BenchmarkState state = new BenchmarkState("playerCreateDestroy", 50, 500);
+        JavaOnlyMap options = new JavaOnlyMap();
+        while (state.keepRunning()) {
+            TestPromise.call(p -> module.preparePlayer(1, MISSING_FILE, options, p));
+            module.destroyPlayer(1);
+        }
+    }
+
+    @Test
+    public void commandDispatch() throws Exception {
+        TestPromise.call(p -> module.preparePlayer(1, MISSING_FILE, new JavaOnlyMap(), p));
+        BenchmarkState state = new BenchmarkState("commandDispatch", 200, 5000);
+        while (state.keepRunning()) {
+            TestPromise.call(p -> module.setVolume(1, 0.5, p));
+        }
+    }
+
+    @Test
+    public void stateEventEmission() {
+        PlayerEvents events = new PlayerEvents(context.emitter()::emit, Arguments::createMap);
+        String[] states = { "buffering", "playing", "playing", "idle" };
+        BenchmarkState state = new BenchmarkState("stateEventEmission", 10_000, 200_000);
+        int i = 0;
+        while (state.keepRunning()) {
+            events.sendState(i % 16, states[(i / 16) % states.length]);
+            i++;
+        }
+    }
+
+    @Test
+    public void libraryPageScan() throws Exception {
+        JavaOnlyMap options = JavaOnlyMap.of("limit", 500);
+        BenchmarkState state = new BenchmarkState("libraryPageScan(500 rows)", 20, 200);
+        while (state.keepRunning()) {
+            ReadableMap page = (ReadableMap) TestPromise.call(p -> module.getAudiosPage(options, p)).getValue();
+            state.pauseTiming();
+            assertEquals(500, page.getArray("items").size());
+            state.resumeTiming();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Robolectric only for SparseIntArray; the concurrent test uses plain threads.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PlaybackStateTableTest {
+
+    @Test
+    public void readsBackWritesAndExtrapolatesPosition() {
+        PlaybackStateTable table = new PlaybackStateTable();
+        PlaybackStateTable.Snapshot snapshot = new PlaybackStateTable.Snapshot();
+        assertFalse(table.read(1, snapshot));
+
+        table.write(1, PlaybackStateTable.STATE_PLAYING, 10_000, 12_000, 11_500, 1.5, 1_000);
+        table.writeLevel(1, -18.5);
+        assertTrue(table.read(1, snapshot));
+        assertEquals(PlaybackStateTable.STATE_PLAYING, snapshot.state);
+        assertEquals(11_500, snapshot.bufferedMs);
+        assertEquals(-18.5, snapshot.level, 0);
+        assertEquals(10_300, snapshot.positionAt(1_200));
+        assertEquals(12_000, snapshot.positionAt(9_000)); // capped at the duration
+
+        table.write(1, PlaybackStateTable.STATE_PAUSED, 10_300, 12_000, 11_500, 0, 1_200);
+        assertTrue(table.read(1, snapshot));
+        assertEquals(10_300, snapshot.positionAt(5_000));
+        assertEquals(-18.5, snapshot.level, 0); // kept across state writes
+
+        table.remove(1);
+        assertFalse(table.read(1, snapshot));
+    }
+
+    @Test
+    public void growsAndReusesSlots() {
+        PlaybackStateTable table = new PlaybackStateTable();
+        PlaybackStateTable.Snapshot snapshot = new PlaybackStateTable.Snapshot();
+        for (int id = 0; id < 40; id++) {
+            table.write(id, PlaybackStateTable.STATE_PAUSED, id * 1000L, -1, 0, 0, 0);
+        }
+        table.remove(3);
+        table.write(100, PlaybackStateTable.STATE_IDLE, 0, -1, 0, 0, 0);
+        for (int id = 0; id < 40; id++) {
+            assertEquals(id != 3, table.read(id, snapshot));
+            if (id != 3) {
+                assertEquals(id * 1000L, snapshot.positionMs);
+            }
+        }
+        assertTrue(table.read(100, snapshot));
+        assertTrue(Double.isNaN(snapshot.level));
+
+        table.clear();
+        assertFalse(table.read(100, snapshot));
+    }
+
+    @Test
+    public void readersNeverSeeTornSlots() throws Exception {
+        PlaybackStateTable table = new PlaybackStateTable();
+        table.write(7, PlaybackStateTable.STATE_PLAYING, 0, 0, 0, 1, 0);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong torn = new AtomicLong();
+        AtomicLong reads = new AtomicLong();
+
+        Thread reader = new Thread(() -> {
+            PlaybackStateTable.Snapshot snapshot = new PlaybackStateTable.Snapshot();
+            while (!done.get()) {
+                if (table.read(7, snapshot)) {
+                    reads.incrementAndGet();
+                    // Every write keeps these in a fixed ratio; a mixed copy breaks it
+                    if (snapshot.durationMs != snapshot.positionMs * 2
+                            || snapshot.bufferedMs != snapshot.positionMs * 3
+                            || snapshot.sampledAtMs != snapshot.positionMs) {
+                        torn.incrementAndGet();
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (long k = 1; k <= 200_000; k++) {
+            table.write(7, PlaybackStateTable.STATE_PLAYING, k, k * 2, k * 3, 1, k);
+        }
+        done.set(true);
+        reader.join();
+
+        assertTrue(reads.get() > 0);
+        assertEquals(0, torn.get());
+    }
+}
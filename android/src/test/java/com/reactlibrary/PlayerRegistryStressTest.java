@@ -0,0 +1,157 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hammers PlayerRegistry from several threads: one writer adding, replacing and
+ * removing players (the playback thread's role), threads toggling the active flag, and
+ * readers doing lookups and full iterations. The run lasts a fixed number of writes.
+ * Readers check every snapshot they see; afterwards the maintained active count must
+ * match a scan.
+ *
+ * Plain JUnit; PlayerRegistry has no Android dependencies.
+ */
+public class PlayerRegistryStressTest {
+
+    private static final int KEYS = 64;
+    private static final int READERS = 4;
+    private static final int TOGGLERS = 3;
+    private static final int WRITES = 200_000;
+
+    private static final class Item {
+        final int key;
+
+        Item(int key) {
+            this.key = key;
+        }
+    }
+
+    @Test
+    public void concurrentReadsWritesAndToggles() throws Exception {
+        PlayerRegistry<Item> registry = new PlayerRegistry<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        threads.add(new Thread(() -> {
+            Random random = new Random(1);
+            await(start);
+            try {
+                for (int i = 0; i < WRITES; i++) {
+                    int key = random.nextInt(KEYS);
+                    if (random.nextInt(3) == 0) {
+                        registry.remove(key);
+                    } else {
+                        registry.put(key, new Item(key)); // adds or replaces
+                    }
+                }
+            } finally {
+                running.set(false); // the other threads run until the writer is done
+            }
+        }, "Stress:Writer"));
+
+        for (int t = 0; t < TOGGLERS; t++) {
+            int seed = 100 + t;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                await(start);
+                while (running.get()) {
+                    registry.setActive(random.nextInt(KEYS), random.nextBoolean());
+                }
+            }, "Stress:Toggler" + t));
+        }
+
+        for (int t = 0; t < READERS; t++) {
+            int seed = 200 + t;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                await(start);
+                try {
+                    while (running.get()) {
+                        int key = random.nextInt(KEYS);
+                        Item item = registry.get(key);
+                        if (item != null && item.key != key) {
+                            throw new AssertionError("get(" + key + ") returned " + item.key);
+                        }
+                        PlayerRegistry.Snapshot<Item> snapshot = registry.snapshot();
+                        int previous = -1;
+                        for (int i = 0; i < snapshot.size(); i++) {
+                            int k = snapshot.keyAt(i);
+                            if (k <= previous || snapshot.valueAt(i).key != k) {
+                                throw new AssertionError("inconsistent snapshot at " + i);
+                            }
+                            previous = k;
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "Stress:Reader" + t));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(thread.getName() + " did not finish", thread.isAlive());
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError("reader failed", failure.get());
+        }
+        int scanned = 0;
+        PlayerRegistry.Snapshot<Item> snapshot = registry.snapshot();
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (registry.isActive(snapshot.keyAt(i))) {
+                scanned++;
+            }
+        }
+        assertEquals(scanned, registry.getActiveCount());
+    }
+
+    @Test
+    public void activeCountFollowsReplaceAndRemove() {
+        PlayerRegistry<Item> registry = new PlayerRegistry<>();
+        registry.put(3, new Item(3));
+        registry.put(1, new Item(1));
+        assertTrue(registry.setActive(3, true));
+        assertTrue(registry.setActive(1, true));
+        assertEquals(2, registry.getActiveCount());
+
+        registry.put(3, new Item(3)); // a second prepare replaces the player, which starts paused
+        assertEquals(1, registry.getActiveCount());
+        registry.remove(1);
+        assertEquals(0, registry.getActiveCount());
+        assertNull(registry.get(1));
+        assertEquals(1, registry.size());
+
+        assertTrue(registry.setActive(3, true));
+        registry.clear();
+        assertEquals(0, registry.getActiveCount());
+        assertEquals(0, registry.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.reactlibrary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import android.provider.MediaStore;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Drives the module through its bridge methods on the JVM: players run on the module's
+ * real playback thread, events land in FakeReactContext and MediaStore is a fake provider.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ReactNativeAudioModuleTest {
+
+    private static final String MISSING_FILE = "file:///data/local/tmp/does-not-exist.mp3";
+
+    private FakeReactContext context;
+    private ReactNativeAudioModule module;
+
+    @Before
+    public void setUp() {
+        FakeMediaStoreProvider.rowCount = 250;
+        FakeMediaStoreProvider.ignorePaging = false;
+        Robolectric.setupContentProvider(FakeMediaStoreProvider.class, MediaStore.AUTHORITY);
+        context = new FakeReactContext(ApplicationProvider.getApplicationContext());
+        module = new ReactNativeAudioModule(context);
+    }
+
+    @After
+    public void tearDown() {
+        module.onCatalystInstanceDestroy();
+    }
+
+    @Test
+    public void destroyedPlayersGoBackToThePool() throws Exception {
+        assertTrue(TestPromise.call(p -> module.preparePlayer(1, MISSING_FILE, new JavaOnlyMap(), p)).isResolved());
+        module.destroyPlayer(1);
+        ReadableMap stats = (ReadableMap) TestPromise.call(module::getPlayerPoolStats).getValue();
+        assertEquals(1, stats.getInt("idle"));
+        assertEquals(1, stats.getDouble("misses"), 0);
+
+        assertTrue(TestPromise.call(p -> module.preparePlayer(2, MISSING_FILE, new JavaOnlyMap(), p)).isResolved());
+        stats = (ReadableMap) TestPromise.call(module::getPlayerPoolStats).getValue();
+        assertEquals(1, stats.getDouble("hits"), 0);
+        assertEquals(0, stats.getInt("idle"));
+    }
+
+    @Test
+    public void commandsOnUnknownPlayers() throws Exception {
+        TestPromise seek = TestPromise.call(p -> module.seek(42, 10, p));
+        assertFalse(seek.isResolved());
+        assertEquals("not_found", seek.getCode());
+        // Pausing something that is not playing is harmless
+        assertTrue(TestPromise.call(p -> module.pause(42, p)).isResolved());
+    }
+
+    @Test
+    public void batchesWithOutOfRangeValuesAreRejectedWhole() throws Exception {
+        for (JavaOnlyMap bad : new JavaOnlyMap[] {
+                JavaOnlyMap.of("id", 1, "op", "rate", "value", 0),
+                JavaOnlyMap.of("id", 1, "op", "volume", "value", 1.5) }) {
+            JavaOnlyArray commands = JavaOnlyArray.of(JavaOnlyMap.of("id", 1, "op", "play"), bad);
+            TestPromise batch = TestPromise.call(p -> module.executeBatch(commands, p));
+            assertFalse(batch.isResolved());
+            assertEquals("invalid_argument", batch.getCode());
+        }
+    }
+
+    @Test
+    public void commandLatencyIsRecorded() throws Exception {
+        TestPromise.call(p -> module.preparePlayer(3, MISSING_FILE, new JavaOnlyMap(), p));
+        TestPromise.call(p -> module.setVolume(3, 0.5, p));
+        // Not a command itself; runs after setVolume's latency has been recorded
+        TestPromise.call(p -> module.getPlaybackMetrics(3, p));
+        ReadableMap metrics = (ReadableMap) TestPromise.call(module::getGlobalPlaybackMetrics).getValue();
+        ReadableMap latency = metrics.getMap("commandLatency");
+        assertEquals(2, latency.getDouble("count"), 0);
+        assertTrue(latency.getDouble("maxMs") > 0);
+    }
+
+    @Test
+    public void loadErrorsArriveAsMultiplexedPlayerEvents() throws Exception {
+        TestPromise.call(p -> module.preparePlayer(4, MISSING_FILE, new JavaOnlyMap(), p));
+        FakeReactContext.Event event = context.awaitEvent(e -> PlayerEvents.NAME.equals(e.name)
+                && PlayerEvents.ERROR.equals(((ReadableMap) e.data).getString("type")), 10_000);
+        assertNotNull("no error event", event);
+        ReadableMap data = (ReadableMap) event.data;
+        assertEquals(4, data.getInt("id"));
+        assertEquals("decode", data.getString("error"));
+    }
+
+    @Test
+    public void libraryPagesComeFromTheProvider() throws Exception {
+        JavaOnlyMap options = JavaOnlyMap.of("limit", 100, "includeTotal", true);
+        ReadableMap page = (ReadableMap) TestPromise.call(p -> module.getAudiosPage(options, p)).getValue();
+        JavaOnlyArray items = (JavaOnlyArray) page.getArray("items");
+        assertEquals(100, items.size());
+        assertEquals("Track 0", items.getMap(0).getString("title"));
+        assertEquals("o:100", page.getString("nextCursor"));
+        assertEquals(250, page.getInt("total"));
+
+        JavaOnlyMap last = JavaOnlyMap.of("limit", 100, "cursor", "o:200");
+        page = (ReadableMap) TestPromise.call(p -> module.getAudiosPage(last, p)).getValue();
+        assertEquals(50, page.getArray("items").size());
+        assertTrue(page.isNull("nextCursor"));
+    }
+
+    @Test
+    public void libraryPagesNeedAPositiveLimit() throws Exception {
+        JavaOnlyMap options = JavaOnlyMap.of("limit", 0);
+        TestPromise page = TestPromise.call(p -> module.getAudiosPage(options, p));
+        assertFalse(page.isResolved());
+        assertEquals("invalid_argument", page.getCode());
+    }
+
+    @Test
+    public void libraryPagesWhenTheProviderIgnoresPaging() throws Exception {
+        FakeMediaStoreProvider.ignorePaging = true;
+        JavaOnlyMap options = JavaOnlyMap.of("limit", 100, "cursor", "o:100");
+        ReadableMap page = (ReadableMap) TestPromise.call(p -> module.getAudiosPage(options, p)).getValue();
+        JavaOnlyArray items = (JavaOnlyArray) page.getArray("items");
+        assertEquals(100, items.size());
+        assertEquals("Track 100", items.getMap(0).getString("title"));
+        assertEquals("o:200", page.getString("nextCursor"));
+
+        JavaOnlyMap last = JavaOnlyMap.of("limit", 100, "cursor", "o:200");
+        page = (ReadableMap) TestPromise.call(p -> module.getAudiosPage(last, p)).getValue();
+        assertEquals(50, page.getArray("items").size());
+        assertTrue(page.isNull("nextCursor"));
+
+        // An offset without a limit still skips rows
+        JavaOnlyMap tail = JavaOnlyMap.of("offset", 240);
+        assertEquals(10, ((Number) TestPromise.call(p -> module.streamAudios(1, tail, p)).getValue()).intValue());
+    }
+}
@@ -0,0 +1,126 @@
+package com.reactlibrary;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Promise that records how it was settled and lets the test wait for it. PromiseImpl
+ * cannot be used on the JVM because reject() builds a native map.
+ */
+final class TestPromise implements Promise {
+
+    interface Call {
+        void invoke(Promise promise);
+    }
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private final CountDownLatch settled = new CountDownLatch(1);
+    @Nullable
+    private volatile Object value;
+    @Nullable
+    private volatile String code;
+    @Nullable
+    private volatile String message;
+    private volatile boolean rejected;
+
+    /**
+     * Runs {@code call} and waits until the module settles the promise.
+     */
+    static TestPromise call(Call call) throws InterruptedException {
+        TestPromise promise = new TestPromise();
+        call.invoke(promise);
+        if (!promise.settled.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            throw new AssertionError("Promise not settled within " + TIMEOUT_MS + " ms");
+        }
+        return promise;
+    }
+
+    boolean isResolved() {
+        return !rejected;
+    }
+
+    @Nullable
+    Object getValue() {
+        return value;
+    }
+
+    @Nullable
+    String getCode() {
+        return code;
+    }
+
+    @Nullable
+    String getMessage() {
+        return message;
+    }
+
+    @Override
+    public void resolve(@Nullable Object value) {
+        this.value = value;
+        settled.countDown();
+    }
+
+    private void fail(@Nullable String code, @Nullable String message) {
+        this.code = code;
+        this.message = message;
+        rejected = true;
+        settled.countDown();
+    }
+
+    @Override
+    public void reject(String code, String message) {
+        fail(code, message);
+    }
+
+    @Override
+    public void reject(String code, Throwable throwable) {
+        fail(code, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(String code, String message, Throwable throwable) {
+        fail(code, message);
+    }
+
+    @Override
+    public void reject(Throwable throwable) {
+        fail(null, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(Throwable throwable, WritableMap userInfo) {
+        fail(null, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(String code, WritableMap userInfo) {
+        fail(code, null);
+    }
+
+    @Override
+    public void reject(String code, Throwable throwable, WritableMap userInfo) {
+        fail(code, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(String code, String message, WritableMap userInfo) {
+        fail(code, message);
+    }
+
+    @Override
+    public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+        fail(code, message);
+    }
+
+    @Override
+    @Deprecated
+    public void reject(String message) {
+        fail(null, message);
+    }
+}
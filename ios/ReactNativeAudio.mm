@@ -261,6 +261,54 @@ RCT_EXPORT_METHOD(setRate:(double)idVal rate:(double)rate resolve:(RCTPromiseRes
     }
 }
 
+RCT_EXPORT_METHOD(executeBatch:(NSArray *)commands resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    NSArray *ops = @[@"play", @"pause", @"stop", @"seek", @"volume", @"rate"];
+    // Check everything first so a malformed batch applies nothing
+    for (NSUInteger i = 0; i < commands.count; i++) {
+        NSDictionary *command = [commands[i] isKindOfClass:[NSDictionary class]] ? commands[i] : nil;
+        NSString *op = [command[@"op"] isKindOfClass:[NSString class]] ? command[@"op"] : nil;
+        if (![command[@"id"] isKindOfClass:[NSNumber class]] || ![ops containsObject:op]) {
+            reject(@"invalid_argument", [NSString stringWithFormat:@"Command %lu needs a numeric id and a known op", (unsigned long)i], nil);
+            return;
+        }
+        if ([ops indexOfObject:op] >= 3 && ![command[@"value"] isKindOfClass:[NSNumber class]]) {
+            reject(@"invalid_argument", [NSString stringWithFormat:@"Command %lu (%@) needs a numeric value", (unsigned long)i, op], nil);
+            return;
+        }
+    }
+
+    NSMutableArray *results = [NSMutableArray arrayWithCapacity:commands.count];
+    for (NSDictionary *command in commands) {
+        NSNumber *playerId = @([command[@"id"] doubleValue]);
+        NSString *op = command[@"op"];
+        double value = [command[@"value"] doubleValue];
+        AudioPlayerInstance *instance = _players[playerId];
+        if (!instance) {
+            [results addObject:@{@"ok": @NO, @"error": @"not_found", @"message": @"Player not found"}];
+            continue;
+        }
+        if ([op isEqualToString:@"play"]) {
+            [instance.player play];
+            [self sendStateEvent:playerId state:@"playing"];
+        } else if ([op isEqualToString:@"pause"]) {
+            [instance.player pause];
+            [self sendStateEvent:playerId state:@"paused"];
+        } else if ([op isEqualToString:@"stop"]) {
+            [instance.player pause];
+            [instance.player seekToTime:kCMTimeZero];
+            [self sendStateEvent:playerId state:@"idle"];
+        } else if ([op isEqualToString:@"seek"]) {
+            [instance.player seekToTime:CMTimeMakeWithSeconds(value, 1000)];
+        } else if ([op isEqualToString:@"volume"]) {
+            instance.player.volume = (float)value;
+        } else {
+            instance.player.rate = (float)value;
+        }
+        [results addObject:@{@"ok": @YES}];
+    }
+    resolve(results);
+}
+
 RCT_EXPORT_METHOD(setMetadata:(double)idVal metadata:(NSDictionary *)metadata resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
     NSNumber *playerId = @(idVal);
     // ... same as before
@@ -305,6 +353,35 @@ RCT_EXPORT_METHOD(destroyPlayer:(double)idVal) {
     }
 }
 
+RCT_EXPORT_METHOD(setProgressInterval:(double)intervalMs resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    // iOS players report progress from their own periodic time observers
+    resolve(nil);
+}
+
+// MARK: - Gapless Queue
+
+// The native queue is Android-only for now; AudioQueue falls back to one player per track on iOS.
+
+RCT_EXPORT_METHOD(setQueue:(double)idVal items:(NSArray *)items startIndex:(double)startIndex options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Native queue is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(appendToQueue:(double)idVal items:(NSArray *)items resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Native queue is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(removeFromQueue:(double)idVal index:(double)index resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Native queue is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(moveQueueItem:(double)idVal from:(double)from to:(double)to resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Native queue is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(skipToQueueIndex:(double)idVal index:(double)index resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Native queue is not supported on iOS", nil);
+}
+
 // MARK: - Recorder Methods
 
 RCT_EXPORT_METHOD(setupNotification:(double)idVal config:(NSDictionary *)config resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
@@ -489,6 +566,52 @@ RCT_EXPORT_METHOD(getAudios:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRe
     resolve(result);
 }
 
+RCT_EXPORT_METHOD(getAudiosPage:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Paged library queries are not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(streamAudios:(double)requestId options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Streaming library queries are not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(syncLibraryIndex:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"The library index is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(searchLibrary:(NSString *)query limit:(double)limit resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"The library index is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(getLibraryGroups:(NSString *)groupBy resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"The library index is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(scanLibraryLoudness:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"The library index is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(cancelLoudnessScan:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    resolve(nil);
+}
+
+RCT_EXPORT_METHOD(getTrackLoudness:(NSString *)trackId resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    resolve(nil);
+}
+
+// MARK: - Waveform
+
+RCT_EXPORT_METHOD(extractWaveform:(double)requestId uri:(NSString *)uri options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Waveform extraction is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(cancelWaveform:(double)requestId resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    resolve(nil);
+}
+
+RCT_EXPORT_METHOD(getArtwork:(NSString *)uri options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Artwork thumbnails are not supported on iOS", nil);
+}
+
 // MARK: - KVO & Notifications
 
 - (void)observeValueForKeyPath:(NSString *)keyPath ofObject:(id)object change:(NSDictionary *)change context:(void *)context {
@@ -617,6 +740,108 @@ RCT_EXPORT_METHOD(clearCache:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseR
     resolve(nil);
 }
 
+// MARK: - Multitrack Mixer
+
+RCT_EXPORT_METHOD(createMixer:(double)idVal tracks:(NSArray *)tracks resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"The multitrack mixer is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(mixerPlay:(double)idVal resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_found", @"Mixer not found", nil);
+}
+
+RCT_EXPORT_METHOD(mixerPause:(double)idVal resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_found", @"Mixer not found", nil);
+}
+
+RCT_EXPORT_METHOD(mixerSeek:(double)idVal position:(double)position resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_found", @"Mixer not found", nil);
+}
+
+RCT_EXPORT_METHOD(setMixerTrack:(double)idVal index:(double)index options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_found", @"Mixer not found", nil);
+}
+
+RCT_EXPORT_METHOD(getMixerStatus:(double)idVal resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_found", @"Mixer not found", nil);
+}
+
+RCT_EXPORT_METHOD(destroyMixer:(double)idVal) {
+}
+
+// MARK: - Sound Effects
+
+RCT_EXPORT_METHOD(loadSound:(NSString *)uri options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Sound effects are not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(unloadSound:(double)handle resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_found", @"Sound not loaded", nil);
+}
+
+RCT_EXPORT_METHOD(playSound:(double)handle volume:(double)volume pan:(double)pan) {
+    // Nothing can be loaded on iOS yet
+}
+
+RCT_EXPORT_METHOD(stopSound:(double)handle) {
+}
+
+RCT_EXPORT_METHOD(prefetch:(NSArray *)uris options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    // No disk cache on iOS yet, so there is nothing to prefetch into
+    resolve(nil);
+}
+
+RCT_EXPORT_METHOD(cancelPrefetch:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    resolve(nil);
+}
+
+RCT_EXPORT_METHOD(getPrefetchStats:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    resolve(@{ @"requested": @0, @"completed": @0, @"cancelled": @0, @"failed": @0, @"cached": @0,
+               @"bytesPrefetched": @0, @"hits": @0, @"misses": @0 });
+}
+
+// MARK: - Player Pool
+
+RCT_EXPORT_METHOD(setPlayerPoolConfig:(NSDictionary *)config resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    // AVPlayer instances are cheap to create; pooling is Android-only
+    resolve(nil);
+}
+
+RCT_EXPORT_METHOD(getPlayerPoolStats:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    resolve(@{ @"hits": @0, @"misses": @0, @"idle": @0, @"maxSize": @0 });
+}
+
+RCT_EXPORT_METHOD(setPlayerResourcePolicy:(NSDictionary *)config resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    // AVPlayer releases its own decoders; resource reclamation is Android-only
+    resolve(nil);
+}
+
+RCT_EXPORT_METHOD(getPlayerResourceStats:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    resolve(@{ @"players": @[], @"decoding": @0, @"maxDecodingPlayers": @0, @"idleTimeout": @0,
+               @"reclaimed": @0, @"estimatedBytes": @0 });
+}
+
+// MARK: - Playback Metrics
+
+RCT_EXPORT_METHOD(getPlaybackMetrics:(double)idVal resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Playback metrics are not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(getGlobalPlaybackMetrics:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Playback metrics are not supported on iOS", nil);
+}
+
+// Players live on the main queue; use progress events on iOS
+RCT_EXPORT_BLOCKING_SYNCHRONOUS_METHOD(getPlaybackSnapshot:(double)idVal) {
+    return nil;
+}
+
+// MARK: - Analysis
+
+RCT_EXPORT_METHOD(setAnalysisEnabled:(double)idVal enabled:(BOOL)enabled options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Real-time analysis is not supported on iOS", nil);
+}
+
 // MARK: - Equalizer
 
 RCT_EXPORT_METHOD(enableEqualizer:(double)idVal enabled:(BOOL)enabled resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
@@ -659,6 +884,18 @@ RCT_EXPORT_METHOD(getEqualizerBands:(double)idVal resolve:(RCTPromiseResolveBloc
     }
 }
 
+RCT_EXPORT_METHOD(setEqualizerFrequencies:(double)idVal frequencies:(NSArray *)frequencies resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Custom equalizer bands are not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(setLimiter:(double)idVal options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"The limiter is not supported on iOS", nil);
+}
+
+RCT_EXPORT_METHOD(setLoudnessNormalization:(double)idVal options:(NSDictionary *)options resolve:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject) {
+    reject(@"not_supported", @"Loudness normalization is not supported on iOS", nil);
+}
+
 #ifdef RCT_NEW_ARCH_ENABLED
 - (std::shared_ptr<facebook::react::TurboModule>)getTurboModule:
     (const facebook::react::ObjCTurboModule::InitParams &)params
@@ -0,0 +1,77 @@
+import { NativeAudio } from './native';
+import { AudioEventEmitter } from './events';
+import { MixerStatus, MixerTrack, MixerTrackOptions } from './types';
+
+let nextMixerId = 1;
+
+/**
+ * Plays several files in sync through one native output (Android)
+ * All tracks share one transport, so stems stay sample-aligned through play, pause and seek
+ */
+export class AudioMixer {
+  public readonly id: number;
+  public readonly duration: number;
+  private subscriptions: { remove(): void }[] = [];
+
+  private constructor(id: number, duration: number) {
+    this.id = id;
+    this.duration = duration;
+  }
+
+  /**
+   * Open every track and wait until they can be played
+   */
+  static async create(tracks: MixerTrack[]): Promise<AudioMixer> {
+    const id = nextMixerId++;
+    const { duration } = await NativeAudio.createMixer(id, tracks);
+    return new AudioMixer(id, duration);
+  }
+
+  async play(): Promise<void> {
+    return NativeAudio.mixerPlay(this.id);
+  }
+
+  async pause(): Promise<void> {
+    return NativeAudio.mixerPause(this.id);
+  }
+
+  /**
+   * Move every track to `position` seconds
+   */
+  async seek(position: number): Promise<void> {
+    return NativeAudio.mixerSeek(this.id, position);
+  }
+
+  /**
+   * Change gain, pan or mute of one track; omitted values are kept
+   */
+  async setTrack(index: number, options: MixerTrackOptions): Promise<void> {
+    return NativeAudio.setMixerTrack(this.id, index, options);
+  }
+
+  async getStatus(): Promise<MixerStatus> {
+    return NativeAudio.getMixerStatus(this.id);
+  }
+
+  onEnded(callback: () => void): () => void {
+    const sub = AudioEventEmitter.addListener(`AudioMixerEvent.Ended.${this.id}`, () => {
+      callback();
+    });
+    this.subscriptions.push(sub);
+    return () => sub.remove();
+  }
+
+  onError(callback: (message: string) => void): () => void {
+    const sub = AudioEventEmitter.addListener(`AudioMixerEvent.Error.${this.id}`, (event: any) => {
+      callback(event.message);
+    });
+    this.subscriptions.push(sub);
+    return () => sub.remove();
+  }
+
+  destroy(): void {
+    this.subscriptions.forEach(sub => sub.remove());
+    this.subscriptions = [];
+    NativeAudio.destroyMixer(this.id);
+  }
+}
@@ -1,13 +1,24 @@
 import { NativeAudio } from './native';
-import { AudioEventEmitter } from "./events";
+import { AudioEventEmitter, addProgressListener, addPlayerEventListener } from "./events";
 import { 
   PlayerOptions, 
   PlaybackStateListener, 
   ProgressListener, 
   ErrorListener,
-  InterruptionListener 
+  InterruptionListener,
+  QueueTransitionListener,
+  AnalysisListener,
+  AnalysisOptions,
+  BufferHealthListener,
+  LimiterOptions,
+  LoudnessNormalizationOptions,
+  PlaybackMetrics,
+  GlobalPlaybackMetrics,
+  PlaybackSnapshot,
+  PlayerCommand,
+  PlayerCommandResult,
+  AudioAsset
 } from './types';
-import { EmitterSubscription } from 'react-native';
 
 let nextPlayerId = 1;
 
@@ -15,7 +26,7 @@ export class AudioPlayer {
   public readonly id: number;
   private url: string;
   private options: PlayerOptions;
-  private subscriptions: EmitterSubscription[] = [];
+  private subscriptions: { remove(): void }[] = [];
 
   constructor(url: string, options: PlayerOptions = {}) {
     this.id = nextPlayerId++;
@@ -23,6 +34,29 @@ export class AudioPlayer {
     this.options = options;
   }
 
+  /**
+   * Sets how often progress is reported for all players (default: 500ms).
+   */
+  static async setProgressInterval(intervalMs: number): Promise<void> {
+    return NativeAudio.setProgressInterval(intervalMs);
+  }
+
+  /**
+   * Android: totals over every player since the app started, including command latency.
+   */
+  static async getGlobalMetrics(): Promise<GlobalPlaybackMetrics> {
+    return NativeAudio.getGlobalPlaybackMetrics();
+  }
+
+  /**
+   * Applies many commands in one bridge call and one native pass, so they take effect
+   * together (e.g. starting a set of stems). Resolves with one result per command;
+   * rejects without applying anything when a command is malformed.
+   */
+  static async executeBatch(commands: PlayerCommand[]): Promise<PlayerCommandResult[]> {
+    return NativeAudio.executeBatch(commands);
+  }
+
   async prepare(): Promise<void> {
     return NativeAudio.preparePlayer(this.id, this.url, this.options);
   }
@@ -65,36 +99,102 @@ export class AudioPlayer {
     return NativeAudio.setupNotification(this.id, config);
   }
 
+  // Native Queue Methods (Android, gapless)
+  async setQueue(tracks: AudioAsset[], startIndex: number = 0): Promise<void> {
+    return NativeAudio.setQueue(this.id, tracks, startIndex, this.options);
+  }
+
+  async appendToQueue(tracks: AudioAsset[]): Promise<void> {
+    return NativeAudio.appendToQueue(this.id, tracks);
+  }
+
+  async removeFromQueue(index: number): Promise<void> {
+    return NativeAudio.removeFromQueue(this.id, index);
+  }
+
+  async moveQueueItem(from: number, to: number): Promise<void> {
+    return NativeAudio.moveQueueItem(this.id, from, to);
+  }
+
+  async skipToQueueIndex(index: number): Promise<void> {
+    return NativeAudio.skipToQueueIndex(this.id, index);
+  }
+
+  // Subscribes to the per-player event name iOS emits and to the multiplexed event Android emits
+  private listen(name: string, type: string, handler: (event: any) => void): () => void {
+    const sub = AudioEventEmitter.addListener(`AudioPlayerEvent.${name}.${this.id}`, handler);
+    const muxSub = addPlayerEventListener(this.id, type, handler);
+    this.subscriptions.push(sub, muxSub);
+    return () => {
+      sub.remove();
+      muxSub.remove();
+    };
+  }
+
   onStateChange(callback: PlaybackStateListener): () => void {
-    const sub = AudioEventEmitter.addListener(`AudioPlayerEvent.State.${this.id}`, (event: any) => {
+    return this.listen('State', 'state', (event: any) => {
       callback(event.state);
     });
-    this.subscriptions.push(sub);
-    return () => sub.remove();
   }
 
   onProgress(callback: ProgressListener): () => void {
+    // Android batches progress for all players; iOS still emits one event per player
+    const batchSub = addProgressListener(this.id, callback);
     const sub = AudioEventEmitter.addListener(`AudioPlayerEvent.Progress.${this.id}`, (event: any) => {
       callback(event.position, event.duration);
     });
-    this.subscriptions.push(sub);
-    return () => sub.remove();
+    this.subscriptions.push(batchSub, sub);
+    return () => {
+      batchSub.remove();
+      sub.remove();
+    };
   }
   
   onError(callback: ErrorListener): () => void {
-    const sub = AudioEventEmitter.addListener(`AudioPlayerEvent.Error.${this.id}`, (event: any) => {
+    return this.listen('Error', 'error', (event: any) => {
       callback(event.error, event.message);
     });
-    this.subscriptions.push(sub);
-    return () => sub.remove();
+  }
+
+  onQueueTransition(callback: QueueTransitionListener): () => void {
+    return this.listen('QueueTransition', 'queueTransition', (event: any) => {
+      callback(event.index, event.mediaId, event.reason);
+    });
   }
 
   onInterruption(callback: InterruptionListener): () => void {
-    const sub = AudioEventEmitter.addListener(`AudioPlayerEvent.Interruption.${this.id}`, (event: any) => {
+    return this.listen('Interruption', 'interruption', (event: any) => {
       callback(event.reason);
     });
-    this.subscriptions.push(sub);
-    return () => sub.remove();
+  }
+
+  // Android: needs PlayerOptions.network; sent every progress interval while playing or stalled
+  onBufferHealth(callback: BufferHealthListener): () => void {
+    return this.listen('BufferHealth', 'bufferHealth', (event: any) => {
+      callback(event);
+    });
+  }
+
+  // Android: load, decoder and stall metrics since the last prepare()
+  async getMetrics(): Promise<PlaybackMetrics> {
+    return NativeAudio.getPlaybackMetrics(this.id);
+  }
+
+  // Android: the current state, read synchronously without waiting for an event.
+  // Cheap enough to call every animation frame; null before the first native update.
+  getSnapshot(): PlaybackSnapshot | null {
+    return NativeAudio.getPlaybackSnapshot(this.id);
+  }
+
+  // Real-time Analysis (Android)
+  async setAnalysisEnabled(enabled: boolean, options: AnalysisOptions = {}): Promise<void> {
+    return NativeAudio.setAnalysisEnabled(this.id, enabled, options);
+  }
+
+  onAnalysis(callback: AnalysisListener): () => void {
+    return this.listen('Analysis', 'analysis', (event: any) => {
+      callback(event);
+    });
   }
 
   // Equalizer Methods
@@ -110,6 +210,20 @@ export class AudioPlayer {
     return NativeAudio.getEqualizerBands(this.id);
   }
 
+  // Android: replaces the band centre frequencies (up to 31 bands); gains reset to 0 dB
+  async setEqualizerFrequencies(frequencies: number[]): Promise<void> {
+    return NativeAudio.setEqualizerFrequencies(this.id, frequencies);
+  }
+
+  // Effects (Android)
+  async setLimiter(options: LimiterOptions = {}): Promise<void> {
+    return NativeAudio.setLimiter(this.id, options);
+  }
+
+  async setLoudnessNormalization(options: LoudnessNormalizationOptions): Promise<void> {
+    return NativeAudio.setLoudnessNormalization(this.id, options);
+  }
+
   destroy(): void {
     this.subscriptions.forEach(sub => sub.remove());
     this.subscriptions = [];
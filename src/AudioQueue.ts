@@ -1,12 +1,22 @@
+import { Platform } from 'react-native';
 import { AudioPlayer } from './AudioPlayer';
 import { AudioEventEmitter } from './events';
-import { AudioAsset, PlaybackState } from './types';
+import { CacheManager } from './CacheManager';
+import { AudioAsset, PlaybackState, PrefetchOptions } from './types';
 
 export class AudioQueue {
   private queue: AudioAsset[] = [];
   private currentIndex: number = -1;
   private player: AudioPlayer | null = null;
+  private remoteSubs: { remove(): void }[] = [];
   private listeners: ((queue: AudioAsset[], current: AudioAsset | null) => void)[] = [];
+  private prefetchDepth = 0;
+  private prefetchOptions: PrefetchOptions = {};
+  private lastPrefetch = '';
+
+  // Android plays the whole queue on one native player, so track boundaries are gapless.
+  // Other platforms still prepare a fresh player per track.
+  private readonly nativeQueue = Platform.OS === 'android';
 
   constructor() {}
 
@@ -16,24 +26,83 @@ export class AudioQueue {
   async playList(tracks: AudioAsset[], startIndex: number = 0) {
     this.queue = [...tracks];
     this.currentIndex = startIndex;
-    await this.playCurrent();
+    if (this.nativeQueue) {
+      await this.playNativeQueue();
+    } else {
+      await this.playCurrent();
+    }
+  }
+
+  /**
+   * Adds tracks to the end of the queue. If the native player rejects them, the queue
+   * is left unchanged and the error is thrown.
+   */
+  async add(tracks: AudioAsset[]) {
+    if (this.nativeQueue && this.player) {
+      await this.player.appendToQueue(tracks);
+      this.queue.push(...tracks);
+      this.updateNotification();
+    } else {
+      this.queue.push(...tracks);
+    }
+    this.emitChange();
   }
 
   /**
-   * Adds tracks to the end of the queue.
+   * Removes the track at `index`. Removing the current track moves on to the next one.
    */
-  add(tracks: AudioAsset[]) {
-    this.queue.push(...tracks);
+  async remove(index: number) {
+    if (index < 0 || index >= this.queue.length) return;
+    this.queue.splice(index, 1);
+    if (index < this.currentIndex || this.currentIndex >= this.queue.length) {
+      this.currentIndex--;
+    }
+    if (this.nativeQueue && this.player) {
+      await this.player.removeFromQueue(index);
+    }
     this.emitChange();
   }
 
+  /**
+   * Moves a track to a new position without interrupting playback.
+   */
+  async move(from: number, to: number) {
+    if (from < 0 || from >= this.queue.length || to < 0 || to >= this.queue.length) return;
+    const [track] = this.queue.splice(from, 1);
+    this.queue.splice(to, 0, track);
+    if (this.currentIndex === from) {
+      this.currentIndex = to;
+    } else if (from < this.currentIndex && to >= this.currentIndex) {
+      this.currentIndex--;
+    } else if (from > this.currentIndex && to <= this.currentIndex) {
+      this.currentIndex++;
+    }
+    if (this.nativeQueue && this.player) {
+      await this.player.moveQueueItem(from, to);
+    }
+    this.emitChange();
+  }
+
+  /**
+   * Jumps to the track at `index`.
+   */
+  async skipTo(index: number) {
+    if (index < 0 || index >= this.queue.length) return;
+    this.currentIndex = index;
+    if (this.nativeQueue && this.player) {
+      await this.player.skipToQueueIndex(index);
+      this.emitChange();
+    } else {
+      await this.playCurrent();
+    }
+  }
+
   /**
    * Skips to the next track.
    */
   async next() {
     if (this.currentIndex < this.queue.length - 1) {
-      this.currentIndex++;
-      await this.playCurrent();
+      await this.skipTo(this.currentIndex + 1);
     }
   }
 
@@ -42,11 +111,20 @@ export class AudioQueue {
    */
   async prev() {
     if (this.currentIndex > 0) {
-      this.currentIndex--;
-      await this.playCurrent();
+      await this.skipTo(this.currentIndex - 1);
     }
   }
 
+  /**
+   * Keeps the start of the next `depth` tracks in the cache (0 turns it off).
+   */
+  setPrefetch(depth: number, options: PrefetchOptions = {}) {
+    this.prefetchDepth = Math.max(0, depth);
+    this.prefetchOptions = options;
+    this.lastPrefetch = '';
+    this.updatePrefetch();
+  }
+
   getCurrentTrack(): AudioAsset | null {
     return this.queue[this.currentIndex] || null;
   }
@@ -55,6 +133,30 @@ export class AudioQueue {
     return this.queue;
   }
 
+  /**
+   * Hands the whole queue to a single native player (Android).
+   */
+  private async playNativeQueue() {
+    const track = this.getCurrentTrack();
+    if (!track) return;
+
+    if (!this.player) {
+      this.player = this.createPlayer(track.uri);
+
+      // Native side advances on its own; keep our index in sync with it
+      this.player.onQueueTransition((index) => {
+        this.currentIndex = index;
+        this.updateNotification();
+        this.emitChange();
+      });
+    }
+
+    await this.player.setQueue(this.queue, this.currentIndex);
+    await this.updateNotification();
+    await this.player.play();
+    this.emitChange();
+  }
+
   /**
    * Internal music player logic.
    */
@@ -64,13 +166,10 @@ export class AudioQueue {
 
     if (this.player) {
       await this.player.stop();
-      this.player.destroy();
+      this.releasePlayer();
     }
 
-    this.player = new AudioPlayer(track.uri, {
-      autoDestroy: false, 
-      continuesToPlayInBackground: true 
-    });
+    this.player = this.createPlayer(track.uri);
 
     // Auto-Next Logic
     this.player.onStateChange((state) => {
@@ -79,9 +178,24 @@ export class AudioQueue {
       }
     });
 
+    // Set Metadata & Notification
+    // Ensure player is ready before setting notifications
+    await this.player.prepare();
+    await this.updateNotification();
+
+    await this.player.play();
+    this.emitChange();
+  }
+
+  private createPlayer(url: string): AudioPlayer {
+    const player = new AudioPlayer(url, {
+      autoDestroy: false,
+      continuesToPlayInBackground: true
+    });
+
     // Remote Command Listeners
     // We must clean these up when the player is destroyed or track changes.
-    const remoteSubs = [
+    this.remoteSubs = [
       AudioEventEmitter.addListener('AudioPlayerEvent.RemotePlay', (evt: any) => {
         if (evt.id === this.player?.id) this.player?.play();
       }),
@@ -96,31 +210,33 @@ export class AudioQueue {
       }),
     ];
 
-    // Modify destroy/cleanup to remove these listeners
-    const originalDestroy = this.player.destroy.bind(this.player);
-    this.player.destroy = () => {
-       remoteSubs.forEach(sub => sub.remove());
-       originalDestroy();
-    };
+    return player;
+  }
+
+  private releasePlayer() {
+    this.remoteSubs.forEach(sub => sub.remove());
+    this.remoteSubs = [];
+    if (this.player) {
+      this.player.destroy();
+      this.player = null;
+    }
+  }
+
+  /**
+   * Refreshes notification metadata and the Next/Prev buttons for the current track.
+   */
+  private async updateNotification() {
+    const track = this.getCurrentTrack();
+    if (!this.player || !track) return;
 
-    // Set Metadata & Notification
-    // Ensure player is ready before setting notifications
-    await this.player.prepare();
-    
     // Check Queue State for Next/Prev buttons
-    const hasNext = this.currentIndex < this.queue.length - 1;
-    const hasPrevious = this.currentIndex > 0;
-    
     await this.player.setupNotification({
       title: track.title,
       artist: track.artist,
       artwork: track.artwork,
-      hasNext,
-      hasPrevious
+      hasNext: this.currentIndex < this.queue.length - 1,
+      hasPrevious: this.currentIndex > 0,
     });
-
-    await this.player.play();
-    this.emitChange();
   }
 
   /**
@@ -136,6 +252,23 @@ export class AudioQueue {
   private emitChange() {
     const current = this.getCurrentTrack();
     this.listeners.forEach(cb => cb(this.queue, current));
+    this.updatePrefetch();
+  }
+
+  /**
+   * Points the native prefetcher at the tracks after the current one, if they changed.
+   */
+  private updatePrefetch() {
+    if (this.prefetchDepth === 0 && this.lastPrefetch === '') return;
+    const uris = this.queue
+      .slice(this.currentIndex + 1, this.currentIndex + 1 + this.prefetchDepth)
+      .map(track => track.uri);
+    const key = uris.join('\n');
+    if (key === this.lastPrefetch) return;
+    this.lastPrefetch = key;
+    CacheManager.prefetch(uris, this.prefetchOptions).catch(() => {
+      // Prefetch is best effort
+    });
   }
 
   /**
@@ -144,16 +277,13 @@ export class AudioQueue {
   destroy() {
     if (this.player) {
       this.player.stop();
-      this.player.destroy();
-      this.player = null;
     }
+    this.releasePlayer();
     this.listeners = [];
+    if (this.prefetchDepth > 0) {
+      this.prefetchDepth = 0;
+      this.lastPrefetch = '';
+      CacheManager.cancelPrefetch().catch(() => {});
+    }
   }
 }
-
-
-
-// We'll extend the class prototypically or just add logic inside the class.
-// A cleaner way is to add the logic inside playCurrent where we have the player instance.
-
-
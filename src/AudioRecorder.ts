@@ -1,6 +1,6 @@
 import { NativeEventEmitter } from 'react-native';
 import { NativeAudio } from './native';
-import { RecordingOptions, MeteringListener } from './types';
+import { RecordingOptions, MeteringListener, RecordingOverrunListener, RecordingChunkListener } from './types';
 import { EmitterSubscription } from 'react-native';
 
 // Assuming AudioEventEmitter is now an instance of NativeEventEmitter
@@ -38,7 +38,25 @@ export class AudioRecorder {
 
   onMetering(callback: MeteringListener): () => void {
     const sub = AudioEventEmitter.addListener('AudioRecorderEvent.Metering', (event: any) => {
-      callback(event.db);
+      callback(event.db, event.peak);
+    });
+    this.subscriptions.push(sub);
+    return () => sub.remove();
+  }
+
+  // Android: audio dropped because encoding fell behind capture
+  onOverrun(callback: RecordingOverrunListener): () => void {
+    const sub = AudioEventEmitter.addListener('AudioRecorderEvent.Overrun', (event: any) => {
+      callback(event.droppedFrames, event.totalDroppedFrames);
+    });
+    this.subscriptions.push(sub);
+    return () => sub.remove();
+  }
+
+  // Android: chunks of the recording as it is written (RecordingOptions.stream)
+  onChunk(callback: RecordingChunkListener): () => void {
+    const sub = AudioEventEmitter.addListener('AudioRecorderEvent.Chunk', (event: any) => {
+      callback(event);
     });
     this.subscriptions.push(sub);
     return () => sub.remove();
@@ -1,5 +1,5 @@
 import { NativeAudio } from './native';
-import { CacheConfig, CacheStatus } from './types';
+import { CacheConfig, CacheStatus, PrefetchOptions, PrefetchStats } from './types';
 
 /**
  * Cache Management Utilities
@@ -23,9 +23,32 @@ export class CacheManager {
   }
 
   /**
-   * Clear all cached audio files
+   * Clear all cached audio files, stored waveform peaks and cached artwork
    */
   static async clearCache(): Promise<void> {
     return NativeAudio.clearCache();
   }
+
+  /**
+   * Download the start of upcoming remote tracks into the cache (Android).
+   * Each call replaces the previous list; items no longer listed are cancelled.
+   * @param uris Upcoming tracks, most likely first
+   */
+  static async prefetch(uris: string[], options: PrefetchOptions = {}): Promise<void> {
+    return NativeAudio.prefetch(uris, options);
+  }
+
+  /**
+   * Cancel all queued and running prefetches
+   */
+  static async cancelPrefetch(): Promise<void> {
+    return NativeAudio.cancelPrefetch();
+  }
+
+  /**
+   * Prefetch counters, including how often playback started from the cache
+   */
+  static async getPrefetchStats(): Promise<PrefetchStats> {
+    return NativeAudio.getPrefetchStats();
+  }
 }
@@ -0,0 +1,83 @@
+import { NativeAudio } from './native';
+import { AudioEventEmitter } from './events';
+import {
+  Album,
+  AudioAsset,
+  LibraryIndexSyncResult,
+  LoudnessScanOptions,
+  LoudnessScanResult,
+  TrackLoudness,
+} from './types';
+
+/**
+ * Native Media Library Index (Android)
+ * Queries an on-disk copy of MediaStore that is synced incrementally
+ */
+export class MediaLibraryIndex {
+  /**
+   * Bring the index up to date; only rows changed since the last sync are re-read
+   * @returns What changed and how long it took
+   */
+  static async sync(): Promise<LibraryIndexSyncResult> {
+    return NativeAudio.syncLibraryIndex();
+  }
+
+  /**
+   * Substring search on title, artist or album
+   * @param query Text to match
+   * @param limit Maximum number of results (default: 200)
+   */
+  static async search(query: string, limit = 200): Promise<AudioAsset[]> {
+    return NativeAudio.searchLibrary(query, limit);
+  }
+
+  /**
+   * Tracks grouped by album
+   */
+  static async getAlbums(): Promise<Album[]> {
+    return NativeAudio.getLibraryGroups('album');
+  }
+
+  /**
+   * Tracks grouped by artist, in the Album shape (name is the artist)
+   */
+  static async getArtists(): Promise<Album[]> {
+    return NativeAudio.getLibraryGroups('artist');
+  }
+
+  /**
+   * Measure loudness and true peak of every track not measured since its file changed.
+   * Decodes in parallel in the background; results are stored as each track finishes,
+   * so a cancelled scan resumes where it stopped.
+   * @param onProgress Tracks done out of the tracks this scan found pending
+   */
+  static async scanLoudness(
+    options: LoudnessScanOptions = {},
+    onProgress?: (done: number, total: number) => void
+  ): Promise<LoudnessScanResult> {
+    const sub = onProgress
+      ? AudioEventEmitter.addListener('AudioLibraryEvent.LoudnessProgress', (event: any) => {
+          onProgress(event.done, event.total);
+        })
+      : null;
+    try {
+      return await NativeAudio.scanLibraryLoudness(options);
+    } finally {
+      sub?.remove();
+    }
+  }
+
+  /**
+   * Stop the running scan; its promise resolves with cancelled: true
+   */
+  static async cancelLoudnessScan(): Promise<void> {
+    return NativeAudio.cancelLoudnessScan();
+  }
+
+  /**
+   * Stored measurement for a track id, or null if it has not been scanned
+   */
+  static async getLoudness(trackId: string): Promise<TrackLoudness | null> {
+    return NativeAudio.getTrackLoudness(trackId);
+  }
+}
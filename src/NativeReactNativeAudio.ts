@@ -10,7 +10,17 @@ export interface Spec extends TurboModule {
   setVolume(id: number, volume: number): Promise<void>;
   setRate(id: number, rate: number): Promise<void>;
   setMetadata(id: number, metadata: Object): Promise<void>;
+  executeBatch(commands: Array<Object>): Promise<Array<Object>>;
   destroyPlayer(id: number): void;
+  setProgressInterval(intervalMs: number): Promise<void>;
+  setAnalysisEnabled(id: number, enabled: boolean, options: Object): Promise<void>;
+
+  // Gapless Queue
+  setQueue(id: number, items: Array<Object>, startIndex: number, options: Object): Promise<void>;
+  appendToQueue(id: number, items: Array<Object>): Promise<void>;
+  removeFromQueue(id: number, index: number): Promise<void>;
+  moveQueueItem(id: number, from: number, to: number): Promise<void>;
+  skipToQueueIndex(id: number, index: number): Promise<void>;
 
   prepareRecorder(path: string, options: Object): Promise<string>;
   startRecording(): Promise<void>;
@@ -21,16 +31,63 @@ export interface Spec extends TurboModule {
   setupNotification(id: number, config: Object): Promise<void>;
   
   getAudios(): Promise<Array<Object>>;
+  getAudiosPage(options: Object): Promise<Object>;
+  streamAudios(requestId: number, options: Object): Promise<number>;
+  syncLibraryIndex(): Promise<Object>;
+  searchLibrary(query: string, limit: number): Promise<Array<Object>>;
+  getLibraryGroups(groupBy: string): Promise<Array<Object>>;
+  scanLibraryLoudness(options: Object): Promise<Object>;
+  cancelLoudnessScan(): Promise<void>;
+  getTrackLoudness(trackId: string): Promise<Object | null>;
+
+  // Waveform
+  extractWaveform(requestId: number, uri: string, options: Object): Promise<Object>;
+  cancelWaveform(requestId: number): Promise<void>;
+
+  // Artwork
+  getArtwork(uri: string, options: Object): Promise<string | null>;
   
   // Cache Management
   setCacheConfig(config: Object): Promise<void>;
   getCacheStatus(): Promise<Object>;
   clearCache(): Promise<void>;
+
+  // Multitrack Mixer
+  createMixer(id: number, tracks: Array<Object>): Promise<Object>;
+  mixerPlay(id: number): Promise<void>;
+  mixerPause(id: number): Promise<void>;
+  mixerSeek(id: number, position: number): Promise<void>;
+  setMixerTrack(id: number, index: number, options: Object): Promise<void>;
+  getMixerStatus(id: number): Promise<Object>;
+  destroyMixer(id: number): void;
+
+  // Sound Effects
+  loadSound(uri: string, options: Object): Promise<number>;
+  unloadSound(handle: number): Promise<void>;
+  playSound(handle: number, volume: number, pan: number): void;
+  stopSound(handle: number): void;
+  prefetch(uris: Array<string>, options: Object): Promise<void>;
+  cancelPrefetch(): Promise<void>;
+  getPrefetchStats(): Promise<Object>;
+
+  // Player Pool
+  setPlayerPoolConfig(config: Object): Promise<void>;
+  getPlayerPoolStats(): Promise<Object>;
+  setPlayerResourcePolicy(config: Object): Promise<void>;
+  getPlayerResourceStats(): Promise<Object>;
+
+  // Playback Metrics
+  getPlaybackMetrics(id: number): Promise<Object>;
+  getGlobalPlaybackMetrics(): Promise<Object>;
+  getPlaybackSnapshot(id: number): Object | null;
   
   // Equalizer
   enableEqualizer(id: number, enabled: boolean): Promise<void>;
   setEqualizerBand(id: number, bandIndex: number, gain: number): Promise<void>;
   getEqualizerBands(id: number): Promise<Array<Object>>;
+  setEqualizerFrequencies(id: number, frequencies: Array<number>): Promise<void>;
+  setLimiter(id: number, options: Object): Promise<void>;
+  setLoudnessNormalization(id: number, options: Object): Promise<void>;
 }
 
 export default TurboModuleRegistry.getEnforcing<Spec>('ReactNativeAudio');
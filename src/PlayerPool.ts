@@ -0,0 +1,42 @@
+import { NativeAudio } from './native';
+import { PlayerPoolConfig, PlayerPoolStats, PlayerResourcePolicy, PlayerResourceStats } from './types';
+
+/**
+ * Native Player Pool Utilities
+ * Controls how many idle native players are kept warm for reuse
+ */
+export class PlayerPool {
+  /**
+   * Configure pool size and optionally build players ahead of time
+   * @param config Pool configuration options
+   */
+  static async setConfig(config: PlayerPoolConfig): Promise<void> {
+    return NativeAudio.setPlayerPoolConfig(config);
+  }
+
+  /**
+   * Get pool hit/miss counters
+   * @returns Hits, misses and the number of idle players
+   */
+  static async getStats(): Promise<PlayerPoolStats> {
+    return NativeAudio.getPlayerPoolStats();
+  }
+
+  /**
+   * Limit how many prepared players hold decoders and buffers (Android).
+   * Paused players past the idle timeout, or over the limit, release them and
+   * prepare again on the next play() from the same position.
+   * @param policy Decoding cap and idle timeout
+   */
+  static async setResourcePolicy(policy: PlayerResourcePolicy): Promise<void> {
+    return NativeAudio.setPlayerResourcePolicy(policy);
+  }
+
+  /**
+   * Get per-player decoder state and estimated memory (Android)
+   * @returns Decoding count, reclaim counter and one entry per prepared player
+   */
+  static async getResourceStats(): Promise<PlayerResourceStats> {
+    return NativeAudio.getPlayerResourceStats();
+  }
+}
@@ -0,0 +1,53 @@
+import { NativeAudio } from './native';
+import { SoundOptions } from './types';
+
+/**
+ * Short sound effects, decoded up front and mixed natively (Android)
+ * Use for UI sounds and game cues; use AudioPlayer for music and long files
+ */
+export class SoundBank {
+  private handles: number[] = [];
+
+  /**
+   * Decode a clip (up to 10 seconds) into memory
+   * @returns Handle to pass to play()
+   */
+  async load(uri: string, options: SoundOptions = {}): Promise<number> {
+    const handle = await NativeAudio.loadSound(uri, options);
+    this.handles.push(handle);
+    return handle;
+  }
+
+  /**
+   * Trigger a loaded clip. Synchronous and fire-and-forget, so it can be called from
+   * touch handlers and game loops.
+   * @param volume 0..1 (default 1)
+   * @param pan -1 (left) .. 1 (right) (default 0)
+   */
+  play(handle: number, volume: number = 1, pan: number = 0): void {
+    NativeAudio.playSound(handle, volume, pan);
+  }
+
+  /**
+   * Stop every voice playing `handle`
+   */
+  stop(handle: number): void {
+    NativeAudio.stopSound(handle);
+  }
+
+  /**
+   * Stop every sound effect, including those of other banks
+   */
+  static stopAll(): void {
+    NativeAudio.stopSound(-1);
+  }
+
+  /**
+   * Free every clip loaded through this bank
+   */
+  async unload(): Promise<void> {
+    const handles = this.handles;
+    this.handles = [];
+    await Promise.all(handles.map(handle => NativeAudio.unloadSound(handle)));
+  }
+}
@@ -0,0 +1,40 @@
+import { AudioMixer } from '../AudioMixer';
+import { NativeModules, NativeEventEmitter } from 'react-native';
+
+jest.mock('react-native', () => {
+  const RN = jest.requireActual('react-native');
+  RN.NativeModules.ReactNativeAudio = {
+    createMixer: jest.fn().mockResolvedValue({ duration: 182.5 }),
+    mixerSeek: jest.fn().mockResolvedValue(null),
+    setMixerTrack: jest.fn().mockResolvedValue(null),
+    destroyMixer: jest.fn(),
+  };
+  return RN;
+});
+
+const mockAddListener = jest.fn().mockReturnValue({ remove: jest.fn() });
+NativeEventEmitter.prototype.addListener = mockAddListener;
+
+describe('AudioMixer', () => {
+  beforeEach(() => {
+    jest.clearAllMocks();
+  });
+
+  it('creates all tracks on one native mixer and drives them together', async () => {
+    const tracks = [
+      { uri: 'file:///stems/drums.wav' },
+      { uri: 'file:///stems/bass.wav', gain: 0.8, pan: -0.3 },
+    ];
+    const mixer = await AudioMixer.create(tracks);
+    expect(NativeModules.ReactNativeAudio.createMixer).toHaveBeenCalledWith(mixer.id, tracks);
+    expect(mixer.duration).toBe(182.5);
+
+    await mixer.seek(30);
+    expect(NativeModules.ReactNativeAudio.mixerSeek).toHaveBeenCalledWith(mixer.id, 30);
+    await mixer.setTrack(1, { muted: true });
+    expect(NativeModules.ReactNativeAudio.setMixerTrack).toHaveBeenCalledWith(mixer.id, 1, { muted: true });
+
+    mixer.destroy();
+    expect(NativeModules.ReactNativeAudio.destroyMixer).toHaveBeenCalledWith(mixer.id);
+  });
+});
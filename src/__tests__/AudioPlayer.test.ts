@@ -1,4 +1,5 @@
 import { AudioPlayer } from '../AudioPlayer';
+import { PlayerPool } from '../PlayerPool';
 import { NativeModules, NativeEventEmitter } from 'react-native';
 
 // Mock NativeModules using jest.mock to ensure it runs before imports
@@ -13,6 +14,18 @@ jest.mock('react-native', () => {
     setVolume: jest.fn().mockResolvedValue(null),
     setRate: jest.fn().mockResolvedValue(null),
     destroyPlayer: jest.fn(),
+    setQueue: jest.fn().mockResolvedValue(null),
+    setProgressInterval: jest.fn().mockResolvedValue(null),
+    skipToQueueIndex: jest.fn().mockResolvedValue(null),
+    setAnalysisEnabled: jest.fn().mockResolvedValue(null),
+    setEqualizerBand: jest.fn().mockResolvedValue(null),
+    setLimiter: jest.fn().mockResolvedValue(null),
+    setLoudnessNormalization: jest.fn().mockResolvedValue(null),
+    getPlaybackMetrics: jest.fn().mockResolvedValue({ timeToFirstAudioMs: 180, rebufferCount: 1 }),
+    setPlayerResourcePolicy: jest.fn().mockResolvedValue(null),
+    getPlayerResourceStats: jest.fn().mockResolvedValue({ players: [], decoding: 0, maxDecodingPlayers: 2, reclaimed: 3 }),
+    getPlaybackSnapshot: jest.fn().mockReturnValue({ state: 'playing', position: 12.25, duration: 180, bufferedPosition: 30, rate: 1, version: 42 }),
+    executeBatch: jest.fn().mockResolvedValue([{ ok: true }, { ok: false, error: 'not_found' }]),
   };
   return RN;
 });
@@ -21,6 +34,29 @@ jest.mock('react-native', () => {
 const mockAddListener = jest.fn().mockReturnValue({ remove: jest.fn() });
 NativeEventEmitter.prototype.addListener = mockAddListener;
 
+// Runs before any other test subscribes, so the shared native subscription is created here
+describe('multiplexed player events', () => {
+  it('routes events to the matching player and type', () => {
+    jest.clearAllMocks();
+    const player = new AudioPlayer('https://example.com/audio.mp3');
+    const stateCb = jest.fn();
+    const errorCb = jest.fn();
+    player.onStateChange(stateCb);
+    player.onError(errorCb);
+    const muxCalls = mockAddListener.mock.calls.filter(([name]) => name === 'AudioPlayerEvent');
+    expect(muxCalls).toHaveLength(1);
+    const dispatch = muxCalls[0][1];
+
+    dispatch({ id: player.id, type: 'state', state: 'playing' });
+    dispatch({ id: player.id + 1000, type: 'state', state: 'paused' });
+    dispatch({ id: player.id, type: 'error', error: 'decode', message: 'bad frame' });
+    expect(stateCb).toHaveBeenCalledTimes(1);
+    expect(stateCb).toHaveBeenCalledWith('playing');
+    expect(errorCb).toHaveBeenCalledWith('decode', 'bad frame');
+    player.destroy();
+  });
+});
+
 describe('AudioPlayer', () => {
   let player: AudioPlayer;
 
@@ -68,6 +104,30 @@ describe('AudioPlayer', () => {
     );
   });
 
+  it('routes batched progress events to the matching player', () => {
+    const cb = jest.fn();
+    const unsub = player.onProgress(cb);
+    const batchCall = mockAddListener.mock.calls.find(
+      ([name]) => name === 'AudioPlayerEvent.ProgressBatch'
+    );
+    expect(batchCall).toBeDefined();
+
+    batchCall![1]({
+      progress: [
+        { id: player.id, position: 1.5, duration: 10 },
+        { id: player.id + 1000, position: 3, duration: 20 },
+      ],
+    });
+    expect(cb).toHaveBeenCalledTimes(1);
+    expect(cb).toHaveBeenCalledWith(1.5, 10);
+    unsub();
+  });
+
+  it('sets the shared progress interval', async () => {
+    await AudioPlayer.setProgressInterval(250);
+    expect(NativeModules.ReactNativeAudio.setProgressInterval).toHaveBeenCalledWith(250);
+  });
+
   it('subscribes to interruption events', () => {
     const cb = jest.fn();
     player.onInterruption(cb);
@@ -88,9 +148,104 @@ describe('AudioPlayer', () => {
     expect(NativeModules.ReactNativeAudio.stop).toHaveBeenCalled();
   });
 
+  it('should pass the queue to native setQueue', async () => {
+    const tracks = [{ id: '1', uri: 'u1', title: 'T1', artist: 'A', album: 'L', duration: 10 }];
+    await player.setQueue(tracks, 0);
+    expect(NativeModules.ReactNativeAudio.setQueue).toHaveBeenCalledWith(player.id, tracks, 0, { loop: true });
+    await player.skipToQueueIndex(0);
+    expect(NativeModules.ReactNativeAudio.skipToQueueIndex).toHaveBeenCalledWith(player.id, 0);
+  });
+
+  it('enables analysis and delivers results', async () => {
+    const cb = jest.fn();
+    player.onAnalysis(cb);
+    await player.setAnalysisEnabled(true, { bands: 16 });
+    expect(NativeModules.ReactNativeAudio.setAnalysisEnabled).toHaveBeenCalledWith(player.id, true, { bands: 16 });
+
+    const [event, listener] = mockAddListener.mock.calls[0];
+    expect(event).toBe(`AudioPlayerEvent.Analysis.${player.id}`);
+    const analysis = { rms: -18, peak: -3, spectrum: [-40, -30] };
+    listener(analysis);
+    expect(cb).toHaveBeenCalledWith(analysis);
+  });
+
+  it('should pass network options and forward buffer health', async () => {
+    const networked = new AudioPlayer('https://example.com/live.mp3', {
+      network: { retryCount: 5, retryDelay: 500, bufferDuration: 30 },
+    });
+    await networked.prepare();
+    expect(NativeModules.ReactNativeAudio.preparePlayer).toHaveBeenCalledWith(
+      networked.id,
+      'https://example.com/live.mp3',
+      { network: { retryCount: 5, retryDelay: 500, bufferDuration: 30 } }
+    );
+
+    const cb = jest.fn();
+    networked.onBufferHealth(cb);
+    const [event, listener] = mockAddListener.mock.calls[0];
+    expect(event).toBe(`AudioPlayerEvent.BufferHealth.${networked.id}`);
+    const health = { bufferedMs: 4200, bandwidthEstimate: 350000, rebufferCount: 2 };
+    listener(health);
+    expect(cb).toHaveBeenCalledWith(health);
+  });
+
+  it('should forward equalizer and effect settings', async () => {
+    await player.setEqualizerBand(2, 4.5);
+    expect(NativeModules.ReactNativeAudio.setEqualizerBand).toHaveBeenCalledWith(player.id, 2, 4.5);
+
+    await player.setLimiter();
+    expect(NativeModules.ReactNativeAudio.setLimiter).toHaveBeenCalledWith(player.id, {});
+
+    await player.setLoudnessNormalization({ targetLufs: -16, trackLufs: -9.2 });
+    expect(NativeModules.ReactNativeAudio.setLoudnessNormalization).toHaveBeenCalledWith(player.id, {
+      targetLufs: -16,
+      trackLufs: -9.2,
+    });
+  });
+
+  it('should read playback metrics for this player', async () => {
+    const metrics = await player.getMetrics();
+    expect(NativeModules.ReactNativeAudio.getPlaybackMetrics).toHaveBeenCalledWith(player.id);
+    expect(metrics.timeToFirstAudioMs).toBe(180);
+  });
+
+  it('should send a batch of commands in one native call', async () => {
+    const commands = [
+      { id: player.id, op: 'play' as const },
+      { id: player.id + 1, op: 'volume' as const, value: 0.5 },
+    ];
+    const results = await AudioPlayer.executeBatch(commands);
+    expect(NativeModules.ReactNativeAudio.executeBatch).toHaveBeenCalledTimes(1);
+    expect(NativeModules.ReactNativeAudio.executeBatch).toHaveBeenCalledWith(commands);
+    expect(results[1]).toEqual({ ok: false, error: 'not_found' });
+  });
+
+  it('should read a playback snapshot synchronously', () => {
+    const snapshot = player.getSnapshot();
+    expect(NativeModules.ReactNativeAudio.getPlaybackSnapshot).toHaveBeenCalledWith(player.id);
+    expect(snapshot?.state).toBe('playing');
+    expect(snapshot?.position).toBe(12.25);
+  });
+
   it('should cleanup on destroy', () => {
     player.onStateChange(jest.fn());
     player.destroy();
     expect(NativeModules.ReactNativeAudio.destroyPlayer).toHaveBeenCalledWith(player.id);
   });
 });
+
+describe('PlayerPool resources', () => {
+  beforeEach(() => {
+    jest.clearAllMocks();
+  });
+
+  it('forwards the resource policy and reads reclaim stats', async () => {
+    await PlayerPool.setResourcePolicy({ maxDecodingPlayers: 2, idleTimeout: 60 });
+    expect(NativeModules.ReactNativeAudio.setPlayerResourcePolicy).toHaveBeenCalledWith({
+      maxDecodingPlayers: 2,
+      idleTimeout: 60,
+    });
+    const stats = await PlayerPool.getResourceStats();
+    expect(stats.reclaimed).toBe(3);
+  });
+});
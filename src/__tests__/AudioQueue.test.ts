@@ -1,4 +1,5 @@
-import { AudioQueue, getAllAudios, getAlbums } from '../index';
+import { AudioQueue, MediaLibraryIndex, extractWaveform, getAllAudios, getAlbums, getArtwork, getAudiosPage, streamAudios } from '../index';
+import { AudioEventEmitter } from '../events';
 import { NativeAudio } from '../native';
 import { AudioPlayer } from '../AudioPlayer';
 import { AudioAsset } from '../types';
@@ -9,6 +10,19 @@ jest.mock('react-native', () => {
       NativeModules: {
         ReactNativeAudio: {
           getAudios: jest.fn(),
+          getAudiosPage: jest.fn().mockResolvedValue({ items: [], nextCursor: null }),
+          streamAudios: jest.fn().mockResolvedValue(0),
+          syncLibraryIndex: jest.fn().mockResolvedValue({ fullRebuild: false, updated: 0, removed: 0, total: 0, durationMs: 1 }),
+          searchLibrary: jest.fn().mockResolvedValue([]),
+          getLibraryGroups: jest.fn().mockResolvedValue([]),
+          scanLibraryLoudness: jest.fn().mockResolvedValue({ measured: 2, failed: 0, remaining: 0, total: 2, cancelled: false, durationMs: 900 }),
+          cancelLoudnessScan: jest.fn().mockResolvedValue(null),
+          getTrackLoudness: jest.fn().mockResolvedValue({ loudness: -9.4, truePeak: 0.3 }),
+          extractWaveform: jest.fn().mockResolvedValue({ min: [], max: [], duration: 0, fromCache: false }),
+          cancelWaveform: jest.fn().mockResolvedValue(null),
+          getArtwork: jest.fn().mockResolvedValue('file:///cache/album_7_512.jpg'),
+          prefetch: jest.fn().mockResolvedValue(null),
+          cancelPrefetch: jest.fn().mockResolvedValue(null),
           preparePlayer: jest.fn().mockResolvedValue(null),
           play: jest.fn().mockResolvedValue(null),
           pause: jest.fn().mockResolvedValue(null),
@@ -57,6 +71,12 @@ jest.mock('../AudioPlayer', () => {
             setMetadata: jest.fn().mockResolvedValue(null),
             setupNotification: jest.fn().mockResolvedValue(null), // Added missing method
             onStateChange: jest.fn(),
+            setQueue: jest.fn().mockResolvedValue(null),
+            appendToQueue: jest.fn().mockResolvedValue(null),
+            removeFromQueue: jest.fn().mockResolvedValue(null),
+            moveQueueItem: jest.fn().mockResolvedValue(null),
+            skipToQueueIndex: jest.fn().mockResolvedValue(null),
+            onQueueTransition: jest.fn(),
         }))
     }
 });
@@ -80,6 +100,99 @@ describe('Media Helpers', () => {
     expect(albums.find(a => a.name === 'Alb1')?.songs).toHaveLength(2);
     expect(albums.find(a => a.name === 'Alb2')?.songs).toHaveLength(1);
   });
+
+  it('getAlbums takes the first cached artwork in each album', async () => {
+    const mockAudios: AudioAsset[] = [
+      { id: '1', uri: 'u1', title: 'T1', artist: 'A1', album: 'Alb1', duration: 100 },
+      { id: '2', uri: 'u2', title: 'T2', artist: 'A1', album: 'Alb1', duration: 100, artwork: 'file:///a.jpg' },
+    ];
+    (NativeAudio.getAudios as jest.Mock).mockResolvedValue(mockAudios);
+
+    const albums = await getAlbums();
+    expect(albums[0].artwork).toBe('file:///a.jpg');
+  });
+
+  it('getArtwork forwards the uri and size', async () => {
+    await expect(getArtwork('content://media/external/audio/media/1', { size: 256 }))
+      .resolves.toBe('file:///cache/album_7_512.jpg');
+    expect(NativeAudio.getArtwork).toHaveBeenCalledWith('content://media/external/audio/media/1', { size: 256 });
+  });
+
+  it('getAudiosPage forwards paging options', async () => {
+    await getAudiosPage({ cursor: 'o:200', limit: 50, sortBy: 'artist' });
+    expect(NativeAudio.getAudiosPage).toHaveBeenCalledWith({ cursor: 'o:200', limit: 50, sortBy: 'artist' });
+  });
+
+  it('streamAudios only delivers chunks for its own request', async () => {
+    const onChunk = jest.fn();
+    const chunk = [{ id: '1', uri: 'u1', title: 'T1', artist: 'A1', album: 'Alb1', duration: 100 }];
+    (NativeAudio.streamAudios as jest.Mock).mockImplementation(async (requestId: number) => {
+      const calls = (AudioEventEmitter.addListener as jest.Mock).mock.calls;
+      const [, listener] = calls[calls.length - 1];
+      listener({ requestId: requestId + 1, items: [], offset: 0 });
+      listener({ requestId, items: chunk, offset: 0 });
+      return 1;
+    });
+
+    const total = await streamAudios({ chunkSize: 1 }, onChunk);
+    expect(total).toBe(1);
+    expect(onChunk).toHaveBeenCalledTimes(1);
+    expect(onChunk).toHaveBeenCalledWith(chunk, 0);
+  });
+
+  it('MediaLibraryIndex routes search and grouping to the native index', async () => {
+    await MediaLibraryIndex.sync();
+    await MediaLibraryIndex.search('live');
+    await MediaLibraryIndex.getArtists();
+    expect(NativeAudio.syncLibraryIndex).toHaveBeenCalled();
+    expect(NativeAudio.searchLibrary).toHaveBeenCalledWith('live', 200);
+    expect(NativeAudio.getLibraryGroups).toHaveBeenCalledWith('artist');
+  });
+
+  it('MediaLibraryIndex.scanLoudness reports progress and stops listening when done', async () => {
+    const onProgress = jest.fn();
+    const remove = jest.fn();
+    (AudioEventEmitter.addListener as jest.Mock).mockReturnValueOnce({ remove });
+    (NativeAudio.scanLibraryLoudness as jest.Mock).mockImplementationOnce(async () => {
+      const calls = (AudioEventEmitter.addListener as jest.Mock).mock.calls;
+      const [name, listener] = calls[calls.length - 1];
+      expect(name).toBe('AudioLibraryEvent.LoudnessProgress');
+      listener({ done: 1, total: 2 });
+      return { measured: 2, failed: 0, remaining: 0, total: 2, cancelled: false, durationMs: 900 };
+    });
+
+    const result = await MediaLibraryIndex.scanLoudness({ concurrency: 2 }, onProgress);
+    expect(NativeAudio.scanLibraryLoudness).toHaveBeenCalledWith({ concurrency: 2 });
+    expect(onProgress).toHaveBeenCalledWith(1, 2);
+    expect(result.measured).toBe(2);
+    expect(remove).toHaveBeenCalled();
+
+    await MediaLibraryIndex.cancelLoudnessScan();
+    expect(NativeAudio.cancelLoudnessScan).toHaveBeenCalled();
+    await expect(MediaLibraryIndex.getLoudness('12')).resolves.toEqual({ loudness: -9.4, truePeak: 0.3 });
+    expect(NativeAudio.getTrackLoudness).toHaveBeenCalledWith('12');
+  });
+
+  it('extractWaveform reports progress for its own request and can be cancelled', async () => {
+    const onProgress = jest.fn();
+    const peaks = { min: [-0.5], max: [0.5], duration: 10, fromCache: false };
+    (NativeAudio.extractWaveform as jest.Mock).mockImplementation(async (requestId: number) => {
+      const calls = (AudioEventEmitter.addListener as jest.Mock).mock.calls;
+      const [, listener] = calls[calls.length - 1];
+      listener({ requestId: requestId + 1, progress: 0.1 });
+      listener({ requestId, progress: 0.5 });
+      return peaks;
+    });
+
+    const request = extractWaveform('file:///song.mp3', { buckets: 1 }, onProgress);
+    await expect(request.promise).resolves.toEqual(peaks);
+    expect(onProgress).toHaveBeenCalledTimes(1);
+    expect(onProgress).toHaveBeenCalledWith(0.5);
+
+    await request.cancel();
+    const [requestId] = (NativeAudio.extractWaveform as jest.Mock).mock.calls[0];
+    expect(NativeAudio.cancelWaveform).toHaveBeenCalledWith(requestId);
+  });
 });
 
 describe('AudioQueue', () => {
@@ -89,9 +202,19 @@ describe('AudioQueue', () => {
     queue = new AudioQueue();
   });
 
-  it('adds tracks to queue', () => {
+  it('adds tracks to queue', async () => {
     const tracks: AudioAsset[] = [{ id: '1', uri: 'u1', title: 'T1', artist: 'A', album: 'L', duration: 10 }];
-    queue.add(tracks);
+    await queue.add(tracks);
+    expect(queue.getQueue()).toEqual(tracks);
+  });
+
+  it('leaves the queue unchanged when the native append fails', async () => {
+    const tracks: AudioAsset[] = [{ id: '1', uri: 'u1', title: 'T1', artist: 'A', album: 'L', duration: 10 }];
+    await queue.playList(tracks, 0);
+    const player = (AudioPlayer as unknown as jest.Mock).mock.results.slice(-1)[0].value;
+    player.appendToQueue.mockRejectedValueOnce(new Error('Queue not set for player'));
+
+    await expect(queue.add([{ ...tracks[0], id: '2', uri: 'u2' }])).rejects.toThrow('Queue not set');
     expect(queue.getQueue()).toEqual(tracks);
   });
 
@@ -114,4 +237,67 @@ describe('AudioQueue', () => {
     await queue.next();
     expect(queue.getCurrentTrack()?.id).toBe('2');
   });
+
+  it('plays the whole list on one native player', async () => {
+    (AudioPlayer as unknown as jest.Mock).mockClear();
+    const tracks: AudioAsset[] = [
+        { id: '1', uri: 'u1', title: 'T1', artist: 'A', album: 'L', duration: 10 },
+        { id: '2', uri: 'u2', title: 'T2', artist: 'A', album: 'L', duration: 10 }
+    ];
+    await queue.playList(tracks, 0);
+    await queue.next();
+
+    expect(AudioPlayer).toHaveBeenCalledTimes(1);
+    const player = (AudioPlayer as unknown as jest.Mock).mock.results[0].value;
+    expect(player.setQueue).toHaveBeenCalledWith(tracks, 0);
+    expect(player.skipToQueueIndex).toHaveBeenCalledWith(1);
+  });
+
+  it('follows native queue transitions', async () => {
+    (AudioPlayer as unknown as jest.Mock).mockClear();
+    const tracks: AudioAsset[] = [
+        { id: '1', uri: 'u1', title: 'T1', artist: 'A', album: 'L', duration: 10 },
+        { id: '2', uri: 'u2', title: 'T2', artist: 'A', album: 'L', duration: 10 }
+    ];
+    await queue.playList(tracks, 0);
+
+    const player = (AudioPlayer as unknown as jest.Mock).mock.results[0].value;
+    const onTransition = player.onQueueTransition.mock.calls[0][0];
+    onTransition(1, '2', 'auto');
+    expect(queue.getCurrentTrack()?.id).toBe('2');
+  });
+
+  it('keeps the current track when moving items', async () => {
+    const tracks: AudioAsset[] = [
+        { id: '1', uri: 'u1', title: 'T1', artist: 'A', album: 'L', duration: 10 },
+        { id: '2', uri: 'u2', title: 'T2', artist: 'A', album: 'L', duration: 10 },
+        { id: '3', uri: 'u3', title: 'T3', artist: 'A', album: 'L', duration: 10 }
+    ];
+    await queue.playList(tracks, 1);
+    await queue.move(0, 2);
+    expect(queue.getQueue().map(t => t.id)).toEqual(['2', '3', '1']);
+    expect(queue.getCurrentTrack()?.id).toBe('2');
+
+    await queue.remove(2);
+    expect(queue.getQueue()).toHaveLength(2);
+    expect(queue.getCurrentTrack()?.id).toBe('2');
+  });
+
+  it('prefetches the tracks after the current one', async () => {
+    const tracks: AudioAsset[] = [
+        { id: '1', uri: 'u1', title: 'T1', artist: 'A', album: 'L', duration: 10 },
+        { id: '2', uri: 'u2', title: 'T2', artist: 'A', album: 'L', duration: 10 },
+        { id: '3', uri: 'u3', title: 'T3', artist: 'A', album: 'L', duration: 10 }
+    ];
+    (NativeAudio.prefetch as jest.Mock).mockClear();
+    queue.setPrefetch(2, { seconds: 10 });
+    await queue.playList(tracks, 0);
+    expect(NativeAudio.prefetch).toHaveBeenLastCalledWith(['u2', 'u3'], { seconds: 10 });
+
+    await queue.next();
+    expect(NativeAudio.prefetch).toHaveBeenLastCalledWith(['u3'], { seconds: 10 });
+
+    queue.destroy();
+    expect(NativeAudio.cancelPrefetch).toHaveBeenCalled();
+  });
 });
@@ -47,4 +47,29 @@ describe('AudioRecorder', () => {
     recorder.onMetering(cb);
     expect(mockAddListener).toHaveBeenCalledWith('AudioRecorderEvent.Metering', expect.any(Function));
   });
+
+  it('should pause and resume without stopping', async () => {
+    await recorder.pause();
+    await recorder.resume();
+    expect(NativeModules.ReactNativeAudio.pauseRecording).toHaveBeenCalled();
+    expect(NativeModules.ReactNativeAudio.resumeRecording).toHaveBeenCalled();
+    expect(NativeModules.ReactNativeAudio.stopRecording).not.toHaveBeenCalled();
+  });
+
+  it('should deliver streamed chunks', () => {
+    const cb = jest.fn();
+    recorder.onChunk(cb);
+    const call = mockAddListener.mock.calls.find(([event]) => event === 'AudioRecorderEvent.Chunk');
+    const chunk = { data: 'AAEC', sequence: 3, format: 'pcm' };
+    call![1](chunk);
+    expect(cb).toHaveBeenCalledWith(chunk);
+  });
+
+  it('should report overruns', () => {
+    const cb = jest.fn();
+    recorder.onOverrun(cb);
+    const call = mockAddListener.mock.calls.find(([event]) => event === 'AudioRecorderEvent.Overrun');
+    call![1]({ droppedFrames: 882, totalDroppedFrames: 1764 });
+    expect(cb).toHaveBeenCalledWith(882, 1764);
+  });
 });
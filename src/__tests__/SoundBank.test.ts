@@ -0,0 +1,34 @@
+import { SoundBank } from '../SoundBank';
+import { NativeModules } from 'react-native';
+
+jest.mock('react-native', () => {
+  const RN = jest.requireActual('react-native');
+  RN.NativeModules.ReactNativeAudio = {
+    loadSound: jest.fn().mockResolvedValue(7),
+    unloadSound: jest.fn().mockResolvedValue(null),
+    playSound: jest.fn(),
+    stopSound: jest.fn(),
+  };
+  return RN;
+});
+
+describe('SoundBank', () => {
+  beforeEach(() => {
+    jest.clearAllMocks();
+  });
+
+  it('triggers loaded clips by handle and unloads them together', async () => {
+    const bank = new SoundBank();
+    const click = await bank.load('asset:/click.wav', { maxVoices: 4 });
+    expect(click).toBe(7);
+    expect(NativeModules.ReactNativeAudio.loadSound).toHaveBeenCalledWith('asset:/click.wav', { maxVoices: 4 });
+
+    bank.play(click, 0.5, -1);
+    expect(NativeModules.ReactNativeAudio.playSound).toHaveBeenCalledWith(7, 0.5, -1);
+    bank.play(click);
+    expect(NativeModules.ReactNativeAudio.playSound).toHaveBeenLastCalledWith(7, 1, 0);
+
+    await bank.unload();
+    expect(NativeModules.ReactNativeAudio.unloadSound).toHaveBeenCalledWith(7);
+  });
+});
@@ -1,4 +1,87 @@
-import { NativeEventEmitter } from 'react-native';
+import { NativeEventEmitter, EmitterSubscription } from 'react-native';
 import { NativeAudio } from './native';
+import { ProgressListener } from './types';
 
 export const AudioEventEmitter = new NativeEventEmitter(NativeAudio as any);
+
+// Android reports progress for every playing player in one batched event per tick.
+// A single subscription fans it out to the per-player listeners registered here.
+const progressListeners = new Map<number, Set<ProgressListener>>();
+let progressBatchSub: EmitterSubscription | null = null;
+
+export function addProgressListener(id: number, callback: ProgressListener): { remove(): void } {
+  let listeners = progressListeners.get(id);
+  if (!listeners) {
+    listeners = new Set();
+    progressListeners.set(id, listeners);
+  }
+  listeners.add(callback);
+
+  if (!progressBatchSub) {
+    progressBatchSub = AudioEventEmitter.addListener('AudioPlayerEvent.ProgressBatch', (event: any) => {
+      for (const entry of event.progress) {
+        progressListeners.get(entry.id)?.forEach(cb => cb(entry.position, entry.duration));
+      }
+    });
+  }
+
+  return {
+    remove() {
+      const current = progressListeners.get(id);
+      if (!current) return;
+      current.delete(callback);
+      if (current.size === 0) {
+        progressListeners.delete(id);
+      }
+      if (progressListeners.size === 0 && progressBatchSub) {
+        progressBatchSub.remove();
+        progressBatchSub = null;
+      }
+    },
+  };
+}
+
+// Android sends every per-player event (state, error, analysis, ...) as one multiplexed
+// 'AudioPlayerEvent' carrying the player id and a type. One subscription serves all players.
+type PlayerEventListener = (event: any) => void;
+const playerListeners = new Map<number, Map<string, Set<PlayerEventListener>>>();
+let playerEventSub: EmitterSubscription | null = null;
+
+export function addPlayerEventListener(id: number, type: string, callback: PlayerEventListener): { remove(): void } {
+  let byType = playerListeners.get(id);
+  if (!byType) {
+    byType = new Map();
+    playerListeners.set(id, byType);
+  }
+  let listeners = byType.get(type);
+  if (!listeners) {
+    listeners = new Set();
+    byType.set(type, listeners);
+  }
+  listeners.add(callback);
+
+  if (!playerEventSub) {
+    playerEventSub = AudioEventEmitter.addListener('AudioPlayerEvent', (event: any) => {
+      playerListeners.get(event.id)?.get(event.type)?.forEach(cb => cb(event));
+    });
+  }
+
+  return {
+    remove() {
+      const types = playerListeners.get(id);
+      const current = types?.get(type);
+      if (!types || !current) return;
+      current.delete(callback);
+      if (current.size === 0) {
+        types.delete(type);
+      }
+      if (types.size === 0) {
+        playerListeners.delete(id);
+      }
+      if (playerListeners.size === 0 && playerEventSub) {
+        playerEventSub.remove();
+        playerEventSub = null;
+      }
+    },
+  };
+}
@@ -1,5 +1,7 @@
 
 import { NativeAudio } from './native';
+import { AudioEventEmitter } from './events';
+import { ArtworkOptions, AudioAsset, AudioPage, AudioQueryOptions, WaveformOptions, WaveformRequest } from './types';
 
 export { NativeAudio };
 
@@ -9,12 +11,68 @@ export * from './AudioRecorder';
 export * from './hooks';
 export * from './AudioQueue';
 export { CacheManager } from './CacheManager';
+export { PlayerPool } from './PlayerPool';
+export { SoundBank } from './SoundBank';
+export { AudioMixer } from './AudioMixer';
+export { MediaLibraryIndex } from './MediaLibraryIndex';
 
 // Helper to access native media methods
 export async function getAllAudios(): Promise<import('./types').AudioAsset[]> {
   return NativeAudio.getAudios();
 }
 
+// Paged library access: sorting, filtering and LIMIT/OFFSET run in MediaStore
+export async function getAudiosPage(options: AudioQueryOptions = {}): Promise<AudioPage> {
+  return NativeAudio.getAudiosPage(options);
+}
+
+let nextLibraryRequestId = 1;
+
+// Streams matching tracks in chunks as the native cursor is read; resolves with the total count
+export async function streamAudios(
+  options: AudioQueryOptions,
+  onChunk: (items: AudioAsset[], offset: number) => void
+): Promise<number> {
+  const requestId = nextLibraryRequestId++;
+  const sub = AudioEventEmitter.addListener('AudioLibraryEvent.Chunk', (event: any) => {
+    if (event.requestId === requestId) {
+      onChunk(event.items, event.offset);
+    }
+  });
+  try {
+    return await NativeAudio.streamAudios(requestId, options);
+  } finally {
+    sub.remove();
+  }
+}
+
+// Decodes a file natively into min/max peaks; results for local files are cached on disk
+export function extractWaveform(
+  uri: string,
+  options: WaveformOptions = {},
+  onProgress?: (progress: number) => void
+): WaveformRequest {
+  const requestId = nextLibraryRequestId++;
+  const sub = onProgress
+    ? AudioEventEmitter.addListener('AudioWaveformEvent.Progress', (event: any) => {
+        if (event.requestId === requestId) {
+          onProgress(event.progress);
+        }
+      })
+    : null;
+  const promise = NativeAudio.extractWaveform(requestId, uri, options).finally(() => sub?.remove());
+  return {
+    promise,
+    cancel: () => NativeAudio.cancelWaveform(requestId),
+  };
+}
+
+// Cover art for a track, image file or URL as a file:// thumbnail, or null when there is none.
+// Decoded natively off the JS thread and cached in memory and on disk.
+export function getArtwork(uri: string, options: ArtworkOptions = {}): Promise<string | null> {
+  return NativeAudio.getArtwork(uri, options);
+}
+
 // Helper to grouping (JS side for simplicity)
 export async function getAlbums(): Promise<import('./types').Album[]> {
   const audios = await getAllAudios();
@@ -30,6 +88,9 @@ export async function getAlbums(): Promise<import('./types').Album[]> {
         songs: [],
       };
     }
+    if (!albums[key].artwork) {
+      albums[key].artwork = audio.artwork; // listings only carry artwork once it is cached
+    }
     albums[key].songs.push(audio);
   });
   
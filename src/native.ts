@@ -1,5 +1,36 @@
 import { NativeModules, Platform } from 'react-native';
-import { AudioAsset } from './types';
+import {
+  Album,
+  AnalysisOptions,
+  ArtworkOptions,
+  LimiterOptions,
+  LoudnessNormalizationOptions,
+  AudioAsset,
+  AudioPage,
+  AudioQueryOptions,
+  CacheStatus,
+  PrefetchOptions,
+  PrefetchStats,
+  SoundOptions,
+  MixerStatus,
+  MixerTrack,
+  MixerTrackOptions,
+  LibraryIndexSyncResult,
+  LoudnessScanOptions,
+  LoudnessScanResult,
+  TrackLoudness,
+  PlayerPoolConfig,
+  PlaybackSnapshot,
+  PlayerCommand,
+  PlayerCommandResult,
+  PlayerPoolStats,
+  PlayerResourcePolicy,
+  PlayerResourceStats,
+  PlaybackMetrics,
+  GlobalPlaybackMetrics,
+  Waveform,
+  WaveformOptions,
+} from './types';
 
 const LINKING_ERROR =
   `The package 'react-native-audio' doesn't seem to be linked. Make sure: \n\n` +
@@ -16,7 +47,17 @@ export interface NativeAudioType {
   setVolume(id: number, volume: number): Promise<void>;
   setRate(id: number, rate: number): Promise<void>;
   setMetadata(id: number, metadata: any): Promise<void>;
+  executeBatch(commands: PlayerCommand[]): Promise<PlayerCommandResult[]>;
   destroyPlayer(id: number): void;
+  setProgressInterval(intervalMs: number): Promise<void>;
+  setAnalysisEnabled(id: number, enabled: boolean, options: AnalysisOptions): Promise<void>;
+
+  // Gapless Queue (Android)
+  setQueue(id: number, items: AudioAsset[], startIndex: number, options: any): Promise<void>;
+  appendToQueue(id: number, items: AudioAsset[]): Promise<void>;
+  removeFromQueue(id: number, index: number): Promise<void>;
+  moveQueueItem(id: number, from: number, to: number): Promise<void>;
+  skipToQueueIndex(id: number, index: number): Promise<void>;
   
   prepareRecorder(path: string, options: any): Promise<string>;
   startRecording(): Promise<void>;
@@ -28,16 +69,63 @@ export interface NativeAudioType {
   setupNotification(id: number, config: any): Promise<void>;
   
   getAudios(): Promise<AudioAsset[]>;
+  getAudiosPage(options: AudioQueryOptions): Promise<AudioPage>;
+  streamAudios(requestId: number, options: AudioQueryOptions): Promise<number>;
+  syncLibraryIndex(): Promise<LibraryIndexSyncResult>;
+  searchLibrary(query: string, limit: number): Promise<AudioAsset[]>;
+  getLibraryGroups(groupBy: 'album' | 'artist'): Promise<Album[]>;
+  scanLibraryLoudness(options: LoudnessScanOptions): Promise<LoudnessScanResult>;
+  cancelLoudnessScan(): Promise<void>;
+  getTrackLoudness(trackId: string): Promise<TrackLoudness | null>;
+
+  // Waveform
+  extractWaveform(requestId: number, uri: string, options: WaveformOptions): Promise<Waveform>;
+  cancelWaveform(requestId: number): Promise<void>;
+
+  // Artwork
+  getArtwork(uri: string, options: ArtworkOptions): Promise<string | null>;
   
   // Cache Management
   setCacheConfig(config: any): Promise<void>;
-  getCacheStatus(): Promise<{ sizeBytes: number; itemCount: number }>;
+  getCacheStatus(): Promise<CacheStatus>;
   clearCache(): Promise<void>;
+
+  // Multitrack Mixer
+  createMixer(id: number, tracks: MixerTrack[]): Promise<{ duration: number }>;
+  mixerPlay(id: number): Promise<void>;
+  mixerPause(id: number): Promise<void>;
+  mixerSeek(id: number, position: number): Promise<void>;
+  setMixerTrack(id: number, index: number, options: MixerTrackOptions): Promise<void>;
+  getMixerStatus(id: number): Promise<MixerStatus>;
+  destroyMixer(id: number): void;
+
+  // Sound Effects
+  loadSound(uri: string, options: SoundOptions): Promise<number>;
+  unloadSound(handle: number): Promise<void>;
+  playSound(handle: number, volume: number, pan: number): void;
+  stopSound(handle: number): void;
+  prefetch(uris: string[], options: PrefetchOptions): Promise<void>;
+  cancelPrefetch(): Promise<void>;
+  getPrefetchStats(): Promise<PrefetchStats>;
+
+  // Player Pool
+  setPlayerPoolConfig(config: PlayerPoolConfig): Promise<void>;
+  getPlayerPoolStats(): Promise<PlayerPoolStats>;
+  setPlayerResourcePolicy(config: PlayerResourcePolicy): Promise<void>;
+  getPlayerResourceStats(): Promise<PlayerResourceStats>;
+
+  // Playback Metrics
+  getPlaybackMetrics(id: number): Promise<PlaybackMetrics>;
+  getGlobalPlaybackMetrics(): Promise<GlobalPlaybackMetrics>;
+  getPlaybackSnapshot(id: number): PlaybackSnapshot | null;
   
   // Equalizer
   enableEqualizer(id: number, enabled: boolean): Promise<void>;
   setEqualizerBand(id: number, bandIndex: number, gain: number): Promise<void>;
   getEqualizerBands(id: number): Promise<Array<{ frequency: number; gain: number }>>;
+  setEqualizerFrequencies(id: number, frequencies: number[]): Promise<void>;
+  setLimiter(id: number, options: LimiterOptions): Promise<void>;
+  setLoudnessNormalization(id: number, options: LoudnessNormalizationOptions): Promise<void>;
 }
 
 export const NativeAudio: NativeAudioType =
@@ -26,16 +26,21 @@ export interface PlayerOptions {
   rate?: number;
   cache?: CacheConfig;
   network?: NetworkOptions;
+  // Android: apply the gain stored by MediaLibraryIndex.scanLoudness() for MediaStore uris
+  normalization?: { targetLufs?: number }; // default target: -14
 }
 
 export interface RecordingOptions {
-  format?: 'aac' | 'wav' | 'mp3';
+  format?: 'aac' | 'wav' | 'mp3'; // Android records 'mp3' as AAC (no platform MP3 encoder)
   quality?: 'low' | 'medium' | 'high'; // Preset quality levels
   sampleRate?: number; // e.g. 44100
   channels?: 1 | 2;
   bitrate?: number; // e.g. 128000
   encoder?: string;
   meteringEnabled?: boolean;
+  meteringIntervalMs?: number; // Android: how often levels are sent (default: 100)
+  stream?: 'pcm' | 'encoded'; // Android: send chunks while recording; 'encoded' is ADTS AAC, WAV always streams PCM
+  streamChunkBytes?: number; // Android: bytes per streamed chunk (default: 16384)
 }
 
 // Cache Management
@@ -47,6 +52,98 @@ export interface CacheConfig {
 export interface CacheStatus {
   sizeBytes: number;
   itemCount: number;
+  cachedBytesRead?: number; // Bytes served from disk instead of the network (Android)
+  networkBytesRead?: number; // Bytes downloaded from the network (Android)
+  enabled?: boolean;
+}
+
+export interface PrefetchOptions {
+  bytes?: number; // Bytes to cache from the start of each item (default: 512 KB)
+  seconds?: number; // Alternative to bytes, converted at 320 kbps
+  budgetBytes?: number; // Total for the whole list; later items are skipped once spent (default: 4 MB)
+}
+
+export interface PrefetchStats {
+  requested: number; // Downloads started
+  completed: number;
+  cancelled: number; // Dropped because the list changed or cancelPrefetch was called
+  failed: number;
+  cached: number; // Skipped because their start was already cached; not counted as hits or misses
+  bytesPrefetched: number;
+  hits: number; // Remote items that started playing from a completed prefetch
+  misses: number; // Remote items that had to wait for the network
+}
+
+// Multitrack Mixer
+export interface MixerTrackOptions {
+  gain?: number; // Linear, 1 = unchanged (default: 1)
+  pan?: number; // -1 (left) .. 1 (right) (default: 0)
+  muted?: boolean; // default: false
+}
+
+export interface MixerTrack extends MixerTrackOptions {
+  uri: string; // Local file or content URI
+}
+
+export interface MixerStatus {
+  position: number; // seconds
+  duration: number; // seconds, of the longest track
+  playing: boolean;
+}
+
+// Sound Effects
+export interface SoundOptions {
+  maxVoices?: number; // Copies of this clip that may overlap; the oldest is cut off beyond this (default: 1)
+}
+
+// Player Pool
+export interface PlayerPoolConfig {
+  maxSize?: number; // Idle players kept for reuse (default: 2)
+  prewarm?: number; // Players to build up front (default: 0)
+}
+
+export interface PlayerPoolStats {
+  hits: number; // preparePlayer calls served by a pooled player
+  misses: number; // preparePlayer calls that had to build a new player
+  idle: number;
+  maxSize: number;
+}
+
+// Decoder and buffer reclamation for prepared players (Android)
+export interface PlayerResourcePolicy {
+  maxDecodingPlayers?: number; // Prepared players holding decoders at once (default: 8)
+  idleTimeout?: number; // Seconds paused before a player is reclaimed (default: 300, 0 = never)
+}
+
+export interface PlayerResourceInfo {
+  id: number;
+  state: 'decoding' | 'reclaimed' | 'idle'; // idle = stopped or failed, not reclaimed
+  active: boolean; // Wants to play
+  idleMs: number; // Time since it last played or was used
+  bufferedBytes: number; // Media buffered right now
+  estimatedBytes: number; // bufferedBytes plus an estimate for decoder and output buffers
+}
+
+export interface PlayerResourceStats {
+  players: PlayerResourceInfo[];
+  decoding: number;
+  maxDecodingPlayers: number;
+  idleTimeout: number; // in seconds
+  reclaimed: number; // Players reclaimed since start
+  estimatedBytes: number;
+}
+
+// Batched player commands (AudioPlayer.executeBatch)
+export type PlayerCommand =
+  | { id: number; op: 'play' | 'pause' | 'stop' }
+  | { id: number; op: 'seek'; value: number } // seconds
+  | { id: number; op: 'volume'; value: number } // 0.0 - 1.0
+  | { id: number; op: 'rate'; value: number };
+
+export interface PlayerCommandResult {
+  ok: boolean;
+  error?: string; // e.g. 'not_found'
+  message?: string;
 }
 
 // Equalizer
@@ -55,6 +152,18 @@ export interface EqualizerBand {
   gain: number; // dB (-15 to +15)
 }
 
+export interface LimiterOptions {
+  enabled?: boolean; // default: true
+  thresholdDb?: number; // Output ceiling in dBFS (default: -1)
+  releaseMs?: number; // Recovery time after a peak (default: 100)
+}
+
+export interface LoudnessNormalizationOptions {
+  enabled?: boolean; // default: true
+  targetLufs?: number; // Playback target (default: -14)
+  trackLufs?: number; // Measured loudness of the current track; required when enabled
+}
+
 export interface EqualizerPreset {
   name: string;
   bands: EqualizerBand[];
@@ -63,8 +172,60 @@ export interface EqualizerPreset {
 // Network Resilience
 export interface NetworkOptions {
   retryCount?: number; // Number of retry attempts (default: 3)
-  retryDelay?: number; // Initial retry delay in ms (default: 1000)
-  bufferDuration?: number; // Buffer duration in seconds (default: 10)
+  retryDelay?: number; // Initial retry delay in ms, doubled per attempt up to 30s (default: 1000)
+  bufferDuration?: number; // Seconds to buffer ahead (Android default when omitted: ExoPlayer's 50)
+}
+
+export interface BufferHealth {
+  bufferedMs: number; // Media buffered ahead of the playhead
+  bandwidthEstimate: number; // bits/s, 0 until the first measurement
+  rebufferCount: number; // Stalls during playback since prepare
+}
+
+// Playback Metrics (Android); durations are null until the event has happened
+export interface PlaybackMetrics {
+  timeToReadyMs: number | null; // prepare() to ready to play
+  timeToFirstAudioMs: number | null; // prepare(), or play() if called later, to audio output starting
+  decoderInitMs: number | null;
+  decoderName: string | null;
+  rebufferCount: number; // Stalls during playback
+  rebufferMs: number; // Total stall time, including an ongoing stall
+  audioUnderruns: number; // Audio output ran dry
+  bytesLoaded: number;
+  errors: number;
+}
+
+export interface LatencyHistogram {
+  count: number;
+  meanMs: number;
+  p50Ms: number; // Percentiles are bucket upper edges, at most 2x high
+  p95Ms: number;
+  p99Ms: number;
+  maxMs: number;
+  buckets: number[]; // Sample counts; bucket i ends at 2^i microseconds
+}
+
+export interface GlobalPlaybackMetrics {
+  players: number; // Players prepared since the app started
+  rebufferCount: number;
+  rebufferMs: number;
+  audioUnderruns: number;
+  bytesLoaded: number;
+  errors: number;
+  timeToFirstAudio: LatencyHistogram;
+  decoderInit: LatencyHistogram;
+  commandLatency: LatencyHistogram; // Native side of every player command, queueing included
+}
+
+// Synchronous playback state read (Android); see AudioPlayer.getSnapshot()
+export interface PlaybackSnapshot {
+  state: PlaybackState;
+  position: number; // seconds, extrapolated to the time of the call
+  duration: number; // seconds, 0 while unknown
+  bufferedPosition: number; // seconds
+  rate: number; // how fast the position advances; 0 unless audio is actually playing
+  level?: number; // RMS in dBFS, only while analysis is enabled
+  version: number; // grows with every native update
 }
 
 export interface AudioMetadata {
@@ -83,9 +244,36 @@ export interface AudioMetadata {
 export type PlaybackStateListener = (state: PlaybackState) => void;
 export type ProgressListener = (position: number, duration: number) => void;
 export type ErrorListener = (code: string, message: string) => void;
-export type MeteringListener = (db: number) => void;
+export type MeteringListener = (db: number, peak?: number) => void; // dBFS; Android also reports peak
+
+export interface RecordingChunk {
+  data: string; // base64
+  sequence: number; // increases by one per chunk; a gap means chunks were dropped
+  format: 'pcm' | 'aac'; // 'pcm' is 16-bit little-endian interleaved
+}
+export type RecordingChunkListener = (chunk: RecordingChunk) => void;
+export type RecordingOverrunListener = (droppedFrames: number, totalDroppedFrames: number) => void;
+
+// Real-time analysis of what a player renders (Android)
+export interface AnalysisOptions {
+  fftSize?: number; // Power of two, 256-8192 (default: 1024)
+  bands?: number; // Log-spaced spectrum bands from 20 Hz to Nyquist (default: 32)
+  intervalMs?: number; // How often results are sent (default: 50)
+}
+
+export interface AudioAnalysis {
+  rms: number; // dBFS over the last interval
+  peak: number; // dBFS over the last interval
+  spectrum: number[]; // dBFS per band, low to high
+}
+
+export type AnalysisListener = (analysis: AudioAnalysis) => void;
+export type BufferHealthListener = (health: BufferHealth) => void;
+
+export type QueueTransitionReason = 'auto' | 'seek' | 'repeat' | 'playlist';
+export type QueueTransitionListener = (index: number, mediaId: string, reason: QueueTransitionReason) => void;
 
-export type InterruptionReason = 'noisy' | 'call' | 'duck';
+export type InterruptionReason = 'noisy' | 'call' | 'duck' | 'reclaimed';
 export type InterruptionListener = (reason: InterruptionReason) => void;
 
 export interface AudioErrorDetails {
@@ -100,6 +288,79 @@ export interface AudioAsset {
   album: string;
   duration: number; // in seconds
   artwork?: string;
+  loudness?: number; // Android index: integrated LUFS, once scanned
+  truePeak?: number; // dBTP
+}
+
+// Media Library Paging
+export interface AudioQueryOptions {
+  offset?: number;
+  limit?: number; // Page size, at least 1 (default: 200)
+  cursor?: string | null; // nextCursor from a previous page; takes precedence over offset
+  sortBy?: 'title' | 'artist' | 'album' | 'duration' | 'dateAdded';
+  sortOrder?: 'asc' | 'desc';
+  search?: string; // Substring match on title, artist or album
+  artist?: string;
+  album?: string;
+  minDuration?: number; // in seconds
+  includeTotal?: boolean; // Also count all matching rows (extra query)
+  chunkSize?: number; // streamAudios only (default: 100)
+}
+
+export interface AudioPage {
+  items: AudioAsset[];
+  nextCursor: string | null;
+  total?: number;
+}
+
+// Native library index (Android)
+export interface LibraryIndexSyncResult {
+  fullRebuild: boolean; // true on first sync or when MediaStore's version changed
+  updated: number; // rows inserted or re-read since the last watermark
+  removed: number;
+  total: number;
+  durationMs: number;
+}
+
+// Library loudness scan (Android)
+export interface LoudnessScanOptions {
+  concurrency?: number; // Parallel decoders (default: one per core, minus one)
+}
+
+export interface LoudnessScanResult {
+  measured: number; // Tracks measured by this scan
+  failed: number;
+  remaining: number; // Left for the next scan when cancelled
+  total: number; // Tracks with a stored measurement
+  cancelled: boolean;
+  durationMs: number;
+}
+
+export interface TrackLoudness {
+  loudness: number; // Integrated loudness, LUFS (EBU R128)
+  truePeak: number; // dBTP
+}
+
+// Offline waveform peaks (Android)
+export interface WaveformOptions {
+  buckets?: number; // Number of min/max pairs (default: 512)
+}
+
+export interface Waveform {
+  min: number[]; // -1..1, one per bucket
+  max: number[];
+  duration: number; // in seconds
+  fromCache: boolean; // Served from the on-disk peak cache
+}
+
+export interface WaveformRequest {
+  promise: Promise<Waveform>;
+  cancel(): Promise<void>;
+}
+
+// Cover art thumbnails (Android)
+export interface ArtworkOptions {
+  size?: number; // Longest edge in pixels (default: 512, 32-2048)
 }
 
 export interface Album {